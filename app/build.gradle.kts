@@ -18,7 +18,12 @@ android {
     }
 
     buildTypes {
+        debug {
+            // 调试诊断日志（Diagnostics），release构建中为编译期常量false，相关代码被移除
+            buildConfigField("boolean", "DIAGNOSTICS", "true")
+        }
         release {
+            buildConfigField("boolean", "DIAGNOSTICS", "false")
             isMinifyEnabled = false
             proguardFiles(
                 getDefaultProguardFile("proguard-android-optimize.txt"),
@@ -33,10 +38,21 @@ android {
     
     buildFeatures {
         viewBinding = true
+        buildConfig = true
     }
     kotlinOptions {
         jvmTarget = "1.8"
     }
+    testOptions {
+        // 回放测试会走到android.util.Log等调用，单元测试中让它们返回默认值而不是抛异常
+        unitTests.isReturnDefaultValues = true
+        // 把命令行中的 -Dreplay.* 参数（运行次数、录制目录）传给回放测试
+        unitTests.all {
+            System.getProperties().stringPropertyNames()
+                .filter { name -> name.startsWith("replay.") }
+                .forEach { name -> it.systemProperty(name, System.getProperty(name)) }
+        }
+    }
 }
 
 dependencies {
@@ -66,12 +82,30 @@ dependencies {
     // SwipeRefreshLayout组件
     implementation("androidx.swiperefreshlayout:swiperefreshlayout:1.1.0")
 
+    // 后台预取推荐页数据
+    implementation("androidx.work:work-runtime:2.9.0")
+
     implementation("com.github.bumptech.glide:glide:4.16.0")
     annotationProcessor("com.github.bumptech.glide:compiler:4.16.0")
+    // Glide列表预加载
+    implementation("com.github.bumptech.glide:recyclerview-integration:4.16.0") {
+        isTransitive = false
+    }
 
     implementation("org.jsoup:jsoup:1.17.2")
 
+    // 爬虫解析与请求调度（纯Java模块）
+    implementation(project(":crawler-core"))
+
     testImplementation(libs.junit)
+    // 回放测试：本地服务器和录制页面
+    testImplementation(testFixtures(project(":crawler-core")))
+    // 单元测试中android.jar里的org.json只有空实现，换成真实实现
+    testImplementation("org.json:json:20231013")
     androidTestImplementation(libs.ext.junit)
     androidTestImplementation(libs.espresso.core)
+    // WorkManager测试驱动
+    androidTestImplementation("androidx.work:work-testing:2.9.0")
+    // 预取任务的仪器测试使用回放服务器
+    androidTestImplementation(testFixtures(project(":crawler-core")))
 }
\ No newline at end of file
@@ -18,4 +18,9 @@
 
 # If you keep the line number information, uncomment this to
 # hide the original source file name.
-#-renamesourcefileattribute SourceFile
\ No newline at end of file
+#-renamesourcefileattribute SourceFile
+# 开启混淆时移除调试诊断调用（release构建中 Diagnostics.ENABLED 已为false）
+-assumenosideeffects class com.lonely.dramatracker.utils.Diagnostics {
+    public static void v(...);
+    public static void d(...);
+}
@@ -0,0 +1,199 @@
+package com.lonely.dramatracker.workers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+import androidx.work.Configuration;
+import androidx.work.Constraints;
+import androidx.work.ListenableWorker;
+import androidx.work.NetworkType;
+import androidx.work.WorkInfo;
+import androidx.work.WorkManager;
+import androidx.work.WorkerFactory;
+import androidx.work.WorkerParameters;
+import androidx.work.testing.SynchronousExecutor;
+import androidx.work.testing.TestDriver;
+import androidx.work.testing.TestWorkerBuilder;
+import androidx.work.testing.WorkManagerTestInitHelper;
+
+import com.lonely.dramatracker.config.AppConfig;
+import com.lonely.dramatracker.crawler.CrawlerEndpoints;
+import com.lonely.dramatracker.crawler.http.RequestPriority;
+import com.lonely.dramatracker.crawler.replay.ReplayDispatcher;
+import com.lonely.dramatracker.crawler.replay.ReplayServer;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.RecordedRequest;
+
+/**
+ * 用WorkManager测试驱动验证预取任务的调度和结果，预取任务替换为计数的假任务，不访问网络；
+ * 实际的预取任务由本地回放服务器应答
+ */
+@RunWith(AndroidJUnit4.class)
+public class PrefetchWorkerTest {
+    private Context context;
+    private final AtomicInteger runs = new AtomicInteger();
+    private final List<Boolean> backgroundFlags = new ArrayList<>();
+    private List<Supplier<CompletableFuture<?>>> tasks;
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        tasks = Arrays.asList(this::succeed, this::succeed, this::succeed);
+        Configuration config = new Configuration.Builder()
+                .setExecutor(new SynchronousExecutor())
+                .setWorkerFactory(new FakeTasksFactory())
+                .build();
+        WorkManagerTestInitHelper.initializeTestWorkManager(context, config);
+    }
+
+    @Test
+    public void waitsForConstraintsThenRunsAllTasks() throws Exception {
+        PrefetchWorker.schedule(context);
+        UUID id = uniqueWork().getId();
+        TestDriver driver = WorkManagerTestInitHelper.getTestDriver(context);
+
+        driver.setPeriodDelayMet(id);
+        assertEquals(0, runs.get());
+
+        driver.setAllConstraintsMet(id);
+        assertEquals(3, runs.get());
+        // 周期任务执行完回到排队状态，等待下一个周期
+        assertEquals(WorkInfo.State.ENQUEUED, uniqueWork().getState());
+    }
+
+    @Test
+    public void scheduleKeepsExistingWork() throws Exception {
+        PrefetchWorker.schedule(context);
+        UUID first = uniqueWork().getId();
+        PrefetchWorker.schedule(context);
+
+        List<WorkInfo> infos = WorkManager.getInstance(context)
+                .getWorkInfosForUniqueWork(PrefetchWorker.UNIQUE_WORK_NAME).get();
+        assertEquals(1, infos.size());
+        assertEquals(first, infos.get(0).getId());
+    }
+
+    @Test
+    public void constraintsRequireUnmeteredChargingAndIdle() {
+        Constraints constraints = PrefetchWorker.constraints();
+        assertEquals(NetworkType.UNMETERED, constraints.getRequiredNetworkType());
+        assertTrue(constraints.requiresCharging());
+        assertTrue(constraints.requiresDeviceIdle());
+    }
+
+    @Test
+    public void tasksStartWithBackgroundPriority() {
+        ListenableWorker.Result result = buildWorker(0).doWork();
+
+        assertEquals(ListenableWorker.Result.success(), result);
+        assertEquals(Arrays.asList(true, true, true), backgroundFlags);
+        // 预取结束后不影响工作线程上之后的请求
+        assertFalse(RequestPriority.isBackground());
+    }
+
+    @Test
+    public void failedTaskRetriesUntilAttemptLimit() {
+        tasks = Arrays.asList(this::succeed, this::fail, this::succeed);
+
+        assertEquals(ListenableWorker.Result.retry(), buildWorker(0).doWork());
+        assertEquals(ListenableWorker.Result.retry(),
+                buildWorker(PrefetchWorker.MAX_ATTEMPTS - 2).doWork());
+        assertEquals(ListenableWorker.Result.failure(),
+                buildWorker(PrefetchWorker.MAX_ATTEMPTS - 1).doWork());
+    }
+
+    @Test
+    public void defaultTasksRunWithoutSplashInitialization() throws Exception {
+        // 与WorkManager冷启动进程一致：没有经过SplashActivity，由Worker自己加载配置；请求由本地回放服务器应答
+        RecordingDispatcher dispatcher = new RecordingDispatcher();
+        try (ReplayServer ignored = new ReplayServer(ReplayServer.defaultRoutes(dispatcher)).start()) {
+            PrefetchWorker worker = TestWorkerBuilder
+                    .from(context, PrefetchWorker.class, Executors.newSingleThreadExecutor())
+                    .build();
+
+            assertEquals(ListenableWorker.Result.success(), worker.doWork());
+            assertTrue("有未录制的请求: " + dispatcher.unmatchedRequests(), dispatcher.unmatchedRequests().isEmpty());
+        }
+
+        assertFalse(AppConfig.TMDB_API_KEY_STATIC.isEmpty());
+        assertFalse("应请求高分榜", dispatcher.tmdbPaths.isEmpty());
+        for (String path : dispatcher.tmdbPaths) {
+            assertTrue("TMDb请求缺少API Key: " + path,
+                    path.contains("api_key=" + AppConfig.TMDB_API_KEY_STATIC + "&"));
+        }
+    }
+
+    private PrefetchWorker buildWorker(int runAttemptCount) {
+        return TestWorkerBuilder.from(context, PrefetchWorker.class, Executors.newSingleThreadExecutor())
+                .setWorkerFactory(new FakeTasksFactory())
+                .setRunAttemptCount(runAttemptCount)
+                .build();
+    }
+
+    private WorkInfo uniqueWork() throws Exception {
+        List<WorkInfo> infos = WorkManager.getInstance(context)
+                .getWorkInfosForUniqueWork(PrefetchWorker.UNIQUE_WORK_NAME).get();
+        assertEquals(1, infos.size());
+        return infos.get(0);
+    }
+
+    private CompletableFuture<?> succeed() {
+        runs.incrementAndGet();
+        synchronized (backgroundFlags) {
+            backgroundFlags.add(RequestPriority.isBackground());
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    private CompletableFuture<?> fail() {
+        runs.incrementAndGet();
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        future.completeExceptionally(new RuntimeException("network down"));
+        return future;
+    }
+
+    /**
+     * 记录发往TMDb的请求路径（含查询参数）
+     */
+    private static class RecordingDispatcher extends ReplayDispatcher {
+        final List<String> tmdbPaths = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+            String path = request.getPath();
+            if (path != null && path.startsWith("/" + CrawlerEndpoints.TMDB_API + "/")) {
+                tmdbPaths.add(path);
+            }
+            return super.dispatch(request);
+        }
+    }
+
+    private class FakeTasksFactory extends WorkerFactory {
+        @Override
+        public ListenableWorker createWorker(@NonNull Context appContext, @NonNull String workerClassName,
+                                             @NonNull WorkerParameters params) {
+            return new PrefetchWorker(appContext, params, tasks);
+        }
+    }
+}
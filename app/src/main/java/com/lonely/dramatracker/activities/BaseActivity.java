@@ -11,6 +11,7 @@ import androidx.appcompat.app.AppCompatActivity;
 import com.google.android.material.button.MaterialButton;
 import com.google.android.material.progressindicator.CircularProgressIndicator;
 import com.lonely.dramatracker.R;
+import com.lonely.dramatracker.utils.ConnectionPrewarmer;
 
 public abstract class BaseActivity extends AppCompatActivity {
     
@@ -22,12 +23,25 @@ public abstract class BaseActivity extends AppCompatActivity {
         hideSystemUI();
     }
     
+    @Override
+    protected void onStart() {
+        super.onStart();
+        // 应用在前台时保持数据源连接
+        ConnectionPrewarmer.onActivityStarted(this);
+    }
+    
     @Override
     protected void onResume() {
         super.onResume();
         hideSystemUI();
     }
     
+    @Override
+    protected void onStop() {
+        super.onStop();
+        ConnectionPrewarmer.onActivityStopped();
+    }
+    
     private void hideSystemUI() {
         View decorView = getWindow().getDecorView();
         if (android.os.Build.VERSION.SDK_INT >= android.os.Build.VERSION_CODES.R) {
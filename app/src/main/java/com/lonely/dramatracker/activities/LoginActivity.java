@@ -8,6 +8,8 @@ import com.google.android.material.button.MaterialButton;
 import com.google.android.material.textfield.TextInputEditText;
 import com.lonely.dramatracker.R;
 import com.lonely.dramatracker.services.AppwriteWrapper;
+import com.lonely.dramatracker.utils.ConnectionPrewarmer;
+import com.lonely.dramatracker.utils.StartupTracker;
 
 public class LoginActivity extends BaseActivity {
     
@@ -24,6 +26,10 @@ public class LoginActivity extends BaseActivity {
         
         initViews();
         setupListeners();
+        StartupTracker.reportFirstContent(this, "登录页");
+        
+        // 输入账号密码期间预热数据源连接，闪屏时已预热过的站点会跳过
+        ConnectionPrewarmer.warmUp(this);
     }
     
     private void initViews() {
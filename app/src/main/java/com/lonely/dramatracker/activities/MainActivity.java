@@ -1,6 +1,8 @@
 package com.lonely.dramatracker.activities;
 
+import android.content.ComponentCallbacks2;
 import android.os.Bundle;
+import android.util.Log;
 import android.view.View;
 import android.widget.ImageView;
 import android.widget.TextView;
@@ -8,6 +10,7 @@ import android.widget.TextView;
 import androidx.fragment.app.Fragment;
 import androidx.fragment.app.FragmentManager;
 import androidx.fragment.app.FragmentTransaction;
+import androidx.lifecycle.Lifecycle;
 
 import com.google.android.material.floatingactionbutton.FloatingActionButton;
 import com.lonely.dramatracker.R;
@@ -16,11 +19,24 @@ import com.lonely.dramatracker.fragments.HomeFragment;
 import com.lonely.dramatracker.fragments.RecordFragment;
 import com.lonely.dramatracker.fragments.RecommendFragment;
 import com.lonely.dramatracker.fragments.SettingsFragment;
+import com.lonely.dramatracker.utils.PerfTracer;
+import com.lonely.dramatracker.utils.StartupTracker;
+import com.lonely.dramatracker.workers.PrefetchWorker;
 
 public class MainActivity extends BaseActivity {
+    private static final String TAG = "MainActivity";
+
+    // 各标签页Fragment的tag，与updateNavigationState的参数一致
+    private static final String TAB_HOME = "HOME";
+    private static final String TAB_RECORD = "RECORD";
+    private static final String TAB_RECOMMEND = "RECOMMEND";
+    private static final String TAB_SETTINGS = "SETTINGS";
+    private static final String[] TABS = {TAB_HOME, TAB_RECORD, TAB_RECOMMEND, TAB_SETTINGS};
+    private static final String KEY_CURRENT_TAB = "current_tab";
     
     private FragmentManager fragmentManager;
     private Fragment currentFragment;
+    private String currentTab;
     private FloatingActionButton fabAdd;
     
     private View navHome;
@@ -28,18 +44,16 @@ public class MainActivity extends BaseActivity {
     private View navRecommend;
     private View navSettings;
     
-    private HomeFragment homeFragment;
-    private RecordFragment recordFragment;
-    private RecommendFragment recommendFragment;
-    private SettingsFragment settingsFragment;
-    
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_main);
         
         initView();
-        initFragment();
+        initFragment(savedInstanceState);
+        StartupTracker.reportFirstContent(this, "首页");
+        // 注册推荐页数据的后台预取，已注册时保留原计划
+        PrefetchWorker.schedule(this);
     }
     
     private void initView() {
@@ -52,22 +66,22 @@ public class MainActivity extends BaseActivity {
         // 设置导航项点击事件
         navHome.setOnClickListener(v -> {
             updateNavSelection(navHome);
-            switchFragment(homeFragment);
+            switchFragment(TAB_HOME);
         });
         
         navRecord.setOnClickListener(v -> {
             updateNavSelection(navRecord);
-            switchFragment(recordFragment);
+            switchFragment(TAB_RECORD);
         });
         
         navRecommend.setOnClickListener(v -> {
             updateNavSelection(navRecommend);
-            switchFragment(recommendFragment);
+            switchFragment(TAB_RECOMMEND);
         });
         
         navSettings.setOnClickListener(v -> {
             updateNavSelection(navSettings);
-            switchFragment(settingsFragment);
+            switchFragment(TAB_SETTINGS);
         });
         
         // 处理中间的添加按钮
@@ -176,28 +190,74 @@ public class MainActivity extends BaseActivity {
         }
     }
     
-    private void initFragment() {
+    /**
+     * 标签页在第一次选中时才创建；重建Activity时沿用FragmentManager恢复的Fragment
+     */
+    private void initFragment(Bundle savedInstanceState) {
         fragmentManager = getSupportFragmentManager();
         
-        // 延迟初始化Fragments
-        homeFragment = new HomeFragment();
-        recordFragment = new RecordFragment();
-        recommendFragment = new RecommendFragment();
-        settingsFragment = new SettingsFragment();
+        if (savedInstanceState != null) {
+            String savedTab = savedInstanceState.getString(KEY_CURRENT_TAB);
+            Fragment restored = savedTab != null ? fragmentManager.findFragmentByTag(savedTab) : null;
+            if (restored != null) {
+                currentTab = savedTab;
+                currentFragment = restored;
+                updateNavSelection(navForTab(savedTab));
+                return;
+            }
+        }
         
         // 使用post确保在正确的生命周期中执行
         navHome.post(() -> {
             // 默认显示首页
-            switchFragment(homeFragment);
+            switchFragment(TAB_HOME);
             updateNavSelection(navHome);
         });
     }
+
+    @Override
+    protected void onSaveInstanceState(Bundle outState) {
+        super.onSaveInstanceState(outState);
+        outState.putString(KEY_CURRENT_TAB, currentTab);
+    }
+
+    private View navForTab(String tab) {
+        switch (tab) {
+            case TAB_RECORD:
+                return navRecord;
+            case TAB_RECOMMEND:
+                return navRecommend;
+            case TAB_SETTINGS:
+                return navSettings;
+            default:
+                return navHome;
+        }
+    }
+
+    private Fragment createFragment(String tab) {
+        switch (tab) {
+            case TAB_RECORD:
+                return new RecordFragment();
+            case TAB_RECOMMEND:
+                return new RecommendFragment();
+            case TAB_SETTINGS:
+                return new SettingsFragment();
+            default:
+                return new HomeFragment();
+        }
+    }
     
-    private void switchFragment(Fragment targetFragment) {
-        if (currentFragment == targetFragment) {
+    /**
+     * 切换标签页
+     * 隐藏的页面最多停在STARTED，只有当前页面进入RESUMED，页面可在onResume中开始加载数据
+     */
+    private void switchFragment(String tab) {
+        if (tab.equals(currentTab)) {
             return;
         }
 
+        // 记录从发起切换到事务执行完成（含新Fragment的创建）的主线程耗时
+        long traceStart = PerfTracer.begin(PerfTracer.SECTION_SWITCH_FRAGMENT);
         FragmentTransaction transaction = fragmentManager.beginTransaction();
         
         // 设置转场动画
@@ -208,22 +268,58 @@ public class MainActivity extends BaseActivity {
             R.anim.fragment_slide_exit_right
         );
 
-        // 如果目标Fragment未添加，则添加
-        if (!targetFragment.isAdded()) {
-            if (currentFragment != null) {
-                transaction.hide(currentFragment);
-            }
-            transaction.add(R.id.fragment_container, targetFragment);
+        if (currentFragment != null) {
+            transaction.hide(currentFragment);
+            transaction.setMaxLifecycle(currentFragment, Lifecycle.State.STARTED);
+        }
+
+        // 第一次选中时才创建目标Fragment
+        Fragment targetFragment = fragmentManager.findFragmentByTag(tab);
+        if (targetFragment == null) {
+            targetFragment = createFragment(tab);
+            transaction.add(R.id.fragment_container, targetFragment, tab);
         } else {
-            // 如果目标Fragment已添加，则显示/隐藏
-            if (currentFragment != null) {
-                transaction.hide(currentFragment);
-            }
             transaction.show(targetFragment);
         }
+        transaction.setMaxLifecycle(targetFragment, Lifecycle.State.RESUMED);
 
+        if (traceStart != 0) {
+            // 事务异步执行，Trace区段只覆盖同步部分，完整耗时在事务完成后记录
+            transaction.runOnCommit(() -> PerfTracer.record(
+                    PerfTracer.SECTION_SWITCH_FRAGMENT, System.nanoTime() - traceStart));
+        }
         transaction.commitAllowingStateLoss();
         currentFragment = targetFragment;
+        currentTab = tab;
+        PerfTracer.endSection(traceStart);
+    }
+
+    /**
+     * 内存紧张时移除隐藏的标签页，释放其视图、列表数据和子页面，再次选中时重新创建并加载
+     * 前台运行时内存不足（RUNNING_LOW及以上），或进入后台后进程可能被回收（BACKGROUND及以上）时触发；
+     * 仅仅离开界面（UI_HIDDEN）时不释放，以免回到应用时重新加载
+     */
+    @Override
+    public void onTrimMemory(int level) {
+        super.onTrimMemory(level);
+        if (fragmentManager == null || level < ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW
+                || level == ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN) {
+            return;
+        }
+        FragmentTransaction transaction = null;
+        for (String tab : TABS) {
+            Fragment fragment = fragmentManager.findFragmentByTag(tab);
+            if (fragment == null || fragment == currentFragment) continue;
+            if (transaction == null) {
+                transaction = fragmentManager.beginTransaction();
+            }
+            transaction.remove(fragment);
+            Log.i(TAG, "内存紧张，释放隐藏的标签页: " + tab + "，level=" + level);
+        }
+        if (transaction != null) {
+            // 进入后台后状态可能已保存，被移除的页面在重建时仍会按保存的状态恢复
+            transaction.commitNowAllowingStateLoss();
+        }
     }
 
     // 添加公共方法用于更新导航状态
@@ -231,21 +327,12 @@ public class MainActivity extends BaseActivity {
         // 使用post确保在主线程执行
         runOnUiThread(() -> {
             switch (targetSection) {
-                case "HOME":
-                    updateNavSelection(navHome);
-                    switchFragment(homeFragment);
-                    break;
-                case "RECORD":
-                    updateNavSelection(navRecord);
-                    switchFragment(recordFragment);
-                    break;
-                case "RECOMMEND":
-                    updateNavSelection(navRecommend);
-                    switchFragment(recommendFragment);
-                    break;
-                case "SETTINGS":
-                    updateNavSelection(navSettings);
-                    switchFragment(settingsFragment);
+                case TAB_HOME:
+                case TAB_RECORD:
+                case TAB_RECOMMEND:
+                case TAB_SETTINGS:
+                    updateNavSelection(navForTab(targetSection));
+                    switchFragment(targetSection);
                     break;
             }
         });
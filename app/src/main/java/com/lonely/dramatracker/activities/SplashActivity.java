@@ -1,33 +1,82 @@
 package com.lonely.dramatracker.activities;
 
+import android.content.Context;
 import android.content.Intent;
 import android.os.Bundle;
-import android.os.Handler;
-import android.os.Looper;
+import android.util.Log;
+import android.widget.Toast;
 
 import com.lonely.dramatracker.R;
 import com.lonely.dramatracker.config.AppConfig;
 import com.lonely.dramatracker.services.Appwrite;
+import com.lonely.dramatracker.utils.ConnectionPrewarmer;
+import com.lonely.dramatracker.utils.PerfTracer;
+import com.lonely.dramatracker.utils.StartupTracker;
 
+import java.util.concurrent.CompletableFuture;
+
+import kotlin.Unit;
+
+/**
+ * 闪屏页
+ * 在后台线程读取配置、初始化Appwrite并检查本地会话，完成后立即跳转：
+ * 本地有未过期会话时直接进入首页，同时在后台向服务端确认会话，失效时再回到登录页；否则进入登录页
+ */
 public class SplashActivity extends BaseActivity {
-    
-    private static final long SPLASH_DELAY = 3000; 
-    
+    private static final String TAG = "SplashActivity";
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_splash);
-        
-        // 初始化AppConfig
-        AppConfig.INSTANCE.init(getApplicationContext());
-        
-        // 初始化Appwrite服务
-        Appwrite.INSTANCE.init(getApplicationContext());
-        
-        // 延迟跳转到登录页面
-        new Handler(Looper.getMainLooper()).postDelayed(() -> {
+        StartupTracker.onLaunch();
+
+        // 读取性能追踪开关
+        PerfTracer.init(getApplicationContext());
+
+        // 闪屏期间预热数据源连接
+        ConnectionPrewarmer.warmUp(this);
+
+        Context appContext = getApplicationContext();
+        CompletableFuture.supplyAsync(() -> {
+            // 读取secrets.properties和创建Appwrite客户端都涉及磁盘读取，不放在主线程
+            AppConfig.INSTANCE.init(appContext);
+            Appwrite.INSTANCE.init(appContext);
+            return Appwrite.INSTANCE.hasLocalSession();
+        }).whenComplete((hasSession, error) -> runOnUiThread(() -> {
+            if (error != null) {
+                // 缺少配置时应用无法工作，与之前在主线程初始化失败的行为保持一致
+                throw new RuntimeException("启动初始化失败", error);
+            }
+            onStartupReady(hasSession);
+        }));
+    }
+
+    private void onStartupReady(boolean hasSession) {
+        if (isFinishing()) return;
+        if (hasSession) {
+            Log.i(TAG, "本地会话有效，跳过登录页");
+            startActivity(new Intent(this, MainActivity.class));
+            verifySession(getApplicationContext());
+        } else {
             startActivity(new Intent(this, LoginActivity.class));
-            finish();
-        }, SPLASH_DELAY);
+        }
+        finish();
+    }
+
+    /**
+     * 后台确认会话，服务端明确表示会话失效时清空页面栈回到登录页；网络不可用等情况保持在首页
+     */
+    private static void verifySession(Context appContext) {
+        Appwrite.INSTANCE.verifySessionWithCallback(valid -> {
+            if (Boolean.FALSE.equals(valid)) {
+                Log.w(TAG, "会话已失效，返回登录页");
+                Toast.makeText(appContext, "登录已过期，请重新登录", Toast.LENGTH_SHORT).show();
+                Intent intent = new Intent(appContext, LoginActivity.class);
+                intent.addFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_CLEAR_TASK);
+                appContext.startActivity(intent);
+            }
+            return Unit.INSTANCE;
+        });
     }
 }
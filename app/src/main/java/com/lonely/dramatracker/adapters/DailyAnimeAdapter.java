@@ -10,12 +10,9 @@ import android.widget.TextView;
 import androidx.annotation.NonNull;
 import androidx.recyclerview.widget.RecyclerView;
 
-import com.bumptech.glide.Glide;
-import com.bumptech.glide.load.resource.bitmap.CenterCrop;
-import com.bumptech.glide.load.resource.bitmap.RoundedCorners;
-import com.bumptech.glide.request.RequestOptions;
 import com.lonely.dramatracker.R;
 import com.lonely.dramatracker.models.DailyAnime;
+import com.lonely.dramatracker.utils.PosterLoader;
 
 import java.util.List;
 
@@ -65,19 +62,7 @@ public class DailyAnimeAdapter extends RecyclerView.Adapter<DailyAnimeAdapter.An
         }
         
         // 加载海报
-        if (anime.getPosterUrl() != null && !anime.getPosterUrl().isEmpty()) {
-            RequestOptions requestOptions = new RequestOptions()
-                    .placeholder(R.drawable.placeholder_poster)
-                    .error(R.drawable.placeholder_poster)
-                    .transform(new CenterCrop());
-                    
-            Glide.with(context)
-                    .load(anime.getPosterUrl())
-                    .apply(requestOptions)
-                    .into(holder.ivPoster);
-        } else {
-            holder.ivPoster.setImageResource(R.drawable.placeholder_poster);
-        }
+        PosterLoader.load(holder.ivPoster, anime.getPosterUrl(), PosterLoader.POSTER_CROP_OPTIONS);
         
         // 设置点击事件
         holder.itemView.setOnClickListener(v -> {
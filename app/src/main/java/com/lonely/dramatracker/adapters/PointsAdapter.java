@@ -10,13 +10,11 @@ import android.widget.TextView;
 import androidx.annotation.NonNull;
 import androidx.recyclerview.widget.RecyclerView;
 
-import com.bumptech.glide.Glide;
-import com.bumptech.glide.load.resource.bitmap.CenterCrop;
-import com.bumptech.glide.load.resource.bitmap.RoundedCorners;
-import com.bumptech.glide.request.RequestOptions;
 import com.lonely.dramatracker.R;
 import com.lonely.dramatracker.fragments.PointsTabFragment;
 import com.lonely.dramatracker.models.MediaInfo;
+import com.lonely.dramatracker.utils.PerfTracer;
+import com.lonely.dramatracker.utils.PosterLoader;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -46,6 +44,9 @@ public class PointsAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder>
     
     // 点击监听
     private OnItemClickListener mOnItemClickListener;
+
+    // 海报宽度，与预加载器共用
+    private PosterLoader.PosterWidth mPosterWidth;
     
     /**
      * 构造函数
@@ -54,6 +55,13 @@ public class PointsAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder>
         this.mContext = context;
     }
     
+    /**
+     * 设置海报宽度，与列表预加载器共用同一个实例
+     */
+    public void setPosterWidth(PosterLoader.PosterWidth posterWidth) {
+        this.mPosterWidth = posterWidth;
+    }
+    
     /**
      * 设置当前页码和页面大小（用于正确计算排名）
      */
@@ -108,12 +116,17 @@ public class PointsAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder>
     
     @Override
     public void onBindViewHolder(@NonNull RecyclerView.ViewHolder holder, int position) {
-        MediaInfo item = mItems.get(position);
-        
-        if (holder instanceof AllViewHolder) {
-            setupAllViewHolder((AllViewHolder) holder, item, position);
-        } else if (holder instanceof NormalViewHolder) {
-            setupNormalViewHolder((NormalViewHolder) holder, item, position);
+        long traceStart = PerfTracer.begin(PerfTracer.SECTION_POINTS_BIND);
+        try {
+            MediaInfo item = mItems.get(position);
+            
+            if (holder instanceof AllViewHolder) {
+                setupAllViewHolder((AllViewHolder) holder, item, position);
+            } else if (holder instanceof NormalViewHolder) {
+                setupNormalViewHolder((NormalViewHolder) holder, item, position);
+            }
+        } finally {
+            PerfTracer.end(PerfTracer.SECTION_POINTS_BIND, traceStart);
         }
     }
     
@@ -125,11 +138,7 @@ public class PointsAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder>
         holder.tvTitle.setText(item.getMediaName());
         
         // 设置评分
-        if (item.getRating() > 0) {
-            holder.tvRating.setText(String.format("%.1f", item.getRating()));
-        } else {
-            holder.tvRating.setText("--");
-        }
+        holder.tvRating.setText(item.getRatingText());
         
         // 设置年份
         holder.tvYear.setText(item.getReleaseDate());
@@ -193,11 +202,7 @@ public class PointsAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder>
         holder.tvTitle.setText(item.getMediaName());
         
         // 设置评分
-        if (item.getRating() > 0) {
-            holder.tvRating.setText(String.format("%.1f", item.getRating()));
-        } else {
-            holder.tvRating.setText("--");
-        }
+        holder.tvRating.setText(item.getRatingText());
         
         // 设置年份
         holder.tvYear.setText(item.getReleaseDate());
@@ -259,25 +264,20 @@ public class PointsAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder>
      * 加载海报
      */
     private void loadPoster(ImageView imageView, String posterUrl) {
-        if (posterUrl != null && !posterUrl.isEmpty()) {
-            RequestOptions options = new RequestOptions()
-                    .placeholder(R.drawable.ic_image_placeholder)
-                    .error(R.drawable.ic_image_error)
-                    .transform(new CenterCrop(), new RoundedCorners(8));
-            
-            Glide.with(mContext)
-                    .load(posterUrl)
-                    .apply(options)
-                    .into(imageView);
-        } else {
-            imageView.setImageResource(R.drawable.ic_image_placeholder);
-        }
+        PosterLoader.load(imageView, posterUrl, PosterLoader.GRID_OPTIONS, mPosterWidth);
     }
     
     @Override
     public int getItemCount() {
         return mItems.size();
     }
+
+    /**
+     * 获取指定位置的海报URL，供预加载使用
+     */
+    public String getPosterUrl(int position) {
+        return position >= 0 && position < mItems.size() ? mItems.get(position).getPosterUrl() : null;
+    }
     
     /**
      * 全部分类ViewHolder
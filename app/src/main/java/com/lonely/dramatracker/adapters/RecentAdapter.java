@@ -11,10 +11,9 @@ import android.widget.TextView;
 import androidx.annotation.NonNull;
 import androidx.recyclerview.widget.RecyclerView;
 
-import com.bumptech.glide.Glide;
-import com.bumptech.glide.request.RequestOptions;
 import com.lonely.dramatracker.R;
 import com.lonely.dramatracker.models.MovieInfo;
+import com.lonely.dramatracker.utils.PosterLoader;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -33,6 +32,9 @@ public class RecentAdapter extends RecyclerView.Adapter<RecentAdapter.ViewHolder
     
     // 点击监听
     private OnItemClickListener mOnItemClickListener;
+
+    // 海报宽度，与预加载器共用
+    private PosterLoader.PosterWidth mPosterWidth;
     
     /**
      * 构造函数
@@ -41,6 +43,13 @@ public class RecentAdapter extends RecyclerView.Adapter<RecentAdapter.ViewHolder
         this.mContext = context;
     }
     
+    /**
+     * 设置海报宽度，与列表预加载器共用同一个实例
+     */
+    public void setPosterWidth(PosterLoader.PosterWidth posterWidth) {
+        this.mPosterWidth = posterWidth;
+    }
+    
     /**
      * 设置点击监听器
      */
@@ -84,8 +93,8 @@ public class RecentAdapter extends RecyclerView.Adapter<RecentAdapter.ViewHolder
         }
         
         // 设置评分
-        if (item.getScore() > 0) {
-            holder.tvRating.setText(String.format("%.1f", item.getScore()));
+        if (item.getScoreText() != null) {
+            holder.tvRating.setText(item.getScoreText());
             holder.tvRating.setVisibility(View.VISIBLE);
         } else {
             holder.tvRating.setVisibility(View.GONE);
@@ -139,24 +148,20 @@ public class RecentAdapter extends RecyclerView.Adapter<RecentAdapter.ViewHolder
      * 加载海报
      */
     private void loadPoster(ImageView imageView, String posterUrl) {
-        if (posterUrl != null && !posterUrl.isEmpty()) {
-            RequestOptions options = new RequestOptions()
-                    .placeholder(R.drawable.ic_image_placeholder)
-                    .error(R.drawable.ic_image_error);
-            
-            Glide.with(mContext)
-                    .load(posterUrl)
-                    .apply(options)
-                    .into(imageView);
-        } else {
-            imageView.setImageResource(R.drawable.ic_image_placeholder);
-        }
+        PosterLoader.load(imageView, posterUrl, PosterLoader.LIST_OPTIONS, mPosterWidth);
     }
     
     @Override
     public int getItemCount() {
         return mItems.size();
     }
+
+    /**
+     * 获取指定位置的海报URL，供预加载使用
+     */
+    public String getPosterUrl(int position) {
+        return position >= 0 && position < mItems.size() ? mItems.get(position).getPoster() : null;
+    }
     
     /**
      * ViewHolder
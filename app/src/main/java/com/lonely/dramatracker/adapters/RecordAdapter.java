@@ -1,22 +1,20 @@
 package com.lonely.dramatracker.adapters;
 
-import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.ImageView;
 import android.widget.LinearLayout;
 import android.widget.TextView;
-import android.widget.Toast;
 
 import androidx.annotation.NonNull;
 import androidx.recyclerview.widget.RecyclerView;
 
-import com.bumptech.glide.Glide;
 import com.google.android.material.switchmaterial.SwitchMaterial;
 import com.lonely.dramatracker.R;
+import com.lonely.dramatracker.crawler.text.TextNormalizer;
 import com.lonely.dramatracker.models.RecordItem;
-import com.lonely.dramatracker.services.AppwriteWrapper;
+import com.lonely.dramatracker.utils.PosterLoader;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -25,11 +23,29 @@ public class RecordAdapter extends RecyclerView.Adapter<RecordAdapter.ViewHolder
     private static final String TAG = "RecordAdapter";
     private List<RecordItem> items = new ArrayList<>();
     private boolean isGridMode = true;
+    // 海报宽度，与预加载器共用
+    private PosterLoader.PosterWidth posterWidth;
+    private OnWatchedChangeListener watchedListener;
+
+    public interface OnWatchedChangeListener {
+        void onWatchedChanged(RecordItem item, boolean watched);
+    }
 
     public RecordAdapter(boolean isGridMode) {
         this.isGridMode = isGridMode;
     }
 
+    public void setOnWatchedChangeListener(OnWatchedChangeListener listener) {
+        this.watchedListener = listener;
+    }
+
+    /**
+     * 设置海报宽度，与列表预加载器共用同一个实例
+     */
+    public void setPosterWidth(PosterLoader.PosterWidth posterWidth) {
+        this.posterWidth = posterWidth;
+    }
+
     public void setGridMode(boolean isGridMode) {
         this.isGridMode = isGridMode;
     }
@@ -57,7 +73,7 @@ public class RecordAdapter extends RecyclerView.Adapter<RecordAdapter.ViewHolder
     @Override
     public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
         RecordItem item = items.get(position);
-        holder.bind(item);
+        holder.bind(item, posterWidth, watchedListener);
     }
 
     @Override
@@ -65,6 +81,13 @@ public class RecordAdapter extends RecyclerView.Adapter<RecordAdapter.ViewHolder
         return items.size();
     }
 
+    /**
+     * 获取指定位置的海报URL，供预加载使用
+     */
+    public String getPosterUrl(int position) {
+        return position >= 0 && position < items.size() ? items.get(position).getPosterUrl() : null;
+    }
+
     static class ViewHolder extends RecyclerView.ViewHolder {
         private static final String TAG = "RecordAdapter";
         ImageView ivPoster;
@@ -104,7 +127,7 @@ public class RecordAdapter extends RecyclerView.Adapter<RecordAdapter.ViewHolder
             }
         }
 
-        void bind(RecordItem item) {
+        void bind(RecordItem item, PosterLoader.PosterWidth posterWidth, OnWatchedChangeListener watchedListener) {
             // 设置标题 - 根据不同媒体类型选择标题
             if (tvTitle != null) {
                 String title;
@@ -123,13 +146,9 @@ public class RecordAdapter extends RecyclerView.Adapter<RecordAdapter.ViewHolder
                 tvTitle.setText(title != null ? title : "");
             }
             
-            // 使用Glide加载海报图片
+            // 加载海报图片
             if (ivPoster != null) {
-                Glide.with(itemView.getContext())
-                        .load(item.getPosterUrl())
-                        .placeholder(R.drawable.placeholder_poster)
-                        .error(R.drawable.placeholder_poster)
-                        .into(ivPoster);
+                PosterLoader.load(ivPoster, item.getPosterUrl(), PosterLoader.POSTER_OPTIONS, posterWidth);
             }
             
             // 设置评分和对应图标
@@ -151,7 +170,7 @@ public class RecordAdapter extends RecyclerView.Adapter<RecordAdapter.ViewHolder
                             // 有多个评分时,使用豆瓣图标(因为豆瓣评分在前)
                             ivRatingIcon.setImageResource(R.drawable.ic_douban_green);
                             tvRating.setTextColor(itemView.getContext().getResources().getColor(R.color.douban_green));
-                        } else if (rating.matches(".*\\d+\\.?\\d*/10.*")) {
+                        } else if (TextNormalizer.containsTenPointRating(rating)) {
                             // IMDB格式: x/10
                             ivRatingIcon.setImageResource(R.drawable.ic_tmdb_16);
                             tvRating.setTextColor(itemView.getContext().getResources().getColor(R.color.tmdb_green));
@@ -220,39 +239,16 @@ public class RecordAdapter extends RecyclerView.Adapter<RecordAdapter.ViewHolder
             
             // 设置观看状态开关
             if (switchWatched != null) {
-                // 设置当前状态
+                // 先移除旧监听器，复用的ViewHolder设置新状态时不会触发上一条记录的回调
+                switchWatched.setOnCheckedChangeListener(null);
                 switchWatched.setChecked(item.isWatched());
                 
-                // 设置开关状态变化监听器
+                // 状态变化交给外部（RecordViewModel）处理，由其发布新列表后重新绑定
                 switchWatched.setOnCheckedChangeListener((buttonView, isChecked) -> {
-                    // 避免重复触发
                     if (isChecked == item.isWatched()) return;
-                    
-                    // 更新本地状态
-                    item.setWatched(isChecked);
-                    
-                    // 获取当前用户ID
-                    String userId = AppwriteWrapper.getCurrentUserId();
-                    String mediaId = item.getMediaId();
-                    
-                    Log.d(TAG, "更新观看状态: userId=" + userId + ", mediaId=" + mediaId + ", status=" + isChecked);
-                    
-                    // 调用API更新观看状态
-                    AppwriteWrapper.updateWatchStatus(userId, mediaId, isChecked, 
-                        () -> {
-                            // 成功回调
-                            Log.d(TAG, "观看状态更新成功");
-                        }, 
-                        () -> {
-                            // 失败回调，回滚UI状态
-                            Log.e(TAG, "观看状态更新失败");
-                            item.setWatched(!isChecked);
-                            switchWatched.setChecked(!isChecked);
-                            
-                            // 显示错误提示
-                            Toast.makeText(itemView.getContext(), 
-                                "更新观看状态失败，请重试", Toast.LENGTH_SHORT).show();
-                        });
+                    if (watchedListener != null) {
+                        watchedListener.onWatchedChanged(item, isChecked);
+                    }
                 });
             }
         }
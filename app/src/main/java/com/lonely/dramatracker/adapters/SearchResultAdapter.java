@@ -1,5 +1,9 @@
 package com.lonely.dramatracker.adapters;
 
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.LruCache;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -13,19 +17,44 @@ import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
-import com.bumptech.glide.Glide;
 import com.lonely.dramatracker.R;
+import com.lonely.dramatracker.api.impl.SearchDetailCache;
+import com.lonely.dramatracker.crawler.text.TextNormalizer;
 import com.lonely.dramatracker.models.SearchResult;
+import com.lonely.dramatracker.models.SearchResultDetail;
+import com.lonely.dramatracker.utils.PerfTracer;
+import com.lonely.dramatracker.utils.PosterLoader;
+import com.lonely.dramatracker.utils.RatingFormatter;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 public class SearchResultAdapter extends ListAdapter<SearchResult, SearchResultAdapter.ViewHolder> {
     private OnItemClickListener listener;
     private OnCollectClickListener collectListener;
+    private DetailLoader detailLoader;
+
+    // 列表最近显示过的详情数，超出后按LRU淘汰，再次显示时重新请求（通常命中SearchDetailCache）
+    private static final int MAX_LOADED_DETAILS = 60;
+
+    // 详情加载失败后的重试间隔，每次失败翻倍
+    private static final long DETAIL_RETRY_MIN_MS = 5_000;
+    private static final long DETAIL_RETRY_MAX_MS = 5 * 60_000;
+
+    // 本列表加载到的详情（来源没有详情时为SearchResultDetail.EMPTY），不挂到结果对象上：
+    // 结果对象与ApiServiceImpl的页面缓存共享，挂上去会让缓存重新持有详情
+    private final LruCache<String, SearchResultDetail> loadedDetails = new LruCache<>(MAX_LOADED_DETAILS);
+    // 正在请求详情的条目，请求结束（无论成败）后移除
+    private final Set<String> pendingDetails = new HashSet<>();
+    // 加载失败的条目，在重试时间之前再次显示也不重新请求
+    private final LruCache<String, FailedDetail> failedDetails = new LruCache<>(MAX_LOADED_DETAILS);
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
 
     // DiffUtil 回调实现
     private static final DiffUtil.ItemCallback<SearchResult> DIFF_CALLBACK = 
@@ -61,6 +90,13 @@ public class SearchResultAdapter extends ListAdapter<SearchResult, SearchResultA
         void onCollectClick(SearchResult result, boolean isCollect);
     }
 
+    /**
+     * 按需加载条目详情（简介、制作人员）
+     */
+    public interface DetailLoader {
+        CompletableFuture<SearchResultDetail> loadDetail(SearchResult result);
+    }
+
     public void setOnItemClickListener(OnItemClickListener listener) {
         this.listener = listener;
     }
@@ -69,6 +105,10 @@ public class SearchResultAdapter extends ListAdapter<SearchResult, SearchResultA
         this.collectListener = listener;
     }
 
+    public void setDetailLoader(DetailLoader loader) {
+        this.detailLoader = loader;
+    }
+
     // 获取当前列表数据的副本
     public List<SearchResult> getCurrentList() {
         return new ArrayList<>(super.getCurrentList());
@@ -84,15 +124,30 @@ public class SearchResultAdapter extends ListAdapter<SearchResult, SearchResultA
 
     @Override
     public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
+        long traceStart = PerfTracer.begin(PerfTracer.SECTION_SEARCH_BIND);
+        try {
+            bindResult(holder, position);
+        } finally {
+            PerfTracer.end(PerfTracer.SECTION_SEARCH_BIND, traceStart);
+        }
+    }
+
+    private void bindResult(@NonNull ViewHolder holder, int position) {
         SearchResult result = getItem(position); // 使用 getItem() 替代 results.get()
         
         // 设置标题
         holder.tvTitleZh.setText(result.getTitleZh());
         holder.tvTitleOriginal.setText(result.getTitleOriginal());
         
+        // 详情部分未加载时先按需请求，加载完成后刷新该条目
+        SearchResultDetail detail = detailOf(result);
+        if (detail == null) {
+            requestDetail(result);
+        }
+
         // 设置简介(使用summary字段)
         if (holder.tvDescription != null) {
-            String summary = result.getSummary();
+            String summary = detail != null ? detail.getSummary() : null;
             if (summary != null && !summary.isEmpty()) {
                 holder.tvDescription.setText(summary);
                 holder.tvDescription.setVisibility(View.VISIBLE);
@@ -108,10 +163,9 @@ public class SearchResultAdapter extends ListAdapter<SearchResult, SearchResultA
         // 如果有releaseDate则优先使用,并从中提取年份
         if (releaseDate != null && !releaseDate.isEmpty()) {
             // 尝试从releaseDate中提取年份
-            Pattern yearPattern = Pattern.compile("^(\\d{4})");
-            Matcher matcher = yearPattern.matcher(releaseDate);
-            if (matcher.find()) {
-                year = matcher.group(1);
+            String leadingYear = TextNormalizer.leadingYear(releaseDate);
+            if (leadingYear != null) {
+                year = leadingYear;
             }
             
             // 设置完整日期(格式化为带括号的形式)
@@ -164,7 +218,7 @@ public class SearchResultAdapter extends ListAdapter<SearchResult, SearchResultA
         // 设置各平台评分
         // 豆瓣评分
         if (result.getRatingDouban() > 0) {
-            holder.tvRatingDouban.setText(String.format("%.1f", result.getRatingDouban()));
+            holder.tvRatingDouban.setText(RatingFormatter.format(result.getRatingDouban()));
             holder.layoutRatingDouban.setVisibility(View.VISIBLE);
         } else {
             holder.layoutRatingDouban.setVisibility(View.GONE);
@@ -172,7 +226,7 @@ public class SearchResultAdapter extends ListAdapter<SearchResult, SearchResultA
         
         // TMDb评分
         if (result.getRatingImdb() > 0) {
-            holder.tvRatingTmdb.setText(String.format("%.1f", result.getRatingImdb()));
+            holder.tvRatingTmdb.setText(RatingFormatter.format(result.getRatingImdb()));
             holder.layoutRatingTmdb.setVisibility(View.VISIBLE);
         } else {
             holder.layoutRatingTmdb.setVisibility(View.GONE);
@@ -180,7 +234,7 @@ public class SearchResultAdapter extends ListAdapter<SearchResult, SearchResultA
         
         // Bangumi评分
         if (result.getRatingBangumi() > 0) {
-            holder.tvRatingBangumi.setText(String.format("%.1f", result.getRatingBangumi()));
+            holder.tvRatingBangumi.setText(RatingFormatter.format(result.getRatingBangumi()));
             holder.layoutRatingBangumi.setVisibility(View.VISIBLE);
         } else {
             holder.layoutRatingBangumi.setVisibility(View.GONE);
@@ -188,7 +242,7 @@ public class SearchResultAdapter extends ListAdapter<SearchResult, SearchResultA
         
         // 设置制作人员
         if (holder.tvStaff != null && holder.layoutStaff != null) {
-            String staff = result.getStaff();
+            String staff = detail != null ? detail.getStaff() : null;
             if (staff != null && !staff.isEmpty()) {
                 holder.tvStaff.setText(staff);
                 holder.layoutStaff.setVisibility(View.VISIBLE);
@@ -203,15 +257,7 @@ public class SearchResultAdapter extends ListAdapter<SearchResult, SearchResultA
                 : R.drawable.ic_favorite_border);
         
         // 加载海报图片
-        if (result.getPosterUrl() != null && !result.getPosterUrl().isEmpty()) {
-            Glide.with(holder.ivPoster)
-                    .load(result.getPosterUrl())
-                    .placeholder(R.drawable.placeholder_poster)
-                    .error(R.drawable.placeholder_poster)
-                    .into(holder.ivPoster);
-        } else {
-            holder.ivPoster.setImageResource(R.drawable.placeholder_poster);
-        }
+        PosterLoader.load(holder.ivPoster, result.getPosterUrl(), PosterLoader.POSTER_OPTIONS);
 
         // 设置点击事件
         holder.itemView.setOnClickListener(v -> {
@@ -228,6 +274,68 @@ public class SearchResultAdapter extends ListAdapter<SearchResult, SearchResultA
         });
     }
 
+    /**
+     * 条目的详情：结果自带的，或本列表已加载的
+     */
+    private SearchResultDetail detailOf(SearchResult result) {
+        if (result.hasDetail()) {
+            return result.getDetail();
+        }
+        return loadedDetails.get(SearchDetailCache.keyOf(result));
+    }
+
+    /**
+     * 请求条目详情，完成后在主线程记入本列表并刷新对应条目
+     */
+    private void requestDetail(SearchResult result) {
+        if (detailLoader == null) return;
+        String key = SearchDetailCache.keyOf(result);
+        FailedDetail failed = failedDetails.get(key);
+        if (failed != null && SystemClock.uptimeMillis() < failed.retryAtMs) return;
+        if (!pendingDetails.add(key)) return;
+
+        detailLoader.loadDetail(result).whenComplete((detail, throwable) -> mainHandler.post(() -> {
+            pendingDetails.remove(key);
+            if (throwable != null) {
+                // 取消（如开始了新的搜索）不算失败，下次显示时直接重新请求
+                if (!isCancellation(throwable)) {
+                    FailedDetail previous = failedDetails.get(key);
+                    long delay = previous == null ? DETAIL_RETRY_MIN_MS
+                            : Math.min(previous.delayMs * 2, DETAIL_RETRY_MAX_MS);
+                    failedDetails.put(key, new FailedDetail(SystemClock.uptimeMillis() + delay, delay));
+                }
+                return;
+            }
+            failedDetails.remove(key);
+            loadedDetails.put(key, detail != null ? detail : SearchResultDetail.EMPTY);
+            int index = super.getCurrentList().indexOf(result);
+            if (index >= 0) {
+                notifyItemChanged(index);
+            }
+        }));
+    }
+
+    private static boolean isCancellation(Throwable e) {
+        Throwable cause = e;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause instanceof CancellationException;
+    }
+
+    /**
+     * 详情加载失败的记录：下次允许重试的时间和本次的重试间隔
+     */
+    private static class FailedDetail {
+        final long retryAtMs;
+        final long delayMs;
+
+        FailedDetail(long retryAtMs, long delayMs) {
+            this.retryAtMs = retryAtMs;
+            this.delayMs = delayMs;
+        }
+    }
+
     static class ViewHolder extends RecyclerView.ViewHolder {
         ImageView ivPoster;
         TextView tvTitleZh;
@@ -1,6 +1,8 @@
 package com.lonely.dramatracker.adapters;
 
 import android.content.Context;
+import android.os.Parcelable;
+import android.util.SparseArray;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -15,6 +17,7 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.lonely.dramatracker.R;
 import com.lonely.dramatracker.models.DailyAnime;
 import com.lonely.dramatracker.models.WeeklySchedule;
+import com.lonely.dramatracker.utils.PerfTracer;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -32,13 +35,22 @@ public class WeeklyScheduleAdapter extends RecyclerView.Adapter<WeeklyScheduleAd
     private static final int FRIDAY = 5;
     private static final int SATURDAY = 6;
 
+    // 共享池中每日海报卡片的最大缓存数量（约两屏横向列表的可见卡片数）
+    private static final int MAX_POOLED_ANIME_VIEWS = 20;
+
     private WeeklySchedule weeklySchedule;
     private Context context;
     private DailyAnimeAdapter.OnItemClickListener animeClickListener;
 
+    // 七天的横向列表共享同一个视图池，避免滚动时重复inflate海报卡片
+    private final RecyclerView.RecycledViewPool sharedAnimePool = new RecyclerView.RecycledViewPool();
+    // 按星期位置保存横向列表的滚动状态
+    private final SparseArray<Parcelable> scrollStates = new SparseArray<>();
+
     public WeeklyScheduleAdapter(Context context) {
         this.context = context;
         this.weeklySchedule = new WeeklySchedule();
+        sharedAnimePool.setMaxRecycledViews(0, MAX_POOLED_ANIME_VIEWS);
     }
 
     public void setAnimeClickListener(DailyAnimeAdapter.OnItemClickListener listener) {
@@ -50,16 +62,44 @@ public class WeeklyScheduleAdapter extends RecyclerView.Adapter<WeeklyScheduleAd
     public WeekViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
         View view = LayoutInflater.from(parent.getContext())
                 .inflate(R.layout.item_daily_container, parent, false);
-        return new WeekViewHolder(view);
+        WeekViewHolder holder = new WeekViewHolder(view);
+
+        // 每个ViewHolder只创建一次内层适配器，绑定时仅替换数据
+        holder.animeAdapter = new DailyAnimeAdapter(context, new ArrayList<>());
+        holder.rvDailyAnime.setAdapter(holder.animeAdapter);
+        holder.rvDailyAnime.setRecycledViewPool(sharedAnimePool);
+        holder.rvDailyAnime.setHasFixedSize(true);
+
+        LinearLayoutManager layoutManager = (LinearLayoutManager) holder.rvDailyAnime.getLayoutManager();
+        if (layoutManager == null) {
+            layoutManager = new LinearLayoutManager(context, LinearLayoutManager.HORIZONTAL, false);
+            holder.rvDailyAnime.setLayoutManager(layoutManager);
+        }
+        // 行被回收时把子视图归还到共享池，供其他星期复用
+        layoutManager.setRecycleChildrenOnDetach(true);
+
+        // 设置左右滚动按钮点击事件
+        setupScrollButtons(holder);
+        return holder;
     }
 
     @Override
     public void onBindViewHolder(@NonNull WeekViewHolder holder, int position) {
+        long traceStart = PerfTracer.begin(PerfTracer.SECTION_WEEKLY_BIND);
+        try {
+            bindWeek(holder, position);
+        } finally {
+            PerfTracer.end(PerfTracer.SECTION_WEEKLY_BIND, traceStart);
+        }
+    }
+
+    private void bindWeek(@NonNull WeekViewHolder holder, int position) {
         // 根据位置获取对应星期的数据
         List<DailyAnime> animeList = getAnimeListByPosition(position);
         if (animeList == null) {
             animeList = new ArrayList<>();
         }
+        holder.boundPosition = position;
 
         // 设置作品数量
         holder.tvAnimeCount.setText("共" + animeList.size() + "部");
@@ -73,13 +113,37 @@ public class WeeklyScheduleAdapter extends RecyclerView.Adapter<WeeklyScheduleAd
             holder.llWeekContainer.setBackgroundResource(iconResId);
         }
 
-        // 设置动漫列表
-        DailyAnimeAdapter animeAdapter = new DailyAnimeAdapter(context, animeList);
-        animeAdapter.setOnItemClickListener(animeClickListener);
-        holder.rvDailyAnime.setAdapter(animeAdapter);
-        
-        // 设置左右滚动按钮点击事件
-        setupScrollButtons(holder);
+        // 设置动漫列表（复用已有适配器，只替换数据）
+        holder.animeAdapter.setOnItemClickListener(animeClickListener);
+        holder.animeAdapter.updateData(animeList);
+
+        // 恢复该星期的横向滚动位置
+        RecyclerView.LayoutManager layoutManager = holder.rvDailyAnime.getLayoutManager();
+        if (layoutManager != null) {
+            Parcelable state = scrollStates.get(position);
+            if (state != null) {
+                layoutManager.onRestoreInstanceState(state);
+            } else {
+                layoutManager.scrollToPosition(0);
+            }
+        }
+    }
+
+    @Override
+    public void onViewRecycled(@NonNull WeekViewHolder holder) {
+        super.onViewRecycled(holder);
+        saveScrollState(holder);
+    }
+
+    /**
+     * 保存指定行的横向滚动位置
+     */
+    private void saveScrollState(WeekViewHolder holder) {
+        int position = holder.boundPosition;
+        RecyclerView.LayoutManager layoutManager = holder.rvDailyAnime.getLayoutManager();
+        if (position != RecyclerView.NO_POSITION && layoutManager != null) {
+            scrollStates.put(position, layoutManager.onSaveInstanceState());
+        }
     }
 
     @Override
@@ -205,6 +269,8 @@ public class WeeklyScheduleAdapter extends RecyclerView.Adapter<WeeklyScheduleAd
      */
     public void updateData(WeeklySchedule newSchedule) {
         this.weeklySchedule = newSchedule;
+        // 数据整体更换后旧的滚动位置已无意义
+        scrollStates.clear();
         notifyDataSetChanged();
     }
 
@@ -251,6 +317,8 @@ public class WeeklyScheduleAdapter extends RecyclerView.Adapter<WeeklyScheduleAd
         RecyclerView rvDailyAnime;
         ImageButton btnScrollLeft;
         ImageButton btnScrollRight;
+        DailyAnimeAdapter animeAdapter;
+        int boundPosition = RecyclerView.NO_POSITION;
 
         WeekViewHolder(@NonNull View itemView) {
             super(itemView);
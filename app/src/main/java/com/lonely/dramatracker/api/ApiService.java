@@ -1,6 +1,8 @@
 package com.lonely.dramatracker.api;
 
+import com.lonely.dramatracker.crawler.CancellationToken;
 import com.lonely.dramatracker.models.SearchResult;
+import com.lonely.dramatracker.models.SearchResultDetail;
 
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -12,15 +14,52 @@ public interface ApiService {
      * @param type 搜索类型
      * @param page 页码
      * @param limit 每页数量
+     * @param token 取消令牌，取消后停止翻页和补全，Future以空列表结束
      * @return 搜索结果列表的Future
      */
-    CompletableFuture<List<SearchResult>> search(String keyword, String type, int page, int limit);
+    CompletableFuture<List<SearchResult>> search(String keyword, String type, int page, int limit, CancellationToken token);
     
     /**
      * 获取搜索结果的总数量
      * @param keyword 搜索关键词
      * @param type 搜索类型
+     * @param token 取消令牌
      * @return 结果总数的Future
      */
-    CompletableFuture<Integer> getTotalCount(String keyword, String type);
+    CompletableFuture<Integer> getTotalCount(String keyword, String type, CancellationToken token);
+
+    /**
+     * 搜索单个来源的第一页列表结果（未补全），结果按 来源:关键词:页码 缓存，供快速添加和完整搜索共用
+     * @param sourceType 来源类型 ("tmdb", "bgm", "douban")
+     * @param keyword 搜索关键词
+     * @param token 取消令牌
+     * @return 搜索结果列表的Future，失败或取消时以异常完成
+     */
+    CompletableFuture<List<SearchResult>> searchSource(String sourceType, String keyword, CancellationToken token);
+
+    /**
+     * 补全列表结果中需要访问详情页才能获得的字段（时长、豆瓣海报和评分等），结果会被缓存
+     * @param result searchSource返回的列表结果
+     * @param token 取消令牌
+     * @return 补全后的结果，补全失败时返回原结果，取消时以CancellationException结束
+     */
+    CompletableFuture<SearchResult> enrich(SearchResult result, CancellationToken token);
+
+    /**
+     * 获取搜索结果的详情部分（简介、制作人员），优先读取缓存，未命中时从来源站点加载
+     * @param result 搜索结果
+     * @param token 取消令牌，取消时中止网络请求，Future以CancellationException结束
+     * @return 详情的Future；来源没有简介和制作人员时结果为SearchResultDetail.EMPTY（同样会缓存），
+     *         加载失败时异常结束
+     */
+    CompletableFuture<SearchResultDetail> getDetail(SearchResult result, CancellationToken token);
+
+    /**
+     * 从已缓存的搜索中即时取出可能匹配的结果，不发起网络请求
+     * 查找关键词本身或其最长前缀已加载的列表，并按标题在本地过滤，用于边输入边搜索时的预览
+     * @param keyword 搜索关键词
+     * @param type 搜索类型
+     * @return 匹配的结果，已补全的条目优先使用补全后的版本；没有缓存时返回空列表
+     */
+    List<SearchResult> findCachedResults(String keyword, String type);
 }
\ No newline at end of file
@@ -2,35 +2,266 @@ package com.lonely.dramatracker.api.impl;
 
 import android.util.Log;
 import com.lonely.dramatracker.api.ApiService;
+import com.lonely.dramatracker.crawler.CancellationToken;
+import com.lonely.dramatracker.crawler.SharedRequest;
+import com.lonely.dramatracker.crawler.http.CircuitOpenException;
+import com.lonely.dramatracker.models.SearchPage;
 import com.lonely.dramatracker.models.SearchResult;
+import com.lonely.dramatracker.models.SearchResultDetail;
 import com.lonely.dramatracker.utils.BangumiCrawler;
+import com.lonely.dramatracker.utils.Diagnostics;
 import com.lonely.dramatracker.utils.DoubanCrawler;
 import com.lonely.dramatracker.utils.TMDbCrawler;
 
+import org.json.JSONObject;
+
 import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
+/**
+ * 搜索API实现
+ * 应通过 ServiceRegistry 获取共享实例，缓存才能在各页面之间复用
+ */
 public class ApiServiceImpl implements ApiService {
     private static final String TAG = "ApiServiceImpl";
+
+    // 缓存容量：来源列表页、搜索游标、补全后的条目、总数
+    private static final int MAX_SOURCE_ENTRIES = 48;
+    private static final int MAX_CURSOR_ENTRIES = 24;
+    private static final int MAX_ENRICHED_ENTRIES = 200;
+    private static final int MAX_COUNT_ENTRIES = 48;
+    private static final int MAX_STALE_ENTRIES = 48;
+
     private final BangumiCrawler bangumiCrawler;
     private final DoubanCrawler doubanCrawler;
     private final TMDbCrawler tmdbCrawler;
-    private final CacheManager<String, List<SearchResult>> searchResultCache = new CacheManager<>(60 * 5); // 5分钟缓存原始结果
-    private final CacheManager<String, Integer> totalCountCache = new CacheManager<>(60 * 5); // 5分钟缓存总数
+    // 来源列表页缓存保存的是共享请求，同一页的并发请求（如快速添加和完整搜索同时发起）只会访问一次网络
+    private final CacheManager<String, SharedRequest<SearchPage>> sourcePageCache = new CacheManager<>(60 * 5, MAX_SOURCE_ENTRIES);
+    private final CacheManager<String, SearchCursor> cursorCache = new CacheManager<>(60 * 5, MAX_CURSOR_ENTRIES); // 5分钟缓存分页游标
+    private final CacheManager<String, SearchResult> enrichedCache = new CacheManager<>(60 * 30, MAX_ENRICHED_ENTRIES); // 30分钟缓存补全后的条目
+    private final CacheManager<String, Integer> totalCountCache = new CacheManager<>(60 * 5, MAX_COUNT_ENTRIES); // 5分钟缓存总数
+    private final CacheManager<String, SearchPage> stalePageCache = new CacheManager<>(60 * 60 * 6, MAX_STALE_ENTRIES); // 6小时保留最近成功的来源页，数据源熔断时使用
+    private final SearchDetailCache detailCache = SearchDetailCache.getInstance(); // 详情单独缓存
 
     public ApiServiceImpl() {
-        this.doubanCrawler = new DoubanCrawler();
-        this.bangumiCrawler = new BangumiCrawler();
+        this.doubanCrawler = DoubanCrawler.getInstance();
+        this.bangumiCrawler = BangumiCrawler.getInstance();
         this.tmdbCrawler = TMDbCrawler.getInstance();
     }
+
+    @Override
+    public CompletableFuture<List<SearchResult>> searchSource(String sourceType, String keyword, CancellationToken token) {
+        return fetchPage(sourceType, keyword, 1, token).thenApply(SearchPage::getResults);
+    }
+
+    @Override
+    public CompletableFuture<SearchResult> enrich(SearchResult result, CancellationToken token) {
+        String cacheKey = SearchDetailCache.keyOf(result);
+        SearchResult cached = enrichedCache.get(cacheKey);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        CompletableFuture<SearchResult> future;
+        if ("bgm".equals(result.getSourceType())) {
+            future = bangumiCrawler.enrich(result, token);
+        } else if ("douban".equals(result.getSourceType())) {
+            future = doubanCrawler.enrich(result, token);
+        } else {
+            future = tmdbCrawler.enrich(result, token);
+        }
+        return future.thenApply(enriched -> {
+            // 详情移入详情缓存，补全后的结果只保留轻量字段
+            detailCache.stash(enriched);
+            if (enriched != result) {
+                enrichedCache.put(cacheKey, enriched);
+            }
+            return enriched;
+        }).exceptionally(e -> {
+            if (isCancellation(e)) {
+                throw new CancellationException("补全已取消: " + cacheKey);
+            }
+            Log.e(TAG, "补全搜索结果失败: " + cacheKey, e);
+            return result;
+        });
+    }
+
+    /**
+     * 获取来源站点的一页列表结果，按 来源:关键词:页码 缓存
+     * 同一页的并发调用共用一次请求，每个调用方用自己的令牌只取消自己的等待，
+     * 所有调用方都取消后才取消网络请求；数据源熔断时改用最近一次成功取回的同一页（如果有）
+     */
+    private CompletableFuture<SearchPage> fetchPage(String sourceType, String keyword, int page, CancellationToken token) {
+        String cacheKey = sourceType + ":" + keyword + ":" + page;
+        return fetchPageCached(sourceType, keyword, page, cacheKey, token).handle((result, e) -> {
+            if (e == null) {
+                return CompletableFuture.completedFuture(result);
+            }
+            SearchPage stale = isCircuitOpen(e) ? stalePageCache.get(cacheKey) : null;
+            if (stale != null) {
+                Log.w(TAG, sourceType + " 熔断中，使用旧的缓存结果: " + cacheKey);
+                return CompletableFuture.completedFuture(stale);
+            }
+            CompletableFuture<SearchPage> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }).thenCompose(future -> future);
+    }
+
+    private CompletableFuture<SearchPage> fetchPageCached(String sourceType, String keyword, int page, String cacheKey,
+                                                          CancellationToken token) {
+        synchronized (sourcePageCache) {
+            SharedRequest<SearchPage> cached = sourcePageCache.get(cacheKey);
+            if (cached != null && !cached.result().isCompletedExceptionally()) {
+                CompletableFuture<SearchPage> joined = cached.join(token);
+                if (joined != null) {
+                    return joined;
+                }
+                // 之前的调用方都已取消，重新发起
+            }
+
+            SharedRequest<SearchPage> pending = new SharedRequest<>(requestToken ->
+                    searchSourcePage(sourceType, keyword, page, requestToken).thenApply(result -> {
+                        // 列表页解析出的简介等详情移入详情缓存
+                        for (SearchResult item : result.getResults()) {
+                            detailCache.stash(item);
+                        }
+                        stalePageCache.put(cacheKey, result);
+                        return result;
+                    }));
+            sourcePageCache.put(cacheKey, pending);
+            // 失败（包括被全部调用方取消）的请求不保留，下次重新发起
+            pending.result().whenComplete((result, e) -> {
+                if (e != null) {
+                    sourcePageCache.remove(cacheKey, pending);
+                }
+            });
+            return pending.join(token);
+        }
+    }
+
+    private CompletableFuture<SearchPage> searchSourcePage(String sourceType, String keyword, int page,
+                                                           CancellationToken token) {
+        if ("bgm".equals(sourceType)) {
+            return bangumiCrawler.searchPage(keyword, page, token);
+        } else if ("douban".equals(sourceType)) {
+            return doubanCrawler.searchPage(keyword, page, token);
+        }
+        return tmdbCrawler.searchPage(keyword, page, token);
+    }
+
+    @Override
+    public List<SearchResult> findCachedResults(String keyword, String type) {
+        String needle = keyword.trim().toLowerCase(Locale.ROOT);
+        if (needle.isEmpty()) {
+            return new ArrayList<>();
+        }
+        // 从关键词本身开始，逐步缩短前缀查找已加载的游标；
+        // 跳过还没有结果的游标（刚开始或已取消、失败的搜索），继续使用更短前缀已加载的结果
+        SearchCursor cursor = null;
+        for (int length = keyword.length(); length > 0 && cursor == null; length--) {
+            SearchCursor candidate = cursorCache.get(keyword.substring(0, length) + "_" + type);
+            if (candidate != null && candidate.size() > 0) {
+                cursor = candidate;
+            }
+        }
+        if (cursor == null) {
+            return new ArrayList<>();
+        }
+
+        List<SearchResult> matches = new ArrayList<>();
+        for (SearchResult result : cursor.slice(0, Integer.MAX_VALUE)) {
+            if (containsIgnoreCase(result.getTitleZh(), needle)
+                    || containsIgnoreCase(result.getTitleOriginal(), needle)) {
+                SearchResult enriched = enrichedCache.get(SearchDetailCache.keyOf(result));
+                matches.add(enriched != null ? enriched : result);
+            }
+        }
+        return matches;
+    }
+
+    private static boolean containsIgnoreCase(String text, String lowerNeedle) {
+        return text != null && text.toLowerCase(Locale.ROOT).contains(lowerNeedle);
+    }
+
+    /**
+     * 获取 关键词+类型 对应的游标，不存在时新建
+     */
+    private SearchCursor getCursor(String keyword, String type) {
+        String cacheKey = keyword + "_" + type;
+        synchronized (cursorCache) {
+            SearchCursor cursor = cursorCache.get(cacheKey);
+            if (cursor == null) {
+                // 动漫使用Bangumi，电影/电视剧及其他类型优先使用TMDb
+                cursor = new SearchCursor("anime".equals(type) ? "bgm" : "tmdb");
+                cursorCache.put(cacheKey, cursor);
+            }
+            return cursor;
+        }
+    }
+
+    /**
+     * 向后翻取来源页，直到游标中至少有needed条结果或来源没有更多结果
+     */
+    private CompletableFuture<Void> fillCursor(SearchCursor cursor, String keyword, String type, int needed, CancellationToken token) {
+        token.throwIfCancelled();
+        if (cursor.size() >= needed || cursor.isExhausted()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        String sourceType = cursor.getSourceType();
+        int page = cursor.getNextPage();
+        boolean canFallBack = page == 1 && "tmdb".equals(sourceType) && ("movie".equals(type) || "tv".equals(type));
+        return fetchPage(sourceType, keyword, page, token).handle((result, e) -> {
+            if (e == null) {
+                return CompletableFuture.completedFuture(result);
+            }
+            if (canFallBack && isCircuitOpen(e)) {
+                // TMDb熔断时不等待，直接改用豆瓣
+                Log.w(TAG, "TMDb 熔断中, 改用 Douban for " + keyword);
+                cursor.switchSource("douban");
+                return CompletableFuture.<SearchPage>completedFuture(null);
+            }
+            CompletableFuture<SearchPage> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }).thenCompose(future -> future).thenCompose(result -> {
+            if (result == null) {
+                // 已切换来源，从新来源的第一页继续
+                return fillCursor(cursor, keyword, type, needed, token);
+            }
+            cursor.append(result);
+            // 电影/电视剧: TMDb第一页没有结果时回退到豆瓣
+            if (canFallBack && result.getResults().isEmpty()) {
+                Log.d(TAG, "TMDb 未找到结果, 尝试 Douban for " + keyword);
+                cursor.switchSource("douban");
+            }
+            return fillCursor(cursor, keyword, type, needed, token);
+        });
+    }
+
+    /**
+     * 并行补全一页结果，保持原顺序
+     */
+    private CompletableFuture<List<SearchResult>> enrichAll(List<SearchResult> results, CancellationToken token) {
+        List<CompletableFuture<SearchResult>> futures = new ArrayList<>();
+        for (SearchResult result : results) {
+            futures.add(enrich(result, token));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+            .thenApply(v -> futures.stream().map(CompletableFuture::join).collect(Collectors.toList()));
+    }
     
     @Override
-    public CompletableFuture<Integer> getTotalCount(String keyword, String type) {
+    public CompletableFuture<Integer> getTotalCount(String keyword, String type, CancellationToken token) {
         // 缓存键只包含关键词和类型
         String cacheKey = keyword + "_" + type + "_count";
         
@@ -41,149 +272,178 @@ public class ApiServiceImpl implements ApiService {
             return CompletableFuture.completedFuture(cachedCount);
         }
         
-        // 根据类型选择数据源获取总数
+        // 取回第一页列表（不补全）即可估算总数
         Log.d(TAG, "开始获取总数，类型: " + type);
-        CompletableFuture<Integer> countFuture;
-        try {
-            if ("anime".equals(type)) {
-                // 动漫使用 Bangumi
-                countFuture = bangumiCrawler.search(keyword)
-                    .thenApplyAsync(results -> (results != null) ? results.size() : 0);
-            } else if ("movie".equals(type) || "tv".equals(type)) {
-                 // 电影/电视剧: 优先获取TMDb计数，如果为0则获取豆瓣计数
-                countFuture = tmdbCrawler.search(keyword).thenComposeAsync(tmdbResults -> {
-                    if (tmdbResults != null && !tmdbResults.isEmpty()) {
-                        Log.d(TAG, "TMDb 找到 " + tmdbResults.size() + " 个结果 (计数).");
-                        return CompletableFuture.completedFuture(tmdbResults.size());
-                    } else {
-                        Log.d(TAG, "TMDb 未找到结果 (计数), 尝试 Douban.");
-                        return doubanCrawler.search(keyword)
-                            .thenApplyAsync(doubanResults -> (doubanResults != null) ? doubanResults.size() : 0);
-                    }
-                });
-            } else {
-                // 其他未知类型，默认使用TMDb计数
-                Log.w(TAG, "未知的搜索类型 (计数)，默认使用TMDb: " + type);
-                countFuture = tmdbCrawler.search(keyword)
-                    .thenApplyAsync(results -> (results != null) ? results.size() : 0);
-            }
-            
-            // 处理最终的Future，缓存总数
-            return countFuture.thenApplyAsync(count -> { // 使用 Async
+        SearchCursor cursor = getCursor(keyword, type);
+        return cursor.enqueue(() -> fillCursor(cursor, keyword, type, 1, token))
+            .thenApply(v -> {
+                int count = cursor.estimateTotal();
                 Log.d(TAG, "获取到最终总数: " + count + " for key: " + cacheKey);
                 totalCountCache.put(cacheKey, count); // 缓存最终计数
                 return count;
             }).exceptionally(e -> { // 添加异常处理
+                if (isCancellation(e)) {
+                    Log.d(TAG, "获取总数已取消 for key: " + cacheKey);
+                    return 0;
+                }
                 Log.e(TAG, "获取总数失败 for key: " + cacheKey, e);
                 return 0; // 失败时返回0
             });
-        } catch (Exception e) { // 捕获同步异常
-            Log.e(TAG, "启动获取总数失败 for key: " + cacheKey, e);
-            CompletableFuture<Integer> future = new CompletableFuture<>();
-            future.completeExceptionally(new RuntimeException("获取总数失败", e));
-            return future;
-        }
     }
 
     @Override
-    public CompletableFuture<List<SearchResult>> search(String keyword, String type, int page, int limit) {
-        // 缓存键只包含关键词和类型，缓存的是原始未分页列表
-        String cacheKey = keyword + "_" + type + "_results";
+    public CompletableFuture<List<SearchResult>> search(String keyword, String type, int page, int limit, CancellationToken token) {
+        if (limit <= 0 || page <= 0) {
+            return CompletableFuture.completedFuture(new ArrayList<>());
+        }
+        int start = (page - 1) * limit;
+        int end = start + limit;
 
-        // 尝试从缓存获取原始列表
-        List<SearchResult> cachedResults = searchResultCache.get(cacheKey);
-        if (cachedResults != null) {
-            Log.d(TAG, "返回缓存的搜索结果: " + cacheKey);
-            // 应用分页并返回
-            return CompletableFuture.completedFuture(applyPagination(cachedResults, page, limit));
+        // 只向后翻取覆盖当前页所需的来源页，再补全当前页的条目
+        SearchCursor cursor = getCursor(keyword, type);
+        return cursor.enqueue(() -> fillCursor(cursor, keyword, type, end, token))
+            .thenCompose(v -> {
+                if (cursor.isExhausted()) {
+                    // 来源已翻到底，总数以实际取回的条数为准，避免分页栏显示空的末页
+                    totalCountCache.put(keyword + "_" + type + "_count", cursor.estimateTotal());
+                }
+                List<SearchResult> pageResults = cursor.slice(start, end);
+                Log.d(TAG, "搜索分页: page=" + page + ", limit=" + limit + ", loaded=" + cursor.size()
+                        + ", source=" + cursor.getSourceType());
+                return enrichAll(pageResults, token);
+            }).exceptionally(e -> { // 添加异常处理
+                if (isCancellation(e)) {
+                    Log.d(TAG, "搜索已取消 for key: " + keyword + "_" + type);
+                    return new ArrayList<>();
+                }
+                Log.e(TAG, "搜索执行失败 for key: " + keyword + "_" + type, e);
+                return new ArrayList<>(); // 失败时返回空列表
+            });
+    }
+    
+    @Override
+    public CompletableFuture<SearchResultDetail> getDetail(SearchResult result, CancellationToken token) {
+        if (result == null) {
+            return CompletableFuture.completedFuture(SearchResultDetail.EMPTY);
+        }
+        if (result.hasDetail()) {
+            return CompletableFuture.completedFuture(result.getDetail());
+        }
+        SearchResultDetail cached = detailCache.get(result);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
         }
 
-        Log.d(TAG, "缓存未命中，执行搜索: " + cacheKey);
-        // 根据类型选择搜索逻辑
-        CompletableFuture<List<SearchResult>> finalResultFuture;
-        try {
-            if ("anime".equals(type)) {
-                 // 动漫直接用Bangumi
-                finalResultFuture = bangumiCrawler.search(keyword);
-            } else if ("movie".equals(type) || "tv".equals(type)) {
-                // 电影/电视剧: 优先TMDb，失败则回退到豆瓣
-                finalResultFuture = tmdbCrawler.search(keyword).thenComposeAsync(tmdbResults -> {
-                    if (tmdbResults != null && !tmdbResults.isEmpty()) {
-                        Log.d(TAG, "TMDb 找到结果 (" + tmdbResults.size() + "), 使用 TMDb 结果 for " + keyword);
-                        return CompletableFuture.completedFuture(tmdbResults); // 直接使用 TMDb 结果
-                    } else {
-                        Log.d(TAG, "TMDb 未找到结果, 尝试 Douban for " + keyword);
-                        return doubanCrawler.search(keyword); // 回退到豆瓣搜索
+        // 缓存未命中，按来源加载详情
+        String sourceId = result.getSourceId();
+        CompletableFuture<SearchResultDetail> detailFuture;
+        if ("tmdb".equals(result.getSourceType())) {
+            detailFuture = tmdbCrawler.getDetail(result.getMediaType(), sourceId, token);
+        } else if ("bgm".equals(result.getSourceType())) {
+            detailFuture = bangumiCrawler.getMediaInfo(sourceId, token)
+                .thenApply(info -> SearchResultDetail.of(info.getSummary(), formatBangumiStaff(info.getStaff())));
+        } else if ("douban".equals(result.getSourceType())) {
+            detailFuture = doubanCrawler.getMediaInfo(sourceId, token)
+                .thenApply(info -> {
+                    if (info == null) {
+                        // 豆瓣爬虫获取失败时返回null而不是抛出异常
+                        throw new IllegalStateException("豆瓣详情页获取失败: " + sourceId);
                     }
+                    return SearchResultDetail.of(info.getSummary(), info.getStaff());
                 });
-            } else {
-                // 其他未知类型，默认仅使用TMDb
-                Log.w(TAG, "未知的搜索类型，默认使用TMDb: " + type);
-                finalResultFuture = tmdbCrawler.search(keyword);
-            }
+        } else {
+            Log.w(TAG, "未知的来源类型，无法加载详情: " + result.getSourceType());
+            return CompletableFuture.completedFuture(SearchResultDetail.EMPTY);
+        }
 
-            // 处理最终的Future，缓存原始结果，然后应用分页
-            return finalResultFuture.thenApplyAsync(finalResults -> { // 使用 Async 避免阻塞UI线程
-                Log.d(TAG, "搜索完成，最终结果数: " + (finalResults != null ? finalResults.size() : 0) + " for key: " + cacheKey);
-                if (finalResults != null) { // 缓存最终获取的结果（可能是TMDb、豆瓣或Bangumi）
-                    searchResultCache.put(cacheKey, finalResults); 
+        return detailFuture.handle((detail, e) -> {
+            if (e != null) {
+                if (isCancellation(e)) {
+                    throw new CancellationException("加载详情已取消: " + SearchDetailCache.keyOf(result));
                 }
-                return applyPagination(finalResults, page, limit); // 应用分页
-            }).exceptionally(e -> { // 添加异常处理
-                Log.e(TAG, "搜索执行失败 for key: " + cacheKey, e);
-                return new ArrayList<>(); // 失败时返回空列表
-            });
-        } catch (Exception e) { // 捕获同步异常
-             Log.e(TAG, "启动搜索失败 for key: " + cacheKey, e);
-            CompletableFuture<List<SearchResult>> future = new CompletableFuture<>();
-            future.completeExceptionally(new RuntimeException("搜索失败", e));
-            return future;
+                // 失败不写缓存，由调用方决定何时重试
+                Log.e(TAG, "加载详情失败: " + SearchDetailCache.keyOf(result), e);
+                throw e instanceof CompletionException ? (CompletionException) e : new CompletionException(e);
+            }
+            // 来源确实没有详情时缓存EMPTY，再次显示时不重新请求
+            SearchResultDetail loaded = detail != null ? detail : SearchResultDetail.EMPTY;
+            detailCache.put(result, loaded);
+            SearchResultDetail merged = detailCache.get(result);
+            return merged != null ? merged : loaded;
+        });
+    }
+
+    /**
+     * 判断异常是否由取消引起（CompletableFuture会把异常包装为CompletionException）
+     */
+    private static boolean isCancellation(Throwable e) {
+        Throwable cause = e;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
         }
+        return cause instanceof CancellationException;
     }
-    
+
     /**
-     * 对搜索结果应用分页逻辑
-     * @param allResults 所有搜索结果
-     * @param page 页码（从1开始）
-     * @param limit 每页数量
-     * @return 分页后的结果
+     * 判断异常是否由数据源熔断引起（爬虫会把网络异常包装为RuntimeException）
      */
-    private List<SearchResult> applyPagination(List<SearchResult> allResults, int page, int limit) {
-        if (allResults == null || allResults.isEmpty() || limit <= 0 || page <= 0) {
-            return new ArrayList<>();
+    private static boolean isCircuitOpen(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof CircuitOpenException) {
+                return true;
+            }
         }
-        
-        // 计算起始索引
-        int startIndex = (page - 1) * limit;
-        
-        // 如果起始索引超出结果范围，返回空列表
-        if (startIndex >= allResults.size()) {
-            return new ArrayList<>();
+        return false;
+    }
+
+    /**
+     * 把Bangumi详情页的制作人员JSON转换为与搜索结果一致的 "职位: 名字 | ..." 格式
+     */
+    private String formatBangumiStaff(String staffJson) {
+        if (staffJson == null || staffJson.isEmpty()) {
+            return null;
+        }
+        try {
+            JSONObject json = new JSONObject(staffJson);
+            StringBuilder builder = new StringBuilder();
+            Iterator<String> keys = json.keys();
+            while (keys.hasNext()) {
+                String key = keys.next();
+                if (builder.length() > 0) {
+                    builder.append(" | ");
+                }
+                builder.append(key).append(": ").append(json.optString(key));
+            }
+            return builder.toString();
+        } catch (Exception e) {
+            return staffJson;
         }
-        
-        // 计算结束索引（不包含）
-        int endIndex = Math.min(startIndex + limit, allResults.size());
-        
-        // 返回请求的分页结果
-        Log.d(TAG, "应用分页: page=" + page + ", limit=" + limit + ", startIndex=" + startIndex + ", endIndex=" + endIndex + ", total=" + allResults.size());
-        return allResults.subList(startIndex, endIndex);
     }
     
     /**
      * 简单的内存缓存管理器 (Copy from original, add TAG)
+     * 超过容量时按最近最少使用淘汰
      */
     private static class CacheManager<K, V> {
-        private final Map<K, CacheEntry<V>> cache = new ConcurrentHashMap<>(); // 使用 ConcurrentHashMap 保证线程安全
+        private final Map<K, CacheEntry<V>> cache; // 访问顺序的LinkedHashMap，读写都在synchronized方法内
         private final long ttlMillis; // 缓存生存时间（毫秒）
         
-        public CacheManager(long ttlSeconds) {
+        public CacheManager(long ttlSeconds, int maxEntries) {
             this.ttlMillis = ttlSeconds * 1000;
+            this.cache = new LinkedHashMap<K, CacheEntry<V>>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<K, CacheEntry<V>> eldest) {
+                    return size() > maxEntries;
+                }
+            };
              // 可以添加一个后台线程定期清理过期缓存，但简单实现下，get/containsKey时清理
         }
         
         public synchronized void put(K key, V value) { // 加 synchronized 保护写入
             if (key == null) return;
-            Log.d(TAG, "缓存写入: " + key);
+            if (Diagnostics.ENABLED) {
+                Diagnostics.v(TAG, () -> "缓存写入: " + key);
+            }
             cache.put(key, new CacheEntry<>(value, System.currentTimeMillis() + ttlMillis));
         }
         
@@ -191,18 +451,33 @@ public class ApiServiceImpl implements ApiService {
             if (key == null) return null;
             CacheEntry<V> entry = cache.get(key);
             if (entry != null && !entry.isExpired()) {
-                 Log.d(TAG, "缓存命中: " + key);
+                if (Diagnostics.ENABLED) {
+                    Diagnostics.v(TAG, () -> "缓存命中: " + key);
+                }
                 return entry.getValue();
             }
             if (entry != null) { // 过期了
-                Log.d(TAG, "缓存过期并移除: " + key);
-                 cache.remove(key);
-            } else {
-                 Log.d(TAG, "缓存未找到: " + key);
+                if (Diagnostics.ENABLED) {
+                    Diagnostics.v(TAG, () -> "缓存过期并移除: " + key);
+                }
+                cache.remove(key);
+            } else if (Diagnostics.ENABLED) {
+                Diagnostics.v(TAG, () -> "缓存未找到: " + key);
             }
             return null;
         }
         
+        /**
+         * 仅当缓存的仍是指定值时才移除，避免误删之后写入的新值
+         */
+        public synchronized void remove(K key, V expected) {
+            if (key == null) return;
+            CacheEntry<V> entry = cache.get(key);
+            if (entry != null && entry.getValue() == expected) {
+                cache.remove(key);
+            }
+        }
+        
         public synchronized boolean containsKey(K key) { // 加 synchronized 保护读和删除
              if (key == null) return false;
             CacheEntry<V> entry = cache.get(key);
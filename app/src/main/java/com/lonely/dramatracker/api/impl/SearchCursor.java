@@ -0,0 +1,111 @@
+package com.lonely.dramatracker.api.impl;
+
+import com.lonely.dramatracker.models.SearchPage;
+import com.lonely.dramatracker.models.SearchResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * 单个 关键词+类型 的搜索游标
+ * 记录已从来源站点取回的列表结果和下一页页码，界面请求第N页时只向后补取缺少的来源页，
+ * 同一游标上的操作按顺序执行，避免并发请求重复翻页
+ */
+class SearchCursor {
+    private final List<SearchResult> loaded = new ArrayList<>(); // 已取回的列表结果（未补全）
+    private int sourceLoaded; // 来源站点已返回的条目数，含被过滤掉的
+    private String sourceType; // 当前来源
+    private int nextPage = 1; // 下一次要请求的来源页码
+    private boolean exhausted; // 当前来源是否已没有更多结果
+    private int totalResults = SearchPage.UNKNOWN_TOTAL; // 来源站点给出的总数
+    private CompletableFuture<?> tail = CompletableFuture.completedFuture(null);
+
+    SearchCursor(String sourceType) {
+        this.sourceType = sourceType;
+    }
+
+    /**
+     * 在前一个操作完成后（无论成功与否）执行下一个操作
+     */
+    synchronized <T> CompletableFuture<T> enqueue(Supplier<CompletableFuture<T>> task) {
+        CompletableFuture<T> next = tail.handle((v, e) -> null).thenCompose(v -> task.get());
+        tail = next;
+        return next;
+    }
+
+    synchronized String getSourceType() {
+        return sourceType;
+    }
+
+    synchronized int getNextPage() {
+        return nextPage;
+    }
+
+    synchronized boolean isExhausted() {
+        return exhausted;
+    }
+
+    synchronized int size() {
+        return loaded.size();
+    }
+
+    /**
+     * 追加一页来源结果
+     */
+    synchronized void append(SearchPage page) {
+        loaded.addAll(page.getResults());
+        sourceLoaded += page.getSourceCount();
+        nextPage = page.getPage() + 1;
+        exhausted = !page.hasMore();
+        if (page.getPage() == 1) {
+            totalResults = page.getTotalResults();
+        }
+    }
+
+    /**
+     * 当前来源第一页没有结果时切换到备用来源，从第一页重新开始
+     */
+    synchronized void switchSource(String fallbackSourceType) {
+        sourceType = fallbackSourceType;
+        loaded.clear();
+        sourceLoaded = 0;
+        nextPage = 1;
+        exhausted = false;
+        totalResults = SearchPage.UNKNOWN_TOTAL;
+    }
+
+    /**
+     * 取出[start, end)范围内已加载的结果
+     */
+    synchronized List<SearchResult> slice(int start, int end) {
+        if (start >= loaded.size()) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(loaded.subList(start, Math.min(end, loaded.size())));
+    }
+
+    /**
+     * 估算结果总数：来源已没有更多结果时为已加载数；
+     * 来源站点给出总数时按已取回页中保留下来的比例折算（来源总数含被过滤掉的条目）；
+     * 否则为已加载数，还有下一页时再多算一页
+     */
+    synchronized int estimateTotal() {
+        if (exhausted) {
+            return loaded.size();
+        }
+        if (totalResults != SearchPage.UNKNOWN_TOTAL) {
+            if (sourceLoaded <= 0) {
+                return Math.max(totalResults, loaded.size());
+            }
+            long kept = Math.round((double) totalResults * loaded.size() / sourceLoaded);
+            return (int) Math.max(kept, loaded.size());
+        }
+        if (nextPage <= 1) {
+            return loaded.size();
+        }
+        int perPage = loaded.size() / (nextPage - 1);
+        return loaded.size() + perPage;
+    }
+}
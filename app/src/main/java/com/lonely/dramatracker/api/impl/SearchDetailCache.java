@@ -0,0 +1,101 @@
+package com.lonely.dramatracker.api.impl;
+
+import com.lonely.dramatracker.models.SearchResult;
+import com.lonely.dramatracker.models.SearchResultDetail;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 搜索结果详情缓存
+ * 按 来源类型:来源ID 保存简介和制作人员，容量按字符数计算，超出后按LRU淘汰；
+ * 同一条目先后写入的详情按字段合并（搜索页带制作人员，补全时只取简介）
+ */
+public class SearchDetailCache {
+    // 最多缓存约25万字符（约500KB）
+    private static final int MAX_CHARS = 256 * 1024;
+
+    private static SearchDetailCache instance;
+
+    // 访问顺序的LinkedHashMap，读写都在synchronized方法内
+    private final Map<String, SearchResultDetail> cache = new LinkedHashMap<>(16, 0.75f, true);
+    private final int maxChars;
+    private int charCount;
+
+    private SearchDetailCache() {
+        this(MAX_CHARS);
+    }
+
+    SearchDetailCache(int maxChars) {
+        this.maxChars = maxChars;
+    }
+
+    public static synchronized SearchDetailCache getInstance() {
+        if (instance == null) {
+            instance = new SearchDetailCache();
+        }
+        return instance;
+    }
+
+    /**
+     * 生成缓存键
+     */
+    public static String keyOf(SearchResult result) {
+        return result.getSourceType() + ":" + result.getSourceId();
+    }
+
+    /**
+     * 把结果的详情部分移入缓存，结果本身只保留列表字段
+     * 与已缓存的详情合并，新详情中为空的字段不覆盖已知的值
+     */
+    public void stash(SearchResult result) {
+        if (result == null) return;
+        put(result, result.detachDetail());
+    }
+
+    /**
+     * 保存已加载的详情，与已缓存的详情合并（同stash）
+     */
+    public synchronized void put(SearchResult result, SearchResultDetail detail) {
+        if (result == null || detail == null) return;
+        String key = keyOf(result);
+        SearchResultDetail merged = detail.mergeMissing(cache.get(key));
+        SearchResultDetail previous = cache.put(key, merged);
+        if (previous != null) {
+            charCount -= sizeOf(previous);
+        }
+        charCount += sizeOf(merged);
+        trimToSize();
+    }
+
+    /**
+     * 读取缓存的详情，未命中返回null
+     */
+    public synchronized SearchResultDetail get(SearchResult result) {
+        if (result == null) return null;
+        return cache.get(keyOf(result));
+    }
+
+    /**
+     * 当前缓存的字符数
+     */
+    synchronized int charCount() {
+        return charCount;
+    }
+
+    /**
+     * 超出容量时从最久未访问的条目开始淘汰，最近写入的一条始终保留
+     */
+    private void trimToSize() {
+        Iterator<SearchResultDetail> iterator = cache.values().iterator();
+        while (charCount > maxChars && cache.size() > 1 && iterator.hasNext()) {
+            charCount -= sizeOf(iterator.next());
+            iterator.remove();
+        }
+    }
+
+    private static int sizeOf(SearchResultDetail detail) {
+        return Math.max(1, detail.getCharCount());
+    }
+}
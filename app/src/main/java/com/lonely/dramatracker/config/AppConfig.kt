@@ -50,11 +50,28 @@ object AppConfig {
     
     @JvmField
     var TMDB_API_KEY_STATIC: String = ""
-    
+
+    // 配置是否已加载；WorkManager可能在没有经过SplashActivity的进程中启动后台任务
+    @Volatile
+    private var initialized = false
+
+    /**
+     * 配置尚未加载时加载，已加载时直接返回
+     * 供不经过SplashActivity的入口（如后台预取）使用
+     * @param context 应用上下文
+     */
+    @Synchronized
+    fun ensureInitialized(context: Context) {
+        if (!initialized) {
+            init(context)
+        }
+    }
+
     /**
      * 初始化配置
      * @param context 应用上下文
      */
+    @Synchronized
     fun init(context: Context) {
         try {
             // 从assets目录读取配置文件
@@ -96,6 +113,7 @@ object AppConfig {
             COLLECTION_MEDIA_SOURCE_ID_STATIC = COLLECTION_MEDIA_SOURCE_ID
             TMDB_API_TOKEN_STATIC = TMDB_API_TOKEN
             TMDB_API_KEY_STATIC = TMDB_API_KEY
+            initialized = true
             
             Log.d(TAG, "配置加载成功")
         } catch (e: Exception) {
@@ -0,0 +1,49 @@
+package com.lonely.dramatracker.config;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+
+import com.bumptech.glide.GlideBuilder;
+import com.bumptech.glide.annotation.GlideModule;
+import com.bumptech.glide.load.DecodeFormat;
+import com.bumptech.glide.load.engine.bitmap_recycle.LruBitmapPool;
+import com.bumptech.glide.load.engine.cache.InternalCacheDiskCacheFactory;
+import com.bumptech.glide.load.engine.cache.LruResourceCache;
+import com.bumptech.glide.load.engine.cache.MemorySizeCalculator;
+import com.bumptech.glide.module.AppGlideModule;
+import com.bumptech.glide.request.RequestOptions;
+
+/**
+ * 全局Glide配置
+ * 统一海报的内存缓存和磁盘缓存大小
+ */
+@GlideModule
+public final class DramaGlideModule extends AppGlideModule {
+    // 海报磁盘缓存目录和大小
+    private static final String DISK_CACHE_DIR = "poster_cache";
+    private static final long DISK_CACHE_SIZE = 150L * 1024 * 1024;
+
+    // 内存缓存保留的屏幕数，网格和横向列表来回滚动时能直接命中
+    private static final float MEMORY_CACHE_SCREENS = 3f;
+    private static final float BITMAP_POOL_SCREENS = 3f;
+
+    @Override
+    public void applyOptions(@NonNull Context context, @NonNull GlideBuilder builder) {
+        MemorySizeCalculator calculator = new MemorySizeCalculator.Builder(context)
+                .setMemoryCacheScreens(MEMORY_CACHE_SCREENS)
+                .setBitmapPoolScreens(BITMAP_POOL_SCREENS)
+                .build();
+        builder.setMemoryCache(new LruResourceCache(calculator.getMemoryCacheSize()));
+        builder.setBitmapPool(new LruBitmapPool(calculator.getBitmapPoolSize()));
+        builder.setDiskCache(new InternalCacheDiskCacheFactory(context, DISK_CACHE_DIR, DISK_CACHE_SIZE));
+
+        // 海报不需要透明通道，使用RGB_565减少一半内存占用
+        builder.setDefaultRequestOptions(new RequestOptions().format(DecodeFormat.PREFER_RGB_565));
+    }
+
+    @Override
+    public boolean isManifestParsingEnabled() {
+        return false;
+    }
+}
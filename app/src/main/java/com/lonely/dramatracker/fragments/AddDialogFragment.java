@@ -21,8 +21,10 @@ import androidx.fragment.app.FragmentManager;
 import com.google.android.material.textfield.TextInputEditText;
 import com.google.android.material.textfield.TextInputLayout;
 import com.lonely.dramatracker.R;
+import com.lonely.dramatracker.crawler.CancellationToken;
 import com.lonely.dramatracker.models.SearchResult;
 import com.lonely.dramatracker.services.QuickSearchService;
+import com.lonely.dramatracker.services.ServiceRegistry;
 
 import java.util.Map;
 
@@ -32,6 +34,7 @@ import java.util.Map;
 public class AddDialogFragment extends DialogFragment {
     
     private QuickSearchService searchService;
+    private CancellationToken searchToken = CancellationToken.NONE; // 当前搜索的取消令牌
     
     private TextInputLayout tilSearch;
     private TextInputEditText etSearch;
@@ -50,7 +53,7 @@ public class AddDialogFragment extends DialogFragment {
         super.onCreate(savedInstanceState);
         setStyle(DialogFragment.STYLE_NO_TITLE, R.style.Dialog_FullWidth);
         if (searchService == null) {
-            searchService = new QuickSearchService();
+            searchService = ServiceRegistry.getInstance().getQuickSearchService();
         }
     }
     
@@ -120,6 +123,13 @@ public class AddDialogFragment extends DialogFragment {
         tvLoading = view.findViewById(R.id.tv_loading);
     }
     
+    @Override
+    public void onDestroyView() {
+        // 对话框关闭时停止仍在进行的搜索
+        searchToken.cancel();
+        super.onDestroyView();
+    }
+    
     private void setupListeners() {
         btnCancel.setOnClickListener(v -> dismiss());
         
@@ -145,16 +155,21 @@ public class AddDialogFragment extends DialogFragment {
         tilSearch.setError(null);
         showLoading(true);
         
+        // 取消上一次仍在进行的搜索
+        searchToken.cancel();
+        CancellationToken token = new CancellationToken();
+        searchToken = token;
+        
         // 执行搜索
-        searchService.searchFromMultipleSources(keyword).thenAcceptAsync(results -> {
-            if (getActivity() == null || !isAdded()) return;
+        searchService.searchFromMultipleSources(keyword, token).thenAcceptAsync(results -> {
+            if (token.isCancelled() || getActivity() == null || !isAdded()) return;
             
             getActivity().runOnUiThread(() -> {
                 showLoading(false);
                 showSearchResults(keyword, results);
             });
         }).exceptionally(e -> {
-            if (getActivity() == null || !isAdded()) return null;
+            if (token.isCancelled() || getActivity() == null || !isAdded()) return null;
             
             getActivity().runOnUiThread(() -> {
                 showLoading(false);
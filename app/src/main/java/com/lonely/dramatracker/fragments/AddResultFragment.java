@@ -21,12 +21,12 @@ import androidx.fragment.app.FragmentManager;
 import androidx.fragment.app.FragmentTransaction;
 
 import com.bumptech.glide.Glide;
-import com.bumptech.glide.load.resource.drawable.DrawableTransitionOptions;
 import com.lonely.dramatracker.R;
-import com.lonely.dramatracker.api.impl.ApiServiceImpl;
 import com.lonely.dramatracker.models.SearchResult;
 import com.lonely.dramatracker.services.SearchService;
-import com.lonely.dramatracker.services.impl.SearchServiceImpl;
+import com.lonely.dramatracker.services.ServiceRegistry;
+import com.lonely.dramatracker.utils.PosterLoader;
+import com.lonely.dramatracker.utils.RatingFormatter;
 import com.lonely.dramatracker.fragments.WebViewFragment;
 
 import java.util.HashMap;
@@ -75,7 +75,7 @@ public class AddResultFragment extends Fragment {
     @Override
     public void onCreate(@Nullable Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
-        searchService = new SearchServiceImpl(new ApiServiceImpl());
+        searchService = ServiceRegistry.getInstance().getSearchService();
         
         if (getArguments() != null) {
             keyword = getArguments().getString(ARG_KEYWORD, "");
@@ -230,15 +230,7 @@ public class AddResultFragment extends Fragment {
         Button btnView = resultView.findViewById(R.id.btn_view);
         
         // 加载海报
-        if (result.getPosterUrl() != null && !result.getPosterUrl().isEmpty()) {
-            Glide.with(this)
-                    .load(result.getPosterUrl())
-                    .transition(DrawableTransitionOptions.withCrossFade())
-                    .error(R.drawable.placeholder_poster)
-                    .into(ivPoster);
-        } else {
-            ivPoster.setImageResource(R.drawable.placeholder_poster);
-        }
+        PosterLoader.load(Glide.with(this), ivPoster, result.getPosterUrl(), PosterLoader.POSTER_OPTIONS, true);
         
         // 设置标题
         String title = result.getTitleZh();
@@ -272,7 +264,7 @@ public class AddResultFragment extends Fragment {
         }
         
         if (rating >= 0) {
-            tvRating.setText(String.format("%.1f", rating));
+            tvRating.setText(RatingFormatter.format(rating));
             layoutRating.setVisibility(View.VISIBLE);
         } else {
             layoutRating.setVisibility(View.GONE);
@@ -22,7 +22,7 @@ import com.lonely.dramatracker.R;
 import com.lonely.dramatracker.adapters.WeeklyScheduleAdapter;
 import com.lonely.dramatracker.models.DailyAnime;
 import com.lonely.dramatracker.models.WeeklySchedule;
-import com.lonely.dramatracker.utils.BangumiCrawler;
+import com.lonely.dramatracker.repositories.RecommendFeedRepository;
 
 import java.util.concurrent.CompletableFuture;
 
@@ -37,9 +37,12 @@ public class DailyTabFragment extends Fragment {
     private ProgressBar progressBar;
     private TextView tvEmpty;
     
-    // 适配器和爬虫
+    // 适配器和数据仓库
     private WeeklyScheduleAdapter adapter;
-    private BangumiCrawler bangumiCrawler;
+    private RecommendFeedRepository feedRepository;
+    
+    // 视图创建后是否还未加载过数据
+    private boolean initialLoadPending;
 
     @Nullable
     @Override
@@ -57,11 +60,20 @@ public class DailyTabFragment extends Fragment {
         // 初始化适配器
         setupRecyclerView();
         
-        // 初始化爬虫
-        bangumiCrawler = new BangumiCrawler();
+        // 放送表优先从缓存读取，后台预取会定期更新缓存
+        feedRepository = RecommendFeedRepository.getInstance(requireContext());
         
-        // 加载数据
-        loadData();
+        // 首次加载推迟到页面可见时，ViewPager2预创建的相邻页面不发起请求
+        initialLoadPending = true;
+    }
+
+    @Override
+    public void onResume() {
+        super.onResume();
+        if (initialLoadPending) {
+            initialLoadPending = false;
+            loadData();
+        }
     }
     
     /**
@@ -88,6 +100,8 @@ public class DailyTabFragment extends Fragment {
         
         rvTabContent.setAdapter(adapter);
         rvTabContent.setLayoutManager(new LinearLayoutManager(getContext()));
+        // 一周只有7行，适当增大缓存，来回滚动时无需重新绑定
+        rvTabContent.setItemViewCacheSize(4);
     }
     
     /**
@@ -136,13 +150,13 @@ public class DailyTabFragment extends Fragment {
         // 显示加载中
         showLoading();
         
-        // 使用BangumiCrawler获取每日放送数据
-        CompletableFuture<WeeklySchedule> future = bangumiCrawler.getWeeklySchedule();
+        // 获取每日放送数据，缓存有效时不请求网络
+        CompletableFuture<WeeklySchedule> future = feedRepository.loadWeeklySchedule();
         future.thenAccept(weeklySchedule -> {
             if (getActivity() == null) return;
             
             getActivity().runOnUiThread(() -> {
-                boolean hasData = hasAnyAnime(weeklySchedule);
+                boolean hasData = !weeklySchedule.isEmpty();
                 if (hasData) {
                     adapter.updateData(weeklySchedule);
                     showContent();
@@ -161,19 +175,6 @@ public class DailyTabFragment extends Fragment {
         });
     }
     
-    /**
-     * 检查是否有任何动漫数据
-     */
-    private boolean hasAnyAnime(WeeklySchedule schedule) {
-        return (schedule.getSundayAnime() != null && !schedule.getSundayAnime().isEmpty())
-            || (schedule.getMondayAnime() != null && !schedule.getMondayAnime().isEmpty())
-            || (schedule.getTuesdayAnime() != null && !schedule.getTuesdayAnime().isEmpty())
-            || (schedule.getWednesdayAnime() != null && !schedule.getWednesdayAnime().isEmpty())
-            || (schedule.getThursdayAnime() != null && !schedule.getThursdayAnime().isEmpty())
-            || (schedule.getFridayAnime() != null && !schedule.getFridayAnime().isEmpty())
-            || (schedule.getSaturdayAnime() != null && !schedule.getSaturdayAnime().isEmpty());
-    }
-    
     /**
      * 显示加载中状态
      */
@@ -20,7 +20,8 @@ import com.lonely.dramatracker.R;
 import com.lonely.dramatracker.adapters.RecentAdapter;
 import com.lonely.dramatracker.models.MovieInfo;
 import com.lonely.dramatracker.models.WebSite;
-import com.lonely.dramatracker.utils.MaoYanCrawler;
+import com.lonely.dramatracker.repositories.RecommendFeedRepository;
+import com.lonely.dramatracker.utils.PosterLoader;
 
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -30,6 +31,9 @@ import java.util.concurrent.CompletableFuture;
  */
 public class RecentTabFragment extends Fragment {
     private static final String TAG = "RecentTabFragment";
+    // 列表海报宽度（dp）和预加载条目数
+    private static final int POSTER_WIDTH_DP = 100;
+    private static final int PRELOAD_COUNT = 5;
 
     // 视图组件
     private RecyclerView rvTabContent;
@@ -39,8 +43,11 @@ public class RecentTabFragment extends Fragment {
     // 适配器
     private RecentAdapter adapter;
     
-    // 猫眼爬虫
-    private MaoYanCrawler maoYanCrawler;
+    // 近期上映数据仓库
+    private RecommendFeedRepository feedRepository;
+    
+    // 视图创建后是否还未加载过数据
+    private boolean initialLoadPending;
 
     @Nullable
     @Override
@@ -58,11 +65,20 @@ public class RecentTabFragment extends Fragment {
         // 初始化适配器
         initAdapter();
         
-        // 初始化猫眼爬虫
-        maoYanCrawler = MaoYanCrawler.getInstance();
+        // 热映列表优先从缓存读取，后台预取会定期更新缓存
+        feedRepository = RecommendFeedRepository.getInstance(requireContext());
         
-        // 加载数据
-        loadData();
+        // 首次加载推迟到页面可见时，ViewPager2预创建的相邻页面不发起请求
+        initialLoadPending = true;
+    }
+
+    @Override
+    public void onResume() {
+        super.onResume();
+        if (initialLoadPending) {
+            initialLoadPending = false;
+            loadData();
+        }
     }
     
     /**
@@ -81,8 +97,15 @@ public class RecentTabFragment extends Fragment {
      * 初始化适配器
      */
     private void initAdapter() {
+        // 绑定和预加载使用同一海报宽度（列表海报宽度为100dp）
+        PosterLoader.PosterWidth posterWidth = new PosterLoader.PosterWidth(PosterLoader.fixedWidth(POSTER_WIDTH_DP));
         adapter = new RecentAdapter(getContext());
+        adapter.setPosterWidth(posterWidth);
         rvTabContent.setAdapter(adapter);
+
+        // 预加载后续条目的海报
+        PosterLoader.attachPreloader(rvTabContent, adapter::getPosterUrl,
+                PosterLoader.LIST_OPTIONS, posterWidth, PRELOAD_COUNT);
         
         // 设置点击监听器
         adapter.setOnItemClickListener((position, item) -> {
@@ -98,8 +121,8 @@ public class RecentTabFragment extends Fragment {
         // 显示加载状态
         showLoading(true);
         
-        // 使用猫眼爬虫获取近期上映电影
-        CompletableFuture<List<MovieInfo>> future = maoYanCrawler.getCurrentMovies();
+        // 获取猫眼近期上映电影，缓存有效时不请求网络
+        CompletableFuture<List<MovieInfo>> future = feedRepository.loadNowShowing();
         future.thenAccept(movies -> {
             if (getActivity() == null) return;
             
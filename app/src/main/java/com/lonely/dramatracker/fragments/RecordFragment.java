@@ -3,6 +3,8 @@ package com.lonely.dramatracker.fragments;
 import android.os.Bundle;
 import android.view.View;
 import android.widget.TextView;
+import android.widget.Toast;
+import androidx.lifecycle.ViewModelProvider;
 import androidx.recyclerview.widget.GridLayoutManager;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
@@ -12,15 +14,22 @@ import com.google.android.material.tabs.TabLayout;
 import com.lonely.dramatracker.R;
 import com.lonely.dramatracker.adapters.RecordAdapter;
 import com.lonely.dramatracker.models.RecordItem;
-import com.lonely.dramatracker.services.AppwriteWrapper;
+import com.lonely.dramatracker.utils.PerfTracer;
+import com.lonely.dramatracker.utils.PosterLoader;
+import com.lonely.dramatracker.viewmodels.RecordViewModel;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 import com.google.android.material.floatingactionbutton.FloatingActionButton;
 import android.util.Log;
 
 public class RecordFragment extends BaseFragment {
     private static final String TAG = "RecordFragment";
+    // 海报预加载条目数
+    private static final int PRELOAD_COUNT = 6;
+    // 网格列数和列表模式海报宽度（dp，与item_record_list一致）
+    private static final int GRID_SPAN_COUNT = 3;
+    private static final int LIST_POSTER_WIDTH_DP = 80;
     private RecyclerView rvRecords;
     private LottieAnimationView lottieLoading;
     private TextView tvEmpty;
@@ -28,10 +37,14 @@ public class RecordFragment extends BaseFragment {
     private FloatingActionButton fabSwitchMode;
     private SwipeRefreshLayout swipeRefreshLayout;
     private RecordAdapter adapter;
-    private List<RecordItem> allRecords = new ArrayList<>();
+    // 海报绑定和预加载共用的宽度，随网格/列表模式切换
+    private PosterLoader.PosterWidth posterWidth;
+    // 数据由ViewModel持有，页面重建时不重新请求
+    private RecordViewModel viewModel;
+    // 最近一次加载的记录（只读），只在主线程读取
+    private List<RecordItem> allRecords = Collections.emptyList();
     private List<RecordItem> filteredRecords = new ArrayList<>();
     private boolean isGridMode = true;
-    private boolean isFirstLoad = true;
 
     @Override
     protected int getLayoutId() {
@@ -46,18 +59,22 @@ public class RecordFragment extends BaseFragment {
         showLogo();
         showNotification(true);
         
+        viewModel = new ViewModelProvider(this).get(RecordViewModel.class);
         initViews(view);
         setupTabLayout();
-        loadRecords();
+        observeViewModel();
     }
     
     @Override
     public void onResume() {
         super.onResume();
-        if (!isFirstLoad) {
+        // 加载推迟到页面可见时，MainActivity中隐藏的标签页最多停在STARTED；
+        // 切换标签页和页面重建时保留已加载的记录，只在收藏有增删或超过有效期时重新加载
+        if (!viewModel.isStale()) return;
+        if (viewModel.hasRecords()) {
             refreshRecords();
         } else {
-            isFirstLoad = false;
+            loadRecords();
         }
     }
     
@@ -70,10 +87,17 @@ public class RecordFragment extends BaseFragment {
         swipeRefreshLayout = view.findViewById(R.id.swipe_refresh_layout);
 
         // 设置RecyclerView
-        rvRecords.setLayoutManager(new GridLayoutManager(getContext(), 3));
+        rvRecords.setLayoutManager(new GridLayoutManager(getContext(), GRID_SPAN_COUNT));
+        posterWidth = new PosterLoader.PosterWidth(posterWidthFor(isGridMode));
         adapter = new RecordAdapter(isGridMode);
+        adapter.setPosterWidth(posterWidth);
+        adapter.setOnWatchedChangeListener(this::onWatchedChanged);
         rvRecords.setAdapter(adapter);
 
+        // 预加载下一屏的海报，切换模式后adapter会被替换，因此每次读取当前adapter
+        PosterLoader.attachPreloader(rvRecords, position -> adapter.getPosterUrl(position),
+                PosterLoader.POSTER_OPTIONS, posterWidth, PRELOAD_COUNT);
+
         // 设置下拉刷新
         swipeRefreshLayout.setColorSchemeResources(R.color.primary);
         swipeRefreshLayout.setOnRefreshListener(this::refreshRecords);
@@ -98,6 +122,10 @@ public class RecordFragment extends BaseFragment {
         }
     }
 
+    private static int posterWidthFor(boolean grid) {
+        return grid ? PosterLoader.gridItemWidth(GRID_SPAN_COUNT) : PosterLoader.fixedWidth(LIST_POSTER_WIDTH_DP);
+    }
+
     private void setViewMode(boolean grid) {
         if (isGridMode == grid) return;
         
@@ -105,9 +133,13 @@ public class RecordFragment extends BaseFragment {
         
         // 先清除现有的adapter和layoutManager
         adapter = new RecordAdapter(isGridMode);
+        // 网格和列表的海报宽度不同，预加载器随之改用新的尺寸档位
+        posterWidth.set(posterWidthFor(grid));
+        adapter.setPosterWidth(posterWidth);
+        adapter.setOnWatchedChangeListener(this::onWatchedChanged);
         
         if (grid) {
-            rvRecords.setLayoutManager(new GridLayoutManager(getContext(), 3));
+            rvRecords.setLayoutManager(new GridLayoutManager(getContext(), GRID_SPAN_COUNT));
         } else {
             rvRecords.setLayoutManager(new LinearLayoutManager(getContext()));
         }
@@ -124,6 +156,23 @@ public class RecordFragment extends BaseFragment {
         updateSwitchModeIcon();
     }
 
+    /**
+     * 观看状态开关：ViewModel先发布新状态，写入失败时恢复并提示
+     */
+    private void onWatchedChanged(RecordItem item, boolean watched) {
+        viewModel.setWatched(item.getMediaId(), watched).whenComplete((v, e) -> {
+            if (e == null) return;
+            Log.e(TAG, "观看状态更新失败: mediaId=" + item.getMediaId(), e);
+            if (isAdded()) {
+                requireActivity().runOnUiThread(() -> {
+                    if (isAdded()) {
+                        Toast.makeText(requireContext(), "更新观看状态失败，请重试", Toast.LENGTH_SHORT).show();
+                    }
+                });
+            }
+        });
+    }
+
     private void setupTabLayout() {
         tabLayout.addOnTabSelectedListener(new TabLayout.OnTabSelectedListener() {
             @Override
@@ -152,123 +201,42 @@ public class RecordFragment extends BaseFragment {
             lottieLoading.setVisibility(View.VISIBLE);
         }
         tvEmpty.setVisibility(View.GONE);
+        viewModel.refresh();
+    }
 
-        new Thread(() -> {
-            try {
-                String userId = AppwriteWrapper.getCurrentUserId();
-                
-                List<Map<String, Object>> collections = AppwriteWrapper.getUserCollections(userId);
-                
-                allRecords.clear();
-                if (collections != null && !collections.isEmpty()) {
-                    for (Map<String, Object> collection : collections) {
-                        String mediaId = (String) collection.get("media_id");
-                        
-                        Map<String, Object> media = AppwriteWrapper.getMediaById(mediaId);
-                        if (media != null) {
-                            RecordItem item = new RecordItem();
-                            item.setMediaId(mediaId);
-                            item.setTitle((String) media.get("title_zh"));
-                            item.setSubtitle((String) media.get("title_origin"));
-                            item.setPosterUrl((String) media.get("poster_url"));
-                            item.setMediaType((String) media.get("media_type"));
-                            
-                            // 获取评分、年份、时长（按数据库字段正确映射）
-                            try {
-                                String mediaType = (String) media.get("media_type");
-                                
-                                // 根据媒体类型设置不同的评分
-                                if ("anime".equals(mediaType)) {
-                                    // 动漫类型，只使用bangumi评分
-                                    Object ratingBangumiObj = media.get("rating_bangumi");
-                                    if (ratingBangumiObj != null && !"-1.0".equals(String.valueOf(ratingBangumiObj))) {
-                                        String rating = String.format("%.1f", Double.parseDouble(String.valueOf(ratingBangumiObj)));
-                                        item.setRating(rating);
-                                    }
-                                } else {
-                                    // 电影或电视剧，优先使用豆瓣评分，其次IMDb评分
-                                    StringBuilder ratingBuilder = new StringBuilder();
-                                    
-                                    Object ratingDoubanObj = media.get("rating_douban");
-                                    if (ratingDoubanObj != null && !"-1.0".equals(String.valueOf(ratingDoubanObj))) {
-                                        String doubanRating = String.format("%.1f", Double.parseDouble(String.valueOf(ratingDoubanObj)));
-                                        ratingBuilder.append(doubanRating);
-                                    }
-                                    
-                                    Object ratingImdbObj = media.get("rating_imdb");
-                                    if (ratingImdbObj != null && !"-1.0".equals(String.valueOf(ratingImdbObj))) {
-                                        // 如果已经有豆瓣评分，只添加IMDb评分
-                                        if (ratingBuilder.length() > 0) {
-                                            ratingBuilder.append(" / ");
-                                        }
-                                        String imdbRating = String.format("%.1f", Double.parseDouble(String.valueOf(ratingImdbObj)));
-                                        ratingBuilder.append(imdbRating);
-                                    }
-                                    
-                                    if (ratingBuilder.length() > 0) {
-                                        item.setRating(ratingBuilder.toString());
-                                    }
-                                }
-                                
-                                // 从release_date中提取年份
-                                String releaseDate = (String) media.get("release_date");
-                                if (releaseDate != null && !releaseDate.isEmpty()) {
-                                    // 直接使用原始release_date
-                                    item.setYear(releaseDate);
-                                }
-                                
-                                // 获取时长
-                                String duration = (String) media.get("duration");
-                                if (duration != null && !duration.isEmpty()) {
-                                    item.setDuration(duration);
-                                }
-                            } catch (Exception e) {
-                                Log.e(TAG, "解析媒体数据出错: " + e.getMessage(), e);
-                            }
-                            
-                            // 获取并设置观看状态
-                            Object watchStatusObj = collection.get("watch_status");
-                            if (watchStatusObj != null) {
-                                boolean watchStatus = Boolean.parseBoolean(watchStatusObj.toString());
-                                item.setWatched(watchStatus);
-                                Log.d(TAG, "观看状态: mediaId=" + mediaId + ", watchStatus=" + watchStatus);
-                            } else {
-                                item.setWatched(false);
-                            }
-                            
-                            allRecords.add(item);
-                        } else {
-                            Log.e(TAG, "loadRecords: 获取媒体信息失败，mediaId=" + mediaId);
-                        }
-                    }
-                }
-
-                requireActivity().runOnUiThread(() -> {
-                    // 停止所有加载动画
-                    lottieLoading.setVisibility(View.GONE);
-                    swipeRefreshLayout.setRefreshing(false);
-                    
-                    if (allRecords.isEmpty()) {
-                        tvEmpty.setVisibility(View.VISIBLE);
-                    } else {
-                        filterRecords(tabLayout.getSelectedTabPosition());
-                    }
-                });
-            } catch (Exception e) {
-                Log.e(TAG, "loadRecords: 加载失败", e);
-                requireActivity().runOnUiThread(() -> {
-                    // 停止所有加载动画
-                    lottieLoading.setVisibility(View.GONE);
-                    swipeRefreshLayout.setRefreshing(false);
-                    
-                    tvEmpty.setVisibility(View.VISIBLE);
-                    tvEmpty.setText("加载失败: " + e.getMessage());
-                });
+    private void observeViewModel() {
+        viewModel.isLoading().observe(getViewLifecycleOwner(), loading -> {
+            if (loading) return;
+            // 停止所有加载动画
+            lottieLoading.setVisibility(View.GONE);
+            swipeRefreshLayout.setRefreshing(false);
+        });
+        viewModel.getRecords().observe(getViewLifecycleOwner(), records -> {
+            if (records == null) return;
+            allRecords = records;
+            if (allRecords.isEmpty()) {
+                tvEmpty.setVisibility(View.VISIBLE);
+            } else {
+                filterRecords(tabLayout.getSelectedTabPosition());
             }
-        }).start();
+        });
+        viewModel.getError().observe(getViewLifecycleOwner(), message -> {
+            if (message == null) return;
+            tvEmpty.setVisibility(View.VISIBLE);
+            tvEmpty.setText("加载失败: " + message);
+        });
     }
 
     private void filterRecords(int position) {
+        long traceStart = PerfTracer.begin(PerfTracer.SECTION_FILTER_RECORDS);
+        try {
+            doFilterRecords(position);
+        } finally {
+            PerfTracer.end(PerfTracer.SECTION_FILTER_RECORDS, traceStart);
+        }
+    }
+
+    private void doFilterRecords(int position) {
         filteredRecords.clear();
         if (position == 0) { // 全部
             filteredRecords.addAll(allRecords);
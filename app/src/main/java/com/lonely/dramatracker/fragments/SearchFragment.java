@@ -3,6 +3,8 @@ package com.lonely.dramatracker.fragments;
 import android.content.res.ColorStateList;
 import android.graphics.Color;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
 import android.text.Editable;
 import android.text.TextWatcher;
 import android.util.Log;
@@ -10,7 +12,9 @@ import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 import android.view.inputmethod.EditorInfo;
-import android.widget.EditText;
+import android.widget.ArrayAdapter;
+import android.widget.AutoCompleteTextView;
+import android.widget.Filter;
 import android.widget.FrameLayout;
 import android.widget.HorizontalScrollView;
 import android.widget.ImageButton;
@@ -33,12 +37,14 @@ import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
 import com.lonely.dramatracker.R;
 import com.lonely.dramatracker.adapters.SearchResultAdapter;
-import com.lonely.dramatracker.api.impl.ApiServiceImpl;
 import com.lonely.dramatracker.fragments.WebViewFragment;
 import com.lonely.dramatracker.models.SearchResult;
 import com.lonely.dramatracker.services.SearchService;
 import com.lonely.dramatracker.services.SearchService.JsonSearchCallback;
-import com.lonely.dramatracker.services.impl.SearchServiceImpl;
+import com.lonely.dramatracker.services.ServiceRegistry;
+import com.lonely.dramatracker.crawler.CancellationToken;
+import com.lonely.dramatracker.utils.ConnectionPrewarmer;
+import com.lonely.dramatracker.utils.QueryTrie;
 
 import java.lang.reflect.Type;
 import java.util.ArrayList;
@@ -50,13 +56,15 @@ public class SearchFragment extends BaseFragment {
     private static final String TAG = "SearchFragment";
     private static final int PAGE_LIMIT = 5; // 定义每页加载的数量
     private static final int MAX_PAGE_BUTTONS = 5; // 最多显示的页码按钮数量
+    private static final long SEARCH_DEBOUNCE_MS = 400; // 输入停止多久后自动搜索
+    private static final int MAX_SUGGESTIONS = 5; // 最多显示的联想词数量
     
     private RecyclerView rvSearchResults;
     private FrameLayout loadingView;
     private LinearLayout emptyView;
     private TextView tvSearchTitle;
     private ImageButton btnClose;
-    private EditText etSearch;
+    private AutoCompleteTextView etSearch;
     private ImageButton btnClear;
     
     // 分页导航相关视图
@@ -68,7 +76,15 @@ public class SearchFragment extends BaseFragment {
     private ProgressBar paginationLoading;
     
     private SearchResultAdapter adapter;
-    private SearchService searchService = new SearchServiceImpl(new ApiServiceImpl());
+    private SearchService searchService = ServiceRegistry.getInstance().getSearchService();
+    private CancellationToken searchToken = CancellationToken.NONE; // 当前搜索的取消令牌
+    private final QueryTrie queryHistory = ServiceRegistry.getInstance().getQueryHistory();
+    
+    // --- 边输入边搜索 ---
+    private final Handler debounceHandler = new Handler(Looper.getMainLooper());
+    private final Runnable debouncedSearch = () -> performSearch(true);
+    private String lastSearchKeyword; // 最近一次发起搜索的关键词
+    private boolean showingInstantResults = false; // 列表当前是否为本地过滤的预览结果
     private OnSearchResultClickListener resultClickListener;
     private OnCloseListener closeListener;
     private String searchType;
@@ -121,6 +137,8 @@ public class SearchFragment extends BaseFragment {
     public void onCreate(@Nullable Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         adapter = new SearchResultAdapter();
+        // 用户输入关键词期间预热该类型的数据源连接，并记为下次启动时预热的类型
+        ConnectionPrewarmer.recordSearchType(requireContext(), searchType);
     }
     
     @Nullable
@@ -140,6 +158,14 @@ public class SearchFragment extends BaseFragment {
         etSearch.requestFocus();
     }
     
+    @Override
+    public void onDestroyView() {
+        // 页面销毁时停止仍在进行的搜索和尚未触发的自动搜索
+        debounceHandler.removeCallbacks(debouncedSearch);
+        searchToken.cancel();
+        super.onDestroyView();
+    }
+    
     private void initViews(View view) {
         rvSearchResults = view.findViewById(R.id.rv_search_results);
         loadingView = view.findViewById(R.id.loading_view);
@@ -167,6 +193,10 @@ public class SearchFragment extends BaseFragment {
         layoutManager = new LinearLayoutManager(requireContext()); // 初始化布局管理器
         rvSearchResults.setLayoutManager(layoutManager);
         rvSearchResults.setAdapter(adapter);
+
+        // 列表只携带轻量字段，简介和制作人员按需加载
+        // 详情请求跟随当前搜索的令牌，开始新搜索或离开页面时一并取消
+        adapter.setDetailLoader(result -> searchService.getDetail(result, searchToken));
         
         adapter.setOnItemClickListener(result -> {
             if (resultClickListener != null) {
@@ -227,9 +257,14 @@ public class SearchFragment extends BaseFragment {
             @Override
             public void afterTextChanged(Editable s) {
                 updateSearchButtonState(s.toString());
+                scheduleIncrementalSearch(s.toString().trim());
             }
         });
         
+        // 最近搜索词联想，选中后立即搜索
+        etSearch.setAdapter(new SuggestionAdapter());
+        etSearch.setOnItemClickListener((parent, view, position, id) -> performSearch());
+        
         // 搜索框动作监听
         etSearch.setOnEditorActionListener((v, actionId, event) -> {
             if (actionId == EditorInfo.IME_ACTION_SEARCH) {
@@ -284,19 +319,68 @@ public class SearchFragment extends BaseFragment {
         // --- 滚动监听结束 ---
     }
     
-    // 执行新的搜索
+    // 输入变化后延迟搜索，连续输入时只在停顿后发起一次
+    private void scheduleIncrementalSearch(String keyword) {
+        debounceHandler.removeCallbacks(debouncedSearch);
+        if (keyword.isEmpty()) {
+            // 清空输入时停止仍在进行的搜索
+            searchToken.cancel();
+            lastSearchKeyword = null;
+            return;
+        }
+        if (!keyword.equals(lastSearchKeyword)) {
+            debounceHandler.postDelayed(debouncedSearch, SEARCH_DEBOUNCE_MS);
+        }
+    }
+    
+    // 执行新的搜索（输入法搜索键、提交按钮、选中联想词）
     private void performSearch() {
+        performSearch(false);
+    }
+    
+    /**
+     * 执行新的搜索
+     * @param incremental 是否为输入停顿触发的自动搜索；自动搜索时先用已缓存的前缀结果在本地过滤出预览，
+     *                    不显示加载遮罩，请求返回后再替换为准确结果
+     */
+    private void performSearch(boolean incremental) {
+        debounceHandler.removeCallbacks(debouncedSearch);
         String keyword = etSearch.getText().toString().trim();
         if (keyword.isEmpty()) {
             return;
         }
+        if (incremental && keyword.equals(lastSearchKeyword)) {
+            return;
+        }
+        lastSearchKeyword = keyword;
+        if (!incremental) {
+            etSearch.dismissDropDown();
+        }
+        
+        // 取消上一次搜索仍在进行的请求，之后的分页请求共用新的令牌
+        searchToken.cancel();
+        searchToken = new CancellationToken();
         
         // 重置分页和缓存状态
         currentPage = 1;
         isLastPage = false;
-        adapter.submitList(null);
         pageCache.clear(); // 清空缓存
-        showLoading();
+        
+        List<SearchResult> instantResults = incremental
+                ? searchService.getCachedResults(keyword, searchType)
+                : new ArrayList<>();
+        showingInstantResults = !instantResults.isEmpty();
+        if (showingInstantResults) {
+            // 先显示前缀搜索结果中的匹配项，分页栏等准确结果返回后再显示
+            adapter.submitList(new ArrayList<>(instantResults.subList(0, Math.min(PAGE_LIMIT, instantResults.size()))));
+            showResultsContainer();
+            if (paginationLayout != null) {
+                paginationLayout.setVisibility(View.GONE);
+            }
+        } else {
+            adapter.submitList(null);
+            showLoading();
+        }
         
         // 切换为清除模式
         switchToClearMode();
@@ -304,29 +388,29 @@ public class SearchFragment extends BaseFragment {
         // 标记这是一次主动操作，防止自动加载更多页
         isPageOperation = true;
         
-        // 先获取总项目数
+        // 总数和第一页同时请求：总数只依赖来源的第一页列表，不等待条目补全，
+        // 第一页的显示也不再等待总数返回
+        totalItems = 0;
+        totalPages = 1;
         fetchTotalItems(keyword);
+        loadSearchResults(keyword, currentPage);
     }
     
     // 新增获取总项目数的方法
     private void fetchTotalItems(String keyword) {
-        isLoading = true;
-        searchService.getTotalItems(keyword, searchType, count -> {
+        searchService.getTotalItems(keyword, searchType, searchToken, count -> {
             if (isAdded()) {
                 requireActivity().runOnUiThread(() -> {
+                    // 关键词已变化或已确认到达末页时忽略
+                    if (!keyword.equals(etSearch.getText().toString().trim()) || isLastPage) {
+                        return;
+                    }
                     totalItems = count;
                     // 计算总页数
                     totalPages = Math.max(1, (int) Math.ceil((double) totalItems / PAGE_LIMIT));
-                    // 更新UI
-                    if (totalItems > 0) {
-                        // 有结果，加载第一页 - 始终重置为第一页
-                        currentPage = 1;
-                        loadSearchResults(keyword, currentPage);
-                    } else {
-                        // 无结果
-                        isLoading = false;
-                        showEmpty();
-                        paginationLayout.setVisibility(View.GONE);
+                    // 第一页已显示时刷新分页栏；无结果的情况由第一页的加载结果处理
+                    if (totalItems > 0 && !pageCache.isEmpty()) {
+                        updatePaginationUI();
                     }
                 });
             }
@@ -367,7 +451,10 @@ public class SearchFragment extends BaseFragment {
         }
         
         if (page == 1) {
-            showLoading();
+            // 已有本地预览时保留预览，不切换到加载遮罩
+            if (!showingInstantResults) {
+                showLoading();
+            }
             if (paginationLayout != null) {
                 paginationLayout.setVisibility(View.GONE);
             }
@@ -377,17 +464,25 @@ public class SearchFragment extends BaseFragment {
             }
         }
         
-        searchService.search(keyword, searchType, page, PAGE_LIMIT, (JsonSearchCallback) jsonResults -> {
-            if (isAdded()) {
+        CancellationToken token = searchToken;
+        searchService.search(keyword, searchType, page, PAGE_LIMIT, token, (JsonSearchCallback) jsonResults -> {
+            if (!token.isCancelled() && isAdded()) {
                 new Thread(() -> {
                     try {
+                        if (token.isCancelled()) return;
                         List<SearchResult> results = parseJsonResults(jsonResults);
-                        // 将结果保存到缓存
-                        if (results != null && !results.isEmpty()) {
-                            pageCache.put(page, results);
-                        }
                         
+                        if (token.isCancelled() || !isAdded()) return;
                         requireActivity().runOnUiThread(() -> {
+                            if (token.isCancelled()) return;
+                            // 将结果保存到缓存（在主线程写入，避免已被取消的旧搜索写入新搜索的缓存）
+                            if (results != null && !results.isEmpty()) {
+                                pageCache.put(page, results);
+                                if (page == 1) {
+                                    // 有结果的关键词才加入联想
+                                    queryHistory.add(keyword);
+                                }
+                            }
                             if (paginationLoading != null) {
                                 paginationLoading.setVisibility(View.GONE);
                             }
@@ -440,6 +535,9 @@ public class SearchFragment extends BaseFragment {
     // 修改处理搜索结果方法
     private void handleSearchResults(List<SearchResult> results, int page) {
         isLoading = false;
+        if (page == 1) {
+            showingInstantResults = false;
+        }
 
         if (results == null) {
             if (page == 1) {
@@ -473,6 +571,11 @@ public class SearchFragment extends BaseFragment {
         adapter.submitList(results);
         showResultsContainer();
         
+        // 总数尚未返回时，满页说明至少还有下一页
+        if (results.size() >= PAGE_LIMIT && totalPages <= page) {
+            totalPages = page + 1;
+        }
+        
         // 检查是否到达最后一页
         if (results.size() < PAGE_LIMIT) {
             isLastPage = true;
@@ -630,6 +733,45 @@ public class SearchFragment extends BaseFragment {
         }
     }
     
+    /**
+     * 搜索框联想词适配器
+     * 从本次使用期间搜索过的关键词中按前缀匹配，过滤在后台线程执行
+     */
+    private class SuggestionAdapter extends ArrayAdapter<String> {
+        private final Filter filter = new Filter() {
+            @Override
+            protected FilterResults performFiltering(CharSequence constraint) {
+                FilterResults filterResults = new FilterResults();
+                List<String> suggestions = constraint == null
+                        ? new ArrayList<>()
+                        : queryHistory.suggest(constraint.toString(), MAX_SUGGESTIONS);
+                filterResults.values = suggestions;
+                filterResults.count = suggestions.size();
+                return filterResults;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            protected void publishResults(CharSequence constraint, FilterResults filterResults) {
+                clear();
+                if (filterResults.values != null) {
+                    addAll((List<String>) filterResults.values);
+                }
+                notifyDataSetChanged();
+            }
+        };
+
+        SuggestionAdapter() {
+            super(requireContext(), android.R.layout.simple_dropdown_item_1line, new ArrayList<>());
+        }
+
+        @NonNull
+        @Override
+        public Filter getFilter() {
+            return filter;
+        }
+    }
+    
     // 解析JSON格式的搜索结果
     private List<SearchResult> parseJsonResults(String jsonResults) {
         try {
@@ -3,13 +3,20 @@ package com.lonely.dramatracker.fragments;
 import android.content.Intent;
 import android.os.Bundle;
 import android.view.View;
+import android.widget.TextView;
 
+import androidx.appcompat.app.AlertDialog;
 import androidx.cardview.widget.CardView;
 
 import com.lonely.dramatracker.R;
 import com.lonely.dramatracker.activities.LoginActivity;
 import com.lonely.dramatracker.config.AppConfig;
 import com.lonely.dramatracker.services.Appwrite;
+import com.lonely.dramatracker.utils.CrawlerUtils;
+import com.lonely.dramatracker.utils.PerfTracer;
+import com.lonely.dramatracker.utils.StartupTracker;
+
+import java.io.File;
 
 import kotlin.Unit;
 import kotlin.jvm.functions.Function0;
@@ -40,6 +47,42 @@ public class SettingsFragment extends BaseFragment {
         // 初始化退出登录按钮
         btnLogout = requireView().findViewById(R.id.btn_logout);
         btnLogout.setOnClickListener(v -> handleLogout());
+
+        // 长按版本号打开性能诊断
+        TextView tvVersion = requireView().findViewById(R.id.tv_version);
+        tvVersion.setOnLongClickListener(v -> {
+            showPerfDialog();
+            return true;
+        });
+    }
+
+    /**
+     * 显示性能诊断对话框：查看各区段耗时分布、开关追踪、导出报告
+     */
+    private void showPerfDialog() {
+        boolean enabled = PerfTracer.isEnabled();
+        new AlertDialog.Builder(requireContext())
+                .setTitle("性能诊断")
+                .setMessage(PerfTracer.buildReport()
+                        + "\n\n冷启动\n" + StartupTracker.buildReport(requireContext())
+                        + "\n\n数据源熔断\n" + CrawlerUtils.getCircuitBreakers().buildReport()
+                        + "\n\n爬虫限流\n" + CrawlerUtils.getRateLimiter().buildReport()
+                        + "\n\n网络耗时\n" + CrawlerUtils.getNetworkTelemetry().buildReport())
+                .setPositiveButton(enabled ? "关闭追踪" : "开启追踪", (dialog, which) -> {
+                    PerfTracer.setEnabled(requireContext(), !enabled);
+                    if (enabled) {
+                        PerfTracer.reset();
+                    }
+                    showToast(enabled ? "性能追踪已关闭" : "性能追踪已开启");
+                })
+                .setNeutralButton("导出", (dialog, which) -> {
+                    File file = PerfTracer.exportReport(requireContext());
+                    File snapshot = PerfTracer.exportNetworkSnapshot(requireContext());
+                    showToast(file != null && snapshot != null
+                            ? "已导出: " + file.getAbsolutePath() + "\n" + snapshot.getAbsolutePath() : "导出失败");
+                })
+                .setNegativeButton("关闭", null)
+                .show();
     }
 
     private void handleLogout() {
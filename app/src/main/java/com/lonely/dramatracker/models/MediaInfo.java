@@ -1,5 +1,7 @@
 package com.lonely.dramatracker.models;
 
+import com.lonely.dramatracker.utils.RatingFormatter;
+
 public class MediaInfo {
     // 常量定义
     public static final String TYPE_MOVIE = "movie";
@@ -19,6 +21,7 @@ public class MediaInfo {
     private double ratingImdb;
     private double ratingBangumi;
     private float rating; // 通用评分字段，用于高分推荐
+    private String ratingText; // 预先格式化的评分文本，列表绑定时直接使用
     private String posterUrl;
     private String summary;
     private String staff;
@@ -29,6 +32,7 @@ public class MediaInfo {
         this.ratingImdb = -1;
         this.ratingBangumi = -1;
         this.rating = -1f;
+        this.ratingText = RatingFormatter.EMPTY;
     }
     
     // 获取媒体名称（优先返回中文标题）
@@ -141,6 +145,14 @@ public class MediaInfo {
     
     public void setRating(float rating) {
         this.rating = rating;
+        this.ratingText = RatingFormatter.formatOrEmpty(rating);
+    }
+
+    /**
+     * 获取格式化后的评分文本，无评分时为"--"
+     */
+    public String getRatingText() {
+        return ratingText;
     }
 
     public String getPosterUrl() {
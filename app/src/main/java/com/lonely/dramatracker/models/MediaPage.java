@@ -0,0 +1,26 @@
+package com.lonely.dramatracker.models;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * TMDb榜单的一页媒体列表
+ * 条目的排名按在本页（或合并后列表）中的位置，总页数为TMDb给出的值
+ */
+public class MediaPage {
+    private final List<MediaInfo> items;
+    private final int totalPages; // TMDb给出的总页数
+
+    public MediaPage(List<MediaInfo> items, int totalPages) {
+        this.items = items != null ? items : Collections.emptyList();
+        this.totalPages = totalPages;
+    }
+
+    public List<MediaInfo> getItems() {
+        return items;
+    }
+
+    public int getTotalPages() {
+        return totalPages;
+    }
+}
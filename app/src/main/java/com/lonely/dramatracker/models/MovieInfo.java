@@ -1,5 +1,7 @@
 package com.lonely.dramatracker.models;
 
+import com.lonely.dramatracker.utils.RatingFormatter;
+
 import java.util.ArrayList;
 import java.util.List;
 
@@ -12,6 +14,7 @@ public class MovieInfo {
     private String originalName;    // 原始名称
     private String releaseDate;     // 上映日期
     private double score;           // 评分
+    private String scoreText;       // 预先格式化的评分文本，无评分时为null
     private String poster;          // 海报URL
     private List<String> actors;    // 主演列表
     private String summary;         // 电影简介
@@ -66,6 +69,11 @@ public class MovieInfo {
 
     public void setScore(double score) {
         this.score = score;
+        this.scoreText = score > 0 ? RatingFormatter.format(score) : null;
+    }
+
+    public String getScoreText() {
+        return scoreText;
     }
 
     public String getPoster() {
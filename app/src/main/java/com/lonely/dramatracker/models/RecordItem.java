@@ -1,112 +1,194 @@
 package com.lonely.dramatracker.models;
 
+/**
+ * 记录页的一条收藏记录
+ * 不可变：同一个对象可能同时在ViewModel的快照和列表中使用，
+ * 修改观看状态时用withWatched生成新对象，由RecordViewModel发布新的列表
+ */
 public class RecordItem {
-    private String mediaId;
-    private String title;
-    private String subtitle;
-    private String posterUrl;
-    private String mediaType;
-    private String rating;       // 通用评分展示字段
-    private String ratingBangumi; // Bangumi评分
-    private String ratingDouban;  // 豆瓣评分
-    private String ratingImdb;    // IMDb评分
-    private String year;
-    private String duration;
-    private boolean watched;
+    private final String mediaId;
+    private final String title;
+    private final String subtitle;
+    private final String posterUrl;
+    private final String mediaType;
+    private final String rating;       // 通用评分展示字段
+    private final String ratingBangumi; // Bangumi评分
+    private final String ratingDouban;  // 豆瓣评分
+    private final String ratingImdb;    // IMDb评分
+    private final String year;
+    private final String duration;
+    private final boolean watched;
+
+    private RecordItem(Builder builder) {
+        this.mediaId = builder.mediaId;
+        this.title = builder.title;
+        this.subtitle = builder.subtitle;
+        this.posterUrl = builder.posterUrl;
+        this.mediaType = builder.mediaType;
+        this.rating = builder.rating;
+        this.ratingBangumi = builder.ratingBangumi;
+        this.ratingDouban = builder.ratingDouban;
+        this.ratingImdb = builder.ratingImdb;
+        this.year = builder.year;
+        this.duration = builder.duration;
+        this.watched = builder.watched;
+    }
+
+    /**
+     * 观看状态不同的副本，状态相同时返回本对象
+     */
+    public RecordItem withWatched(boolean watched) {
+        if (this.watched == watched) {
+            return this;
+        }
+        return new Builder(this).setWatched(watched).build();
+    }
 
     public String getMediaId() {
         return mediaId;
     }
 
-    public void setMediaId(String mediaId) {
-        this.mediaId = mediaId;
-    }
-
     public String getTitle() {
         return title;
     }
 
-    public void setTitle(String title) {
-        this.title = title;
-    }
-
     public String getSubtitle() {
         return subtitle;
     }
 
-    public void setSubtitle(String subtitle) {
-        this.subtitle = subtitle;
-    }
-
     public String getPosterUrl() {
         return posterUrl;
     }
 
-    public void setPosterUrl(String posterUrl) {
-        this.posterUrl = posterUrl;
-    }
-
     public String getMediaType() {
         return mediaType;
     }
 
-    public void setMediaType(String mediaType) {
-        this.mediaType = mediaType;
-    }
-
     public String getRating() {
         return rating;
     }
 
-    public void setRating(String rating) {
-        this.rating = rating;
-    }
-
     public String getYear() {
         return year;
     }
 
-    public void setYear(String year) {
-        this.year = year;
-    }
-
     public String getDuration() {
         return duration;
     }
 
-    public void setDuration(String duration) {
-        this.duration = duration;
-    }
-
     public String getRatingBangumi() {
         return ratingBangumi;
     }
 
-    public void setRatingBangumi(String ratingBangumi) {
-        this.ratingBangumi = ratingBangumi;
-    }
-
     public String getRatingDouban() {
         return ratingDouban;
     }
 
-    public void setRatingDouban(String ratingDouban) {
-        this.ratingDouban = ratingDouban;
-    }
-
     public String getRatingImdb() {
         return ratingImdb;
     }
 
-    public void setRatingImdb(String ratingImdb) {
-        this.ratingImdb = ratingImdb;
-    }
-
     public boolean isWatched() {
         return watched;
     }
 
-    public void setWatched(boolean watched) {
-        this.watched = watched;
-    }
-} 
\ No newline at end of file
+    public static class Builder {
+        private String mediaId;
+        private String title;
+        private String subtitle;
+        private String posterUrl;
+        private String mediaType;
+        private String rating;
+        private String ratingBangumi;
+        private String ratingDouban;
+        private String ratingImdb;
+        private String year;
+        private String duration;
+        private boolean watched;
+
+        public Builder() {
+        }
+
+        /**
+         * 以已有记录为基础
+         */
+        public Builder(RecordItem item) {
+            this.mediaId = item.mediaId;
+            this.title = item.title;
+            this.subtitle = item.subtitle;
+            this.posterUrl = item.posterUrl;
+            this.mediaType = item.mediaType;
+            this.rating = item.rating;
+            this.ratingBangumi = item.ratingBangumi;
+            this.ratingDouban = item.ratingDouban;
+            this.ratingImdb = item.ratingImdb;
+            this.year = item.year;
+            this.duration = item.duration;
+            this.watched = item.watched;
+        }
+
+        public Builder setMediaId(String mediaId) {
+            this.mediaId = mediaId;
+            return this;
+        }
+
+        public Builder setTitle(String title) {
+            this.title = title;
+            return this;
+        }
+
+        public Builder setSubtitle(String subtitle) {
+            this.subtitle = subtitle;
+            return this;
+        }
+
+        public Builder setPosterUrl(String posterUrl) {
+            this.posterUrl = posterUrl;
+            return this;
+        }
+
+        public Builder setMediaType(String mediaType) {
+            this.mediaType = mediaType;
+            return this;
+        }
+
+        public Builder setRating(String rating) {
+            this.rating = rating;
+            return this;
+        }
+
+        public Builder setRatingBangumi(String ratingBangumi) {
+            this.ratingBangumi = ratingBangumi;
+            return this;
+        }
+
+        public Builder setRatingDouban(String ratingDouban) {
+            this.ratingDouban = ratingDouban;
+            return this;
+        }
+
+        public Builder setRatingImdb(String ratingImdb) {
+            this.ratingImdb = ratingImdb;
+            return this;
+        }
+
+        public Builder setYear(String year) {
+            this.year = year;
+            return this;
+        }
+
+        public Builder setDuration(String duration) {
+            this.duration = duration;
+            return this;
+        }
+
+        public Builder setWatched(boolean watched) {
+            this.watched = watched;
+            return this;
+        }
+
+        public RecordItem build() {
+            return new RecordItem(this);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.lonely.dramatracker.models;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 来源站点的一页搜索结果
+ * 只包含列表页能直接解析出的字段，时长等需要访问详情页的字段由调用方按需补全
+ */
+public class SearchPage {
+    // 总数未知
+    public static final int UNKNOWN_TOTAL = -1;
+
+    private final List<SearchResult> results;
+    private final int page; // 来源站点的页码，从1开始
+    private final boolean hasMore; // 来源站点是否还有下一页
+    private final int totalResults; // 来源站点给出（或按分页导航估算）的结果总数，未知时为UNKNOWN_TOTAL
+    private final int sourceCount; // 来源站点这一页返回的条目数，含被过滤掉的（如TMDb的人物）
+
+    public SearchPage(List<SearchResult> results, int page, boolean hasMore, int totalResults) {
+        this(results, page, hasMore, totalResults, results != null ? results.size() : 0);
+    }
+
+    public SearchPage(List<SearchResult> results, int page, boolean hasMore, int totalResults, int sourceCount) {
+        this.results = results != null ? results : Collections.emptyList();
+        this.page = page;
+        this.hasMore = hasMore;
+        this.totalResults = totalResults;
+        this.sourceCount = sourceCount;
+    }
+
+    public List<SearchResult> getResults() {
+        return results;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public boolean hasMore() {
+        return hasMore;
+    }
+
+    public int getTotalResults() {
+        return totalResults;
+    }
+
+    public int getSourceCount() {
+        return sourceCount;
+    }
+}
@@ -7,6 +7,11 @@ import androidx.annotation.NonNull;
 
 import java.util.Objects;
 
+/**
+ * 搜索结果的列表投影
+ * 只保存列表展示和收藏所需的轻量字段；简介和制作人员放在SearchResultDetail中，
+ * 不参与Parcel和Gson序列化，由SearchDetailCache统一缓存并按需加载
+ */
 public class SearchResult implements Parcelable {
     // media_source相关字段
     private final String sourceType; // douban/imdb/bgm
@@ -21,8 +26,9 @@ public class SearchResult implements Parcelable {
     private final String duration; // 时长（分钟/话数）
     private final String year; // 年份(从releaseDate提取)
     private final String posterUrl;
-    private final String summary; // 剧情简介
-    private final String staff; // 制作人员
+    
+    // 详情部分（简介/制作人员），transient避免被Gson序列化
+    private transient SearchResultDetail detail;
     
     // 评分相关
     private final double rating; // 综合评分(用于兼容旧版本)
@@ -45,8 +51,7 @@ public class SearchResult implements Parcelable {
         this.year = builder.year;
         this.posterUrl = builder.posterUrl;
         this.mediaType = builder.mediaType;
-        this.summary = builder.summary;
-        this.staff = builder.staff;
+        this.detail = SearchResultDetail.of(builder.summary, builder.staff);
         this.rating = builder.rating;
         this.ratingDouban = builder.ratingDouban;
         this.ratingImdb = builder.ratingImdb;
@@ -66,8 +71,6 @@ public class SearchResult implements Parcelable {
         year = in.readString();
         posterUrl = in.readString();
         mediaType = in.readString();
-        summary = in.readString();
-        staff = in.readString();
         rating = in.readDouble();
         ratingDouban = in.readDouble();
         ratingImdb = in.readDouble();
@@ -132,12 +135,50 @@ public class SearchResult implements Parcelable {
         return posterUrl;
     }
     
+    /**
+     * 获取简介，详情未加载时返回null
+     */
     public String getSummary() {
-        return summary;
+        return detail != null ? detail.getSummary() : null;
     }
     
+    /**
+     * 获取制作人员，详情未加载时返回null
+     */
     public String getStaff() {
-        return staff;
+        return detail != null ? detail.getStaff() : null;
+    }
+
+    // 详情部分getters/setters
+    public SearchResultDetail getDetail() {
+        return detail;
+    }
+
+    public boolean hasDetail() {
+        return detail != null;
+    }
+
+    public void attachDetail(SearchResultDetail detail) {
+        this.detail = detail;
+    }
+
+    /**
+     * 带上详情部分的副本，不修改当前对象（列表缓存中的对象可能被多个页面共享）
+     */
+    public SearchResult withDetail(SearchResultDetail detail) {
+        return new Builder(this)
+                .setSummary(detail.getSummary())
+                .setStaff(detail.getStaff())
+                .build();
+    }
+
+    /**
+     * 取出并清除详情部分，使对象只保留列表字段
+     */
+    public SearchResultDetail detachDetail() {
+        SearchResultDetail detached = detail;
+        detail = null;
+        return detached;
     }
 
     // 评分getters
@@ -205,8 +246,6 @@ public class SearchResult implements Parcelable {
         dest.writeString(year);
         dest.writeString(posterUrl);
         dest.writeString(mediaType);
-        dest.writeString(summary);
-        dest.writeString(staff);
         dest.writeDouble(rating);
         dest.writeDouble(ratingDouban);
         dest.writeDouble(ratingImdb);
@@ -228,8 +267,7 @@ public class SearchResult implements Parcelable {
                 ", duration='" + duration + '\'' +
                 ", year='" + year + '\'' +
                 ", posterUrl='" + posterUrl + '\'' +
-                ", summary='" + (summary != null ? summary.substring(0, Math.min(summary.length(), 30)) + "..." : "null") + '\'' +
-                ", staff='" + staff + '\'' +
+                ", hasDetail=" + (detail != null) +
                 ", rating=" + rating +
                 ", ratingDouban=" + ratingDouban +
                 ", ratingImdb=" + ratingImdb +
@@ -265,6 +303,33 @@ public class SearchResult implements Parcelable {
         private boolean isCollected;
         private String collectionId;
 
+        public Builder() {
+        }
+
+        /**
+         * 以已有结果为基础创建Builder，用于在列表结果上补全字段
+         */
+        public Builder(SearchResult source) {
+            this.sourceType = source.sourceType;
+            this.sourceId = source.sourceId;
+            this.sourceUrl = source.sourceUrl;
+            this.mediaType = source.mediaType;
+            this.titleZh = source.titleZh;
+            this.titleOriginal = source.titleOriginal;
+            this.releaseDate = source.releaseDate;
+            this.duration = source.duration;
+            this.year = source.year;
+            this.posterUrl = source.posterUrl;
+            this.summary = source.getSummary();
+            this.staff = source.getStaff();
+            this.rating = source.rating;
+            this.ratingDouban = source.ratingDouban;
+            this.ratingImdb = source.ratingImdb;
+            this.ratingBangumi = source.ratingBangumi;
+            this.isCollected = source.isCollected;
+            this.collectionId = source.collectionId;
+        }
+
         // --- Setters ---
         
         // media_source setters
@@ -0,0 +1,73 @@
+package com.lonely.dramatracker.models;
+
+/**
+ * 搜索结果的详情部分（简介、制作人员）
+ * 列表缓存和页面间传递只保留SearchResult的轻量字段，详情按需加载
+ */
+public class SearchResultDetail {
+    /**
+     * 已确认没有简介和制作人员的条目，缓存它以免每次显示都重新请求详情页
+     */
+    public static final SearchResultDetail EMPTY = new SearchResultDetail(null, null);
+
+    private final String summary; // 剧情简介
+    private final String staff; // 制作人员
+
+    public SearchResultDetail(String summary, String staff) {
+        this.summary = summary;
+        this.staff = staff;
+    }
+
+    /**
+     * 创建详情对象，简介和制作人员都为空时返回null
+     */
+    public static SearchResultDetail of(String summary, String staff) {
+        if (isEmpty(summary) && isEmpty(staff)) {
+            return null;
+        }
+        return new SearchResultDetail(summary, staff);
+    }
+
+    /**
+     * 本对象中为空的字段用另一个详情中的值补上
+     * 如补全只取回了简介时，保留搜索页已解析出的制作人员
+     * @return 合并后的详情，没有需要补充的字段时返回本对象
+     */
+    public SearchResultDetail mergeMissing(SearchResultDetail other) {
+        if (other == null) {
+            return this;
+        }
+        boolean takeSummary = isEmpty(summary) && !isEmpty(other.summary);
+        boolean takeStaff = isEmpty(staff) && !isEmpty(other.staff);
+        if (!takeSummary && !takeStaff) {
+            return this;
+        }
+        return new SearchResultDetail(takeSummary ? other.summary : summary, takeStaff ? other.staff : staff);
+    }
+
+    private static boolean isEmpty(String text) {
+        return text == null || text.isEmpty();
+    }
+
+    /**
+     * 简介和制作人员都为空（如EMPTY）
+     */
+    public boolean isEmpty() {
+        return isEmpty(summary) && isEmpty(staff);
+    }
+
+    public String getSummary() {
+        return summary;
+    }
+
+    public String getStaff() {
+        return staff;
+    }
+
+    /**
+     * 估算占用的字符数，用于缓存容量计算
+     */
+    public int getCharCount() {
+        return (summary != null ? summary.length() : 0) + (staff != null ? staff.length() : 0);
+    }
+}
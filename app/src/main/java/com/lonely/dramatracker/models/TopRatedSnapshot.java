@@ -0,0 +1,146 @@
+package com.lonely.dramatracker.models;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 高分推荐的一次加载结果
+ * 创建后不再修改，可以在线程间传递；各列表均为只读
+ */
+public class TopRatedSnapshot {
+    // 每页显示条数
+    public static final int PAGE_SIZE = 21;
+    // TMDb每页返回条数
+    public static final int API_PAGE_SIZE = 20;
+
+    private final Category movies;
+    private final Category tvShows;
+    private final List<MediaInfo> all; // 电影在前、电视剧在后
+    private final long fetchedAtMs; // 其中最早一页数据的获取时间
+
+    public TopRatedSnapshot(Category movies, Category tvShows, long fetchedAtMs) {
+        this.movies = movies;
+        this.tvShows = tvShows;
+        List<MediaInfo> merged = new ArrayList<>(movies.items.size() + tvShows.items.size());
+        merged.addAll(movies.items);
+        merged.addAll(tvShows.items);
+        this.all = Collections.unmodifiableList(merged);
+        this.fetchedAtMs = fetchedAtMs;
+    }
+
+    public List<MediaInfo> getMovies() {
+        return movies.items;
+    }
+
+    public List<MediaInfo> getTvShows() {
+        return tvShows.items;
+    }
+
+    public List<MediaInfo> getAll() {
+        return all;
+    }
+
+    public int getMoviePages() {
+        return movies.getDisplayPages();
+    }
+
+    public int getTvPages() {
+        return tvShows.getDisplayPages();
+    }
+
+    /**
+     * "全部"分类的页数，按已加载的条目数计算
+     */
+    public int getAllPages() {
+        return pageCount(all);
+    }
+
+    public long getFetchedAtMs() {
+        return fetchedAtMs;
+    }
+
+    /**
+     * 按媒体类型取分类
+     * @param mediaType MediaInfo.TYPE_MOVIE 或 MediaInfo.TYPE_TV
+     */
+    public Category getCategory(String mediaType) {
+        return MediaInfo.TYPE_TV.equals(mediaType) ? tvShows : movies;
+    }
+
+    /**
+     * 替换其中一个分类，得到新的快照
+     */
+    public TopRatedSnapshot with(String mediaType, Category category, long fetchedAtMs) {
+        boolean tv = MediaInfo.TYPE_TV.equals(mediaType);
+        return new TopRatedSnapshot(tv ? movies : category, tv ? category : tvShows,
+                Math.min(this.fetchedAtMs, fetchedAtMs));
+    }
+
+    /**
+     * 已加载的条目能分成的页数
+     */
+    public static int pageCount(List<MediaInfo> items) {
+        return (int) Math.ceil((double) items.size() / PAGE_SIZE);
+    }
+
+    /**
+     * 取出列表中的一页
+     * @param page 页码，从1开始
+     * @return 该页的条目，超出已加载范围时为空列表
+     */
+    public static List<MediaInfo> page(List<MediaInfo> items, int page) {
+        int fromIndex = (page - 1) * PAGE_SIZE;
+        if (page < 1 || fromIndex >= items.size()) {
+            return Collections.emptyList();
+        }
+        return items.subList(fromIndex, Math.min(fromIndex + PAGE_SIZE, items.size()));
+    }
+
+    /**
+     * 一个分类（电影或电视剧）已加载的数据
+     * 按TMDb的页连续加载，loadedApiPages之前的页都已在items中
+     */
+    public static class Category {
+        private final List<MediaInfo> items;
+        private final int loadedApiPages;
+        private final int totalApiPages; // TMDb给出的总页数
+        private final boolean exhausted; // 已取到空页，不再有更多数据
+
+        public Category(List<MediaInfo> items, int loadedApiPages, int totalApiPages, boolean exhausted) {
+            this.items = Collections.unmodifiableList(new ArrayList<>(items));
+            this.loadedApiPages = loadedApiPages;
+            this.totalApiPages = totalApiPages;
+            this.exhausted = exhausted;
+        }
+
+        public List<MediaInfo> getItems() {
+            return items;
+        }
+
+        public int getLoadedApiPages() {
+            return loadedApiPages;
+        }
+
+        public int getTotalApiPages() {
+            return totalApiPages;
+        }
+
+        /**
+         * 是否还能继续向后加载
+         */
+        public boolean hasMore() {
+            return !exhausted && loadedApiPages < totalApiPages;
+        }
+
+        /**
+         * 根据API返回的总页数计算显示页数
+         * API每页返回20条，我们每页显示21条
+         */
+        public int getDisplayPages() {
+            if (totalApiPages <= 0) return 1;
+            int totalItems = totalApiPages * API_PAGE_SIZE;
+            return (int) Math.ceil((double) totalItems / PAGE_SIZE);
+        }
+    }
+}
@@ -69,4 +69,17 @@ public class WeeklySchedule {
     public void setSaturdayAnime(List<DailyAnime> saturdayAnime) {
         this.saturdayAnime = saturdayAnime;
     }
-} 
\ No newline at end of file
+
+    /**
+     * 一周中没有任何一天有放送条目
+     */
+    public boolean isEmpty() {
+        return isEmpty(sundayAnime) && isEmpty(mondayAnime) && isEmpty(tuesdayAnime)
+                && isEmpty(wednesdayAnime) && isEmpty(thursdayAnime) && isEmpty(fridayAnime)
+                && isEmpty(saturdayAnime);
+    }
+
+    private static boolean isEmpty(List<DailyAnime> list) {
+        return list == null || list.isEmpty();
+    }
+}
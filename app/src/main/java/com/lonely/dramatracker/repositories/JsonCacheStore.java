@@ -0,0 +1,122 @@
+package com.lonely.dramatracker.repositories;
+
+import android.util.Log;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 按键保存JSON数据的磁盘缓存
+ * 每个键一个文件，连同获取时间一起保存；是否过期由调用方按各自的有效期判断
+ */
+public class JsonCacheStore {
+    private static final String TAG = "JsonCacheStore";
+
+    private final File dir;
+    private final Gson gson = new Gson();
+
+    public JsonCacheStore(File dir) {
+        this.dir = dir;
+    }
+
+    /**
+     * 读取缓存
+     * @param type 数据的类型，泛型类型用TypeToken获取
+     * @return 缓存的数据，不存在或已损坏时为null
+     */
+    public synchronized <T> Entry<T> read(String key, Type type) {
+        File file = fileOf(key);
+        if (!file.exists()) return null;
+        Type entryType = TypeToken.getParameterized(Entry.class, type).getType();
+        try (Reader reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)) {
+            Entry<T> entry = gson.fromJson(reader, entryType);
+            if (entry == null || entry.value == null) {
+                throw new JsonParseException("缺少数据");
+            }
+            return entry;
+        } catch (IOException | JsonParseException e) {
+            Log.w(TAG, "读取缓存失败，删除: " + file.getName() + "，" + e.getMessage());
+            file.delete();
+            return null;
+        }
+    }
+
+    /**
+     * 写入缓存，获取时间记为当前时间
+     */
+    public <T> void write(String key, T value) {
+        write(key, value, System.currentTimeMillis());
+    }
+
+    /**
+     * 写入缓存，先写临时文件再改名，避免进程被杀时留下半个文件
+     * @param fetchedAtMs 数据的获取时间
+     */
+    public synchronized <T> void write(String key, T value, long fetchedAtMs) {
+        if (!dir.exists() && !dir.mkdirs()) {
+            Log.w(TAG, "无法创建缓存目录: " + dir);
+            return;
+        }
+        File file = fileOf(key);
+        File tmp = new File(dir, file.getName() + ".tmp");
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(tmp), StandardCharsets.UTF_8)) {
+            gson.toJson(new Entry<>(fetchedAtMs, value), writer);
+        } catch (IOException e) {
+            Log.w(TAG, "写入缓存失败: " + file.getName() + "，" + e.getMessage());
+            tmp.delete();
+            return;
+        }
+        if (!tmp.renameTo(file)) {
+            Log.w(TAG, "替换缓存文件失败: " + file.getName());
+            tmp.delete();
+        }
+    }
+
+    /**
+     * 获取时间在有效期内；系统时间被往回调过时视为过期
+     */
+    public static boolean isFresh(long fetchedAtMs, long ttlMs, long nowMs) {
+        return nowMs >= fetchedAtMs && nowMs - fetchedAtMs < ttlMs;
+    }
+
+    private File fileOf(String key) {
+        return new File(dir, key + ".json");
+    }
+
+    /**
+     * 缓存的数据和获取时间
+     */
+    public static class Entry<T> {
+        private final long fetchedAtMs;
+        private final T value;
+
+        Entry(long fetchedAtMs, T value) {
+            this.fetchedAtMs = fetchedAtMs;
+            this.value = value;
+        }
+
+        public long getFetchedAtMs() {
+            return fetchedAtMs;
+        }
+
+        public T getValue() {
+            return value;
+        }
+
+        public boolean isFresh(long ttlMs, long nowMs) {
+            return JsonCacheStore.isFresh(fetchedAtMs, ttlMs, nowMs);
+        }
+    }
+}
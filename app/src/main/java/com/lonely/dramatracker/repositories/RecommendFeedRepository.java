@@ -0,0 +1,114 @@
+package com.lonely.dramatracker.repositories;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.google.gson.reflect.TypeToken;
+import com.lonely.dramatracker.models.MovieInfo;
+import com.lonely.dramatracker.models.WeeklySchedule;
+import com.lonely.dramatracker.utils.BangumiCrawler;
+import com.lonely.dramatracker.utils.MaoYanCrawler;
+
+import java.io.File;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * 推荐页列表数据仓库（每日放送、近期上映）
+ * 请求结果写入磁盘缓存，有效期内打开页面直接读取缓存；
+ * 后台预取（PrefetchWorker）定期调用refresh方法，让缓存在用户打开前就是新的
+ */
+public class RecommendFeedRepository {
+    private static final String TAG = "RecommendFeedRepository";
+    private static final String CACHE_DIR = "recommend_feed";
+    private static final String KEY_WEEKLY_SCHEDULE = "weekly_schedule";
+    private static final String KEY_NOW_SHOWING = "now_showing";
+
+    // 放送表按周更新，热映列表每天变化
+    private static final long WEEKLY_SCHEDULE_TTL_MS = 24 * 60 * 60 * 1000L;
+    private static final long NOW_SHOWING_TTL_MS = 12 * 60 * 60 * 1000L;
+
+    private static final Type NOW_SHOWING_TYPE = new TypeToken<List<MovieInfo>>() {}.getType();
+
+    private static RecommendFeedRepository instance;
+
+    private final JsonCacheStore store;
+
+    private RecommendFeedRepository(Context context) {
+        store = new JsonCacheStore(new File(context.getCacheDir(), CACHE_DIR));
+    }
+
+    public static synchronized RecommendFeedRepository getInstance(Context context) {
+        if (instance == null) {
+            instance = new RecommendFeedRepository(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    /**
+     * 获取每日放送表，缓存有效时不请求网络；请求失败时退回过期缓存
+     */
+    public CompletableFuture<WeeklySchedule> loadWeeklySchedule() {
+        return load(KEY_WEEKLY_SCHEDULE, WeeklySchedule.class, WEEKLY_SCHEDULE_TTL_MS, this::fetchWeeklySchedule);
+    }
+
+    /**
+     * 从网络重新获取每日放送表并写入缓存
+     */
+    public CompletableFuture<WeeklySchedule> refreshWeeklySchedule() {
+        return fetchWeeklySchedule();
+    }
+
+    /**
+     * 获取正在热映的电影，缓存有效时不请求网络；请求失败时退回过期缓存
+     */
+    public CompletableFuture<List<MovieInfo>> loadNowShowing() {
+        return load(KEY_NOW_SHOWING, NOW_SHOWING_TYPE, NOW_SHOWING_TTL_MS, this::fetchNowShowing);
+    }
+
+    /**
+     * 从网络重新获取正在热映的电影并写入缓存
+     */
+    public CompletableFuture<List<MovieInfo>> refreshNowShowing() {
+        return fetchNowShowing();
+    }
+
+    private CompletableFuture<WeeklySchedule> fetchWeeklySchedule() {
+        return BangumiCrawler.getInstance().getWeeklySchedule().thenApply(schedule -> {
+            // 空结果多半是页面结构变化或临时错误，不覆盖已有缓存
+            if (!schedule.isEmpty()) {
+                store.write(KEY_WEEKLY_SCHEDULE, schedule);
+            }
+            return schedule;
+        });
+    }
+
+    private CompletableFuture<List<MovieInfo>> fetchNowShowing() {
+        return MaoYanCrawler.getInstance().getCurrentMovies().thenApply(movies -> {
+            if (movies != null && !movies.isEmpty()) {
+                store.write(KEY_NOW_SHOWING, movies);
+            }
+            return movies;
+        });
+    }
+
+    private <T> CompletableFuture<T> load(String key, Type type, long ttlMs,
+                                          Supplier<CompletableFuture<T>> request) {
+        return CompletableFuture.supplyAsync(() -> store.<T>read(key, type)).thenCompose(cached -> {
+            if (cached != null && cached.isFresh(ttlMs, System.currentTimeMillis())) {
+                return CompletableFuture.completedFuture(cached.getValue());
+            }
+            return request.get().handle((value, e) -> {
+                if (e == null) return value;
+                if (cached != null) {
+                    Log.w(TAG, "请求失败，使用过期缓存: " + key);
+                    return cached.getValue();
+                }
+                throw e instanceof CompletionException ? (CompletionException) e : new CompletionException(e);
+            });
+        });
+    }
+}
@@ -0,0 +1,175 @@
+package com.lonely.dramatracker.repositories;
+
+import android.util.Log;
+
+import com.lonely.dramatracker.models.RecordItem;
+import com.lonely.dramatracker.services.AppwriteWrapper;
+import com.lonely.dramatracker.utils.RatingFormatter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 收藏记录数据仓库
+ * 读取当前用户的收藏和对应的媒体信息，组装成只读的记录列表；
+ * 收藏增删成功后调用markChanged，记录页据此判断已加载的列表是否需要重新加载
+ */
+public class RecordRepository {
+    private static final String TAG = "RecordRepository";
+
+    private static RecordRepository instance;
+
+    // 收藏增删的次数，用来判断已加载的记录是否过时
+    private final AtomicLong version = new AtomicLong();
+
+    private RecordRepository() {
+    }
+
+    public static synchronized RecordRepository getInstance() {
+        if (instance == null) {
+            instance = new RecordRepository();
+        }
+        return instance;
+    }
+
+    /**
+     * 收藏记录已增删（在任意页面），已加载的记录需要重新加载
+     */
+    public void markChanged() {
+        version.incrementAndGet();
+    }
+
+    /**
+     * 当前的记录版本，每次markChanged后递增
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * 加载当前用户的全部收藏记录
+     * @return 只读的记录列表，读取收藏失败时异常完成
+     */
+    public CompletableFuture<List<RecordItem>> loadRecords() {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                String userId = AppwriteWrapper.getCurrentUserId();
+                List<Map<String, Object>> collections = AppwriteWrapper.getUserCollections(userId);
+
+                List<RecordItem> records = new ArrayList<>();
+                if (collections != null) {
+                    for (Map<String, Object> collection : collections) {
+                        RecordItem item = toRecordItem(collection);
+                        if (item != null) {
+                            records.add(item);
+                        }
+                    }
+                }
+                return Collections.unmodifiableList(records);
+            } catch (Exception e) {
+                Log.e(TAG, "loadRecords: 加载失败", e);
+                throw new CompletionException(e);
+            }
+        });
+    }
+
+    /**
+     * 更新一条记录的观看状态
+     * @return 更新结果，写入失败时异常完成
+     */
+    public CompletableFuture<Void> updateWatched(String mediaId, boolean watched) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        String userId = AppwriteWrapper.getCurrentUserId();
+        Log.d(TAG, "更新观看状态: userId=" + userId + ", mediaId=" + mediaId + ", status=" + watched);
+        AppwriteWrapper.updateWatchStatus(userId, mediaId, watched,
+            () -> future.complete(null),
+            () -> future.completeExceptionally(new IllegalStateException("更新观看状态失败: " + mediaId)));
+        return future;
+    }
+
+    /**
+     * 把一条收藏和它的媒体信息转换成记录，媒体信息获取失败时返回null
+     */
+    private RecordItem toRecordItem(Map<String, Object> collection) throws Exception {
+        String mediaId = (String) collection.get("media_id");
+
+        Map<String, Object> media = AppwriteWrapper.getMediaById(mediaId);
+        if (media == null) {
+            Log.e(TAG, "loadRecords: 获取媒体信息失败，mediaId=" + mediaId);
+            return null;
+        }
+
+        RecordItem.Builder item = new RecordItem.Builder()
+            .setMediaId(mediaId)
+            .setTitle((String) media.get("title_zh"))
+            .setSubtitle((String) media.get("title_origin"))
+            .setPosterUrl((String) media.get("poster_url"))
+            .setMediaType((String) media.get("media_type"));
+
+        // 获取评分、年份、时长（按数据库字段正确映射）
+        try {
+            String mediaType = (String) media.get("media_type");
+
+            // 根据媒体类型设置不同的评分
+            if ("anime".equals(mediaType)) {
+                // 动漫类型，只使用bangumi评分
+                String rating = RatingFormatter.formatOrNull(media.get("rating_bangumi"));
+                if (rating != null) {
+                    item.setRating(rating);
+                }
+            } else {
+                // 电影或电视剧，优先使用豆瓣评分，其次IMDb评分
+                StringBuilder ratingBuilder = new StringBuilder();
+
+                String doubanRating = RatingFormatter.formatOrNull(media.get("rating_douban"));
+                if (doubanRating != null) {
+                    ratingBuilder.append(doubanRating);
+                }
+
+                String imdbRating = RatingFormatter.formatOrNull(media.get("rating_imdb"));
+                if (imdbRating != null) {
+                    // 如果已经有豆瓣评分，只添加IMDb评分
+                    if (ratingBuilder.length() > 0) {
+                        ratingBuilder.append(" / ");
+                    }
+                    ratingBuilder.append(imdbRating);
+                }
+
+                if (ratingBuilder.length() > 0) {
+                    item.setRating(ratingBuilder.toString());
+                }
+            }
+
+            // 从release_date中提取年份
+            String releaseDate = (String) media.get("release_date");
+            if (releaseDate != null && !releaseDate.isEmpty()) {
+                // 直接使用原始release_date
+                item.setYear(releaseDate);
+            }
+
+            // 获取时长
+            String duration = (String) media.get("duration");
+            if (duration != null && !duration.isEmpty()) {
+                item.setDuration(duration);
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "解析媒体数据出错: " + e.getMessage(), e);
+        }
+
+        // 获取并设置观看状态
+        Object watchStatusObj = collection.get("watch_status");
+        if (watchStatusObj != null) {
+            boolean watchStatus = Boolean.parseBoolean(watchStatusObj.toString());
+            item.setWatched(watchStatus);
+            Log.d(TAG, "观看状态: mediaId=" + mediaId + ", watchStatus=" + watchStatus);
+        } else {
+            item.setWatched(false);
+        }
+        return item.build();
+    }
+}
@@ -0,0 +1,101 @@
+package com.lonely.dramatracker.repositories;
+
+import com.lonely.dramatracker.models.MediaInfo;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 高分推荐的磁盘缓存
+ * 按 媒体类型 + TMDb页码 每页存一个JSON文件（由JsonCacheStore读写），记录获取时间和TMDb给出的总页数；
+ * 超过有效期的页仍可读出，由调用方决定先显示旧数据还是重新请求
+ */
+public class TopRatedCatalogStore {
+
+    // 榜单变化很慢，一天内的数据视为最新
+    public static final long TTL_MS = 24 * 60 * 60 * 1000L;
+
+    private final JsonCacheStore store;
+
+    public TopRatedCatalogStore(File dir) {
+        this.store = new JsonCacheStore(dir);
+    }
+
+    /**
+     * 读取一页
+     * @param mediaType MediaInfo.TYPE_MOVIE 或 MediaInfo.TYPE_TV
+     * @param apiPage TMDb页码，从1开始
+     * @return 缓存的页，不存在或已损坏时为null
+     */
+    public Page read(String mediaType, int apiPage) {
+        JsonCacheStore.Entry<PageData> entry = store.read(keyOf(mediaType, apiPage), PageData.class);
+        if (entry == null || entry.getValue().items == null) {
+            return null;
+        }
+        PageData data = entry.getValue();
+        return new Page(entry.getFetchedAtMs(), data.totalPages, data.items);
+    }
+
+    /**
+     * 写入一页，获取时间使用页中记录的时间
+     */
+    public void write(String mediaType, int apiPage, Page page) {
+        store.write(keyOf(mediaType, apiPage), new PageData(page.totalPages, page.items), page.fetchedAtMs);
+    }
+
+    /**
+     * 获取时间在有效期内；系统时间被往回调过时视为过期
+     */
+    public static boolean isFresh(long fetchedAtMs, long nowMs) {
+        return JsonCacheStore.isFresh(fetchedAtMs, TTL_MS, nowMs);
+    }
+
+    private static String keyOf(String mediaType, int apiPage) {
+        return mediaType + "_" + apiPage;
+    }
+
+    /**
+     * 磁盘上保存的一页内容，获取时间由JsonCacheStore记录
+     */
+    private static class PageData {
+        private final int totalPages;
+        private final List<MediaInfo> items;
+
+        PageData(int totalPages, List<MediaInfo> items) {
+            this.totalPages = totalPages;
+            this.items = items;
+        }
+    }
+
+    /**
+     * 缓存的一页TMDb数据
+     */
+    public static class Page {
+        private final long fetchedAtMs;
+        private final int totalPages;
+        private final List<MediaInfo> items;
+
+        public Page(long fetchedAtMs, int totalPages, List<MediaInfo> items) {
+            this.fetchedAtMs = fetchedAtMs;
+            this.totalPages = totalPages;
+            this.items = items != null ? items : Collections.emptyList();
+        }
+
+        public long getFetchedAtMs() {
+            return fetchedAtMs;
+        }
+
+        public int getTotalPages() {
+            return totalPages;
+        }
+
+        public List<MediaInfo> getItems() {
+            return items;
+        }
+
+        public boolean isFresh(long nowMs) {
+            return TopRatedCatalogStore.isFresh(fetchedAtMs, nowMs);
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.lonely.dramatracker.repositories;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.lonely.dramatracker.crawler.http.RequestPriority;
+import com.lonely.dramatracker.models.MediaInfo;
+import com.lonely.dramatracker.models.MediaPage;
+import com.lonely.dramatracker.models.TopRatedSnapshot;
+import com.lonely.dramatracker.utils.TMDbCrawler;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * 高分推荐数据仓库
+ * 从磁盘缓存或TMDb加载高分电影和电视剧，整理成只读的TopRatedSnapshot；
+ * 从网络取到的每一页都写入磁盘，打开页面时先显示磁盘上的数据，过期后再从网络刷新，
+ * 向后翻页时只有没见过（或已过期）的页才请求网络。
+ * 加载过程中的列表只在本次加载的调用链内使用，不与界面共享。
+ * 调用链中的请求沿用发起加载的线程的请求优先级（见RequestPriority）
+ */
+public class TopRatedRepository {
+    private static final String TAG = "TopRatedRepository";
+    private static final String CACHE_DIR = "top_rated";
+
+    private static TopRatedRepository instance;
+
+    private final TMDbCrawler tmdbCrawler;
+    private final TopRatedCatalogStore store;
+
+    // 读取一页时对磁盘缓存的要求
+    private enum Source {
+        ANY_CACHE,   // 有缓存就用，不论是否过期
+        FRESH_CACHE, // 只用有效期内的缓存，网络失败时退回过期缓存
+        NETWORK      // 总是请求网络
+    }
+
+    private TopRatedRepository(Context context) {
+        tmdbCrawler = TMDbCrawler.getInstance();
+        store = new TopRatedCatalogStore(new File(context.getCacheDir(), CACHE_DIR));
+    }
+
+    public static synchronized TopRatedRepository getInstance(Context context) {
+        if (instance == null) {
+            instance = new TopRatedRepository(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    /**
+     * 加载首屏（每类至少一页显示条数），磁盘上有数据时直接使用，即使已经过期
+     * @return 加载结果，任一类既没有缓存、请求也失败时异常完成
+     */
+    public CompletableFuture<TopRatedSnapshot> load() {
+        return load(Source.ANY_CACHE);
+    }
+
+    /**
+     * 从网络重新加载首屏并写入磁盘
+     */
+    public CompletableFuture<TopRatedSnapshot> refresh() {
+        return load(Source.NETWORK);
+    }
+
+    /**
+     * 快照中是否有超过有效期的数据，需要刷新
+     */
+    public boolean isExpired(TopRatedSnapshot snapshot) {
+        return !TopRatedCatalogStore.isFresh(snapshot.getFetchedAtMs(), System.currentTimeMillis());
+    }
+
+    /**
+     * 在快照基础上继续向后加载一个分类
+     * @param mediaType MediaInfo.TYPE_MOVIE 或 MediaInfo.TYPE_TV
+     * @param minItems 该分类至少要有的条目数，没有更多数据时可能达不到
+     * @return 替换了该分类的新快照
+     */
+    public CompletableFuture<TopRatedSnapshot> loadMore(TopRatedSnapshot snapshot, String mediaType, int minItems) {
+        CategoryLoad load = new CategoryLoad(snapshot.getCategory(mediaType), RequestPriority.isBackground());
+        return fill(mediaType, load, minItems, Source.FRESH_CACHE)
+                .thenApply(loaded -> snapshot.with(mediaType, loaded.toCategory(), loaded.fetchedAtMs));
+    }
+
+    private CompletableFuture<TopRatedSnapshot> load(Source source) {
+        boolean background = RequestPriority.isBackground();
+        CompletableFuture<CategoryLoad> movies =
+                fill(MediaInfo.TYPE_MOVIE, new CategoryLoad(background), TopRatedSnapshot.PAGE_SIZE, source);
+        CompletableFuture<CategoryLoad> tvShows =
+                fill(MediaInfo.TYPE_TV, new CategoryLoad(background), TopRatedSnapshot.PAGE_SIZE, source);
+        return movies.thenCombine(tvShows, (movieLoad, tvLoad) -> {
+            TopRatedSnapshot snapshot = new TopRatedSnapshot(movieLoad.toCategory(), tvLoad.toCategory(),
+                    Math.min(movieLoad.fetchedAtMs, tvLoad.fetchedAtMs));
+            Log.d(TAG, "高分推荐加载完成: 电影" + snapshot.getMovies().size()
+                    + "条，电视剧" + snapshot.getTvShows().size() + "条");
+            return snapshot;
+        });
+    }
+
+    /**
+     * 从已加载的下一页开始连续读取，直到凑够minItems条或没有更多数据
+     */
+    private CompletableFuture<CategoryLoad> fill(String mediaType, CategoryLoad load, int minItems, Source source) {
+        if (load.items.size() >= minItems || (load.loadedApiPages > 0 && !load.hasMore())) {
+            return CompletableFuture.completedFuture(load);
+        }
+        int apiPage = load.loadedApiPages + 1;
+        return fetchPage(mediaType, apiPage, source, load.background).thenCompose(page -> {
+            load.add(apiPage, page);
+            if (load.exhausted) {
+                return CompletableFuture.completedFuture(load);
+            }
+            return fill(mediaType, load, minItems, source);
+        });
+    }
+
+    private CompletableFuture<TopRatedCatalogStore.Page> fetchPage(String mediaType, int apiPage, Source source,
+                                                                   boolean background) {
+        if (source == Source.NETWORK) {
+            return fetchFromNetwork(mediaType, apiPage, background);
+        }
+        return CompletableFuture.supplyAsync(() -> store.read(mediaType, apiPage)).thenCompose(cached -> {
+            if (cached != null && (source == Source.ANY_CACHE || cached.isFresh(System.currentTimeMillis()))) {
+                return CompletableFuture.completedFuture(cached);
+            }
+            return fetchFromNetwork(mediaType, apiPage, background).handle((page, e) -> {
+                if (e == null) return page;
+                if (cached != null) {
+                    Log.w(TAG, "请求失败，使用过期缓存: " + mediaType + "第" + apiPage + "页");
+                    return cached;
+                }
+                throw e instanceof CompletionException ? (CompletionException) e : new CompletionException(e);
+            });
+        });
+    }
+
+    private CompletableFuture<TopRatedCatalogStore.Page> fetchFromNetwork(String mediaType, int apiPage,
+                                                                          boolean background) {
+        // 调用链可能在任意线程上继续，需按发起加载时的优先级重新标记
+        CompletableFuture<MediaPage> request = RequestPriority.call(background,
+                () -> MediaInfo.TYPE_TV.equals(mediaType)
+                        ? tmdbCrawler.getTopRatedTVShows(apiPage)
+                        : tmdbCrawler.getTopRatedMovies(apiPage));
+        return request.thenApply(result -> {
+            List<MediaInfo> items = result.getItems();
+            // 排名按在整个榜单中的位置
+            for (int i = 0; i < items.size(); i++) {
+                items.get(i).setRank((apiPage - 1) * TopRatedSnapshot.API_PAGE_SIZE + i + 1);
+            }
+            TopRatedCatalogStore.Page page =
+                    new TopRatedCatalogStore.Page(System.currentTimeMillis(), result.getTotalPages(), items);
+            store.write(mediaType, apiPage, page);
+            return page;
+        });
+    }
+
+    /**
+     * 一个分类在一次加载中的累积结果，只在该次加载的调用链内使用
+     */
+    private static class CategoryLoad {
+        final List<MediaInfo> items = new ArrayList<>();
+        // 是否为后台发起的加载，决定请求优先级
+        final boolean background;
+        int loadedApiPages;
+        int totalApiPages;
+        boolean exhausted;
+        long fetchedAtMs = Long.MAX_VALUE;
+
+        CategoryLoad(boolean background) {
+            this.background = background;
+        }
+
+        CategoryLoad(TopRatedSnapshot.Category category, boolean background) {
+            this.background = background;
+            items.addAll(category.getItems());
+            loadedApiPages = category.getLoadedApiPages();
+            totalApiPages = category.getTotalApiPages();
+            exhausted = !category.hasMore();
+        }
+
+        boolean hasMore() {
+            return !exhausted && loadedApiPages < totalApiPages;
+        }
+
+        void add(int apiPage, TopRatedCatalogStore.Page page) {
+            totalApiPages = page.getTotalPages();
+            fetchedAtMs = Math.min(fetchedAtMs, page.getFetchedAtMs());
+            if (page.getItems().isEmpty()) {
+                exhausted = true;
+                return;
+            }
+            items.addAll(page.getItems());
+            loadedApiPages = apiPage;
+        }
+
+        TopRatedSnapshot.Category toCategory() {
+            return new TopRatedSnapshot.Category(items, loadedApiPages, totalApiPages, exhausted);
+        }
+    }
+}
@@ -1,19 +1,23 @@
 package com.lonely.dramatracker.services
 
 import android.content.Context
+import android.content.SharedPreferences
 import android.util.Log
 import com.lonely.dramatracker.config.AppConfig
 import com.lonely.dramatracker.models.SearchResult
 import io.appwrite.Client
 import io.appwrite.ID
 import io.appwrite.Query
+import io.appwrite.exceptions.AppwriteException
 import io.appwrite.models.Session
 import io.appwrite.models.User
 import io.appwrite.services.Account
 import io.appwrite.services.Databases
 import io.appwrite.services.Storage
+import kotlinx.coroutines.CancellationException
 import kotlinx.coroutines.CoroutineScope
 import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.Job
 import kotlinx.coroutines.SupervisorJob
 import kotlinx.coroutines.cancelChildren
 import kotlinx.coroutines.launch
@@ -37,9 +41,16 @@ object Appwrite {
     // 使用自定义协程作用域替代GlobalScope
     private val appwriteScope = CoroutineScope(SupervisorJob() + Dispatchers.IO)
 
-    // 标记是否已初始化
+    // 标记是否已初始化，启动时在后台线程初始化
+    @Volatile
     private var isInitialized = false
 
+    // 本地记录的会话，启动时据此判断能否跳过登录页
+    private const val SESSION_PREFS = "appwrite_session"
+    private const val KEY_SESSION_USER_ID = "user_id"
+    private const val KEY_SESSION_EXPIRE_AT = "expire_at"
+    private var sessionPrefs: SharedPreferences? = null
+
     // 最大重试次数
     private const val MAX_RETRIES = 3
 
@@ -78,6 +89,7 @@ object Appwrite {
             account = Account(client)
             databases = Databases(client)
             storage = Storage(client)
+            sessionPrefs = context.getSharedPreferences(SESSION_PREFS, Context.MODE_PRIVATE)
 
             isInitialized = true
         } catch (e: Exception) {
@@ -85,6 +97,33 @@ object Appwrite {
         }
     }
 
+    /**
+     * 本地是否记录了未过期的会话
+     * 只读本地记录，不发网络请求；会话是否仍然有效需再用verifySessionWithCallback向服务端确认
+     */
+    fun hasLocalSession(): Boolean {
+        val prefs = sessionPrefs ?: return false
+        val userId = prefs.getString(KEY_SESSION_USER_ID, null)
+        return !userId.isNullOrEmpty() && prefs.getLong(KEY_SESSION_EXPIRE_AT, 0L) > System.currentTimeMillis()
+    }
+
+    private fun saveLocalSession(session: Session) {
+        val expireAt = try {
+            SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSXXX", Locale.US).parse(session.expire)?.time ?: 0L
+        } catch (e: Exception) {
+            Log.w("Appwrite", "无法解析会话过期时间: ${session.expire}")
+            0L
+        }
+        sessionPrefs?.edit()
+            ?.putString(KEY_SESSION_USER_ID, session.userId)
+            ?.putLong(KEY_SESSION_EXPIRE_AT, expireAt)
+            ?.apply()
+    }
+
+    private fun clearLocalSession() {
+        sessionPrefs?.edit()?.clear()?.apply()
+    }
+
     //===================================
     // 协程方式 API - 适用于 Kotlin 调用
     //===================================
@@ -147,7 +186,7 @@ object Appwrite {
 
                 // 3. 登录
                 try {
-                    account.createEmailPasswordSession(email, password)
+                    saveLocalSession(account.createEmailPasswordSession(email, password))
                 } catch (e: Exception) {
                     // 忽略登录失败，不影响注册结果
                 }
@@ -166,6 +205,7 @@ object Appwrite {
                 checkInitialized()
 
                 val session = account.createEmailPasswordSession(email, password)
+                saveLocalSession(session)
                 session
             } catch (e: Exception) {
                 throw e
@@ -244,6 +284,7 @@ object Appwrite {
                 checkInitialized()
 
                 account.deleteSession("current")
+                clearLocalSession()
                 true
             } catch (e: Exception) {
                 false
@@ -276,6 +317,26 @@ object Appwrite {
         return result.documents.isNotEmpty()
     }
 
+    /**
+     * 带回调的收藏状态检查
+     * @param sourceId 源站ID
+     * @param callback 检查结果回调，出错时返回false；协程被取消时不会回调
+     * @return 协程Job，调用方可通过cancel中止查询
+     */
+    fun isSourceIdCollectedWithCallback(sourceId: String, callback: (Boolean) -> Unit): Job {
+        return appwriteScope.launch {
+            val collected = try {
+                isSourceIdCollected(sourceId)
+            } catch (e: CancellationException) {
+                throw e
+            } catch (e: Exception) {
+                Log.e("Appwrite", "检查收藏状态失败: ${e.message}", e)
+                false
+            }
+            callback(collected)
+        }
+    }
+
     /**
      * 查询文档列表
      * @param databaseId 数据库ID
@@ -349,6 +410,7 @@ object Appwrite {
                 }
 
                 val session = account.createEmailPasswordSession(email, password)
+                saveLocalSession(session)
 
                 withContext(Dispatchers.Main) {
                     onSuccess(session)
@@ -390,7 +452,7 @@ object Appwrite {
 
                 // 3. 登录
                 try {
-                    account.createEmailPasswordSession(email, password)
+                    saveLocalSession(account.createEmailPasswordSession(email, password))
                 } catch (e: Exception) {
                     // 忽略登录失败，不影响注册结果
                 }
@@ -431,6 +493,33 @@ object Appwrite {
         }
     }
 
+    /**
+     * 向服务端确认当前会话是否有效
+     * @param onResult 在主线程回调：有效为true；服务端返回401（会话已过期或被撤销）为false，同时清除本地记录；
+     *                 网络错误等无法判断的情况为null
+     */
+    fun verifySessionWithCallback(onResult: (Boolean?) -> Unit) {
+        appwriteScope.launch {
+            val valid: Boolean? = try {
+                checkInitialized()
+                account.get()
+                true
+            } catch (e: AppwriteException) {
+                if (e.code == 401) {
+                    clearLocalSession()
+                    false
+                } else {
+                    null
+                }
+            } catch (e: Exception) {
+                null
+            }
+            withContext(Dispatchers.Main) {
+                onResult(valid)
+            }
+        }
+    }
+
     // 登出 - 回调版本
     fun logoutWithCallback(onSuccess: () -> Unit, onError: (Exception) -> Unit) {
         appwriteScope.launch {
@@ -438,6 +527,7 @@ object Appwrite {
                 checkInitialized()
 
                 account.deleteSession("current")
+                clearLocalSession()
 
                 withContext(Dispatchers.Main) {
                     onSuccess()
@@ -3,15 +3,19 @@ package com.lonely.dramatracker.services;
 import android.util.Log;
 import com.lonely.dramatracker.models.SearchResult;
 import com.lonely.dramatracker.config.AppConfig;
+import com.lonely.dramatracker.crawler.CancellationToken;
 import io.appwrite.models.Session;
 import io.appwrite.models.User;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import kotlin.coroutines.Continuation;
 import kotlin.coroutines.CoroutineContext;
 import kotlinx.coroutines.Dispatchers;
+import kotlinx.coroutines.Job;
 import org.jetbrains.annotations.NotNull;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.CompletableFuture;
@@ -171,6 +175,46 @@ public class AppwriteWrapper {
         Appwrite.INSTANCE.cancelAllRequests();
     }
 
+    /**
+     * 检查sourceId是否已被收藏，可被取消
+     * 令牌取消时立即取消Appwrite查询协程并返回false
+     * @param sourceId 源站ID
+     * @param token 取消令牌
+     * @return 是否已收藏
+     */
+    public static boolean isSourceIdCollected(String sourceId, CancellationToken token) {
+        if (token.isCancelled()) {
+            return false;
+        }
+        final CountDownLatch latch = new CountDownLatch(1);
+        final AtomicBoolean result = new AtomicBoolean(false);
+
+        Job job = Appwrite.INSTANCE.isSourceIdCollectedWithCallback(sourceId, collected -> {
+            result.set(collected);
+            latch.countDown();
+            return Unit.INSTANCE;
+        });
+        Runnable cancelJob = () -> {
+            job.cancel((CancellationException) null);
+            latch.countDown();
+        };
+        token.register(cancelJob);
+
+        try {
+            if (!latch.await(5, TimeUnit.SECONDS)) {
+                Log.w(TAG, "检查收藏状态超时");
+                job.cancel((CancellationException) null);
+            }
+        } catch (InterruptedException e) {
+            Log.e(TAG, "检查收藏状态被中断", e);
+            Thread.currentThread().interrupt();
+        } finally {
+            token.unregister(cancelJob);
+        }
+
+        return !token.isCancelled() && result.get();
+    }
+
     /**
      * 检查sourceId是否已被收藏
      * @param sourceId 源站ID
@@ -2,10 +2,9 @@ package com.lonely.dramatracker.services;
 
 import android.util.Log;
 
+import com.lonely.dramatracker.api.ApiService;
+import com.lonely.dramatracker.crawler.CancellationToken;
 import com.lonely.dramatracker.models.SearchResult;
-import com.lonely.dramatracker.utils.BangumiCrawler;
-import com.lonely.dramatracker.utils.DoubanCrawler;
-import com.lonely.dramatracker.utils.TMDbCrawler;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -21,36 +20,33 @@ import java.util.stream.Collectors;
 public class QuickSearchService {
     private static final String TAG = "QuickSearchService";
     
-    private final DoubanCrawler doubanCrawler;
-    private final BangumiCrawler bangumiCrawler;
-    private final TMDbCrawler tmdbCrawler;
+    private final ApiService apiService;
     
-    public QuickSearchService() {
-        this.doubanCrawler = new DoubanCrawler();
-        this.bangumiCrawler = new BangumiCrawler();
-        this.tmdbCrawler = TMDbCrawler.getInstance();
+    public QuickSearchService(ApiService apiService) {
+        this.apiService = apiService;
     }
     
     /**
      * 从多个来源同时搜索，并只返回每个来源的第一个结果
      * @param keyword 搜索关键词
+     * @param token 取消令牌，取消时中止所有来源的请求，Future以CancellationException结束
      * @return 包含每个来源最匹配结果的Map，键为来源类型 ("douban", "bangumi", "tmdb")
      */
-    public CompletableFuture<Map<String, SearchResult>> searchFromMultipleSources(String keyword) {
+    public CompletableFuture<Map<String, SearchResult>> searchFromMultipleSources(String keyword, CancellationToken token) {
         Log.d(TAG, "开始多来源快速搜索: " + keyword);
         
         // 修改单个 Future 以处理异常并返回空列表
-        CompletableFuture<List<SearchResult>> doubanFuture = doubanCrawler.search(keyword)
+        CompletableFuture<List<SearchResult>> doubanFuture = apiService.searchSource("douban", keyword, token)
             .exceptionally(e -> {
                 Log.e(TAG, "豆瓣快速搜索失败: " + e.getMessage());
                 return new ArrayList<>(); // 失败时返回空列表
             });
-        CompletableFuture<List<SearchResult>> bangumiFuture = bangumiCrawler.search(keyword)
+        CompletableFuture<List<SearchResult>> bangumiFuture = apiService.searchSource("bgm", keyword, token)
             .exceptionally(e -> {
                 Log.e(TAG, "Bangumi快速搜索失败: " + e.getMessage());
                 return new ArrayList<>(); // 失败时返回空列表
             });
-        CompletableFuture<List<SearchResult>> tmdbFuture = tmdbCrawler.search(keyword)
+        CompletableFuture<List<SearchResult>> tmdbFuture = apiService.searchSource("tmdb", keyword, token)
             .exceptionally(e -> {
                 Log.e(TAG, "TMDb快速搜索失败: " + e.getMessage());
                 return new ArrayList<>(); // 失败时返回空列表
@@ -105,6 +101,29 @@ public class QuickSearchService {
 
                 Log.d(TAG, "多来源快速搜索完成，找到 " + firstResults.size() + " 个来源的结果");
                 return firstResults;
-            }); // 不再需要外部的 exceptionally，因为内部已处理
+            }) // 不再需要外部的 exceptionally，因为内部已处理
+            .thenCompose(firstResults -> {
+                // 已取消时各来源的空列表只是被取消的结果，不再继续补全
+                token.throwIfCancelled();
+                return enrichResults(firstResults, token);
+            });
+    }
+
+    /**
+     * 只补全每个来源被选中的那一条结果（enrich失败时返回原结果，不会抛出异常）
+     */
+    private CompletableFuture<Map<String, SearchResult>> enrichResults(Map<String, SearchResult> firstResults, CancellationToken token) {
+        Map<String, CompletableFuture<SearchResult>> futures = new HashMap<>();
+        for (Map.Entry<String, SearchResult> entry : firstResults.entrySet()) {
+            futures.put(entry.getKey(), apiService.enrich(entry.getValue(), token));
+        }
+        return CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[0]))
+            .thenApply(v -> {
+                Map<String, SearchResult> enriched = new HashMap<>();
+                for (Map.Entry<String, CompletableFuture<SearchResult>> entry : futures.entrySet()) {
+                    enriched.put(entry.getKey(), entry.getValue().join());
+                }
+                return enriched;
+            });
     }
 } 
\ No newline at end of file
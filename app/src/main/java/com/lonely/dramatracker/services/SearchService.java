@@ -1,7 +1,9 @@
 package com.lonely.dramatracker.services;
 
+import com.lonely.dramatracker.crawler.CancellationToken;
 import com.lonely.dramatracker.models.MediaInfo;
 import com.lonely.dramatracker.models.SearchResult;
+import com.lonely.dramatracker.models.SearchResultDetail;
 
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -24,9 +26,24 @@ public interface SearchService {
     void search(String keyword, String type, int page, int limit, SearchCallback callback);
     // 添加 page 和 limit 参数
     void search(String keyword, String type, int page, int limit, JsonSearchCallback callback);
+
+    /**
+     * 可取消的搜索，令牌取消后停止网络请求和收藏状态检查，且不再回调
+     */
+    void search(String keyword, String type, int page, int limit, CancellationToken token, SearchCallback callback);
+
+    /**
+     * 可取消的搜索（JSON结果），令牌取消后停止网络请求和收藏状态检查，且不再回调
+     */
+    void search(String keyword, String type, int page, int limit, CancellationToken token, JsonSearchCallback callback);
     
     // 获取总项目数的方法
     void getTotalItems(String keyword, String type, TotalItemsCallback callback);
+
+    /**
+     * 可取消的获取总项目数，令牌取消后不再回调
+     */
+    void getTotalItems(String keyword, String type, CancellationToken token, TotalItemsCallback callback);
     
     void addToCollection(SearchResult result);
     void addToCollection(SearchResult result, Runnable onSuccess);
@@ -35,6 +52,22 @@ public interface SearchService {
     void removeFromCollection(SearchResult result, Runnable onSuccess);
     void removeFromCollection(SearchResult result, Runnable onSuccess, Runnable onFailure);
 
+    /**
+     * 获取搜索结果的详情部分（简介、制作人员），按需加载
+     * @param result 搜索结果
+     * @param token 取消令牌，取消后中止请求
+     * @return 详情的Future，没有详情时结果为SearchResultDetail.EMPTY，加载失败时异常结束
+     */
+    CompletableFuture<SearchResultDetail> getDetail(SearchResult result, CancellationToken token);
+
+    /**
+     * 从已缓存的搜索中即时取出可能匹配的结果（本地过滤，不发起网络请求）
+     * @param keyword 搜索关键词
+     * @param type 搜索类型
+     * @return 匹配的结果，没有缓存时返回空列表
+     */
+    List<SearchResult> getCachedResults(String keyword, String type);
+
     /**
      * 获取媒体详细信息
      * @param sourceType 来源类型 (douban/imdb/bgm)
@@ -0,0 +1,49 @@
+package com.lonely.dramatracker.services;
+
+import com.lonely.dramatracker.api.ApiService;
+import com.lonely.dramatracker.api.impl.ApiServiceImpl;
+import com.lonely.dramatracker.services.impl.SearchServiceImpl;
+import com.lonely.dramatracker.utils.QueryTrie;
+
+/**
+ * 进程级服务容器
+ * 统一持有搜索相关服务的单例，保证各页面共用同一个ApiService及其缓存，
+ * 页面重建或从不同入口（快速添加、完整搜索）发起的重复搜索都能命中缓存
+ */
+public class ServiceRegistry {
+    private static ServiceRegistry instance;
+
+    private final ApiService apiService;
+    private final SearchService searchService;
+    private final QuickSearchService quickSearchService;
+    private final QueryTrie queryHistory = new QueryTrie(); // 本次使用期间的搜索词，用于输入联想
+
+    private ServiceRegistry() {
+        apiService = new ApiServiceImpl();
+        searchService = new SearchServiceImpl(apiService);
+        quickSearchService = new QuickSearchService(apiService);
+    }
+
+    public static synchronized ServiceRegistry getInstance() {
+        if (instance == null) {
+            instance = new ServiceRegistry();
+        }
+        return instance;
+    }
+
+    public ApiService getApiService() {
+        return apiService;
+    }
+
+    public SearchService getSearchService() {
+        return searchService;
+    }
+
+    public QuickSearchService getQuickSearchService() {
+        return quickSearchService;
+    }
+
+    public QueryTrie getQueryHistory() {
+        return queryHistory;
+    }
+}
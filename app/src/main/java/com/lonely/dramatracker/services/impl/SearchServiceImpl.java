@@ -4,9 +4,12 @@ import com.google.gson.Gson;
 import com.lonely.dramatracker.api.ApiService;
 import com.lonely.dramatracker.models.MediaInfo;
 import com.lonely.dramatracker.models.SearchResult;
+import com.lonely.dramatracker.models.SearchResultDetail;
+import com.lonely.dramatracker.repositories.RecordRepository;
 import com.lonely.dramatracker.services.SearchService;
 import com.lonely.dramatracker.config.AppConfig;
 import com.lonely.dramatracker.services.AppwriteWrapper;
+import com.lonely.dramatracker.crawler.CancellationToken;
 import io.appwrite.ID;
 import io.appwrite.Query;
 import io.appwrite.models.Document;
@@ -36,12 +39,17 @@ public class SearchServiceImpl implements SearchService {
     
     @Override
     public void getTotalItems(String keyword, String type, TotalItemsCallback callback) {
-        // 调用API获取总项目数
-        // 这里我们可以复用search方法，但设置一个小的pageSize以快速获取第一页
-        // 通常API会在响应中提供总数信息
-        apiService.getTotalCount(keyword, type).thenAccept(count -> {
+        getTotalItems(keyword, type, CancellationToken.NONE, callback);
+    }
+
+    @Override
+    public void getTotalItems(String keyword, String type, CancellationToken token, TotalItemsCallback callback) {
+        // 调用API获取总项目数，只依赖来源的第一页列表
+        apiService.getTotalCount(keyword, type, token).thenAccept(count -> {
+            if (token.isCancelled()) return;
             callback.onTotalItemsResult(count);
         }).exceptionally(throwable -> {
+            if (token.isCancelled()) return null;
             Log.e(TAG, "获取总项目数失败: " + throwable.getMessage(), throwable);
             // 失败时返回0
             callback.onTotalItemsResult(0);
@@ -52,53 +60,66 @@ public class SearchServiceImpl implements SearchService {
     @Override
     // 更新方法签名以包含 page 和 limit
     public void search(String keyword, String type, int page, int limit, SearchCallback callback) {
+        search(keyword, type, page, limit, CancellationToken.NONE, callback);
+    }
+    
+    @Override
+    // 更新方法签名以包含 page 和 limit
+    public void search(String keyword, String type, int page, int limit, JsonSearchCallback callback) {
+        search(keyword, type, page, limit, CancellationToken.NONE, callback);
+    }
+
+    @Override
+    public void search(String keyword, String type, int page, int limit, CancellationToken token, SearchCallback callback) {
         // 将 page 和 limit 传递给 apiService
-        apiService.search(keyword, type, page, limit).thenAccept(results -> {
-            // 检查每个结果的收藏状态
-            for (SearchResult result : results) {
-                try {
-                    boolean isCollected = AppwriteWrapper.isSourceIdCollected(result.getSourceId());
-                    result.setCollected(isCollected);
-                } catch (Exception e) {
-                    Log.e(TAG, "检查收藏状态失败: " + e.getMessage(), e);
-                    // 默认为未收藏
-                    result.setCollected(false);
-                }
-            }
+        apiService.search(keyword, type, page, limit, token).thenAccept(results -> {
+            if (!checkCollected(results, token)) return;
             callback.onSearchComplete(results);
         }).exceptionally(throwable -> {
+            if (token.isCancelled()) return null;
             Log.e(TAG, "搜索失败: " + throwable.getMessage(), throwable);
             callback.onSearchComplete(new ArrayList<>());
             return null;
         });
     }
-    
+
     @Override
-    // 更新方法签名以包含 page 和 limit
-    public void search(String keyword, String type, int page, int limit, JsonSearchCallback callback) {
+    public void search(String keyword, String type, int page, int limit, CancellationToken token, JsonSearchCallback callback) {
         // 将 page 和 limit 传递给 apiService
-        apiService.search(keyword, type, page, limit).thenAccept(results -> {
-            // 检查每个结果的收藏状态
-            for (SearchResult result : results) {
-                try {
-                    boolean isCollected = AppwriteWrapper.isSourceIdCollected(result.getSourceId());
-                    result.setCollected(isCollected);
-                } catch (Exception e) {
-                    Log.e(TAG, "检查收藏状态失败: " + e.getMessage(), e);
-                    // 默认为未收藏
-                    result.setCollected(false);
-                }
-            }
+        apiService.search(keyword, type, page, limit, token).thenAccept(results -> {
+            if (!checkCollected(results, token)) return;
             // 转换结果为JSON字符串
             String jsonResults = gson.toJson(results);
             callback.onSearchComplete(jsonResults);
         }).exceptionally(throwable -> {
+            if (token.isCancelled()) return null;
             Log.e(TAG, "搜索失败: " + throwable.getMessage(), throwable);
             callback.onSearchComplete("[]");
             return null;
         });
     }
 
+    /**
+     * 检查每个结果的收藏状态
+     * @return 令牌在检查过程中被取消时返回false，调用方应放弃本次结果
+     */
+    private boolean checkCollected(List<SearchResult> results, CancellationToken token) {
+        for (SearchResult result : results) {
+            if (token.isCancelled()) {
+                return false;
+            }
+            try {
+                boolean isCollected = AppwriteWrapper.isSourceIdCollected(result.getSourceId(), token);
+                result.setCollected(isCollected);
+            } catch (Exception e) {
+                Log.e(TAG, "检查收藏状态失败: " + e.getMessage(), e);
+                // 默认为未收藏
+                result.setCollected(false);
+            }
+        }
+        return !token.isCancelled();
+    }
+
     @Override
     public void addToCollection(SearchResult result) {
         addToCollection(result, null);
@@ -109,11 +130,40 @@ public class SearchServiceImpl implements SearchService {
         addToCollection(result, onSuccess, null);
     }
 
+    @Override
+    public CompletableFuture<SearchResultDetail> getDetail(SearchResult result, CancellationToken token) {
+        return apiService.getDetail(result, token);
+    }
+
+    @Override
+    public List<SearchResult> getCachedResults(String keyword, String type) {
+        return apiService.findCachedResults(keyword, type);
+    }
+
     @Override
     public void addToCollection(SearchResult result, Runnable onSuccess, Runnable onFailure) {
+        if (!result.hasDetail()) {
+            // 收藏时需要写入简介和制作人员，先补全详情部分；
+            // 详情只放在提交用的副本上，不挂回与列表缓存共享的结果对象
+            apiService.getDetail(result, CancellationToken.NONE).whenComplete((detail, throwable) -> {
+                SearchResult toSave = detail != null ? result.withDetail(detail) : result;
+                doAddToCollection(result, toSave, onSuccess, onFailure);
+            });
+            return;
+        }
+        doAddToCollection(result, result, onSuccess, onFailure);
+    }
+
+    /**
+     * @param result 列表中的结果，成功后标记为已收藏
+     * @param toSave 写入Appwrite的结果，带有详情部分
+     */
+    private void doAddToCollection(SearchResult result, SearchResult toSave,
+                                   Runnable onSuccess, Runnable onFailure) {
         try {
-            AppwriteWrapper.addToCollection(result, () -> {
+            AppwriteWrapper.addToCollection(toSave, () -> {
                 result.setCollected(true);
+                RecordRepository.getInstance().markChanged();
                 if (onSuccess != null) {
                     onSuccess.run();
                 }
@@ -210,6 +260,7 @@ public class SearchServiceImpl implements SearchService {
                         // 执行删除操作
                         AppwriteWrapper.removeFromCollection(foundCollectionId, () -> {
                             result.setCollected(false);
+                            RecordRepository.getInstance().markChanged();
                             if (onSuccess != null) {
                                 onSuccess.run();
                             }
@@ -231,6 +282,7 @@ public class SearchServiceImpl implements SearchService {
                 Log.d(TAG, "使用已有的收藏ID删除: " + collectionId);
                 AppwriteWrapper.removeFromCollection(collectionId, () -> {
                     result.setCollected(false);
+                    RecordRepository.getInstance().markChanged();
                     if (onSuccess != null) {
                         onSuccess.run();
                     }
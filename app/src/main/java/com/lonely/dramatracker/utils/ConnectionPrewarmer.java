@@ -0,0 +1,127 @@
+package com.lonely.dramatracker.utils;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import com.lonely.dramatracker.crawler.CrawlerEndpoints;
+import com.lonely.dramatracker.crawler.http.NetworkTelemetry;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 启动时预热数据源连接
+ * 闪屏和登录期间按用户上次使用的搜索类型，提前和接下来最可能请求的站点建立连接；
+ * 应用在前台时定期检查，站点空闲到连接快被连接池回收前再预热一次
+ */
+public class ConnectionPrewarmer {
+    private static final String TAG = "ConnectionPrewarmer";
+
+    private static final String PREFS_NAME = "connection_prewarm";
+    private static final String KEY_LAST_SEARCH_TYPE = "last_search_type";
+
+    // 与CrawlerUtils中连接池的空闲连接保留时间一致
+    private static final long POOL_KEEP_ALIVE_MS = 5 * 60 * 1000L;
+    // 前台时的检查间隔
+    private static final long KEEP_WARM_INTERVAL_MS = 4 * 60 * 1000L;
+    // 空闲超过该时长的站点，到下次检查前连接就会被回收，需要预热
+    private static final long REWARM_AFTER_IDLE_MS = POOL_KEEP_ALIVE_MS - KEEP_WARM_INTERVAL_MS;
+
+    private static final Handler handler = new Handler(Looper.getMainLooper());
+    private static final Runnable keepWarm = ConnectionPrewarmer::keepWarm;
+    // 站点 → 最近一次发起预热的时间，避免闪屏和登录页接连调用时重复预热
+    private static final Map<String, Long> lastWarmedAt = new ConcurrentHashMap<>();
+    private static Context appContext;
+    private static int startedActivities;
+
+    private ConnectionPrewarmer() {
+    }
+
+    /**
+     * 按上次使用的搜索类型预热连接，在闪屏和登录页调用
+     */
+    public static void warmUp(Context context) {
+        appContext = context.getApplicationContext();
+        warmHosts(hostsFor(lastSearchType()));
+    }
+
+    /**
+     * 记录用户选择的搜索类型，作为下次启动时预热的依据，并立即预热该类型的站点
+     * @param type 搜索类型，如 "anime"、"movie"、"tv"
+     */
+    public static void recordSearchType(Context context, String type) {
+        if (type == null) return;
+        appContext = context.getApplicationContext();
+        prefs().edit().putString(KEY_LAST_SEARCH_TYPE, type).apply();
+        warmHosts(hostsFor(type));
+    }
+
+    /**
+     * 页面进入前台，需在主线程调用；第一个页面进入前台时开始定期保温
+     */
+    public static void onActivityStarted(Context context) {
+        appContext = context.getApplicationContext();
+        if (startedActivities++ == 0) {
+            handler.postDelayed(keepWarm, KEEP_WARM_INTERVAL_MS);
+        }
+    }
+
+    /**
+     * 页面离开前台，需在主线程调用；所有页面都离开前台时停止保温，连接按连接池的策略自然回收
+     */
+    public static void onActivityStopped() {
+        if (startedActivities > 0 && --startedActivities == 0) {
+            handler.removeCallbacks(keepWarm);
+        }
+    }
+
+    private static void keepWarm() {
+        warmHosts(hostsFor(lastSearchType()));
+        handler.postDelayed(keepWarm, KEEP_WARM_INTERVAL_MS);
+    }
+
+    /**
+     * 搜索类型对应的站点：动漫搜索走Bangumi，影视搜索走TMDb；没有记录时两者都预热
+     */
+    static List<String> hostsFor(String type) {
+        if ("anime".equals(type)) {
+            return Collections.singletonList(CrawlerEndpoints.BANGUMI);
+        }
+        if ("movie".equals(type) || "tv".equals(type)) {
+            return Collections.singletonList(CrawlerEndpoints.TMDB_API);
+        }
+        return Arrays.asList(CrawlerEndpoints.BANGUMI, CrawlerEndpoints.TMDB_API);
+    }
+
+    private static void warmHosts(List<String> hosts) {
+        long now = System.currentTimeMillis();
+        for (String host : hosts) {
+            Long warmedAt = lastWarmedAt.get(host);
+            NetworkTelemetry.Stats stats = CrawlerUtils.getNetworkTelemetry().forHost(host);
+            long lastUsedAt = Math.max(warmedAt != null ? warmedAt : 0, stats != null ? stats.getLastCallAtMs() : 0);
+            if (now - lastUsedAt < REWARM_AFTER_IDLE_MS) {
+                continue;
+            }
+            lastWarmedAt.put(host, now);
+            CrawlerUtils.getConnectionWarmer().warm(host).thenAccept(warmed -> {
+                if (warmed) {
+                    Log.i(TAG, "已预热连接: " + host);
+                }
+            });
+        }
+    }
+
+    private static String lastSearchType() {
+        return appContext != null ? prefs().getString(KEY_LAST_SEARCH_TYPE, null) : null;
+    }
+
+    private static SharedPreferences prefs() {
+        return appContext.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+    }
+}
@@ -2,16 +2,32 @@ package com.lonely.dramatracker.utils;
 
 import android.util.Log;
 
+import com.lonely.dramatracker.crawler.CancellationToken;
+import com.lonely.dramatracker.crawler.CrawlerLog;
+import com.lonely.dramatracker.crawler.http.CircuitBreakerRegistry;
+import com.lonely.dramatracker.crawler.http.ConnectionWarmer;
+import com.lonely.dramatracker.crawler.http.HostRateLimiter;
+import com.lonely.dramatracker.crawler.http.NetworkTelemetry;
+import com.lonely.dramatracker.crawler.http.RequestPriority;
+import com.lonely.dramatracker.crawler.http.RetryPolicy;
+import com.lonely.dramatracker.crawler.http.RetryScheduler;
+import com.lonely.dramatracker.crawler.text.TextNormalizer;
+
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 
 import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import okhttp3.ConnectionPool;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
-import okhttp3.Response;
 
 /**
  * 爬虫工具类
@@ -21,14 +37,73 @@ public class CrawlerUtils {
     private static final String TAG = "CrawlerUtils";
     private static final String USER_AGENT = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/119.0.0.0 Safari/537.36";
     
+    private static final String HTML_ACCEPT = "text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8";
+    
+    static {
+        // crawler-core 是纯Java模块，日志经这里转到logcat
+        CrawlerLog.setSink(new CrawlerLog.Sink() {
+            @Override
+            public void info(String tag, String message) {
+                Log.i(tag, message);
+            }
+
+            @Override
+            public void warn(String tag, String message) {
+                Log.w(tag, message);
+            }
+        });
+    }
+
+    // 各站点和各操作的网络耗时统计，由okHttpClient的事件监听记录
+    private static final NetworkTelemetry telemetry = new NetworkTelemetry();
+
     private static final OkHttpClient okHttpClient = new OkHttpClient.Builder()
             .connectTimeout(20, TimeUnit.SECONDS)
             .readTimeout(30, TimeUnit.SECONDS)
             .writeTimeout(20, TimeUnit.SECONDS)
             .retryOnConnectionFailure(true)
             .connectionPool(new ConnectionPool(10, 5, TimeUnit.MINUTES))
+            .eventListenerFactory(telemetry.eventListenerFactory())
             .build();
 
+    // 所有爬虫请求共用的按域名限流器
+    private static final HostRateLimiter rateLimiter = new HostRateLimiter();
+    // 各数据源的熔断器
+    private static final CircuitBreakerRegistry circuitBreakers = new CircuitBreakerRegistry();
+    private static final RetryScheduler retryScheduler = new RetryScheduler(okHttpClient, rateLimiter, circuitBreakers, telemetry);
+    private static final ConnectionWarmer connectionWarmer = new ConnectionWarmer(okHttpClient, rateLimiter, circuitBreakers, USER_AGENT);
+
+    // extractId用到的正则，按表达式缓存编译结果
+    private static final Map<String, Pattern> compiledPatterns = new ConcurrentHashMap<>();
+
+    /**
+     * 获取按域名限流器，用于查看各域名当前的并发上限和被限流次数
+     */
+    public static HostRateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    /**
+     * 获取各数据源的熔断器，用于查看状态或在请求前判断数据源是否可用
+     */
+    public static CircuitBreakerRegistry getCircuitBreakers() {
+        return circuitBreakers;
+    }
+
+    /**
+     * 获取网络耗时统计，可按站点或操作查看各阶段耗时，或导出JSON
+     */
+    public static NetworkTelemetry getNetworkTelemetry() {
+        return telemetry;
+    }
+
+    /**
+     * 获取连接预热器，预热的连接放在爬虫请求共用的连接池中
+     */
+    public static ConnectionWarmer getConnectionWarmer() {
+        return connectionWarmer;
+    }
+
     /**
      * 使用OkHttp发送GET请求
      * @param url 请求URL
@@ -47,39 +122,73 @@ public class CrawlerUtils {
      * @throws IOException 所有重试都失败时抛出异常
      */
     public static String httpGet(String url, int maxRetries) throws IOException {
-        Request request = new Request.Builder()
+        return httpGet(url, maxRetries, CancellationToken.NONE);
+    }
+
+    /**
+     * 使用OkHttp发送可取消的GET请求
+     * @param url 请求URL
+     * @param token 取消令牌，取消时中止正在进行的请求
+     * @return 响应内容
+     * @throws IOException 请求失败时抛出异常
+     * @throws java.util.concurrent.CancellationException 令牌已取消
+     */
+    public static String httpGet(String url, CancellationToken token) throws IOException {
+        return httpGet(url, 3, token);
+    }
+
+    /**
+     * 使用OkHttp发送GET请求，带重试机制，令牌取消时立即中止请求且不再重试
+     * @param url 请求URL
+     * @param maxRetries 最大重试次数
+     * @param token 取消令牌
+     * @return 响应内容
+     * @throws IOException 所有重试都失败时抛出异常
+     * @throws java.util.concurrent.CancellationException 令牌已取消
+     */
+    public static String httpGet(String url, int maxRetries, CancellationToken token) throws IOException {
+        Request request = RequestPriority.tag(NetworkTelemetry.tagOperation(new Request.Builder()))
                 .url(url)
                 .header("User-Agent", USER_AGENT)
                 .get()
                 .build();
-        
-        IOException lastException = null;
-        for (int attempt = 0; attempt <= maxRetries; attempt++) {
-            try {
-                Response response = okHttpClient.newCall(request).execute();
-                if (!response.isSuccessful()) {
-                    throw new IOException("HTTP " + response.code() + ": " + response.message());
-                }
-                
-                return response.body().string();
-            } catch (IOException e) {
-                lastException = e;
-                Log.w(TAG, "HTTP GET 请求失败，尝试 " + (attempt + 1) + " 次，URL: " + url + "，错误: " + e.getMessage());
-                
-                if (attempt < maxRetries) {
-                    // 等待一段时间再重试，使用退避策略
-                    try {
-                        int backoffMs = 1000 * (attempt + 1);
-                        Thread.sleep(backoffMs);
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
-                        throw new IOException("重试被中断", ie);
-                    }
-                }
+        return execute(request, maxRetries, token);
+    }
+
+    /**
+     * 异步发送可取消的GET请求，失败时按策略在定时器上安排重试，等待期间不占用线程
+     * @param url 请求URL
+     * @param policy 重试策略
+     * @param token 取消令牌
+     * @return 成功时完成为响应内容；失败时以IOException完成，取消时以CancellationException完成
+     */
+    public static CompletableFuture<String> httpGetAsync(String url, RetryPolicy policy, CancellationToken token) {
+        Request request = RequestPriority.tag(NetworkTelemetry.tagOperation(new Request.Builder()))
+                .url(url)
+                .header("User-Agent", USER_AGENT)
+                .get()
+                .build();
+        return retryScheduler.execute(request, policy, token);
+    }
+
+    /**
+     * 同步等待异步请求的结果
+     * 重试间隔由定时器调度，调用线程只在这里等待最终结果，不会在每次重试之间休眠
+     */
+    private static String execute(Request request, int maxRetries, CancellationToken token) throws IOException {
+        token.throwIfCancelled();
+        try {
+            return retryScheduler.execute(request, RetryPolicy.withMaxRetries(maxRetries), token).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
             }
+            throw new IOException(cause);
         }
-        
-        throw lastException;
     }
 
     /**
@@ -93,46 +202,49 @@ public class CrawlerUtils {
     }
     
     /**
-     * 使用Jsoup解析HTML，带重试机制
+     * 获取并解析HTML，带重试机制
      * @param url 网页URL
      * @param maxRetries 最大重试次数
      * @return Document对象
      * @throws IOException 所有重试都失败时抛出异常
      */
     public static Document parseHtml(String url, int maxRetries) throws IOException {
-        IOException lastException = null;
-        for (int attempt = 0; attempt <= maxRetries; attempt++) {
-            try {
-                // 尝试直接使用Jsoup连接
-                return Jsoup.connect(url)
-                        .userAgent(USER_AGENT)
-                        .timeout(30000) // 30秒超时
-                        .get();
-            } catch (IOException e) {
-                lastException = e;
-                Log.w(TAG, "Jsoup解析失败，尝试 " + (attempt + 1) + " 次，URL: " + url + "，错误: " + e.getMessage());
-                
-                if (attempt < maxRetries) {
-                    // 等待一段时间再重试，使用退避策略
-                    try {
-                        int backoffMs = 1000 * (attempt + 1);
-                        Thread.sleep(backoffMs);
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
-                        throw new IOException("重试被中断", ie);
-                    }
-                }
-            }
-        }
-        
-        // 如果Jsoup直接连接全部失败，尝试使用OkHttp获取内容再解析
-        try {
-            String html = httpGet(url, maxRetries);
-            return Jsoup.parse(html, url);
-        } catch (IOException e) {
-            Log.e(TAG, "使用OkHttp+Jsoup解析也失败: " + e.getMessage(), e);
-            throw lastException; // 抛出最后一次Jsoup直接连接的异常
-        }
+        return parseHtml(url, maxRetries, CancellationToken.NONE);
+    }
+
+    /**
+     * 获取并解析HTML，可被取消
+     * @param url 网页URL
+     * @param token 取消令牌
+     * @return Document对象
+     * @throws IOException 请求或解析失败时抛出异常
+     * @throws java.util.concurrent.CancellationException 令牌已取消
+     */
+    public static Document parseHtml(String url, CancellationToken token) throws IOException {
+        return parseHtml(url, 3, token);
+    }
+
+    /**
+     * 获取并解析HTML
+     * Jsoup自带的连接是阻塞的，无法异步重试或从外部中止，因此用OkHttp获取页面（带浏览器Accept头），再交给Jsoup解析
+     * @param url 网页URL
+     * @param maxRetries 最大重试次数
+     * @param token 取消令牌
+     * @return Document对象
+     * @throws IOException 请求或解析失败时抛出异常
+     * @throws java.util.concurrent.CancellationException 令牌已取消
+     */
+    public static Document parseHtml(String url, int maxRetries, CancellationToken token) throws IOException {
+        Request request = RequestPriority.tag(NetworkTelemetry.tagOperation(new Request.Builder()))
+                .url(url)
+                .header("User-Agent", USER_AGENT)
+                .header("Accept", HTML_ACCEPT)
+                .header("Accept-Language", "zh-CN,zh;q=0.9")
+                .get()
+                .build();
+        String html = execute(request, maxRetries, token);
+        token.throwIfCancelled();
+        return Jsoup.parse(html, url);
     }
 
     /**
@@ -145,8 +257,12 @@ public class CrawlerUtils {
         if (url == null || pattern == null) {
             return null;
         }
-        java.util.regex.Pattern p = java.util.regex.Pattern.compile(pattern);
-        java.util.regex.Matcher m = p.matcher(url);
+        Pattern p = compiledPatterns.get(pattern);
+        if (p == null) {
+            p = Pattern.compile(pattern);
+            compiledPatterns.putIfAbsent(pattern, p);
+        }
+        Matcher m = p.matcher(url);
         return m.find() ? m.group(1) : null;
     }
 
@@ -157,42 +273,6 @@ public class CrawlerUtils {
      * @return 完整的URL
      */
     public static String ensureFullUrl(String url, String baseUrl) {
-        if (url == null) {
-            return null;
-        }
-        if (url.startsWith("http")) {
-            return url;
-        }
-        if (url.startsWith("//")) {
-            return "https:" + url;
-        }
-        return baseUrl + (url.startsWith("/") ? url : "/" + url);
-    }
-
-    /**
-     * 打印HTML内容的一部分，用于调试
-     * @param doc HTML文档
-     * @param tag 日志标签
-     * @param maxLength 最大长度限制
-     */
-    public static void logHtmlContent(Document doc, String tag, int maxLength) {
-        if (doc == null) {
-            Log.e(tag, "文档为空，无法打印HTML");
-            return;
-        }
-        
-        String html = doc.outerHtml();
-        int length = Math.min(html.length(), maxLength);
-        Log.d(tag, "HTML内容前" + length + "字符: " + html.substring(0, length));
-        
-        // 也打印一些重要的结构信息
-        Log.d(tag, "页面标题: " + doc.title());
-        Log.d(tag, "Body子元素数量: " + doc.body().children().size());
-        
-        // 尝试打印一些关键元素
-        Log.d(tag, "#colunmSingle 元素: " + (doc.selectFirst("#colunmSingle") != null ? "存在" : "不存在"));
-        Log.d(tag, ".BgmCalendar 元素: " + (doc.selectFirst(".BgmCalendar") != null ? "存在" : "不存在"));
-        Log.d(tag, "ul.large 元素: " + (doc.selectFirst("ul.large") != null ? "存在" : "不存在"));
-        Log.d(tag, "li.week 元素: " + (doc.selectFirst("li.week") != null ? "存在" : "不存在"));
+        return TextNormalizer.ensureFullUrl(url, baseUrl);
     }
 }
@@ -0,0 +1,115 @@
+package com.lonely.dramatracker.utils;
+
+import android.util.Log;
+
+import com.lonely.dramatracker.BuildConfig;
+import com.lonely.dramatracker.crawler.parse.ParseCounter;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 调试诊断工具类
+ * 只在debug构建中输出；ENABLED是编译期常量，release构建中 if (Diagnostics.ENABLED) 包裹的代码会被javac整段移除。
+ * 日志内容通过Supplier延迟生成，级别不够时不会拼接字符串；热路径上应再用 if (Diagnostics.ENABLED) 包裹，
+ * 连lambda对象也不创建
+ */
+public final class Diagnostics {
+    public static final boolean ENABLED = BuildConfig.DIAGNOSTICS;
+
+    // 输出的最低级别
+    private static volatile int minLevel = Log.DEBUG;
+
+    private static final ParseStats NO_OP_STATS = new ParseStats(null, null);
+
+    private Diagnostics() {
+    }
+
+    /**
+     * 设置输出的最低级别（android.util.Log 的级别常量）
+     */
+    public static void setMinLevel(int level) {
+        minLevel = level;
+    }
+
+    public static boolean isLoggable(int level) {
+        return ENABLED && level >= minLevel;
+    }
+
+    public static void v(String tag, Supplier<String> message) {
+        if (isLoggable(Log.VERBOSE)) {
+            Log.v(tag, message.get());
+        }
+    }
+
+    public static void d(String tag, Supplier<String> message) {
+        if (isLoggable(Log.DEBUG)) {
+            Log.d(tag, message.get());
+        }
+    }
+
+    /**
+     * 开始记录一次解析的统计信息，release构建中返回不做任何事的实例
+     * @param tag 日志标签
+     * @param name 解析的页面名称
+     */
+    public static ParseStats parseStats(String tag, String name) {
+        return ENABLED ? new ParseStats(tag, name) : NO_OP_STATS;
+    }
+
+    /**
+     * 单次页面解析的结构化统计
+     * 代替打印原始HTML：只记录各类元素的数量和回退次数，结束时输出一行汇总；
+     * 可直接传给 crawler-core 中的解析器
+     */
+    public static final class ParseStats implements ParseCounter {
+        private final String tag;
+        private final String name;
+        private final long startNanos;
+        private final Map<String, Integer> counters;
+
+        private ParseStats(String tag, String name) {
+            this.tag = tag;
+            this.name = name;
+            this.startNanos = name != null ? System.nanoTime() : 0;
+            this.counters = name != null ? new LinkedHashMap<>() : null;
+        }
+
+        /**
+         * 计数加一
+         */
+        @Override
+        public ParseStats increment(String counter) {
+            return add(counter, 1);
+        }
+
+        /**
+         * 计数增加指定数量
+         */
+        @Override
+        public ParseStats add(String counter, int amount) {
+            if (counters != null) {
+                Integer current = counters.get(counter);
+                counters.put(counter, current == null ? amount : current + amount);
+            }
+            return this;
+        }
+
+        /**
+         * 输出汇总，如 "calendar: weekdays=7 items=84 posterFallback=2 (13.2ms)"
+         */
+        public void finish() {
+            if (counters == null || !isLoggable(Log.DEBUG)) {
+                return;
+            }
+            StringBuilder sb = new StringBuilder(name).append(':');
+            for (Map.Entry<String, Integer> entry : counters.entrySet()) {
+                sb.append(' ').append(entry.getKey()).append('=').append(entry.getValue());
+            }
+            sb.append(String.format(Locale.US, " (%.1fms)", (System.nanoTime() - startNanos) / 1_000_000.0));
+            Log.d(tag, sb.toString());
+        }
+    }
+}
@@ -2,7 +2,12 @@ package com.lonely.dramatracker.utils;
 
 import android.util.Log;
 
+import com.lonely.dramatracker.crawler.CancellationToken;
+import com.lonely.dramatracker.crawler.CrawlerEndpoints;
+import com.lonely.dramatracker.crawler.http.NetworkTelemetry;
+import com.lonely.dramatracker.crawler.text.TextNormalizer;
 import com.lonely.dramatracker.models.MediaInfo;
+import com.lonely.dramatracker.models.SearchPage;
 import com.lonely.dramatracker.models.SearchResult;
 
 import org.jsoup.nodes.Document;
@@ -11,9 +16,8 @@ import org.jsoup.select.Elements;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * 豆瓣网站爬虫
@@ -21,23 +25,42 @@ import java.util.regex.Pattern;
  */
 public class DoubanCrawler {
     private static final String TAG = "DoubanCrawler";
+    // 条目链接使用的站点地址，请求地址通过CrawlerEndpoints获取
     private static final String BASE_URL = "https://movie.douban.com";
-    private static final String SEARCH_URL = "https://www.douban.com/search?cat=1002&q=";
+    private static final String SEARCH_PATH = "/search?cat=1002&q=";
     
     // 请求头，参考doubanMovies.js中的headers
+    // 豆瓣搜索每页的条目数
+    private static final int SEARCH_PAGE_SIZE = 20;
     private static final String USER_AGENT = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/98.0.4758.102 Safari/537.36";
 
+    private static DoubanCrawler instance;
+
+    private DoubanCrawler() {
+        // 私有构造函数，爬虫无状态，全局共用一个实例
+    }
+
+    public static synchronized DoubanCrawler getInstance() {
+        if (instance == null) {
+            instance = new DoubanCrawler();
+        }
+        return instance;
+    }
+
     /**
-     * 搜索豆瓣电影
+     * 搜索豆瓣电影的指定页
+     * 搜索结果页没有海报和评分，这些字段通过enrich请求详情页补全
      * @param keyword 搜索关键词
-     * @return 搜索结果列表
+     * @param page 页码（从1开始），按每页SEARCH_PAGE_SIZE条换算为start参数
+     * @param token 取消令牌，取消时中止网络请求，Future以CancellationException结束
+     * @return 搜索结果页
      */
-    public CompletableFuture<List<SearchResult>> search(String keyword) {
-        return CompletableFuture.supplyAsync(() -> {
+    public CompletableFuture<SearchPage> searchPage(String keyword, int page, CancellationToken token) {
+        return CompletableFuture.supplyAsync(NetworkTelemetry.withOperation(NetworkTelemetry.OP_SEARCH, () -> {
             List<SearchResult> results = new ArrayList<>();
             try {
-                String url = SEARCH_URL + keyword;
-                Document doc = CrawlerUtils.parseHtml(url);
+                String url = CrawlerEndpoints.baseUrl(CrawlerEndpoints.DOUBAN_SEARCH) + SEARCH_PATH + keyword + "&start=" + (page - 1) * SEARCH_PAGE_SIZE;
+                Document doc = CrawlerUtils.parseHtml(url, token);
                 
                 Elements items = doc.select(".result-list .result");
                 
@@ -54,9 +77,7 @@ public class DoubanCrawler {
                         }
                         
                         // 提取ID
-                        Pattern pattern = Pattern.compile("\\d+(?=,)");
-                        Matcher matcher = pattern.matcher(onclickAttr);
-                        String sourceId = matcher.find() ? matcher.group() : "";
+                        String sourceId = TextNormalizer.numberBefore(onclickAttr, ',');
                         
                         if (sourceId.isEmpty()) {
                             continue;
@@ -88,49 +109,65 @@ public class DoubanCrawler {
                             builder.setStaff(cleanedStaff);
                             
                             // 尝试从演职员信息中提取年份
-                            Pattern yearPattern = Pattern.compile("\\d{4}");
-                            Matcher yearMatcher = yearPattern.matcher(castText);
-                            if (yearMatcher.find()) {
-                                builder.setYear(yearMatcher.group());
+                            String year = TextNormalizer.firstYear(castText);
+                            if (year != null) {
+                                builder.setYear(year);
                             }
                         }
                         
-                        // 搜索结果页没有海报，评分等信息
-                        // 为了获取完整信息，我们需要获取电影详情页
-                        try {
-                            String detailUrl = BASE_URL + "/subject/" + sourceId;
-                            // 获取电影详情
-                            MediaInfo mediaInfo = getMediaInfoSync(sourceId);
-                            if (mediaInfo != null) {
-                                // 使用详情页信息补充搜索结果
-                                builder.setPosterUrl(mediaInfo.getPosterUrl())
-                                       .setRatingDouban(mediaInfo.getRatingDouban())
-                                       .setReleaseDate(mediaInfo.getReleaseDate())
-                                       .setDuration(mediaInfo.getDuration())
-                                       .setSummary(mediaInfo.getSummary())
-                                       .setTitleOriginal(mediaInfo.getTitleOriginal());
-                                
-                                // 设置评分（用于兼容旧版本）
-                                if (mediaInfo.getRatingDouban() > 0) {
-                                    builder.setRating(mediaInfo.getRatingDouban());
-                                }
-                            }
-                        } catch (Exception e) {
-                            Log.e(TAG, "获取电影详情失败: " + e.getMessage());
-                        }
-                        
                         SearchResult result = builder.build();
                         results.add(result);
                     } catch (Exception e) {
                         Log.e(TAG, "解析搜索结果项时出错: " + e.getMessage());
                     }
                 }
+
+                // 豆瓣不给出总页数，按原始条目数是否满一页判断是否还有下一页
+                boolean hasMore = items.size() >= SEARCH_PAGE_SIZE;
+                return new SearchPage(results, page, hasMore, SearchPage.UNKNOWN_TOTAL);
+            } catch (CancellationException e) {
+                throw e;
             } catch (Exception e) {
                 Log.e(TAG, "搜索请求失败: " + e.getMessage());
                 throw new RuntimeException("搜索失败", e);
             }
-            return results;
-        });
+        }));
+    }
+
+    /**
+     * 请求电影详情页，补全搜索结果的海报、评分、时长等字段
+     * @param result searchPage返回的结果
+     * @param token 取消令牌，取消时中止网络请求，Future以CancellationException结束
+     * @return 补全后的结果，详情页获取失败时返回原结果
+     */
+    public CompletableFuture<SearchResult> enrich(SearchResult result, CancellationToken token) {
+        return CompletableFuture.supplyAsync(NetworkTelemetry.withOperation(NetworkTelemetry.OP_DETAIL, () -> {
+            try {
+                MediaInfo mediaInfo = getMediaInfoSync(result.getSourceId(), token);
+                if (mediaInfo == null) {
+                    return result;
+                }
+                // 使用详情页信息补充搜索结果
+                SearchResult.Builder builder = new SearchResult.Builder(result)
+                       .setPosterUrl(mediaInfo.getPosterUrl())
+                       .setRatingDouban(mediaInfo.getRatingDouban())
+                       .setReleaseDate(mediaInfo.getReleaseDate())
+                       .setDuration(mediaInfo.getDuration())
+                       .setSummary(mediaInfo.getSummary())
+                       .setTitleOriginal(mediaInfo.getTitleOriginal());
+                
+                // 设置评分（用于兼容旧版本）
+                if (mediaInfo.getRatingDouban() > 0) {
+                    builder.setRating(mediaInfo.getRatingDouban());
+                }
+                return builder.build();
+            } catch (CancellationException e) {
+                throw e;
+            } catch (Exception e) {
+                Log.e(TAG, "获取电影详情失败: " + e.getMessage());
+                return result;
+            }
+        }));
     }
 
     /**
@@ -144,7 +181,7 @@ public class DoubanCrawler {
         }
         
         // 移除原名信息 (通常格式为 "原名: xxx / ")
-        String cleaned = staffText.replaceAll("原名:.*?(?=/\\s|$)", "").trim();
+        String cleaned = TextNormalizer.removeOriginalName(staffText).trim();
         
         // 如果以 " / " 开头，去掉开头的分隔符
         if (cleaned.startsWith("/ ")) {
@@ -160,9 +197,20 @@ public class DoubanCrawler {
      * @return 媒体详细信息
      */
     private MediaInfo getMediaInfoSync(String sourceId) {
+        return getMediaInfoSync(sourceId, CancellationToken.NONE);
+    }
+
+    /**
+     * 获取电影详细信息 (同步可取消版本)
+     * @param sourceId 豆瓣的电影ID
+     * @param token 取消令牌
+     * @return 媒体详细信息，失败时返回null
+     * @throws CancellationException 令牌已取消
+     */
+    private MediaInfo getMediaInfoSync(String sourceId, CancellationToken token) {
         try {
-            String url = BASE_URL + "/subject/" + sourceId;
-            Document doc = CrawlerUtils.parseHtml(url);
+            String url = CrawlerEndpoints.baseUrl(CrawlerEndpoints.DOUBAN_MOVIE) + "/subject/" + sourceId;
+            Document doc = CrawlerUtils.parseHtml(url, token);
             
             MediaInfo mediaInfo = new MediaInfo();
             mediaInfo.setMediaType("movie");
@@ -199,7 +247,7 @@ public class DoubanCrawler {
                 // 处理简介中的特殊字符
                 summary = summary.replace("(展开全部)", "");
                 summary = summary.replace("\r\n", "\n");
-                summary = summary.replaceAll("\\s\\s\\s\\s", "\n");
+                summary = TextNormalizer.breakWhitespaceGroups(summary, 4);
                 mediaInfo.setSummary(summary);
             }
             
@@ -255,6 +303,8 @@ public class DoubanCrawler {
             mediaInfo.setStaff(staffBuilder.toString());
             
             return mediaInfo;
+        } catch (CancellationException e) {
+            throw e;
         } catch (Exception e) {
             Log.e(TAG, "获取电影详情失败: " + e.getMessage());
             return null;
@@ -267,6 +317,17 @@ public class DoubanCrawler {
      * @return 媒体详细信息的Future
      */
     public CompletableFuture<MediaInfo> getMediaInfo(String sourceId) {
-        return CompletableFuture.supplyAsync(() -> getMediaInfoSync(sourceId));
+        return getMediaInfo(sourceId, CancellationToken.NONE);
+    }
+
+    /**
+     * 获取电影详细信息 (异步可取消版本)
+     * @param sourceId 豆瓣的电影ID
+     * @param token 取消令牌，取消时中止网络请求，Future以CancellationException结束
+     * @return 媒体详细信息的Future，获取失败时结果为null
+     */
+    public CompletableFuture<MediaInfo> getMediaInfo(String sourceId, CancellationToken token) {
+        return CompletableFuture.supplyAsync(
+                NetworkTelemetry.withOperation(NetworkTelemetry.OP_DETAIL, () -> getMediaInfoSync(sourceId, token)));
     }
 } 
\ No newline at end of file
@@ -2,6 +2,8 @@ package com.lonely.dramatracker.utils;
 
 import android.util.Log;
 
+import com.lonely.dramatracker.crawler.CrawlerEndpoints;
+import com.lonely.dramatracker.crawler.http.NetworkTelemetry;
 import com.lonely.dramatracker.models.MovieInfo;
 
 import org.json.JSONArray;
@@ -21,10 +23,10 @@ import java.util.concurrent.CompletableFuture;
 public class MaoYanCrawler {
     private static final String TAG = "MaoYanCrawler";
     
-    // 猫眼API接口
-    private static final String MOVIE_ON_SHOWING_URL = "https://m.maoyan.com/ajax/movieOnInfoList"; // 正在热映
-    private static final String MOVIE_COMING_URL = "https://m.maoyan.com/ajax/comingList?ci=1&token=&limit=10"; // 即将上映
-    private static final String MOVIE_DETAIL_URL = "https://m.maoyan.com/ajax/detailmovie?movieId="; // 电影详情
+    // 猫眼API接口，站点地址通过CrawlerEndpoints获取
+    private static final String MOVIE_ON_SHOWING_PATH = "/ajax/movieOnInfoList"; // 正在热映
+    private static final String MOVIE_COMING_PATH = "/ajax/comingList?ci=1&token=&limit=10"; // 即将上映
+    private static final String MOVIE_DETAIL_PATH = "/ajax/detailmovie?movieId="; // 电影详情
     
     private static final String USER_AGENT = "Mozilla/5.0 (Linux; Android 6.0; Nexus 5 Build/MRA58N) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/91.0.4472.124 Mobile Safari/537.36";
     
@@ -40,6 +42,13 @@ public class MaoYanCrawler {
         }
         return instance;
     }
+
+    /**
+     * 接口的完整地址
+     */
+    private static String apiUrl(String path) {
+        return CrawlerEndpoints.baseUrl(CrawlerEndpoints.MAOYAN) + path;
+    }
     
     /**
      * 获取近期上映的电影列表（兼容RecentTabFragment）
@@ -54,16 +63,16 @@ public class MaoYanCrawler {
      * @return 电影列表的Future
      */
     public CompletableFuture<List<MovieInfo>> getMoviesOnShowing() {
-        return CompletableFuture.supplyAsync(() -> {
+        return CompletableFuture.supplyAsync(NetworkTelemetry.withOperation(NetworkTelemetry.OP_NOW_SHOWING, () -> {
             try {
                 // 使用工具类发送请求
-                String jsonData = CrawlerUtils.httpGet(MOVIE_ON_SHOWING_URL);
+                String jsonData = CrawlerUtils.httpGet(apiUrl(MOVIE_ON_SHOWING_PATH));
                 return parseMoviesOnShowing(jsonData);
             } catch (Exception e) {
                 Log.e(TAG, "获取正在热映电影失败", e);
                 throw new RuntimeException("获取电影列表失败", e);
             }
-        });
+        }));
     }
     
     /**
@@ -144,7 +153,7 @@ public class MaoYanCrawler {
                 
                 // 获取电影详情以补充简介
                 try {
-                    String detailJson = CrawlerUtils.httpGet(MOVIE_DETAIL_URL + movie.getId());
+                    String detailJson = CrawlerUtils.httpGet(apiUrl(MOVIE_DETAIL_PATH) + movie.getId());
                     extractMovieSummary(movie, detailJson);
                 } catch (IOException e) {
                     Log.e(TAG, "获取电影" + movie.getId() + "详情失败", e);
@@ -199,15 +208,15 @@ public class MaoYanCrawler {
      * @return 电影详情的Future
      */
     public CompletableFuture<MovieInfo> getMovieDetail(int movieId) {
-        return CompletableFuture.supplyAsync(() -> {
+        return CompletableFuture.supplyAsync(NetworkTelemetry.withOperation(NetworkTelemetry.OP_DETAIL, () -> {
             try {
-                String jsonData = CrawlerUtils.httpGet(MOVIE_DETAIL_URL + movieId);
+                String jsonData = CrawlerUtils.httpGet(apiUrl(MOVIE_DETAIL_PATH) + movieId);
                 return parseMovieDetail(jsonData);
             } catch (Exception e) {
                 Log.e(TAG, "获取电影详情失败", e);
                 throw new RuntimeException("获取电影详情失败", e);
             }
-        });
+        }));
     }
     
     /**
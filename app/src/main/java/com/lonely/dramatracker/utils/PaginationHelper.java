@@ -380,6 +380,15 @@ public class PaginationHelper {
      * 更新分页导航UI
      */
     public void updatePaginationUI() {
+        long traceStart = PerfTracer.begin(PerfTracer.SECTION_PAGINATION_UI);
+        try {
+            doUpdatePaginationUI();
+        } finally {
+            PerfTracer.end(PerfTracer.SECTION_PAGINATION_UI, traceStart);
+        }
+    }
+
+    private void doUpdatePaginationUI() {
         if (paginationLayout == null || pageNumberContainer == null) {
             return;
         }
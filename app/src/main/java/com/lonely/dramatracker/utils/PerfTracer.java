@@ -0,0 +1,276 @@
+package com.lonely.dramatracker.utils;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.os.Looper;
+import android.os.Trace;
+import android.util.Log;
+import android.view.Choreographer;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 主线程性能追踪工具类（默认关闭，在设置页长按版本号开启）
+ * 开启后在关键代码段写入 android.os.Trace 区段，并记录耗时分布，
+ * 可生成包含 p50/p95/p99 的报告，同时记录帧间隔用于观察掉帧
+ */
+public class PerfTracer {
+    private static final String TAG = "PerfTracer";
+
+    // 区段名称
+    public static final String SECTION_POINTS_BIND = "PointsAdapter.bind";
+    public static final String SECTION_SEARCH_BIND = "SearchResultAdapter.bind";
+    public static final String SECTION_WEEKLY_BIND = "WeeklyScheduleAdapter.bind";
+    public static final String SECTION_SWITCH_FRAGMENT = "MainActivity.switchFragment";
+    public static final String SECTION_PAGINATION_UI = "PaginationHelper.updatePaginationUI";
+    public static final String SECTION_FILTER_RECORDS = "RecordFragment.filterRecords";
+    public static final String SECTION_BANGUMI_SEARCH_PARSE = "BangumiParser.searchPage";
+    public static final String SECTION_BANGUMI_DETAIL_PARSE = "BangumiParser.detail";
+    public static final String SECTION_BANGUMI_CALENDAR_PARSE = "BangumiCrawler.calendar";
+    public static final String SECTION_TMDB_LIST_PARSE = "TmdbListParser.parse";
+    public static final String SECTION_COLD_START = "Startup.firstContent";
+    public static final String SECTION_FRAME = "frame";
+
+    private static final String PREFS_NAME = "perf_tracer";
+    private static final String KEY_ENABLED = "enabled";
+    private static final String REPORT_FILE = "perf_report.txt";
+    private static final String NETWORK_SNAPSHOT_FILE = "network_telemetry.json";
+
+    // 每个区段保留最近的样本数
+    private static final int MAX_SAMPLES = 512;
+
+    private static volatile boolean enabled;
+    private static final Map<String, SampleBuffer> buffers = new ConcurrentHashMap<>();
+    private static FrameRecorder frameRecorder;
+
+    private PerfTracer() {
+    }
+
+    /**
+     * 读取持久化的开关状态，需在主线程调用
+     */
+    public static void init(Context context) {
+        SharedPreferences prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        applyEnabled(prefs.getBoolean(KEY_ENABLED, false));
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 开启或关闭追踪，并持久化该设置，需在主线程调用
+     */
+    public static void setEnabled(Context context, boolean value) {
+        context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE)
+                .edit()
+                .putBoolean(KEY_ENABLED, value)
+                .apply();
+        applyEnabled(value);
+    }
+
+    private static void applyEnabled(boolean value) {
+        enabled = value;
+        if (Looper.myLooper() != Looper.getMainLooper()) {
+            return;
+        }
+        if (value) {
+            if (frameRecorder == null) {
+                frameRecorder = new FrameRecorder();
+            }
+            frameRecorder.start();
+        } else if (frameRecorder != null) {
+            frameRecorder.stop();
+        }
+    }
+
+    /**
+     * 开始一个区段
+     * @param section 区段名称
+     * @return 开始时间（纳秒），未开启时返回0
+     */
+    public static long begin(String section) {
+        if (!enabled) {
+            return 0;
+        }
+        Trace.beginSection(section);
+        return System.nanoTime();
+    }
+
+    /**
+     * 结束一个区段并记录耗时，需与begin在同一线程配对调用
+     * @param section 区段名称
+     * @param startNanos begin返回的开始时间
+     */
+    public static void end(String section, long startNanos) {
+        if (startNanos == 0) {
+            return;
+        }
+        Trace.endSection();
+        record(section, System.nanoTime() - startNanos);
+    }
+
+    /**
+     * 只结束Trace区段而不记录耗时，耗时由调用方稍后通过record补记
+     * @param startNanos begin返回的开始时间
+     */
+    public static void endSection(long startNanos) {
+        if (startNanos == 0) {
+            return;
+        }
+        Trace.endSection();
+    }
+
+    /**
+     * 记录一段已知耗时（不写入Trace区段），用于异步完成的操作
+     */
+    public static void record(String section, long durationNanos) {
+        if (!enabled || durationNanos < 0) {
+            return;
+        }
+        SampleBuffer buffer = buffers.get(section);
+        if (buffer == null) {
+            buffers.putIfAbsent(section, new SampleBuffer());
+            buffer = buffers.get(section);
+        }
+        buffer.add(durationNanos);
+    }
+
+    /**
+     * 清空所有已记录的样本
+     */
+    public static void reset() {
+        buffers.clear();
+    }
+
+    /**
+     * 生成文本报告，单位为毫秒
+     */
+    public static String buildReport() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.US, "%-38s %6s %8s %8s %8s %8s%n",
+                "section", "count", "p50", "p95", "p99", "max"));
+
+        List<String> sections = new ArrayList<>(buffers.keySet());
+        Collections.sort(sections);
+        for (String section : sections) {
+            long[] samples = buffers.get(section).snapshot();
+            if (samples.length == 0) {
+                continue;
+            }
+            Arrays.sort(samples);
+            sb.append(String.format(Locale.US, "%-38s %6d %8.2f %8.2f %8.2f %8.2f%n",
+                    section,
+                    samples.length,
+                    toMillis(percentile(samples, 50)),
+                    toMillis(percentile(samples, 95)),
+                    toMillis(percentile(samples, 99)),
+                    toMillis(samples[samples.length - 1])));
+        }
+        if (sections.isEmpty()) {
+            sb.append(enabled ? "暂无样本" : "性能追踪未开启");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 导出报告到应用私有目录
+     * @return 报告文件，写入失败返回null
+     */
+    public static File exportReport(Context context) {
+        return writeFile(context, REPORT_FILE, buildReport(), "性能报告");
+    }
+
+    /**
+     * 导出网络耗时统计的JSON快照到应用私有目录
+     * @return 快照文件，写入失败返回null
+     */
+    public static File exportNetworkSnapshot(Context context) {
+        return writeFile(context, NETWORK_SNAPSHOT_FILE, CrawlerUtils.getNetworkTelemetry().toJson(), "网络耗时快照");
+    }
+
+    private static File writeFile(Context context, String name, String content, String label) {
+        File dir = context.getExternalFilesDir(null);
+        if (dir == null) {
+            dir = context.getFilesDir();
+        }
+        File file = new File(dir, name);
+        try (FileWriter writer = new FileWriter(file)) {
+            writer.write(content);
+            Log.i(TAG, label + "已导出: " + file.getAbsolutePath());
+            return file;
+        } catch (IOException e) {
+            Log.e(TAG, "导出" + label + "失败", e);
+            return null;
+        }
+    }
+
+    private static long percentile(long[] sorted, int p) {
+        int index = (int) Math.ceil(p / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    /**
+     * 固定容量的环形样本缓冲区
+     */
+    private static class SampleBuffer {
+        private final long[] samples = new long[MAX_SAMPLES];
+        private int next;
+        private int size;
+
+        synchronized void add(long value) {
+            samples[next] = value;
+            next = (next + 1) % MAX_SAMPLES;
+            if (size < MAX_SAMPLES) {
+                size++;
+            }
+        }
+
+        synchronized long[] snapshot() {
+            return Arrays.copyOf(samples, size);
+        }
+    }
+
+    /**
+     * 通过Choreographer记录相邻两帧的间隔
+     */
+    private static class FrameRecorder implements Choreographer.FrameCallback {
+        private long lastFrameNanos;
+        private boolean running;
+
+        void start() {
+            if (running) return;
+            running = true;
+            lastFrameNanos = 0;
+            Choreographer.getInstance().postFrameCallback(this);
+        }
+
+        void stop() {
+            running = false;
+            Choreographer.getInstance().removeFrameCallback(this);
+        }
+
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            if (!running) return;
+            if (lastFrameNanos != 0) {
+                record(SECTION_FRAME, frameTimeNanos - lastFrameNanos);
+            }
+            lastFrameNanos = frameTimeNanos;
+            Choreographer.getInstance().postFrameCallback(this);
+        }
+    }
+}
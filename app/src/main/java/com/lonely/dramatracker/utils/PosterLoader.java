@@ -0,0 +1,307 @@
+package com.lonely.dramatracker.utils;
+
+import android.content.res.Resources;
+import android.graphics.drawable.Drawable;
+import android.view.ViewGroup;
+import android.widget.ImageView;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.ListPreloader;
+import com.bumptech.glide.RequestBuilder;
+import com.bumptech.glide.RequestManager;
+import com.bumptech.glide.integration.recyclerview.RecyclerViewPreloader;
+import com.bumptech.glide.load.resource.bitmap.CenterCrop;
+import com.bumptech.glide.load.resource.bitmap.RoundedCorners;
+import com.bumptech.glide.load.resource.drawable.DrawableTransitionOptions;
+import com.bumptech.glide.request.RequestOptions;
+import com.lonely.dramatracker.R;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 海报加载工具类
+ * 统一各列表的Glide调用，并根据目标控件尺寸选择TMDb/Bangumi/豆瓣/猫眼的图片尺寸
+ */
+public class PosterLoader {
+    private static final String TAG = "PosterLoader";
+
+    // 海报默认宽高比 2:3
+    private static final float POSTER_ASPECT = 1.5f;
+    // 无法测量控件宽度时使用的默认宽度（dp）
+    private static final int DEFAULT_WIDTH_DP = 120;
+
+    // TMDb可用的海报宽度档位
+    private static final int[] TMDB_WIDTHS = {92, 154, 185, 342, 500, 780};
+    // Bangumi缩放服务的宽度档位（/r/{width}/pic/...）
+    private static final int[] BANGUMI_RESIZE_WIDTHS = {100, 200, 400, 800};
+
+    private static final Pattern TMDB_PATTERN =
+            Pattern.compile("^(https?://image\\.tmdb\\.org/t/p/)(?:w\\d+|original)(/.+)$");
+    private static final Pattern BANGUMI_COVER_PATTERN =
+            Pattern.compile("^(https?://lain\\.bgm\\.tv/pic/cover/)[lcmgs](/.+)$");
+    private static final Pattern BANGUMI_RESIZE_PATTERN =
+            Pattern.compile("^(https?://lain\\.bgm\\.tv/r/)\\d+(/.+)$");
+    private static final Pattern DOUBAN_PATTERN =
+            Pattern.compile("^(https?://img\\d\\.doubanio\\.com/view/photo/)[sml]_ratio_poster(/.+)$");
+    private static final Pattern MAOYAN_SUFFIX_PATTERN =
+            Pattern.compile("@\\d+w_\\d+h");
+
+    /**
+     * 网格海报：圆角裁剪，用于高分推荐
+     */
+    public static final RequestOptions GRID_OPTIONS = new RequestOptions()
+            .placeholder(R.drawable.ic_image_placeholder)
+            .error(R.drawable.ic_image_error)
+            .transform(new CenterCrop(), new RoundedCorners(8));
+
+    /**
+     * 列表海报：不做变换，用于近期热映
+     */
+    public static final RequestOptions LIST_OPTIONS = new RequestOptions()
+            .placeholder(R.drawable.ic_image_placeholder)
+            .error(R.drawable.ic_image_error);
+
+    /**
+     * 普通海报：使用默认海报占位图
+     */
+    public static final RequestOptions POSTER_OPTIONS = new RequestOptions()
+            .placeholder(R.drawable.placeholder_poster)
+            .error(R.drawable.placeholder_poster);
+
+    /**
+     * 居中裁剪海报：用于每日放送
+     */
+    public static final RequestOptions POSTER_CROP_OPTIONS = new RequestOptions()
+            .placeholder(R.drawable.placeholder_poster)
+            .error(R.drawable.placeholder_poster)
+            .transform(new CenterCrop());
+
+    /**
+     * 为预加载提供指定位置的海报URL
+     */
+    public interface PosterUrlProvider {
+        @Nullable
+        String getPosterUrl(int position);
+    }
+
+    /**
+     * 列表中海报的显示宽度
+     * 同一列表的绑定和预加载共用一个实例，保证两边选择相同的尺寸档位、命中同一缓存；
+     * 切换布局（如网格/列表）时更新宽度。只在主线程读写
+     */
+    public static final class PosterWidth {
+        private int widthPx;
+
+        public PosterWidth(int widthPx) {
+            set(widthPx);
+        }
+
+        public int get() {
+            return widthPx;
+        }
+
+        public void set(int widthPx) {
+            this.widthPx = Math.max(1, widthPx);
+        }
+    }
+
+    private PosterLoader() {
+    }
+
+    /**
+     * 加载海报到ImageView
+     * @param target 目标控件
+     * @param url 原始海报URL
+     * @param options 请求选项，使用本类的预设常量
+     */
+    public static void load(@NonNull ImageView target, @Nullable String url, @NonNull RequestOptions options) {
+        load(Glide.with(target.getContext()), target, url, options, false, getTargetWidth(target));
+    }
+
+    /**
+     * 按列表统一的海报宽度加载，与attachPreloader使用同一个PosterWidth时预加载的URL与此处一致
+     * @param width 列表的海报宽度，为null时按控件实际宽度选择尺寸
+     */
+    public static void load(@NonNull ImageView target, @Nullable String url, @NonNull RequestOptions options,
+                            @Nullable PosterWidth width) {
+        int widthPx = width != null ? width.get() : getTargetWidth(target);
+        load(Glide.with(target.getContext()), target, url, options, false, widthPx);
+    }
+
+    /**
+     * 加载海报到ImageView
+     * @param glide 与页面生命周期绑定的RequestManager
+     * @param target 目标控件
+     * @param url 原始海报URL
+     * @param options 请求选项
+     * @param crossFade 是否使用淡入动画
+     */
+    public static void load(@NonNull RequestManager glide, @NonNull ImageView target, @Nullable String url,
+                            @NonNull RequestOptions options, boolean crossFade) {
+        load(glide, target, url, options, crossFade, getTargetWidth(target));
+    }
+
+    private static void load(RequestManager glide, ImageView target, String url,
+                             RequestOptions options, boolean crossFade, int widthPx) {
+        if (url == null || url.isEmpty()) {
+            // 取消可能仍在进行中的旧请求，避免复用的控件显示错误的海报
+            glide.clear(target);
+            target.setImageResource(options.getPlaceholderId());
+            return;
+        }
+
+        RequestBuilder<Drawable> request = glide
+                .load(resolveUrl(url, widthPx))
+                .apply(options);
+        if (crossFade) {
+            request = request.transition(DrawableTransitionOptions.withCrossFade());
+        }
+        request.into(target);
+    }
+
+    /**
+     * 为RecyclerView挂载海报预加载器，滚动时提前加载下一屏的海报
+     * @param recyclerView 列表
+     * @param provider 海报URL提供者
+     * @param options 与绑定时相同的请求选项，保证命中同一缓存
+     * @param width 与绑定时相同的海报宽度，每次预加载时读取当前值
+     * @param maxPreload 最多预加载的条目数
+     */
+    public static void attachPreloader(@NonNull RecyclerView recyclerView, @NonNull PosterUrlProvider provider,
+                                       @NonNull RequestOptions options, @NonNull PosterWidth width,
+                                       int maxPreload) {
+        RequestManager glide = Glide.with(recyclerView.getContext());
+
+        ListPreloader.PreloadModelProvider<String> modelProvider = new ListPreloader.PreloadModelProvider<String>() {
+            @NonNull
+            @Override
+            public List<String> getPreloadItems(int position) {
+                String url = provider.getPosterUrl(position);
+                if (url == null || url.isEmpty()) {
+                    return Collections.emptyList();
+                }
+                return Collections.singletonList(resolveUrl(url, width.get()));
+            }
+
+            @Nullable
+            @Override
+            public RequestBuilder<?> getPreloadRequestBuilder(@NonNull String url) {
+                return glide.load(url).apply(options);
+            }
+        };
+
+        ListPreloader.PreloadSizeProvider<String> sizeProvider = (url, adapterPosition, perItemPosition) ->
+                new int[]{width.get(), Math.round(width.get() * POSTER_ASPECT)};
+        recyclerView.addOnScrollListener(new RecyclerViewPreloader<>(
+                glide, modelProvider, sizeProvider, maxPreload));
+    }
+
+    /**
+     * 按列数估算网格中单个海报的宽度
+     */
+    public static int gridItemWidth(int spanCount) {
+        int screenWidth = Resources.getSystem().getDisplayMetrics().widthPixels;
+        return screenWidth / Math.max(1, spanCount);
+    }
+
+    /**
+     * 固定宽度（dp）的海报换算为像素
+     */
+    public static int fixedWidth(int widthDp) {
+        return Math.round(widthDp * Resources.getSystem().getDisplayMetrics().density);
+    }
+
+    /**
+     * 根据目标宽度改写海报URL，选择最接近的尺寸档位
+     * @param url 原始URL
+     * @param widthPx 目标宽度（像素）
+     * @return 改写后的URL，无法识别的来源原样返回
+     */
+    public static String resolveUrl(@NonNull String url, int widthPx) {
+        Matcher m = TMDB_PATTERN.matcher(url);
+        if (m.matches()) {
+            return m.group(1) + "w" + pickBucket(TMDB_WIDTHS, widthPx) + m.group(2);
+        }
+
+        m = BANGUMI_COVER_PATTERN.matcher(url);
+        if (m.matches()) {
+            return m.group(1) + bangumiSize(widthPx) + m.group(2);
+        }
+
+        m = BANGUMI_RESIZE_PATTERN.matcher(url);
+        if (m.matches()) {
+            return m.group(1) + pickBucket(BANGUMI_RESIZE_WIDTHS, widthPx) + m.group(2);
+        }
+
+        m = DOUBAN_PATTERN.matcher(url);
+        if (m.matches()) {
+            return m.group(1) + doubanSize(widthPx) + "_ratio_poster" + m.group(2);
+        }
+
+        // 猫眼图片：路径中的w.h占位符或@宽w_高h后缀
+        int heightPx = Math.round(widthPx * POSTER_ASPECT);
+        if (url.contains("/w.h/")) {
+            return url.replace("/w.h/", "/" + widthPx + "." + heightPx + "/");
+        }
+        m = MAOYAN_SUFFIX_PATTERN.matcher(url);
+        if (m.find()) {
+            return m.replaceFirst("@" + widthPx + "w_" + heightPx + "h");
+        }
+
+        return url;
+    }
+
+    /**
+     * 取不小于目标宽度的最小档位，超出时取最大档位
+     */
+    private static int pickBucket(int[] buckets, int widthPx) {
+        for (int bucket : buckets) {
+            if (bucket >= widthPx) {
+                return bucket;
+            }
+        }
+        return buckets[buckets.length - 1];
+    }
+
+    /**
+     * Bangumi封面尺寸：m约100px，c约150px，l为大图
+     */
+    private static String bangumiSize(int widthPx) {
+        if (widthPx <= 100) return "m";
+        if (widthPx <= 150) return "c";
+        return "l";
+    }
+
+    /**
+     * 豆瓣海报尺寸：s约135px，m约270px，l为大图
+     */
+    private static String doubanSize(int widthPx) {
+        if (widthPx <= 135) return "s";
+        if (widthPx <= 270) return "m";
+        return "l";
+    }
+
+    /**
+     * 获取控件的目标宽度，未布局时依次回退到LayoutParams和默认宽度
+     */
+    private static int getTargetWidth(ImageView view) {
+        int width = view.getWidth();
+        if (width <= 0) {
+            ViewGroup.LayoutParams params = view.getLayoutParams();
+            if (params != null && params.width > 0) {
+                width = params.width;
+            }
+        }
+        if (width <= 0) {
+            width = Math.round(DEFAULT_WIDTH_DP * view.getResources().getDisplayMetrics().density);
+        }
+        return width;
+    }
+}
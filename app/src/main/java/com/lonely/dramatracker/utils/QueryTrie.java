@@ -0,0 +1,163 @@
+package com.lonely.dramatracker.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 最近搜索词前缀树
+ * 仅在进程内保存本次使用期间搜索过的关键词，按前缀即时给出联想，
+ * 排序依据为搜索次数，次数相同时最近搜索的优先
+ */
+public class QueryTrie {
+    // 最多保存的关键词数，超出后淘汰最久未使用的
+    private static final int MAX_QUERIES = 200;
+
+    private final int maxQueries;
+    private final Node root = new Node();
+    private final Map<String, Entry> entries = new HashMap<>();
+    private long clock; // 单调递增的使用序号
+
+    public QueryTrie() {
+        this(MAX_QUERIES);
+    }
+
+    QueryTrie(int maxQueries) {
+        this.maxQueries = maxQueries;
+    }
+
+    /**
+     * 记录一次搜索
+     * @param query 搜索关键词
+     */
+    public synchronized void add(String query) {
+        String key = normalize(query);
+        if (key.isEmpty()) return;
+
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            if (entries.size() >= maxQueries) {
+                evictOldest();
+            }
+            entry = new Entry(query.trim());
+            entries.put(key, entry);
+            Node node = root;
+            for (int i = 0; i < key.length(); i++) {
+                node = node.children.computeIfAbsent(key.charAt(i), c -> new Node());
+            }
+            node.entry = entry;
+        }
+        entry.count++;
+        entry.lastUsed = ++clock;
+    }
+
+    /**
+     * 按前缀查找搜索过的关键词
+     * @param prefix 输入的前缀
+     * @param limit 最多返回的条数
+     * @return 匹配的关键词（原始大小写），不包含与前缀完全相同的词
+     */
+    public synchronized List<String> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        Node node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.children.get(key.charAt(i));
+        }
+        if (node == null) {
+            return Collections.emptyList();
+        }
+
+        List<Entry> matches = new ArrayList<>();
+        collect(node, matches);
+        Collections.sort(matches, (a, b) -> a.count != b.count
+                ? Integer.compare(b.count, a.count)
+                : Long.compare(b.lastUsed, a.lastUsed));
+
+        List<String> result = new ArrayList<>();
+        for (Entry entry : matches) {
+            if (result.size() >= limit) break;
+            if (!normalize(entry.query).equals(key)) {
+                result.add(entry.query);
+            }
+        }
+        return result;
+    }
+
+    private void collect(Node node, List<Entry> out) {
+        if (node.entry != null) {
+            out.add(node.entry);
+        }
+        for (Node child : node.children.values()) {
+            collect(child, out);
+        }
+    }
+
+    /**
+     * 树中的节点数（不含根节点），用于检查淘汰后是否留下空节点
+     */
+    synchronized int nodeCount() {
+        return countNodes(root) - 1;
+    }
+
+    private static int countNodes(Node node) {
+        int count = 1;
+        for (Node child : node.children.values()) {
+            count += countNodes(child);
+        }
+        return count;
+    }
+
+    /**
+     * 淘汰最久未使用的关键词，并删除路径上不再有关键词的末端节点
+     */
+    private void evictOldest() {
+        String oldestKey = null;
+        long oldest = Long.MAX_VALUE;
+        for (Map.Entry<String, Entry> e : entries.entrySet()) {
+            if (e.getValue().lastUsed < oldest) {
+                oldest = e.getValue().lastUsed;
+                oldestKey = e.getKey();
+            }
+        }
+        if (oldestKey == null) return;
+        entries.remove(oldestKey);
+        Node[] path = new Node[oldestKey.length() + 1];
+        path[0] = root;
+        for (int i = 0; i < oldestKey.length(); i++) {
+            path[i + 1] = path[i].children.get(oldestKey.charAt(i));
+            if (path[i + 1] == null) return;
+        }
+        path[oldestKey.length()].entry = null;
+        // 从末端向上删除既没有关键词也没有子节点的节点，遇到仍在使用的节点即停止
+        for (int i = oldestKey.length(); i > 0; i--) {
+            Node node = path[i];
+            if (node.entry != null || !node.children.isEmpty()) break;
+            path[i - 1].children.remove(oldestKey.charAt(i - 1));
+        }
+    }
+
+    private static String normalize(String query) {
+        return query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static class Node {
+        final Map<Character, Node> children = new HashMap<>();
+        Entry entry;
+    }
+
+    private static class Entry {
+        final String query;
+        int count;
+        long lastUsed;
+
+        Entry(String query) {
+            this.query = query;
+        }
+    }
+}
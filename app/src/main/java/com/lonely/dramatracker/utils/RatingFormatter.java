@@ -0,0 +1,70 @@
+package com.lonely.dramatracker.utils;
+
+import java.util.Locale;
+
+/**
+ * 评分格式化工具类
+ * 0.0~10.0之间的评分直接查预先生成的字符串表，不分配对象，也不受系统语言的小数点影响
+ */
+public class RatingFormatter {
+    // 无评分时显示的占位文本
+    public static final String EMPTY = "--";
+
+    // 0.0, 0.1, ... 10.0 共101个预生成字符串
+    private static final String[] TABLE = new String[101];
+
+    static {
+        for (int i = 0; i <= 100; i++) {
+            TABLE[i] = ((i / 10) + "." + (i % 10)).intern();
+        }
+    }
+
+    private RatingFormatter() {
+    }
+
+    /**
+     * 格式化评分为一位小数
+     * @param rating 评分
+     * @return 格式化后的字符串，例如 8.5
+     */
+    public static String format(double rating) {
+        if (rating >= 0 && rating <= 10) {
+            // 与 %.1f 一致，采用四舍五入
+            return TABLE[(int) Math.round(rating * 10)];
+        }
+        if (Double.isNaN(rating) || Double.isInfinite(rating)) {
+            return EMPTY;
+        }
+        // 超出常规范围的评分很少出现，退回到通用格式化
+        return String.format(Locale.US, "%.1f", rating);
+    }
+
+    /**
+     * 格式化正数评分，无评分（小于等于0）时返回占位文本
+     */
+    public static String formatOrEmpty(double rating) {
+        return rating > 0 ? format(rating) : EMPTY;
+    }
+
+    /**
+     * 格式化数据库中读取的评分字段
+     * @param raw 原始值，可能是Number或字符串
+     * @return 格式化后的字符串；值为空、无法解析或为负数（-1表示无评分）时返回null
+     */
+    public static String formatOrNull(Object raw) {
+        if (raw == null) {
+            return null;
+        }
+        double rating;
+        if (raw instanceof Number) {
+            rating = ((Number) raw).doubleValue();
+        } else {
+            try {
+                rating = Double.parseDouble(raw.toString());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return rating >= 0 ? format(rating) : null;
+    }
+}
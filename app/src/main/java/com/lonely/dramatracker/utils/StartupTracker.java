@@ -0,0 +1,127 @@
+package com.lonely.dramatracker.utils;
+
+import android.app.Activity;
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.os.Process;
+import android.os.SystemClock;
+import android.util.Log;
+import android.view.View;
+import android.view.ViewTreeObserver;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 冷启动耗时统计
+ * 从进程启动到第一个有内容的页面（已登录时为首页，否则为登录页）完成首帧绘制，
+ * 每次冷启动记录一个样本并保留最近若干次，在设置-性能诊断中查看
+ */
+public class StartupTracker {
+    private static final String TAG = "StartupTracker";
+
+    private static final String PREFS_NAME = "startup_tracker";
+    private static final String KEY_HISTORY = "cold_start_ms";
+    private static final int MAX_HISTORY = 20;
+    // 闪屏页在进程启动后这么久才创建，说明进程之前已因其他原因启动，不算冷启动
+    private static final long MAX_LAUNCH_DELAY_MS = 5000;
+
+    private static boolean measuring;
+    private static String lastScreen;
+    private static long lastDurationMs = -1;
+
+    private StartupTracker() {
+    }
+
+    /**
+     * 闪屏页创建时调用，需在主线程调用
+     */
+    public static void onLaunch() {
+        long sinceProcessStart = SystemClock.uptimeMillis() - Process.getStartUptimeMillis();
+        measuring = lastDurationMs < 0 && sinceProcessStart < MAX_LAUNCH_DELAY_MS;
+    }
+
+    /**
+     * 页面内容已设置，在其首帧绘制后记录冷启动耗时；只有冷启动后的第一个页面会被记录，需在主线程调用
+     * @param screen 页面名称，写入报告
+     */
+    public static void reportFirstContent(Activity activity, String screen) {
+        if (!measuring) return;
+        measuring = false;
+        View content = activity.findViewById(android.R.id.content);
+        content.getViewTreeObserver().addOnPreDrawListener(new ViewTreeObserver.OnPreDrawListener() {
+            @Override
+            public boolean onPreDraw() {
+                content.getViewTreeObserver().removeOnPreDrawListener(this);
+                // 绘制完成后的下一个消息
+                content.post(() -> record(activity, screen));
+                return true;
+            }
+        });
+    }
+
+    private static void record(Activity activity, String screen) {
+        long durationMs = SystemClock.uptimeMillis() - Process.getStartUptimeMillis();
+        lastDurationMs = durationMs;
+        lastScreen = screen;
+        Log.i(TAG, "冷启动到" + screen + "首帧: " + durationMs + "ms");
+        PerfTracer.record(PerfTracer.SECTION_COLD_START, durationMs * 1_000_000L);
+        activity.reportFullyDrawn();
+
+        List<Long> history = loadHistory(activity);
+        history.add(durationMs);
+        while (history.size() > MAX_HISTORY) {
+            history.remove(0);
+        }
+        StringBuilder sb = new StringBuilder();
+        for (long value : history) {
+            if (sb.length() > 0) sb.append(',');
+            sb.append(value);
+        }
+        prefs(activity).edit().putString(KEY_HISTORY, sb.toString()).apply();
+    }
+
+    /**
+     * 最近几次冷启动的耗时报告
+     */
+    public static String buildReport(Context context) {
+        List<Long> history = loadHistory(context);
+        if (history.isEmpty()) {
+            return "暂无记录";
+        }
+        List<Long> sorted = new ArrayList<>(history);
+        Collections.sort(sorted);
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.US, "最近%d次 p50=%dms p95=%dms",
+                sorted.size(), percentile(sorted, 50), percentile(sorted, 95)));
+        if (lastDurationMs >= 0) {
+            sb.append(String.format(Locale.US, "\n本次 %dms（%s）", lastDurationMs, lastScreen));
+        }
+        return sb.toString();
+    }
+
+    private static long percentile(List<Long> sorted, int p) {
+        int index = (int) Math.ceil(p / 100.0 * sorted.size()) - 1;
+        return sorted.get(Math.max(0, Math.min(index, sorted.size() - 1)));
+    }
+
+    private static List<Long> loadHistory(Context context) {
+        List<Long> history = new ArrayList<>();
+        String saved = prefs(context).getString(KEY_HISTORY, "");
+        for (String value : saved.split(",")) {
+            if (value.isEmpty()) continue;
+            try {
+                history.add(Long.parseLong(value));
+            } catch (NumberFormatException e) {
+                Log.w(TAG, "忽略无效的启动记录: " + value);
+            }
+        }
+        return history;
+    }
+
+    private static SharedPreferences prefs(Context context) {
+        return context.getApplicationContext().getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+    }
+}
@@ -1,10 +1,18 @@
 package com.lonely.dramatracker.utils;
 
 import android.util.Log;
-import android.util.Pair;
 import com.lonely.dramatracker.config.AppConfig;
+import com.lonely.dramatracker.crawler.CancellationToken;
+import com.lonely.dramatracker.crawler.CrawlerEndpoints;
+import com.lonely.dramatracker.crawler.http.NetworkTelemetry;
+import com.lonely.dramatracker.crawler.parse.TmdbListItem;
+import com.lonely.dramatracker.crawler.parse.TmdbListPage;
+import com.lonely.dramatracker.crawler.parse.TmdbListParser;
 import com.lonely.dramatracker.models.MediaInfo;
+import com.lonely.dramatracker.models.MediaPage;
+import com.lonely.dramatracker.models.SearchPage;
 import com.lonely.dramatracker.models.SearchResult;
+import com.lonely.dramatracker.models.SearchResultDetail;
 import org.json.JSONArray;
 import org.json.JSONObject;
 import java.io.IOException;
@@ -12,6 +20,7 @@ import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -22,11 +31,9 @@ import java.util.stream.IntStream;
  */
 public class TMDbCrawler {
     private static final String TAG = "TMDbCrawler";
-    private static final String BASE_URL = "https://api.themoviedb.org/3";
+    private static final String API_PATH = "/3";
     // 图片基础URL，w500是常见的图片尺寸
     private static final String IMAGE_BASE_URL = "https://image.tmdb.org/t/p/w500";
-    // 从AppConfig获取API Key
-    private static final String API_KEY = AppConfig.TMDB_API_KEY_STATIC;
     
     private static TMDbCrawler instance;
     
@@ -41,16 +48,31 @@ public class TMDbCrawler {
         return instance;
     }
 
+    /**
+     * 每次请求时读取API Key
+     * AppConfig可能在本类加载之后才初始化（如后台预取的进程），不能在类加载时保存
+     */
+    private static String apiKey() {
+        return AppConfig.TMDB_API_KEY_STATIC;
+    }
+
+    /**
+     * API地址，如 https://api.themoviedb.org/3
+     */
+    private static String apiUrl() {
+        return CrawlerEndpoints.baseUrl(CrawlerEndpoints.TMDB_API) + API_PATH;
+    }
+
     /**
      * 获取高分电影列表
      * @param page 页码（从1开始）
-     * @return 包含电影列表和总页数的Pair
+     * @return 电影列表和总页数
      */
-    public CompletableFuture<Pair<List<MediaInfo>, Integer>> getTopRatedMovies(int page) {
-        return CompletableFuture.supplyAsync(() -> {
+    public CompletableFuture<MediaPage> getTopRatedMovies(int page) {
+        return CompletableFuture.supplyAsync(NetworkTelemetry.withOperation(NetworkTelemetry.OP_TOP_RATED, () -> {
             try {
                 // 构建获取高分电影的URL
-                String url = BASE_URL + "/movie/top_rated?api_key=" + API_KEY + "&language=zh-CN&page=" + page;
+                String url = apiUrl() + "/movie/top_rated?api_key=" + apiKey() + "&language=zh-CN&page=" + page;
                 
                 String jsonResponse = CrawlerUtils.httpGet(url);
                 return parseMediaList(jsonResponse, MediaInfo.TYPE_MOVIE);
@@ -58,19 +80,19 @@ public class TMDbCrawler {
                 Log.e(TAG, "获取高分电影失败", e);
                 throw new RuntimeException("获取高分电影失败", e);
             }
-        });
+        }));
     }
     
     /**
      * 获取高分电视剧列表
      * @param page 页码（从1开始）
-     * @return 包含电视剧列表和总页数的Pair
+     * @return 电视剧列表和总页数
      */
-    public CompletableFuture<Pair<List<MediaInfo>, Integer>> getTopRatedTVShows(int page) {
-        return CompletableFuture.supplyAsync(() -> {
+    public CompletableFuture<MediaPage> getTopRatedTVShows(int page) {
+        return CompletableFuture.supplyAsync(NetworkTelemetry.withOperation(NetworkTelemetry.OP_TOP_RATED, () -> {
             try {
                 // 构建获取高分电视剧的URL
-                String url = BASE_URL + "/tv/top_rated?api_key=" + API_KEY + "&language=zh-CN&page=" + page;
+                String url = apiUrl() + "/tv/top_rated?api_key=" + apiKey() + "&language=zh-CN&page=" + page;
                 
                 String jsonResponse = CrawlerUtils.httpGet(url);
                 return parseMediaList(jsonResponse, MediaInfo.TYPE_TV);
@@ -78,83 +100,61 @@ public class TMDbCrawler {
                 Log.e(TAG, "获取高分电视剧失败", e);
                 throw new RuntimeException("获取高分电视剧失败", e);
             }
-        });
+        }));
     }
     
     /**
      * 解析媒体列表JSON数据
-     * @return 包含媒体列表和总页数的Pair
+     * @return 媒体列表和总页数
      */
-    private Pair<List<MediaInfo>, Integer> parseMediaList(String jsonData, String mediaType) throws Exception {
-        List<MediaInfo> mediaList = new ArrayList<>();
-        
-        JSONObject jsonObject = new JSONObject(jsonData);
-        JSONArray results = jsonObject.getJSONArray("results");
-        
-        // 解析总页数
-        int totalPages = jsonObject.optInt("total_pages", 1);
-        
-        // 遍历结果数组
-        for (int i = 0; i < results.length(); i++) {
-            JSONObject item = results.getJSONObject(i);
-            MediaInfo media = convertToMediaInfo(item, mediaType, i + 1);
-            mediaList.add(media);
+    private MediaPage parseMediaList(String jsonData, String mediaType) throws IOException {
+        long parseStart = System.nanoTime();
+        TmdbListPage page = TmdbListParser.parse(jsonData);
+        List<MediaInfo> mediaList = new ArrayList<>(page.getItems().size());
+        for (int i = 0; i < page.getItems().size(); i++) {
+            mediaList.add(convertToMediaInfo(page.getItems().get(i), mediaType, i + 1));
         }
-        
-        return new Pair<>(mediaList, totalPages);
+        PerfTracer.record(PerfTracer.SECTION_TMDB_LIST_PARSE, System.nanoTime() - parseStart);
+        return new MediaPage(mediaList, page.getTotalPages());
     }
-    
+
     /**
-     * 将JSON对象转换为MediaInfo对象
+     * 将列表条目转换为MediaInfo对象
      */
-    private MediaInfo convertToMediaInfo(JSONObject json, String mediaType, int rank) throws Exception {
+    private MediaInfo convertToMediaInfo(TmdbListItem item, String mediaType, int rank) {
         MediaInfo mediaInfo = new MediaInfo();
-        
-        // 获取TMDb ID
-        int tmdbId = json.optInt("id", 0);
-        
+
         // 设置排名（用于全部类别显示）
         mediaInfo.setRank(rank);
-        mediaInfo.setId(tmdbId);
-        
+        mediaInfo.setId(item.getId());
+
         // 设置媒体类型
         mediaInfo.setMediaType(mediaType);
-        
-        // 设置标题（根据不同媒体类型获取不同字段）
-        if (mediaType.equals(MediaInfo.TYPE_MOVIE)) {
-            mediaInfo.setTitleZh(json.optString("title"));
-            mediaInfo.setTitleOriginal(json.optString("original_title"));
-        } else {
-            mediaInfo.setTitleZh(json.optString("name"));
-            mediaInfo.setTitleOriginal(json.optString("original_name"));
-        }
-        
+
+        // 标题和发布日期在解析时已按媒体类型取了对应字段
+        mediaInfo.setTitleZh(item.getTitle());
+        mediaInfo.setTitleOriginal(item.getOriginalTitle());
+
         // 设置评分（TMDb的评分范围是0-10）
-        double voteAverage = json.optDouble("vote_average");
-        mediaInfo.setRating((float) voteAverage);
-        
+        mediaInfo.setRating((float) item.getVoteAverage());
+
         // 设置发布日期
-        if (mediaType.equals(MediaInfo.TYPE_MOVIE)) {
-            mediaInfo.setReleaseDate(json.optString("release_date"));
-        } else {
-            mediaInfo.setReleaseDate(json.optString("first_air_date"));
-        }
-        
+        mediaInfo.setReleaseDate(item.getReleaseDate());
+
         // 提取年份信息
-        String releaseDate = mediaInfo.getReleaseDate();
-        if (releaseDate != null && releaseDate.length() >= 4) {
+        String releaseDate = item.getReleaseDate();
+        if (releaseDate.length() >= 4) {
             mediaInfo.setYear(releaseDate.substring(0, 4));
         }
-        
+
         // 设置海报URL
-        String posterPath = json.optString("poster_path");
-        if (posterPath != null && !posterPath.isEmpty()) {
-            mediaInfo.setPosterUrl(IMAGE_BASE_URL + posterPath);
+        if (!item.getPosterPath().isEmpty()) {
+            mediaInfo.setPosterUrl(IMAGE_BASE_URL + item.getPosterPath());
         }
-        
+
         // 设置简介
-        mediaInfo.setSummary(json.optString("overview"));
-        
+        mediaInfo.setSummary(item.getOverview());
+
         return mediaInfo;
     }
     
@@ -162,23 +162,23 @@ public class TMDbCrawler {
      * 获取高分电影和电视剧的混合列表（用于"全部"分类）
      * @param moviePage 电影页码
      * @param tvPage 电视剧页码
-     * @return 包含混合列表和总页数的Pair
+     * @return 混合列表和两个分类中较大的总页数
      */
-    public CompletableFuture<Pair<List<MediaInfo>, Integer>> getTopRatedAll(int moviePage, int tvPage) {
-        CompletableFuture<Pair<List<MediaInfo>, Integer>> moviesFuture = getTopRatedMovies(moviePage);
-        CompletableFuture<Pair<List<MediaInfo>, Integer>> tvShowsFuture = getTopRatedTVShows(tvPage);
+    public CompletableFuture<MediaPage> getTopRatedAll(int moviePage, int tvPage) {
+        CompletableFuture<MediaPage> moviesFuture = getTopRatedMovies(moviePage);
+        CompletableFuture<MediaPage> tvShowsFuture = getTopRatedTVShows(tvPage);
         
         return CompletableFuture.allOf(moviesFuture, tvShowsFuture)
                 .thenApply(v -> {
                     try {
-                        Pair<List<MediaInfo>, Integer> moviesResult = moviesFuture.get();
-                        Pair<List<MediaInfo>, Integer> tvShowsResult = tvShowsFuture.get();
+                        MediaPage moviesResult = moviesFuture.get();
+                        MediaPage tvShowsResult = tvShowsFuture.get();
                         
-                        List<MediaInfo> movies = moviesResult.first;
-                        List<MediaInfo> tvShows = tvShowsResult.first;
+                        List<MediaInfo> movies = moviesResult.getItems();
+                        List<MediaInfo> tvShows = tvShowsResult.getItems();
                         
-                        int totalMoviesPages = moviesResult.second;
-                        int totalTVShowsPages = tvShowsResult.second;
+                        int totalMoviesPages = moviesResult.getTotalPages();
+                        int totalTVShowsPages = tvShowsResult.getTotalPages();
                         
                         // 合并两个列表并按评分排序
                         List<MediaInfo> combined = new ArrayList<>();
@@ -196,22 +196,25 @@ public class TMDbCrawler {
                         // 取两个分类中页数较多的作为总页数
                         int maxTotalPages = Math.max(totalMoviesPages, totalTVShowsPages);
                         
-                        return new Pair<>(combined, maxTotalPages);
+                        return new MediaPage(combined, maxTotalPages);
                     } catch (Exception e) {
                         Log.e(TAG, "合并高分内容失败", e);
-                        return new Pair<>(new ArrayList<>(), 1);
+                        return new MediaPage(new ArrayList<>(), 1);
                     }
                 });
     }
 
     /**
-     * 使用TMDb API搜索电影和电视剧
+     * 使用TMDb API搜索电影和电视剧的指定页
+     * 只解析搜索接口本身返回的字段，不请求详情，时长和制作人员通过enrich补全
      * @param keyword 搜索关键词
-     * @return 搜索结果列表的Future
+     * @param page TMDb页码（从1开始，每页最多20条，过滤掉人物后可能更少）
+     * @param token 取消令牌，取消时中止网络请求，Future以CancellationException结束
+     * @return 搜索结果页的Future
      */
-    public CompletableFuture<List<SearchResult>> search(String keyword) {
+    public CompletableFuture<SearchPage> searchPage(String keyword, int page, CancellationToken token) {
         // 使用CompletableFuture.supplyAsync在后台线程执行网络请求和解析
-        return CompletableFuture.supplyAsync(() -> {
+        return CompletableFuture.supplyAsync(NetworkTelemetry.withOperation(NetworkTelemetry.OP_SEARCH, () -> {
             List<SearchResult> results = new ArrayList<>();
             String encodedKeyword;
             try {
@@ -226,12 +229,13 @@ public class TMDbCrawler {
             // 构建TMDb多重搜索API的URL
             // language=zh-CN 请求中文信息
             // include_adult=false 排除成人内容
-            String searchUrl = BASE_URL + "/search/multi?query=" + encodedKeyword + "&api_key=" + API_KEY + "&language=zh-CN&include_adult=false";
+            String searchUrl = apiUrl() + "/search/multi?query=" + encodedKeyword + "&api_key=" + apiKey()
+                    + "&language=zh-CN&include_adult=false&page=" + page;
             Log.d(TAG, "搜索TMDb URL: " + searchUrl);
 
             try {
                 // 使用CrawlerUtils中的httpGet方法发起网络请求
-                String jsonResponse = CrawlerUtils.httpGet(searchUrl);
+                String jsonResponse = CrawlerUtils.httpGet(searchUrl, token);
                 // 解析JSON响应
                 JSONObject searchJsonObject = new JSONObject(jsonResponse);
                 JSONArray items = searchJsonObject.getJSONArray("results");
@@ -248,114 +252,20 @@ public class TMDbCrawler {
                         }
 
                         SearchResult.Builder builder = new SearchResult.Builder();
-                        int id = item.getInt("id");
-
-                        // --- Fetch Details --- 
-                        String detailsUrl = BASE_URL + "/" + mediaType + "/" + id + "?api_key=" + API_KEY + "&language=zh-CN&append_to_response=credits";
-                        Log.d(TAG, "Fetching details: " + detailsUrl);
-                        JSONObject detailsJson = null;
-                        String detailsResponse = null;
-                        try {
-                            detailsResponse = CrawlerUtils.httpGet(detailsUrl);
-                            detailsJson = new JSONObject(detailsResponse);
-                        } catch (IOException | org.json.JSONException e) {
-                            Log.e(TAG, "获取或解析TMDb详情失败 for ID " + id + ": " + e.getMessage());
-                            // Fallback to search result data if details fail
-                            detailsJson = item; // Use basic search data as fallback
-                        }
-                        
-                        // Use detailsJson (or item as fallback) to populate builder
-                        builder.setSourceType("tmdb");
-                        builder.setSourceId(String.valueOf(id));
-                        builder.setSourceUrl("https://www.themoviedb.org/" + mediaType + "/" + id);
-                        builder.setMediaType(mediaType);
-
-                        String title = detailsJson.optString("title", detailsJson.optString("name"));
-                        builder.setTitleZh(title);
-                        String originalTitle = detailsJson.optString("original_title", detailsJson.optString("original_name"));
-                        builder.setTitleOriginal(originalTitle);
-                        String releaseDate = detailsJson.optString("release_date", detailsJson.optString("first_air_date"));
-                        builder.setReleaseDate(releaseDate);
-                        // Year is set automatically by setReleaseDate in Builder
-
-                        String posterPath = detailsJson.optString("poster_path", null);
-                        if (posterPath != null && !posterPath.equals("null") && !posterPath.isEmpty()) {
-                            builder.setPosterUrl(IMAGE_BASE_URL + posterPath);
-                        } else {
-                            builder.setPosterUrl(null);
-                        }
-
-                        double rating = detailsJson.optDouble("vote_average", -1.0);
-                        if (rating >= 0) {
-                            builder.setRatingImdb(rating);
-                        }
-
-                        builder.setSummary(detailsJson.optString("overview"));
-
-                        // Extract Duration
-                        String durationStr = "";
-                        if ("movie".equals(mediaType)) {
-                            int runtime = detailsJson.optInt("runtime", 0);
-                            if (runtime > 0) {
-                                durationStr = runtime + "分钟"; // Keep format for movies
-                            }
-                        } else if ("tv".equals(mediaType)) {
-                            int episodes = detailsJson.optInt("number_of_episodes", 0);
-                            if (episodes > 0) {
-                                durationStr = String.valueOf(episodes); // Store only the number for TV shows
-                            }
-                            // Could also add season count: int seasons = detailsJson.optInt("number_of_seasons", 0);
-                        }
-                        builder.setDuration(durationStr);
-
-                        // Extract Staff (Credits)
-                        String staffStr = "";
-                        JSONObject credits = detailsJson.optJSONObject("credits");
-                        if (credits != null) {
-                            // Get Directors (from Crew)
-                            JSONArray crew = credits.optJSONArray("crew");
-                            List<String> directors = new ArrayList<>();
-                            if (crew != null) {
-                                for (int j = 0; j < crew.length(); j++) {
-                                    JSONObject crewMember = crew.getJSONObject(j);
-                                    if ("Director".equals(crewMember.optString("job"))) {
-                                        directors.add(crewMember.optString("name"));
-                                    }
-                                }
-                            }
-                            
-                            // Get Actors (from Cast)
-                            JSONArray cast = credits.optJSONArray("cast");
-                            List<String> actors = new ArrayList<>();
-                            if (cast != null) {
-                                int limit = Math.min(cast.length(), 5); // Limit to 5 actors
-                                for (int j = 0; j < limit; j++) {
-                                    actors.add(cast.getJSONObject(j).optString("name"));
-                                }
-                            }
-
-                            // Format Staff String
-                            StringBuilder staffBuilder = new StringBuilder();
-                            if (!directors.isEmpty()) {
-                                staffBuilder.append("导演: ").append(String.join(", ", directors));
-                            }
-                            if (!actors.isEmpty()) {
-                                if (staffBuilder.length() > 0) {
-                                    staffBuilder.append(" | ");
-                                }
-                                staffBuilder.append("主演: ").append(String.join(", ", actors));
-                            }
-                            staffStr = staffBuilder.toString();
-                        }
-                        builder.setStaff(staffStr);
-                        
+                        applyBasicFields(builder, item, mediaType);
                         results.add(builder.build());
-
                     } catch (Exception e) {
                         // 记录解析单个结果项时的错误，但继续处理下一个
-                        Log.e(TAG, "处理TMDb结果项(包括详情)时出错 (Index: " + i + ")", e);
+                        Log.e(TAG, "处理TMDb结果项时出错 (Index: " + i + ")", e);
                     }
                 }
+
+                int totalPages = searchJsonObject.optInt("total_pages", page);
+                // total_results包含人物等已过滤掉的条目，由SearchCursor按保留比例折算
+                int totalResults = searchJsonObject.optInt("total_results", SearchPage.UNKNOWN_TOTAL);
+                return new SearchPage(results, page, page < totalPages, totalResults, items.length());
+            } catch (CancellationException e) {
+                throw e;
             } catch (IOException e) {
                 // 网络请求失败
                 Log.e(TAG, "TMDb搜索HTTP请求失败", e);
@@ -365,8 +275,159 @@ public class TMDbCrawler {
                 Log.e(TAG, "解析TMDb搜索JSON响应或处理时出错", e);
                  throw new RuntimeException("JSON parsing/processing failed", e); // 抛出异常
             }
-            // 返回解析后的结果列表
-            return results;
-        });
+        }));
+    }
+
+    /**
+     * 请求详情接口，补全搜索结果的时长和制作人员
+     * @param result searchPage返回的结果
+     * @param token 取消令牌，取消时中止网络请求，Future以CancellationException结束
+     * @return 补全后的结果，详情获取失败时返回原结果
+     */
+    public CompletableFuture<SearchResult> enrich(SearchResult result, CancellationToken token) {
+        return CompletableFuture.supplyAsync(NetworkTelemetry.withOperation(NetworkTelemetry.OP_DETAIL, () -> {
+            token.throwIfCancelled();
+            String mediaType = result.getMediaType();
+            String detailsUrl = apiUrl() + "/" + mediaType + "/" + result.getSourceId() + "?api_key=" + apiKey() + "&language=zh-CN&append_to_response=credits";
+            Log.d(TAG, "Fetching details: " + detailsUrl);
+            JSONObject detailsJson;
+            try {
+                detailsJson = new JSONObject(CrawlerUtils.httpGet(detailsUrl, token));
+            } catch (IOException | org.json.JSONException e) {
+                Log.e(TAG, "获取或解析TMDb详情失败 for ID " + result.getSourceId() + ": " + e.getMessage());
+                return result;
+            }
+
+            SearchResult.Builder builder = new SearchResult.Builder(result);
+            applyBasicFields(builder, detailsJson, mediaType);
+
+            // Extract Duration
+            String durationStr = "";
+            if ("movie".equals(mediaType)) {
+                int runtime = detailsJson.optInt("runtime", 0);
+                if (runtime > 0) {
+                    durationStr = runtime + "分钟"; // Keep format for movies
+                }
+            } else if ("tv".equals(mediaType)) {
+                int episodes = detailsJson.optInt("number_of_episodes", 0);
+                if (episodes > 0) {
+                    durationStr = String.valueOf(episodes); // Store only the number for TV shows
+                }
+            }
+            builder.setDuration(durationStr);
+
+            // Extract Staff (Credits)
+            builder.setStaff(buildStaff(detailsJson.optJSONObject("credits")));
+            return builder.build();
+        }));
+    }
+
+    /**
+     * 填充搜索接口和详情接口共有的字段
+     * @param builder 结果构建器
+     * @param json 搜索结果项或详情JSON
+     * @param mediaType 媒体类型 movie/tv
+     */
+    private void applyBasicFields(SearchResult.Builder builder, JSONObject json, String mediaType) {
+        int id = json.optInt("id");
+        builder.setSourceType("tmdb");
+        builder.setSourceId(String.valueOf(id));
+        builder.setSourceUrl("https://www.themoviedb.org/" + mediaType + "/" + id);
+        builder.setMediaType(mediaType);
+
+        String title = json.optString("title", json.optString("name"));
+        builder.setTitleZh(title);
+        String originalTitle = json.optString("original_title", json.optString("original_name"));
+        builder.setTitleOriginal(originalTitle);
+        String releaseDate = json.optString("release_date", json.optString("first_air_date"));
+        builder.setReleaseDate(releaseDate);
+        // Year is set automatically by setReleaseDate in Builder
+
+        String posterPath = json.optString("poster_path", null);
+        if (posterPath != null && !posterPath.equals("null") && !posterPath.isEmpty()) {
+            builder.setPosterUrl(IMAGE_BASE_URL + posterPath);
+        } else {
+            builder.setPosterUrl(null);
+        }
+
+        double rating = json.optDouble("vote_average", -1.0);
+        if (rating >= 0) {
+            builder.setRatingImdb(rating);
+        }
+
+        builder.setSummary(json.optString("overview"));
+    }
+
+    /**
+     * 按需获取单个条目的详情（简介和制作人员）
+     * @param mediaType 媒体类型 movie/tv
+     * @param sourceId TMDb ID
+     * @param token 取消令牌，取消时中止网络请求，Future以CancellationException结束
+     * @return 详情的Future，没有简介和制作人员时结果为null
+     */
+    public CompletableFuture<SearchResultDetail> getDetail(String mediaType, String sourceId, CancellationToken token) {
+        return CompletableFuture.supplyAsync(NetworkTelemetry.withOperation(NetworkTelemetry.OP_DETAIL, () -> {
+            String type = "tv".equals(mediaType) ? "tv" : "movie";
+            String detailsUrl = apiUrl() + "/" + type + "/" + sourceId + "?api_key=" + apiKey() + "&language=zh-CN&append_to_response=credits";
+            try {
+                JSONObject detailsJson = new JSONObject(CrawlerUtils.httpGet(detailsUrl, token));
+                return SearchResultDetail.of(detailsJson.optString("overview"),
+                        buildStaff(detailsJson.optJSONObject("credits")));
+            } catch (CancellationException e) {
+                throw e;
+            } catch (Exception e) {
+                Log.e(TAG, "获取TMDb详情失败 for ID " + sourceId + ": " + e.getMessage());
+                throw new RuntimeException("Detail fetch failed", e);
+            }
+        }));
+    }
+
+    /**
+     * 从credits中提取导演和前5位主演
+     * @param credits credits对象，可为null
+     * @return 格式化的制作人员字符串
+     */
+    private String buildStaff(JSONObject credits) {
+        if (credits == null) {
+            return "";
+        }
+
+        // Get Directors (from Crew)
+        JSONArray crew = credits.optJSONArray("crew");
+        List<String> directors = new ArrayList<>();
+        if (crew != null) {
+            for (int j = 0; j < crew.length(); j++) {
+                JSONObject crewMember = crew.optJSONObject(j);
+                if (crewMember != null && "Director".equals(crewMember.optString("job"))) {
+                    directors.add(crewMember.optString("name"));
+                }
+            }
+        }
+
+        // Get Actors (from Cast)
+        JSONArray cast = credits.optJSONArray("cast");
+        List<String> actors = new ArrayList<>();
+        if (cast != null) {
+            int limit = Math.min(cast.length(), 5); // Limit to 5 actors
+            for (int j = 0; j < limit; j++) {
+                JSONObject castMember = cast.optJSONObject(j);
+                if (castMember != null) {
+                    actors.add(castMember.optString("name"));
+                }
+            }
+        }
+
+        // Format Staff String
+        StringBuilder staffBuilder = new StringBuilder();
+        if (!directors.isEmpty()) {
+            staffBuilder.append("导演: ").append(String.join(", ", directors));
+        }
+        if (!actors.isEmpty()) {
+            if (staffBuilder.length() > 0) {
+                staffBuilder.append(" | ");
+            }
+            staffBuilder.append("主演: ").append(String.join(", ", actors));
+        }
+        return staffBuilder.toString();
     }
-} 
\ No newline at end of file
+}
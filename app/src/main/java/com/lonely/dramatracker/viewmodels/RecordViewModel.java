@@ -0,0 +1,121 @@
+package com.lonely.dramatracker.viewmodels;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.ViewModel;
+
+import com.lonely.dramatracker.models.RecordItem;
+import com.lonely.dramatracker.repositories.RecordRepository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * 记录页的数据
+ * 持有最近一次加载的记录列表，页面因配置变更重建时直接复用，不重新请求；
+ * 加载在后台线程完成，结果通过LiveData发布到主线程；
+ * 列表和其中的记录都不可变，修改观看状态时发布替换了该条记录的新列表
+ */
+public class RecordViewModel extends ViewModel {
+    // 没有增删时已加载记录的有效期，过期后重新加载（其他设备上的修改）
+    private static final long RECORDS_TTL_MS = 10 * 60 * 1000L;
+
+    private final RecordRepository repository = RecordRepository.getInstance();
+
+    private final MutableLiveData<List<RecordItem>> records = new MutableLiveData<>();
+    private final MutableLiveData<Boolean> loading = new MutableLiveData<>(false);
+    // 最近一次加载失败的原因，加载成功后清空
+    private final MutableLiveData<String> error = new MutableLiveData<>();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    // 最近一次成功加载时的记录版本和时间，在加载线程写入
+    private volatile long loadedVersion = -1;
+    private volatile long loadedAtMs;
+
+    /**
+     * 只读的记录列表，尚未加载完成时为null
+     */
+    public LiveData<List<RecordItem>> getRecords() {
+        return records;
+    }
+
+    public LiveData<Boolean> isLoading() {
+        return loading;
+    }
+
+    public LiveData<String> getError() {
+        return error;
+    }
+
+    public boolean hasRecords() {
+        return records.getValue() != null;
+    }
+
+    /**
+     * 已加载的记录是否需要重新加载：还没加载成功过、之后有收藏增删，或超过有效期
+     */
+    public boolean isStale() {
+        return !hasRecords()
+                || loadedVersion != repository.getVersion()
+                || SystemClock.elapsedRealtime() - loadedAtMs > RECORDS_TTL_MS;
+    }
+
+    /**
+     * 重新加载记录，已在加载时忽略，需在主线程调用
+     */
+    public void refresh() {
+        if (Boolean.TRUE.equals(loading.getValue())) return;
+        loading.setValue(true);
+        // 加载开始前取版本号，加载期间发生的增删会让结果仍被视为过时
+        long version = repository.getVersion();
+        repository.loadRecords().whenComplete((result, e) -> {
+            if (e != null) {
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                error.postValue(cause.getMessage());
+            } else {
+                loadedVersion = version;
+                loadedAtMs = SystemClock.elapsedRealtime();
+                error.postValue(null);
+                records.postValue(result);
+            }
+            loading.postValue(false);
+        });
+    }
+
+    /**
+     * 修改观看状态：先发布新状态，写入失败时恢复原状态，需在主线程调用
+     * @return 写入结果，失败时异常完成（列表已恢复）
+     */
+    public CompletableFuture<Void> setWatched(String mediaId, boolean watched) {
+        replaceWatched(mediaId, watched);
+        return repository.updateWatched(mediaId, watched).whenComplete((v, e) -> {
+            if (e != null) {
+                mainHandler.post(() -> replaceWatched(mediaId, !watched));
+            }
+        });
+    }
+
+    /**
+     * 发布替换了指定记录观看状态的新列表
+     */
+    private void replaceWatched(String mediaId, boolean watched) {
+        List<RecordItem> current = records.getValue();
+        if (current == null) return;
+        List<RecordItem> updated = new ArrayList<>(current.size());
+        boolean changed = false;
+        for (RecordItem item : current) {
+            RecordItem next = mediaId.equals(item.getMediaId()) ? item.withWatched(watched) : item;
+            changed |= next != item;
+            updated.add(next);
+        }
+        if (changed) {
+            records.setValue(Collections.unmodifiableList(updated));
+        }
+    }
+}
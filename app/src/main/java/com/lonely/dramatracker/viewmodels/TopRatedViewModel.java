@@ -0,0 +1,144 @@
+package com.lonely.dramatracker.viewmodels;
+
+import android.app.Application;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.AndroidViewModel;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.SavedStateHandle;
+
+import com.lonely.dramatracker.models.TopRatedSnapshot;
+import com.lonely.dramatracker.repositories.TopRatedRepository;
+
+/**
+ * 高分推荐页的数据
+ * 持有加载好的TopRatedSnapshot，页面因配置变更重建时直接复用，不重新请求；
+ * 打开时先显示磁盘缓存，缓存过期则在后台刷新后再发布一次。
+ * 当前分类和页码保存在SavedStateHandle中，进程被回收后重建也能回到原来的位置
+ */
+public class TopRatedViewModel extends AndroidViewModel {
+    private static final String TAG = "TopRatedViewModel";
+    private static final String KEY_CONTENT_TYPE = "content_type";
+    private static final String KEY_PAGE = "page";
+
+    private final TopRatedRepository repository;
+    private final SavedStateHandle savedState;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    private final MutableLiveData<TopRatedSnapshot> snapshot = new MutableLiveData<>();
+    // 加载失败的原因，界面提示后调用clearError清空，避免页面重建时重复提示
+    private final MutableLiveData<Throwable> error = new MutableLiveData<>();
+
+    // 以下状态只在主线程读写
+    private boolean loading;
+    private boolean loadingMore;
+    // 快照被整体替换（首次加载、后台刷新）的次数，用于丢弃基于旧快照的向后加载结果
+    private int generation;
+
+    public TopRatedViewModel(@NonNull Application application, SavedStateHandle savedState) {
+        super(application);
+        this.repository = TopRatedRepository.getInstance(application);
+        this.savedState = savedState;
+    }
+
+    /**
+     * 加载结果，尚未加载完成时为null
+     */
+    public LiveData<TopRatedSnapshot> getSnapshot() {
+        return snapshot;
+    }
+
+    public LiveData<Throwable> getError() {
+        return error;
+    }
+
+    /**
+     * 还没有数据且不在加载中时加载，需在主线程调用
+     */
+    public void loadIfNeeded() {
+        if (snapshot.getValue() != null || loading) return;
+        loading = true;
+        repository.load().whenComplete((result, e) -> mainHandler.post(() -> {
+            loading = false;
+            if (e != null) {
+                error.setValue(e);
+                return;
+            }
+            replace(result);
+            if (repository.isExpired(result)) {
+                refresh();
+            }
+        }));
+    }
+
+    /**
+     * 在后台从网络刷新首屏，失败时继续显示当前数据
+     */
+    private void refresh() {
+        loading = true;
+        repository.refresh().whenComplete((result, e) -> mainHandler.post(() -> {
+            loading = false;
+            if (e != null) {
+                Log.w(TAG, "刷新高分推荐失败，继续显示缓存数据", e);
+                return;
+            }
+            replace(result);
+        }));
+    }
+
+    /**
+     * 向后加载一个分类，直到至少有minItems条或没有更多数据，结果通过getSnapshot发布；
+     * 需在主线程调用，已在向后加载时忽略
+     * @param mediaType MediaInfo.TYPE_MOVIE 或 MediaInfo.TYPE_TV
+     */
+    public void loadMore(String mediaType, int minItems) {
+        TopRatedSnapshot current = snapshot.getValue();
+        if (current == null || loadingMore) return;
+        loadingMore = true;
+        int startGeneration = generation;
+        repository.loadMore(current, mediaType, minItems).whenComplete((result, e) -> mainHandler.post(() -> {
+            loadingMore = false;
+            if (e != null) {
+                error.setValue(e);
+                return;
+            }
+            if (startGeneration != generation) {
+                // 期间快照已被刷新，在新快照上重新加载
+                loadMore(mediaType, minItems);
+                return;
+            }
+            snapshot.setValue(result);
+        }));
+    }
+
+    private void replace(TopRatedSnapshot result) {
+        generation++;
+        snapshot.setValue(result);
+    }
+
+    public void clearError() {
+        error.setValue(null);
+    }
+
+    public int getContentType(int defaultType) {
+        Integer type = savedState.get(KEY_CONTENT_TYPE);
+        return type != null ? type : defaultType;
+    }
+
+    public void setContentType(int type) {
+        savedState.set(KEY_CONTENT_TYPE, type);
+    }
+
+    public int getPage() {
+        Integer page = savedState.get(KEY_PAGE);
+        return page != null ? page : 1;
+    }
+
+    public void setPage(int page) {
+        savedState.set(KEY_PAGE, page);
+    }
+}
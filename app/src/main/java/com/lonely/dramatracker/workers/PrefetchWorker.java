@@ -0,0 +1,122 @@
+package com.lonely.dramatracker.workers;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.work.Constraints;
+import androidx.work.ExistingPeriodicWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.PeriodicWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.lonely.dramatracker.config.AppConfig;
+import com.lonely.dramatracker.crawler.http.RequestPriority;
+import com.lonely.dramatracker.repositories.RecommendFeedRepository;
+import com.lonely.dramatracker.repositories.TopRatedRepository;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * 推荐页数据后台预取
+ * 在不计流量的网络、充电且设备空闲时，刷新每日放送、高分推荐首屏和正在热映的磁盘缓存，
+ * 用户打开推荐页时直接显示缓存，不用等待网络。
+ * 预取发起的请求都标记为后台请求，由HostRateLimiter让给用户正在等待的请求
+ */
+public class PrefetchWorker extends Worker {
+    private static final String TAG = "PrefetchWorker";
+    static final String UNIQUE_WORK_NAME = "recommend_prefetch";
+    static final long INTERVAL_HOURS = 12;
+    // 单次预取的最长等待时间，超时按失败处理，交给WorkManager稍后重试
+    private static final long TIMEOUT_MINUTES = 5;
+    // 连续失败达到该次数后放弃本轮，等下一个周期
+    static final int MAX_ATTEMPTS = 3;
+
+    // 为null时在doWork中创建实际的预取任务
+    private final List<Supplier<CompletableFuture<?>>> tasks;
+
+    public PrefetchWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        this(context, params, null);
+    }
+
+    /**
+     * 测试用，替换实际的预取任务
+     */
+    PrefetchWorker(@NonNull Context context, @NonNull WorkerParameters params,
+                   List<Supplier<CompletableFuture<?>>> tasks) {
+        super(context, params);
+        this.tasks = tasks;
+    }
+
+    /**
+     * 实际的预取任务
+     * WorkManager通常在冷启动的进程中运行本任务，不会经过SplashActivity，先加载配置（TMDb的API Key等）
+     */
+    static List<Supplier<CompletableFuture<?>>> defaultTasks(Context context) {
+        AppConfig.INSTANCE.ensureInitialized(context);
+        RecommendFeedRepository feedRepository = RecommendFeedRepository.getInstance(context);
+        TopRatedRepository topRatedRepository = TopRatedRepository.getInstance(context);
+        return Arrays.asList(
+                feedRepository::refreshWeeklySchedule,
+                topRatedRepository::refresh,
+                feedRepository::refreshNowShowing);
+    }
+
+    /**
+     * 注册周期预取，已注册时保留原来的计划
+     */
+    public static void schedule(Context context) {
+        PeriodicWorkRequest request = new PeriodicWorkRequest.Builder(
+                PrefetchWorker.class, INTERVAL_HOURS, TimeUnit.HOURS)
+                .setConstraints(constraints())
+                .build();
+        WorkManager.getInstance(context).enqueueUniquePeriodicWork(
+                UNIQUE_WORK_NAME, ExistingPeriodicWorkPolicy.KEEP, request);
+    }
+
+    static Constraints constraints() {
+        return new Constraints.Builder()
+                .setRequiredNetworkType(NetworkType.UNMETERED)
+                .setRequiresCharging(true)
+                .setRequiresDeviceIdle(true)
+                .build();
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        long startMs = System.currentTimeMillis();
+        List<Supplier<CompletableFuture<?>>> toRun;
+        try {
+            toRun = tasks != null ? tasks : defaultTasks(getApplicationContext());
+        } catch (RuntimeException e) {
+            // 缺少配置时重试也不会成功
+            Log.e(TAG, "预取初始化失败: " + e.getMessage());
+            return Result.failure();
+        }
+        // 几项预取同时发起，在后台优先级下启动，各自的请求都带上后台标记
+        CompletableFuture<?>[] futures = RequestPriority.call(true, () -> toRun.stream()
+                .map(Supplier::get)
+                .toArray(CompletableFuture[]::new));
+        try {
+            CompletableFuture.allOf(futures).get(TIMEOUT_MINUTES, TimeUnit.MINUTES);
+            Log.d(TAG, "预取完成，耗时" + (System.currentTimeMillis() - startMs) + "ms");
+            return Result.success();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Result.retry();
+        } catch (ExecutionException | TimeoutException e) {
+            int attempt = getRunAttemptCount() + 1;
+            Log.w(TAG, "预取失败（第" + attempt + "次）: " + e.getMessage());
+            return attempt < MAX_ATTEMPTS ? Result.retry() : Result.failure();
+        }
+    }
+}
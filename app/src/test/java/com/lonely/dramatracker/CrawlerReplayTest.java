@@ -0,0 +1,288 @@
+package com.lonely.dramatracker;
+
+import com.lonely.dramatracker.api.ApiService;
+import com.lonely.dramatracker.api.impl.ApiServiceImpl;
+import com.lonely.dramatracker.crawler.CancellationToken;
+import com.lonely.dramatracker.crawler.CrawlerEndpoints;
+import com.lonely.dramatracker.crawler.http.NetworkTelemetry;
+import com.lonely.dramatracker.crawler.replay.FlowStats;
+import com.lonely.dramatracker.crawler.replay.ReplayDispatcher;
+import com.lonely.dramatracker.crawler.replay.ReplayServer;
+import com.lonely.dramatracker.models.MediaInfo;
+import com.lonely.dramatracker.models.MediaPage;
+import com.lonely.dramatracker.models.SearchResult;
+import com.lonely.dramatracker.models.SearchResultDetail;
+import com.lonely.dramatracker.models.WeeklySchedule;
+import com.lonely.dramatracker.services.QuickSearchService;
+import com.lonely.dramatracker.utils.BangumiCrawler;
+import com.lonely.dramatracker.utils.CrawlerUtils;
+import com.lonely.dramatracker.utils.MaoYanCrawler;
+import com.lonely.dramatracker.utils.TMDbCrawler;
+
+import org.json.JSONObject;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 爬虫端到端回放测试
+ * 各用户流程走真实的 Service/Crawler 代码，请求由本地服务器用录制页面应答（按站点加上模拟延迟），
+ * 统计每个流程的 p50/p95 耗时和请求数；请求数超过预算（如多出N+1请求）时测试失败。
+ * 报告写入 build/reports/replay/flows.txt；运行次数可用 -Dreplay.iterations 调整
+ */
+public class CrawlerReplayTest {
+    private static final int ITERATIONS = Integer.getInteger("replay.iterations", 5);
+    private static final int PAGE_SIZE = 10;
+
+    // 每次运行允许的最大请求数
+    private static final int BUDGET_SEARCH = 1 + PAGE_SIZE;      // 搜索页 + 当前页逐条补全
+    private static final int BUDGET_QUICK_ADD = 3;               // 三个来源各一页
+    private static final int BUDGET_WEEKLY = 1 + 14;             // 放送表 + 样式中没有海报的条目（录制页面中14个）
+    private static final int BUDGET_TOP_RATED = 2;               // 电影和电视剧各一页
+    private static final int BUDGET_NOW_SHOWING = 1 + 10;        // 热映列表 + 每部电影的详情
+
+    private static ReplayServer server;
+    private static ReplayDispatcher dispatcher;
+    private static final FlowStats stats = new FlowStats();
+
+    @BeforeClass
+    public static void startServer() throws IOException {
+        server = new ReplayServer().start();
+        dispatcher = server.getDispatcher();
+        // 接近真实网络的往返延迟
+        dispatcher.latency(CrawlerEndpoints.BANGUMI, 120)
+            .latency(CrawlerEndpoints.BANGUMI_CALENDAR, 120)
+            .latency(CrawlerEndpoints.DOUBAN_SEARCH, 150)
+            .latency(CrawlerEndpoints.DOUBAN_MOVIE, 150)
+            .latency(CrawlerEndpoints.TMDB_API, 80)
+            .latency(CrawlerEndpoints.MAOYAN, 60);
+    }
+
+    @AfterClass
+    public static void stopServer() throws IOException {
+        String report = stats.buildReport();
+        File dir = new File("build/reports/replay");
+        if (dir.isDirectory() || dir.mkdirs()) {
+            Files.write(new File(dir, "flows.txt").toPath(), report.getBytes(StandardCharsets.UTF_8));
+        }
+        server.close();
+    }
+
+    @Test
+    public void searchAnime() throws Exception {
+        runFlow("search-anime", BUDGET_SEARCH, () -> {
+            List<SearchResult> results = new ApiServiceImpl()
+                .search("芙莉莲", "anime", 1, PAGE_SIZE, CancellationToken.NONE).get(30, TimeUnit.SECONDS);
+            assertFalse("动漫搜索没有结果", results.isEmpty());
+            return null;
+        });
+    }
+
+    @Test
+    public void searchMovie() throws Exception {
+        runFlow("search-movie", BUDGET_SEARCH, () -> {
+            List<SearchResult> results = new ApiServiceImpl()
+                .search("千与千寻", "movie", 1, PAGE_SIZE, CancellationToken.NONE).get(30, TimeUnit.SECONDS);
+            assertFalse("电影搜索没有结果", results.isEmpty());
+            return null;
+        });
+    }
+
+    @Test
+    public void searchAnimeWithRetry() throws Exception {
+        // 搜索页第一次请求返回503，重试一次后成功
+        runFlow("search-retry", BUDGET_SEARCH + 1, () -> {
+            dispatcher.failNext(CrawlerEndpoints.BANGUMI, 1, 503);
+            List<SearchResult> results = new ApiServiceImpl()
+                .search("芙莉莲", "anime", 1, PAGE_SIZE, CancellationToken.NONE).get(60, TimeUnit.SECONDS);
+            assertFalse("重试后动漫搜索没有结果", results.isEmpty());
+            return null;
+        });
+    }
+
+    @Test
+    public void quickAdd() throws Exception {
+        runFlow("quick-add", BUDGET_QUICK_ADD, () -> {
+            ApiService apiService = new ApiServiceImpl();
+            Map<String, SearchResult> results = new QuickSearchService(apiService)
+                .searchFromMultipleSources("千与千寻", CancellationToken.NONE).get(30, TimeUnit.SECONDS);
+            assertFalse("快速添加没有结果", results.isEmpty());
+            return null;
+        });
+    }
+
+    @Test
+    public void sharedPageSurvivesOneCancellation() throws Exception {
+        // 两个页面（如快速添加和搜索页）同时请求同一来源页，其中一方取消不影响另一方，且只请求一次
+        synchronized (CrawlerReplayTest.class) {
+            dispatcher.resetCounts();
+            ApiService apiService = new ApiServiceImpl();
+            CancellationToken cancelled = new CancellationToken();
+            CancellationToken live = new CancellationToken();
+            CompletableFuture<List<SearchResult>> cancelledSearch = apiService.searchSource("bgm", "芙莉莲", cancelled);
+            CompletableFuture<List<SearchResult>> liveSearch = apiService.searchSource("bgm", "芙莉莲", live);
+            cancelled.cancel();
+
+            assertTrue(cancelledSearch.isCompletedExceptionally());
+            assertFalse("另一方被连带取消", liveSearch.get(30, TimeUnit.SECONDS).isEmpty());
+            assertEquals("两次调用应共用一次请求", 1, dispatcher.requestCount());
+        }
+    }
+
+    @Test
+    public void staffSurvivesEnrich() throws Exception {
+        // 搜索页解析出的制作人员在补全（只取回简介）之后仍应保留在详情缓存中
+        synchronized (CrawlerReplayTest.class) {
+            ApiService apiService = new ApiServiceImpl();
+            SearchResult first = apiService.searchSource("bgm", "芙莉莲", CancellationToken.NONE)
+                .get(30, TimeUnit.SECONDS).get(0);
+            String staff = apiService.getDetail(first, CancellationToken.NONE).get(30, TimeUnit.SECONDS).getStaff();
+            assertNotNull("搜索页应解析出制作人员", staff);
+
+            SearchResult enriched = apiService.enrich(first, CancellationToken.NONE).get(30, TimeUnit.SECONDS);
+            dispatcher.resetCounts();
+            SearchResultDetail detail = apiService.getDetail(enriched, CancellationToken.NONE).get(30, TimeUnit.SECONDS);
+            assertEquals("补全后制作人员丢失", staff, detail.getStaff());
+            assertNotNull("补全应取回简介", detail.getSummary());
+            assertEquals("详情应直接来自缓存", 0, dispatcher.requestCount());
+        }
+    }
+
+    @Test
+    public void cachedResultsSkipEmptyPrefixCursor() throws Exception {
+        synchronized (CrawlerReplayTest.class) {
+            ApiService apiService = new ApiServiceImpl();
+            apiService.search("芙莉", "anime", 1, PAGE_SIZE, CancellationToken.NONE).get(30, TimeUnit.SECONDS);
+            // 更长的关键词已建立游标，但请求开始前就被取消，游标中没有结果
+            CancellationToken cancelled = new CancellationToken();
+            cancelled.cancel();
+            assertTrue(apiService.search("芙莉莲", "anime", 1, PAGE_SIZE, cancelled).get(30, TimeUnit.SECONDS).isEmpty());
+
+            List<SearchResult> cached = apiService.findCachedResults("芙莉莲", "anime");
+            assertFalse("应跳过空游标，使用较短前缀已加载的结果", cached.isEmpty());
+            for (SearchResult result : cached) {
+                assertTrue(result.getTitleZh(), result.getTitleZh().contains("芙莉莲")
+                        || (result.getTitleOriginal() != null && result.getTitleOriginal().contains("芙莉莲")));
+            }
+            assertTrue("没有匹配的条目时不返回结果", apiService.findCachedResults("芙莉莲X", "anime").isEmpty());
+        }
+    }
+
+    @Test
+    public void weeklySchedule() throws Exception {
+        runFlow("weekly-schedule", BUDGET_WEEKLY, () -> {
+            WeeklySchedule schedule = BangumiCrawler.getInstance().getWeeklySchedule().get(60, TimeUnit.SECONDS);
+            assertFalse("放送表没有内容", schedule.getMondayAnime() == null || schedule.getMondayAnime().isEmpty());
+            return null;
+        });
+    }
+
+    @Test
+    public void topRated() throws Exception {
+        runFlow("top-rated", BUDGET_TOP_RATED, () -> {
+            MediaPage result = TMDbCrawler.getInstance().getTopRatedAll(1, 1).get(30, TimeUnit.SECONDS);
+            List<MediaInfo> combined = result.getItems();
+            assertNotNull(combined);
+            // 电影和电视剧两个分类都回放同一页录制数据
+            assertEquals("电影和电视剧各一页", 40, combined.size());
+            assertEquals(489, result.getTotalPages());
+            int movies = 0;
+            for (int i = 0; i < combined.size(); i++) {
+                MediaInfo item = combined.get(i);
+                assertEquals("排名应按合并后的顺序重排", i + 1, item.getRank());
+                if (i > 0) {
+                    assertTrue("应按评分降序", combined.get(i - 1).getRating() >= item.getRating());
+                }
+                if (MediaInfo.TYPE_MOVIE.equals(item.getMediaType())) {
+                    movies++;
+                }
+            }
+            assertEquals(20, movies);
+            assertNotNull("录制数据中的条目都有标题", combined.get(0).getTitleZh());
+            return null;
+        });
+    }
+
+    @Test
+    public void nowShowing() throws Exception {
+        runFlow("now-showing", BUDGET_NOW_SHOWING, () -> {
+            assertFalse("热映列表没有内容",
+                MaoYanCrawler.getInstance().getMoviesOnShowing().get(60, TimeUnit.SECONDS).isEmpty());
+            return null;
+        });
+    }
+
+    @Test
+    public void networkTelemetry() throws Exception {
+        NetworkTelemetry telemetry = CrawlerUtils.getNetworkTelemetry();
+        synchronized (CrawlerReplayTest.class) {
+            telemetry.reset();
+            dispatcher.failNext(CrawlerEndpoints.BANGUMI, 1, 503);
+            new ApiServiceImpl().search("芙莉莲", "anime", 1, PAGE_SIZE, CancellationToken.NONE).get(60, TimeUnit.SECONDS);
+            BangumiCrawler.getInstance().getWeeklySchedule().get(60, TimeUnit.SECONDS);
+        }
+
+        // 搜索页按search统计，逐条补全按detail统计，放送表及其中的海报补全按calendar统计
+        NetworkTelemetry.Stats search = telemetry.forOperation(NetworkTelemetry.OP_SEARCH);
+        NetworkTelemetry.Stats detail = telemetry.forOperation(NetworkTelemetry.OP_DETAIL);
+        NetworkTelemetry.Stats calendar = telemetry.forOperation(NetworkTelemetry.OP_CALENDAR);
+        assertNotNull(search);
+        assertNotNull(detail);
+        assertNotNull(calendar);
+        assertEquals("搜索页一次503加一次重试", 2, search.getCalls());
+        assertEquals(1, search.getRetries());
+        assertTrue(detail.getCalls() > 0 && detail.getCalls() <= PAGE_SIZE);
+        assertTrue(calendar.getCalls() > 1);
+        assertNull("不应有未标记操作的请求", telemetry.forOperation(NetworkTelemetry.OP_OTHER));
+
+        // 回放服务器加了延迟，首字节耗时不会小于它
+        assertEquals(detail.getCalls(), detail.phase(NetworkTelemetry.PHASE_TTFB).getCount());
+        assertTrue(detail.phase(NetworkTelemetry.PHASE_TTFB).percentileMs(50) >= 120);
+        assertTrue(detail.getBytesReceived() > 0);
+        // 同一站点的请求应复用keep-alive连接
+        assertTrue(telemetry.forHost(CrawlerEndpoints.BANGUMI).connectionReuseRate() > 0);
+
+        JSONObject json = new JSONObject(telemetry.toJson());
+        JSONObject searchJson = json.getJSONObject("operations").getJSONObject(NetworkTelemetry.OP_SEARCH);
+        assertEquals(1, searchJson.getInt("retries"));
+        assertTrue(searchJson.getJSONObject("phases").has(NetworkTelemetry.PHASE_TTFB));
+        assertTrue(json.getJSONObject("hosts").has(CrawlerEndpoints.BANGUMI_CALENDAR));
+    }
+
+    /**
+     * 运行一个流程ITERATIONS次，记录耗时和请求数，并检查请求预算
+     */
+    private void runFlow(String flow, int requestBudget, Callable<?> body) throws Exception {
+        for (int i = 0; i < ITERATIONS; i++) {
+            synchronized (CrawlerReplayTest.class) {
+                dispatcher.resetCounts();
+                long start = System.nanoTime();
+                body.call();
+                long duration = System.nanoTime() - start;
+                Map<String, Integer> requests = dispatcher.requestCounts();
+                stats.record(flow, duration, requests);
+
+                assertTrue(flow + " 有未录制的请求: " + dispatcher.unmatchedRequests(),
+                    dispatcher.unmatchedRequests().isEmpty());
+                assertTrue(flow + " 请求数 " + dispatcher.requestCount() + " 超出预算 " + requestBudget
+                        + " " + requests, dispatcher.requestCount() <= requestBudget);
+            }
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.lonely.dramatracker.api.impl;
+
+import com.lonely.dramatracker.models.SearchResult;
+import com.lonely.dramatracker.models.SearchResultDetail;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 详情缓存的容量、合并和空详情标记
+ * 容量按字符数计算，用字符数衡量列表缓存中去掉详情后省下的内存
+ */
+public class SearchDetailCacheTest {
+    private static final int SUMMARY_CHARS = 400;
+
+    @Test
+    public void stashMovesDetailOutOfResults() {
+        // 模拟一页搜索结果：分离前每条都带简介，分离后列表中不再持有任何详情字符
+        SearchDetailCache cache = new SearchDetailCache(256 * 1024);
+        List<SearchResult> page = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            page.add(result(String.valueOf(i), repeat('简', SUMMARY_CHARS), "导演 某某" + i));
+        }
+        int before = retainedChars(page);
+        assertTrue(before >= 20 * SUMMARY_CHARS);
+
+        for (SearchResult item : page) {
+            cache.stash(item);
+        }
+        assertEquals(0, retainedChars(page));
+        assertEquals(before, cache.charCount());
+        assertEquals(repeat('简', SUMMARY_CHARS), cache.get(page.get(0)).getSummary());
+    }
+
+    @Test
+    public void staysWithinCharBudget() {
+        SearchDetailCache cache = new SearchDetailCache(10 * SUMMARY_CHARS);
+        for (int i = 0; i < 100; i++) {
+            cache.put(result(String.valueOf(i), null, null), new SearchResultDetail(repeat('x', SUMMARY_CHARS), null));
+            assertTrue(cache.charCount() <= 10 * SUMMARY_CHARS);
+        }
+        assertNull("最早的条目应被淘汰", cache.get(result("0", null, null)));
+        assertNotNull(cache.get(result("99", null, null)));
+    }
+
+    @Test
+    public void evictsLeastRecentlyRead() {
+        SearchDetailCache cache = new SearchDetailCache(2 * SUMMARY_CHARS);
+        SearchResult first = result("1", null, null);
+        SearchResult second = result("2", null, null);
+        cache.put(first, new SearchResultDetail(repeat('a', SUMMARY_CHARS), null));
+        cache.put(second, new SearchResultDetail(repeat('b', SUMMARY_CHARS), null));
+        cache.get(first);
+        cache.put(result("3", null, null), new SearchResultDetail(repeat('c', SUMMARY_CHARS), null));
+
+        assertNotNull("刚读过的条目不应被淘汰", cache.get(first));
+        assertNull(cache.get(second));
+    }
+
+    @Test
+    public void summaryOnlyDetailKeepsCachedStaff() {
+        SearchDetailCache cache = new SearchDetailCache(1024);
+        SearchResult item = result("1", null, "导演 某某");
+        cache.stash(item);
+        cache.stash(result("1", "补全取回的简介", null));
+
+        SearchResultDetail detail = cache.get(item);
+        assertEquals("补全取回的简介", detail.getSummary());
+        assertEquals("导演 某某", detail.getStaff());
+        assertEquals(detail.getCharCount(), cache.charCount());
+    }
+
+    @Test
+    public void emptyDetailIsCached() {
+        SearchDetailCache cache = new SearchDetailCache(1024);
+        SearchResult item = result("1", null, null);
+        cache.put(item, SearchResultDetail.EMPTY);
+
+        assertSame(SearchResultDetail.EMPTY, cache.get(item));
+        assertTrue(cache.get(item).isEmpty());
+        assertEquals("空详情也计入容量，避免无限累积", 1, cache.charCount());
+
+        // 之后取回的真实详情替换空标记
+        cache.put(item, new SearchResultDetail("简介", null));
+        assertFalse(cache.get(item).isEmpty());
+        assertEquals(2, cache.charCount());
+    }
+
+    private static SearchResult result(String id, String summary, String staff) {
+        return new SearchResult.Builder()
+                .setSourceType("bgm")
+                .setSourceId(id)
+                .setTitleZh("条目" + id)
+                .setSummary(summary)
+                .setStaff(staff)
+                .build();
+    }
+
+    private static int retainedChars(List<SearchResult> results) {
+        int chars = 0;
+        for (SearchResult result : results) {
+            if (result.hasDetail()) {
+                chars += result.getDetail().getCharCount();
+            }
+        }
+        return chars;
+    }
+
+    private static String repeat(char c, int count) {
+        StringBuilder builder = new StringBuilder(count);
+        for (int i = 0; i < count; i++) {
+            builder.append(c);
+        }
+        return builder.toString();
+    }
+}
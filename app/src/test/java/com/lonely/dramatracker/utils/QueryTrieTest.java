@@ -0,0 +1,88 @@
+package com.lonely.dramatracker.utils;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 搜索词前缀树的联想排序和淘汰
+ */
+public class QueryTrieTest {
+
+    @Test
+    public void suggestsByPrefixIgnoringCase() {
+        QueryTrie trie = new QueryTrie();
+        trie.add("Frieren");
+        trie.add("葬送的芙莉莲");
+        trie.add("freedom");
+
+        assertEquals(Arrays.asList("freedom", "Frieren"), trie.suggest("FR", 10));
+        assertEquals(Collections.singletonList("葬送的芙莉莲"), trie.suggest("葬送", 10));
+        assertTrue(trie.suggest("迷宫", 10).isEmpty());
+        assertTrue(trie.suggest("  ", 10).isEmpty());
+    }
+
+    @Test
+    public void ordersByCountThenRecency() {
+        QueryTrie trie = new QueryTrie();
+        trie.add("abc");
+        trie.add("abd");
+        trie.add("abd");
+        trie.add("abe");
+
+        assertEquals(Arrays.asList("abd", "abe", "abc"), trie.suggest("ab", 10));
+        assertEquals(Collections.singletonList("abd"), trie.suggest("ab", 1));
+    }
+
+    @Test
+    public void excludesQueryEqualToPrefix() {
+        QueryTrie trie = new QueryTrie();
+        trie.add("芙莉莲");
+        trie.add("芙莉莲 第二季");
+
+        assertEquals(Collections.singletonList("芙莉莲 第二季"), trie.suggest("芙莉莲", 10));
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsed() {
+        QueryTrie trie = new QueryTrie(2);
+        trie.add("abc");
+        trie.add("xyz");
+        trie.add("abc");
+        trie.add("mno");
+
+        assertEquals(Collections.singletonList("abc"), trie.suggest("a", 10));
+        assertTrue("最久未使用的词应被淘汰", trie.suggest("x", 10).isEmpty());
+        assertEquals(Collections.singletonList("mno"), trie.suggest("m", 10));
+    }
+
+    @Test
+    public void evictionPrunesEmptyNodes() {
+        QueryTrie trie = new QueryTrie(1);
+        trie.add("abcdef");
+        assertEquals(6, trie.nodeCount());
+
+        // 淘汰abcdef后不留下空节点，树中只剩abx路径上的3个节点
+        trie.add("abx");
+        assertEquals(3, trie.nodeCount());
+
+        // 淘汰的词是留下的词的前缀时，节点仍在使用，不删除
+        QueryTrie prefixTrie = new QueryTrie(2);
+        prefixTrie.add("ab");
+        prefixTrie.add("abc");
+        prefixTrie.add("x");
+        assertEquals(4, prefixTrie.nodeCount());
+        assertEquals(Collections.singletonList("abc"), prefixTrie.suggest("a", 10));
+
+        // 反复搜索不同的词，节点数不随历史增长
+        QueryTrie churn = new QueryTrie(2);
+        for (int i = 0; i < 1000; i++) {
+            churn.add("query" + i);
+        }
+        assertTrue(churn.nodeCount() <= 2 * "query999".length());
+    }
+}
@@ -0,0 +1,44 @@
+plugins {
+    `java-library`
+    `java-test-fixtures`
+    alias(libs.plugins.jmh)
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_1_8
+    targetCompatibility = JavaVersion.VERSION_1_8
+}
+
+tasks.withType<JavaCompile>().configureEach {
+    options.encoding = "UTF-8"
+}
+
+dependencies {
+    // 解析器的参数和返回值中直接使用了这些库的类型
+    api("org.jsoup:jsoup:1.17.2")
+    api("com.squareup.okhttp3:okhttp:4.11.0")
+    implementation("com.google.code.gson:gson:2.10.1")
+
+    // 回放测试用的本地服务器，app模块的单元测试通过 testFixtures(project(":crawler-core")) 使用
+    testFixturesApi("com.squareup.okhttp3:mockwebserver:4.11.0")
+
+    // 单元测试（测试代码可直接使用testFixtures中的回放服务器和MockWebServer）
+    testImplementation(libs.junit)
+}
+
+// 基准测试与回放测试共用 src/testFixtures/resources/fixtures 中的页面
+sourceSets.named("jmh") {
+    resources.srcDir("src/testFixtures/resources")
+}
+
+// 运行 ./gradlew :crawler-core:jmh，结果写入 build/results/jmh/results.json
+jmh {
+    warmupIterations.set(3)
+    iterations.set(5)
+    fork.set(1)
+    timeUnit.set("us")
+    benchmarkMode.set(listOf("avgt"))
+    resultFormat.set("JSON")
+    // 同时报告每次调用的分配量（gc.alloc.rate.norm），相当于命令行的 -prof gc
+    profilers.set(listOf("gc"))
+}
@@ -0,0 +1,164 @@
+package com.lonely.dramatracker.crawler;
+
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 改用预编译Evaluator和单次infobox遍历之前的Bangumi解析方式，只用作基准测试的对照
+ * 与原BangumiCrawler中的写法保持一致：每次调用都解析选择器字符串，
+ * 用String.matches/replaceAll提取日期和年份，infobox的每个字段分别执行一次 li:contains(...) 查询
+ */
+final class LegacyBangumiParser {
+
+    private LegacyBangumiParser() {
+    }
+
+    static void extractSearch(Document doc, String baseUrl, Blackhole bh) {
+        Elements items = doc.select("#browserItemList .item");
+        for (Element item : items) {
+            // 解析ID和URL
+            Element titleLink = item.selectFirst("h3 a");
+            if (titleLink != null) {
+                String href = titleLink.attr("href");
+                bh.consume(href.substring(href.lastIndexOf("/") + 1));
+                bh.consume(baseUrl + href);
+            }
+
+            // 解析标题
+            Element titleElement = item.selectFirst("h3 a");
+            if (titleElement != null) {
+                bh.consume(titleElement.text());
+            }
+
+            // 解析原标题
+            Element originalTitleElement = item.selectFirst("h3 small.grey");
+            if (originalTitleElement != null) {
+                bh.consume(originalTitleElement.text());
+            }
+
+            // 解析发布日期、制作人员和年份
+            Element infoElement = item.selectFirst(".info");
+            if (infoElement != null) {
+                String info = infoElement.text();
+                if (info.matches("^\\d{4}年\\d{1,2}月\\d{1,2}日.*")) {
+                    bh.consume(info.substring(0, info.indexOf(" / ")));
+                }
+                if (info.contains(" / ")) {
+                    bh.consume(info.substring(info.indexOf(" / ") + 3));
+                }
+                if (info.matches(".*\\d{4}.*")) {
+                    bh.consume(info.replaceAll(".*?(\\d{4}).*", "$1"));
+                }
+            }
+
+            // 解析海报URL
+            Element posterElement = item.selectFirst("img.cover");
+            if (posterElement != null) {
+                bh.consume(ensureFullUrl(posterElement.attr("src"), "https:"));
+            }
+
+            // 解析评分
+            Element ratingElement = item.selectFirst(".fade");
+            if (ratingElement != null) {
+                try {
+                    bh.consume(Double.parseDouble(ratingElement.text()));
+                } catch (NumberFormatException ignored) {
+                    // 与原实现一样只记录日志
+                }
+            }
+        }
+        bh.consume(lastPage(doc));
+    }
+
+    static void extractDetail(Document doc, Blackhole bh) {
+        Element titleElement = doc.selectFirst("h1.nameSingle a");
+        if (titleElement != null) {
+            bh.consume(titleElement.text());
+        }
+
+        Element originalTitleElement = doc.selectFirst("#infobox li:contains(原名)");
+        if (originalTitleElement != null) {
+            bh.consume(originalTitleElement.text().replace("原名: ", ""));
+        }
+
+        Element dateElement = doc.selectFirst("#infobox li:contains(放送开始)");
+        if (dateElement != null) {
+            bh.consume(dateElement.text().replace("放送开始: ", ""));
+        }
+
+        Element episodeElement = doc.selectFirst("#infobox li:contains(话数)");
+        if (episodeElement != null) {
+            bh.consume(episodeElement.text().replace("话数: ", ""));
+        }
+
+        Element ratingElement = doc.selectFirst(".global_score .number");
+        if (ratingElement != null) {
+            try {
+                bh.consume(Double.parseDouble(ratingElement.text()));
+            } catch (NumberFormatException ignored) {
+                // 与原实现一样只记录日志
+            }
+        }
+
+        Element posterElement = doc.selectFirst("img.cover");
+        if (posterElement != null) {
+            bh.consume(ensureFullUrl(posterElement.attr("src"), "https:"));
+        }
+
+        Element summaryElement = doc.selectFirst("#subject_summary");
+        if (summaryElement != null) {
+            String summary = summaryElement.text();
+            summary = summary.replaceAll("&nbsp", "\n").trim();
+            summary = summary.replaceAll("\\s{4,}", "\n");
+            bh.consume(summary);
+        }
+
+        // 原实现写入JSONObject，这里用有序Map代替（crawler-core中没有org.json）
+        Map<String, String> staff = new LinkedHashMap<>();
+        Elements staffElements = doc.select("#infobox li:contains(导演), #infobox li:contains(脚本), #infobox li:contains(音乐), #infobox li:contains(原作)");
+        for (Element element : staffElements) {
+            String[] parts = element.text().split(": ", 2);
+            if (parts.length == 2) {
+                staff.put(parts[0], parts[1]);
+            }
+        }
+        bh.consume(staff);
+    }
+
+    private static int lastPage(Document doc) {
+        int lastPage = 1;
+        for (Element link : doc.select("#multipage a.p")) {
+            String href = link.attr("href");
+            int index = href.indexOf("page=");
+            if (index < 0) continue;
+            int end = index + 5;
+            while (end < href.length() && Character.isDigit(href.charAt(end))) {
+                end++;
+            }
+            try {
+                lastPage = Math.max(lastPage, Integer.parseInt(href.substring(index + 5, end)));
+            } catch (NumberFormatException ignored) {
+                // 忽略无法解析的链接
+            }
+        }
+        return lastPage;
+    }
+
+    private static String ensureFullUrl(String url, String baseUrl) {
+        if (url == null) {
+            return null;
+        }
+        if (url.startsWith("http")) {
+            return url;
+        }
+        if (url.startsWith("//")) {
+            return "https:" + url;
+        }
+        return baseUrl + (url.startsWith("/") ? url : "/" + url);
+    }
+}
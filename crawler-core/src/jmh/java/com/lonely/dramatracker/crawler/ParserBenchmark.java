@@ -0,0 +1,186 @@
+package com.lonely.dramatracker.crawler;
+
+import com.lonely.dramatracker.crawler.parse.BangumiCalendarParser;
+import com.lonely.dramatracker.crawler.parse.BangumiItem;
+import com.lonely.dramatracker.crawler.parse.BangumiParser;
+import com.lonely.dramatracker.crawler.parse.CalendarEntry;
+import com.lonely.dramatracker.crawler.parse.ParseCounter;
+import com.lonely.dramatracker.crawler.parse.TmdbListPage;
+import com.lonely.dramatracker.crawler.parse.TmdbListParser;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 解析器基准测试
+ * 使用 src/jmh/resources/fixtures 下保存的页面，按页面类型分别测量：
+ * xxxPage 包含 Jsoup.parse 建树的耗时（与线上一次请求的解析开销一致），
+ * xxxExtract 只测量在已建好的文档上提取字段的耗时，用于对比选择器和遍历方式的改动；
+ * xxxBaseline 在同样的页面上运行改动前的解析方式（LegacyBangumiParser），作为对照；
+ * calendarXxx 使用不计数的 ParseCounter.NONE（release构建），calendarXxxCounting 使用实际计数的计数器（debug构建）
+ */
+@State(Scope.Benchmark)
+public class ParserBenchmark {
+    private static final String BASE_URL = "https://bgm.tv";
+
+    private String searchHtml;
+    private String subjectHtml;
+    private String calendarHtml;
+    private String topRatedJson;
+
+    private Document searchDoc;
+    private Document subjectDoc;
+    private Document calendarDoc;
+
+    @Setup
+    public void setUp() throws IOException {
+        searchHtml = readFixture("bangumi_search.html");
+        subjectHtml = readFixture("bangumi_subject.html");
+        calendarHtml = readFixture("bangumi_calendar.html");
+        topRatedJson = readFixture("tmdb_top_rated.json");
+
+        searchDoc = Jsoup.parse(searchHtml, BASE_URL);
+        subjectDoc = Jsoup.parse(subjectHtml, BASE_URL);
+        calendarDoc = Jsoup.parse(calendarHtml, BASE_URL);
+    }
+
+    @Benchmark
+    public void searchPage(Blackhole bh) {
+        extractSearch(Jsoup.parse(searchHtml, BASE_URL), bh);
+    }
+
+    @Benchmark
+    public void searchExtract(Blackhole bh) {
+        extractSearch(searchDoc, bh);
+    }
+
+    @Benchmark
+    public void detailPage(Blackhole bh) {
+        extractDetail(Jsoup.parse(subjectHtml, BASE_URL), bh);
+    }
+
+    @Benchmark
+    public void detailExtract(Blackhole bh) {
+        extractDetail(subjectDoc, bh);
+    }
+
+    @Benchmark
+    public void searchPageBaseline(Blackhole bh) {
+        LegacyBangumiParser.extractSearch(Jsoup.parse(searchHtml, BASE_URL), BASE_URL, bh);
+    }
+
+    @Benchmark
+    public void searchExtractBaseline(Blackhole bh) {
+        LegacyBangumiParser.extractSearch(searchDoc, BASE_URL, bh);
+    }
+
+    @Benchmark
+    public void detailPageBaseline(Blackhole bh) {
+        LegacyBangumiParser.extractDetail(Jsoup.parse(subjectHtml, BASE_URL), bh);
+    }
+
+    @Benchmark
+    public void detailExtractBaseline(Blackhole bh) {
+        LegacyBangumiParser.extractDetail(subjectDoc, bh);
+    }
+
+    @Benchmark
+    public Map<String, List<CalendarEntry>> calendarPage() {
+        return BangumiCalendarParser.parse(Jsoup.parse(calendarHtml, BASE_URL), ParseCounter.NONE);
+    }
+
+    @Benchmark
+    public Map<String, List<CalendarEntry>> calendarExtract() {
+        return BangumiCalendarParser.parse(calendarDoc, ParseCounter.NONE);
+    }
+
+    /**
+     * 与debug构建一致，每次解析使用新的计数器并实际累加，衡量计数本身的开销
+     */
+    @Benchmark
+    public Map<String, List<CalendarEntry>> calendarPageCounting(Blackhole bh) {
+        CountingParseCounter counter = new CountingParseCounter();
+        Map<String, List<CalendarEntry>> calendar = BangumiCalendarParser.parse(Jsoup.parse(calendarHtml, BASE_URL), counter);
+        bh.consume(counter.counters);
+        return calendar;
+    }
+
+    @Benchmark
+    public Map<String, List<CalendarEntry>> calendarExtractCounting(Blackhole bh) {
+        CountingParseCounter counter = new CountingParseCounter();
+        Map<String, List<CalendarEntry>> calendar = BangumiCalendarParser.parse(calendarDoc, counter);
+        bh.consume(counter.counters);
+        return calendar;
+    }
+
+    @Benchmark
+    public TmdbListPage topRated() throws IOException {
+        return TmdbListParser.parse(topRatedJson);
+    }
+
+    private static void extractSearch(Document doc, Blackhole bh) {
+        for (Element item : BangumiParser.searchItems(doc)) {
+            BangumiItem parsed = BangumiParser.parseSearchItem(item, BASE_URL);
+            bh.consume(parsed);
+        }
+        bh.consume(BangumiParser.parseLastPage(doc));
+    }
+
+    private static void extractDetail(Document doc, Blackhole bh) {
+        Map<String, String> infobox = BangumiParser.parseInfobox(doc);
+        bh.consume(BangumiParser.parseTitle(doc));
+        bh.consume(BangumiParser.parseScore(doc));
+        bh.consume(BangumiParser.parseCover(doc));
+        bh.consume(BangumiParser.parseSummary(doc));
+        bh.consume(BangumiParser.parseEpisodes(infobox));
+        bh.consume(BangumiParser.staffEntries(infobox));
+    }
+
+    /**
+     * 与app中Diagnostics.ParseStats相同的计数方式（不含日志输出）
+     */
+    private static final class CountingParseCounter implements ParseCounter {
+        final Map<String, Integer> counters = new LinkedHashMap<>();
+
+        @Override
+        public ParseCounter increment(String counter) {
+            return add(counter, 1);
+        }
+
+        @Override
+        public ParseCounter add(String counter, int amount) {
+            Integer current = counters.get(counter);
+            counters.put(counter, current == null ? amount : current + amount);
+            return this;
+        }
+    }
+
+    static String readFixture(String name) throws IOException {
+        try (InputStream in = ParserBenchmark.class.getResourceAsStream("/fixtures/" + name)) {
+            if (in == null) {
+                throw new IOException("缺少测试页面: " + name);
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+}
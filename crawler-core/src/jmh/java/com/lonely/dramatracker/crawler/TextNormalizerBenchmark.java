@@ -0,0 +1,100 @@
+package com.lonely.dramatracker.crawler;
+
+import com.lonely.dramatracker.crawler.text.TextNormalizer;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * TextNormalizer与原正则写法的对比
+ * 输入是从 fixtures 页面中取出的真实文本（Bangumi搜索条目的info、豆瓣搜索结果的演职员和onclick、两站的简介），
+ * 每次调用处理一整页的文本，与逐条解析搜索结果时的调用量一致；
+ * 分配量看 gc.alloc.rate.norm（jmh配置中已启用gc profiler）
+ */
+@State(Scope.Benchmark)
+public class TextNormalizerBenchmark {
+    private String[] bangumiInfos;
+    private String[] doubanCasts;
+    private String[] doubanOnclicks;
+    private String bangumiSummary;
+    private String doubanSummary;
+
+    @Setup
+    public void setUp() throws IOException {
+        Document bangumiSearch = Jsoup.parse(ParserBenchmark.readFixture("bangumi_search.html"));
+        Document bangumiSubject = Jsoup.parse(ParserBenchmark.readFixture("bangumi_subject.html"));
+        Document doubanSearch = Jsoup.parse(ParserBenchmark.readFixture("douban_search.html"));
+        Document doubanSubject = Jsoup.parse(ParserBenchmark.readFixture("douban_subject.html"));
+
+        bangumiInfos = texts(bangumiSearch, "#browserItemList .item .info");
+        doubanCasts = texts(doubanSearch, ".result-list .result .subject-cast");
+        List<String> onclicks = new ArrayList<>();
+        for (Element link : doubanSearch.select(".result-list .result h3 a")) {
+            onclicks.add(link.attr("onclick"));
+        }
+        doubanOnclicks = onclicks.toArray(new String[0]);
+        bangumiSummary = bangumiSubject.selectFirst("#subject_summary").text().replace("&nbsp", "\n").trim();
+        doubanSummary = doubanSubject.selectFirst("span[property='v:summary']").text().trim().replace("\r\n", "\n");
+    }
+
+    @Benchmark
+    public void scanners(Blackhole bh) {
+        for (String info : bangumiInfos) {
+            bh.consume(TextNormalizer.startsWithChineseDate(info));
+            bh.consume(TextNormalizer.firstYear(info));
+        }
+        for (String cast : doubanCasts) {
+            bh.consume(TextNormalizer.removeOriginalName(cast));
+            bh.consume(TextNormalizer.firstYear(cast));
+        }
+        for (String onclick : doubanOnclicks) {
+            bh.consume(TextNormalizer.numberBefore(onclick, ','));
+        }
+        bh.consume(TextNormalizer.breakWhitespaceRuns(bangumiSummary, 4));
+        bh.consume(TextNormalizer.breakWhitespaceGroups(doubanSummary, 4));
+    }
+
+    /**
+     * 改动前的写法：String.matches/replaceAll和逐条Pattern.compile
+     */
+    @Benchmark
+    public void regexBaseline(Blackhole bh) {
+        for (String info : bangumiInfos) {
+            bh.consume(info.matches("^\\d{4}年\\d{1,2}月\\d{1,2}日.*"));
+            if (info.matches(".*\\d{4}.*")) {
+                bh.consume(info.replaceAll(".*?(\\d{4}).*", "$1"));
+            }
+        }
+        for (String cast : doubanCasts) {
+            bh.consume(cast.replaceAll("原名:.*?(?=/\\s|$)", ""));
+            Matcher year = Pattern.compile("\\d{4}").matcher(cast);
+            bh.consume(year.find() ? year.group() : null);
+        }
+        for (String onclick : doubanOnclicks) {
+            Matcher id = Pattern.compile("\\d+(?=,)").matcher(onclick);
+            bh.consume(id.find() ? id.group() : "");
+        }
+        bh.consume(bangumiSummary.replaceAll("\\s{4,}", "\n"));
+        bh.consume(doubanSummary.replaceAll("\\s\\s\\s\\s", "\n"));
+    }
+
+    private static String[] texts(Document doc, String selector) {
+        List<String> texts = new ArrayList<>();
+        for (Element element : doc.select(selector)) {
+            texts.add(element.text().trim());
+        }
+        return texts.toArray(new String[0]);
+    }
+}
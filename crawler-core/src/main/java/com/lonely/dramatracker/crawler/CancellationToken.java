@@ -0,0 +1,100 @@
+package com.lonely.dramatracker.crawler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 取消令牌
+ * 由界面为每次搜索创建，沿 SearchService -> ApiService -> 爬虫 一路传递；
+ * 取消时依次执行已注册的回调（取消OkHttp请求、Appwrite协程等），
+ * 后台任务在关键步骤之间调用throwIfCancelled尽快退出
+ */
+public class CancellationToken {
+    private static final String TAG = "CancellationToken";
+
+    // 永远不会被取消的令牌，用于不需要取消的调用
+    public static final CancellationToken NONE = new CancellationToken() {
+        @Override
+        public void cancel() {
+            // 不允许取消
+        }
+    };
+
+    private final List<Runnable> callbacks = new ArrayList<>();
+    private final CountDownLatch cancelledLatch = new CountDownLatch(1);
+    private volatile boolean cancelled;
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * 取消并执行所有已注册的回调，重复调用无效果
+     */
+    public void cancel() {
+        List<Runnable> toRun;
+        synchronized (this) {
+            if (cancelled) return;
+            cancelled = true;
+            toRun = new ArrayList<>(callbacks);
+            callbacks.clear();
+        }
+        cancelledLatch.countDown();
+        for (Runnable callback : toRun) {
+            try {
+                callback.run();
+            } catch (Exception e) {
+                CrawlerLog.w(TAG, "执行取消回调失败: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 注册取消回调，已取消时立即执行
+     * 回调可能在调用cancel的线程（通常是主线程）执行，必须是轻量操作
+     */
+    public void register(Runnable callback) {
+        synchronized (this) {
+            if (!cancelled) {
+                callbacks.add(callback);
+                return;
+            }
+        }
+        callback.run();
+    }
+
+    /**
+     * 移除回调，操作完成后调用以免令牌持有已结束的请求
+     */
+    public synchronized void unregister(Runnable callback) {
+        callbacks.remove(callback);
+    }
+
+    /**
+     * 已取消时抛出CancellationException
+     */
+    public void throwIfCancelled() {
+        if (cancelled) {
+            throw new CancellationException("操作已取消");
+        }
+    }
+
+    /**
+     * 可被取消打断的等待，用于重试退避
+     * @param millis 等待时间（毫秒）
+     * @throws CancellationException 等待期间被取消
+     */
+    public void sleep(long millis) {
+        try {
+            if (cancelledLatch.await(millis, TimeUnit.MILLISECONDS)) {
+                throw new CancellationException("操作已取消");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("等待被中断");
+        }
+    }
+}
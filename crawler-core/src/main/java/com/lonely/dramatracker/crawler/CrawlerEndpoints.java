@@ -0,0 +1,98 @@
+package com.lonely.dramatracker.crawler;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 各数据源请求地址
+ * 爬虫发请求时通过baseUrl取站点地址，不直接写死域名；回放测试时把各站点替换为本地服务器地址。
+ * 替换后限流和熔断仍按原站点统计（见upstreamHost），与线上的请求节奏保持一致
+ */
+public final class CrawlerEndpoints {
+    public static final String BANGUMI = "bgm.tv";
+    public static final String BANGUMI_CALENDAR = "chii.in";
+    public static final String DOUBAN_SEARCH = "www.douban.com";
+    public static final String DOUBAN_MOVIE = "movie.douban.com";
+    public static final String TMDB_API = "api.themoviedb.org";
+    public static final String MAOYAN = "m.maoyan.com";
+
+    private static final Map<String, String> DEFAULTS;
+
+    static {
+        Map<String, String> defaults = new LinkedHashMap<>();
+        defaults.put(BANGUMI, "https://bgm.tv");
+        defaults.put(BANGUMI_CALENDAR, "https://chii.in");
+        defaults.put(DOUBAN_SEARCH, "https://www.douban.com");
+        defaults.put(DOUBAN_MOVIE, "https://movie.douban.com");
+        defaults.put(TMDB_API, "https://api.themoviedb.org");
+        defaults.put(MAOYAN, "https://m.maoyan.com");
+        DEFAULTS = Collections.unmodifiableMap(defaults);
+    }
+
+    // 站点 → 替换后的地址，正常运行时为空
+    private static final Map<String, String> overrides = new ConcurrentHashMap<>();
+
+    private CrawlerEndpoints() {
+    }
+
+    /**
+     * 所有站点（即各常量的值）
+     */
+    public static Iterable<String> hosts() {
+        return DEFAULTS.keySet();
+    }
+
+    /**
+     * 取站点地址，结尾不带 "/"
+     * @param host 站点，取本类中的常量
+     */
+    public static String baseUrl(String host) {
+        String override = overrides.get(host);
+        if (override != null) {
+            return override;
+        }
+        String url = DEFAULTS.get(host);
+        if (url == null) {
+            throw new IllegalArgumentException("未知站点: " + host);
+        }
+        return url;
+    }
+
+    /**
+     * 替换站点地址，如 "http://127.0.0.1:8080/bgm.tv"
+     */
+    public static void override(String host, String baseUrl) {
+        if (!DEFAULTS.containsKey(host)) {
+            throw new IllegalArgumentException("未知站点: " + host);
+        }
+        overrides.put(host, baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl);
+    }
+
+    /**
+     * 恢复所有站点的默认地址
+     */
+    public static void reset() {
+        overrides.clear();
+    }
+
+    /**
+     * 请求实际对应的站点，用于按站点限流和熔断
+     * @param url 请求的完整地址
+     * @param host 请求地址中的域名
+     * @return 请求的是替换后的地址时返回原站点，否则返回host
+     */
+    public static String upstreamHost(String url, String host) {
+        if (overrides.isEmpty()) {
+            return host;
+        }
+        for (Map.Entry<String, String> entry : overrides.entrySet()) {
+            String base = entry.getValue();
+            if (url.startsWith(base) && (url.length() == base.length() || url.charAt(base.length()) == '/')) {
+                return entry.getKey();
+            }
+        }
+        return host;
+    }
+}
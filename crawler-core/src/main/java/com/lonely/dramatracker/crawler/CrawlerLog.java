@@ -0,0 +1,48 @@
+package com.lonely.dramatracker.crawler;
+
+/**
+ * 爬虫核心模块的日志出口
+ * 本模块是纯Java库，不能依赖android.util.Log；由宿主在启动时通过setSink接入实际的日志实现，
+ * 未接入时（如在JVM上跑基准测试）日志直接丢弃
+ */
+public final class CrawlerLog {
+
+    /**
+     * 日志的实际输出方
+     */
+    public interface Sink {
+        void info(String tag, String message);
+
+        void warn(String tag, String message);
+    }
+
+    private static final Sink NO_OP = new Sink() {
+        @Override
+        public void info(String tag, String message) {
+        }
+
+        @Override
+        public void warn(String tag, String message) {
+        }
+    };
+
+    private static volatile Sink sink = NO_OP;
+
+    private CrawlerLog() {
+    }
+
+    /**
+     * 设置日志输出方，传入null时恢复为丢弃日志
+     */
+    public static void setSink(Sink newSink) {
+        sink = newSink != null ? newSink : NO_OP;
+    }
+
+    public static void i(String tag, String message) {
+        sink.info(tag, message);
+    }
+
+    public static void w(String tag, String message) {
+        sink.warn(tag, message);
+    }
+}
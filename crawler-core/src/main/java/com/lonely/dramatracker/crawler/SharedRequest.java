@@ -0,0 +1,80 @@
+package com.lonely.dramatracker.crawler;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * 多个调用方共用的一次请求
+ * 底层请求使用自己的取消令牌；每个调用方通过join拿到各自的Future，用各自的令牌取消，
+ * 只取消自己的那一份。全部调用方都取消后才取消底层请求，此后join返回null，调用方应重新发起
+ */
+public final class SharedRequest<T> {
+    private final CancellationToken sourceToken = new CancellationToken();
+    private final CompletableFuture<T> source;
+    private int waiters; // 还在等待结果的调用方数
+    private boolean abandoned; // 全部调用方都已取消，底层请求已被取消
+
+    /**
+     * @param start 发起底层请求，参数为底层请求专用的取消令牌
+     */
+    public SharedRequest(Function<CancellationToken, CompletableFuture<T>> start) {
+        this.source = start.apply(sourceToken);
+    }
+
+    /**
+     * 底层请求的结果，只用于观察完成情况，不要对其取消
+     */
+    public CompletableFuture<T> result() {
+        return source;
+    }
+
+    /**
+     * 加入等待
+     * @param token 调用方的令牌，取消时该调用方的Future以CancellationException结束
+     * @return 调用方自己的Future；底层请求已被放弃时返回null
+     */
+    public CompletableFuture<T> join(CancellationToken token) {
+        synchronized (this) {
+            if (abandoned) {
+                return null;
+            }
+            waiters++;
+        }
+        CompletableFuture<T> own = new CompletableFuture<>();
+        Runnable onCancel = () -> {
+            if (own.cancel(false)) {
+                leave(true);
+            }
+        };
+        source.whenComplete((value, e) -> {
+            token.unregister(onCancel);
+            boolean completed = e == null ? own.complete(value) : own.completeExceptionally(e);
+            if (completed) {
+                leave(false);
+            }
+        });
+        token.register(onCancel);
+        return own;
+    }
+
+    /**
+     * 是否已被全部调用方放弃
+     */
+    public synchronized boolean isAbandoned() {
+        return abandoned;
+    }
+
+    private void leave(boolean cancelled) {
+        boolean cancelSource;
+        synchronized (this) {
+            waiters--;
+            cancelSource = cancelled && waiters == 0 && !source.isDone();
+            if (cancelSource) {
+                abandoned = true;
+            }
+        }
+        if (cancelSource) {
+            sourceToken.cancel();
+        }
+    }
+}
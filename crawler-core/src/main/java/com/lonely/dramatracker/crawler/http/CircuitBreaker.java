@@ -0,0 +1,156 @@
+package com.lonely.dramatracker.crawler.http;
+
+import com.lonely.dramatracker.crawler.CrawlerLog;
+
+import java.util.Locale;
+import java.util.function.LongSupplier;
+
+/**
+ * 单个数据源的熔断器
+ * 连续失败达到阈值后断开，断开期间的请求直接失败，不再等待超时；
+ * 断开一段时间后进入半开状态，只放行一个探测请求：探测成功则恢复，失败则加倍断开时长后再次断开
+ */
+public class CircuitBreaker {
+    private static final String TAG = "CircuitBreaker";
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    // 连续失败多少次后断开
+    private static final int FAILURE_THRESHOLD = 3;
+    // 首次断开时长，探测失败后加倍，最长不超过MAX_OPEN_MS
+    private static final long BASE_OPEN_MS = 30_000;
+    private static final long MAX_OPEN_MS = 5 * 60_000;
+
+    private final String name;
+    private final LongSupplier clock;
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openDurationMs = BASE_OPEN_MS;
+    private long openedAtMs;
+    private boolean probeInFlight;
+
+    // 统计
+    private long rejected; // 断开期间直接拒绝的请求数
+    private long trips; // 断开次数
+
+    public CircuitBreaker(String name) {
+        this(name, System::currentTimeMillis);
+    }
+
+    /**
+     * @param clock 当前时间（毫秒），测试中替换为可控的时钟
+     */
+    CircuitBreaker(String name, LongSupplier clock) {
+        this.name = name;
+        this.clock = clock;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * 请求前调用，判断是否放行
+     * 断开时长已过时转为半开并放行一个探测请求，放行的请求结束后必须调用onSuccess/onFailure/onAbandoned之一
+     * @return false表示熔断中，应直接失败或使用缓存
+     */
+    public synchronized boolean allowRequest() {
+        switch (state) {
+            case OPEN:
+                if (clock.getAsLong() - openedAtMs < openDurationMs) {
+                    rejected++;
+                    return false;
+                }
+                CrawlerLog.i(TAG, name + " 进入半开状态，发送探测请求");
+                state = State.HALF_OPEN;
+                probeInFlight = true;
+                return true;
+            case HALF_OPEN:
+                if (probeInFlight) {
+                    rejected++;
+                    return false;
+                }
+                probeInFlight = true;
+                return true;
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * 当前是否处于断开状态（不改变状态），用于已放行的请求在重试前判断是否还值得继续
+     */
+    public synchronized boolean isOpen() {
+        return state == State.OPEN && clock.getAsLong() - openedAtMs < openDurationMs;
+    }
+
+    /**
+     * 请求成功（包括服务端正常返回的4xx，说明数据源本身可用）
+     */
+    public synchronized void onSuccess() {
+        if (state != State.CLOSED) {
+            CrawlerLog.i(TAG, name + " 已恢复");
+        }
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        openDurationMs = BASE_OPEN_MS;
+        probeInFlight = false;
+    }
+
+    /**
+     * 请求失败（网络错误、超时、5xx、被限流）
+     */
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            // 探测失败，加倍断开时长
+            openDurationMs = Math.min(MAX_OPEN_MS, openDurationMs * 2);
+            trip();
+            return;
+        }
+        consecutiveFailures++;
+        if (state == State.CLOSED && consecutiveFailures >= FAILURE_THRESHOLD) {
+            trip();
+        }
+    }
+
+    /**
+     * 放行的请求被取消，没有得出结论；半开状态下允许下一个请求继续探测
+     */
+    public synchronized void onAbandoned() {
+        if (state == State.HALF_OPEN) {
+            probeInFlight = false;
+        }
+    }
+
+    private void trip() {
+        state = State.OPEN;
+        openedAtMs = clock.getAsLong();
+        probeInFlight = false;
+        trips++;
+        CrawlerLog.w(TAG, name + " 熔断，" + openDurationMs / 1000 + "秒后探测");
+    }
+
+    /**
+     * 状态描述，用于调试界面
+     */
+    @Override
+    public synchronized String toString() {
+        String detail;
+        if (state == State.OPEN) {
+            long remaining = Math.max(0, openDurationMs - (clock.getAsLong() - openedAtMs));
+            detail = "断开(" + remaining / 1000 + "s后探测)";
+        } else if (state == State.HALF_OPEN) {
+            detail = "半开(探测中)";
+        } else {
+            detail = "正常";
+        }
+        return String.format(Locale.US, "%s %s 连续失败%d 熔断%d次 拒绝%d",
+                name, detail, consecutiveFailures, trips, rejected);
+    }
+}
@@ -0,0 +1,78 @@
+package com.lonely.dramatracker.crawler.http;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 各数据源的熔断器
+ * 按请求的域名归属到数据源（bgm、douban、tmdb、maoyan），同一数据源的不同域名共用一个熔断器
+ */
+public class CircuitBreakerRegistry {
+    public static final String SOURCE_BGM = "bgm";
+    public static final String SOURCE_DOUBAN = "douban";
+    public static final String SOURCE_TMDB = "tmdb";
+    public static final String SOURCE_MAOYAN = "maoyan";
+
+    private final Map<String, CircuitBreaker> breakers = new LinkedHashMap<>();
+
+    public CircuitBreakerRegistry() {
+        for (String source : new String[]{SOURCE_BGM, SOURCE_DOUBAN, SOURCE_TMDB, SOURCE_MAOYAN}) {
+            breakers.put(source, new CircuitBreaker(source));
+        }
+    }
+
+    /**
+     * 获取数据源的熔断器
+     * @param source 数据源名称，与SearchResult的sourceType一致
+     * @return 熔断器，未知数据源返回null
+     */
+    public CircuitBreaker forSource(String source) {
+        return breakers.get(source);
+    }
+
+    /**
+     * 获取域名所属数据源的熔断器
+     * @return 熔断器，不属于已知数据源时返回null
+     */
+    public CircuitBreaker forHost(String host) {
+        return forSource(sourceOfHost(host));
+    }
+
+    /**
+     * 数据源当前是否熔断中
+     */
+    public boolean isOpen(String source) {
+        CircuitBreaker breaker = forSource(source);
+        return breaker != null && breaker.isOpen();
+    }
+
+    private static String sourceOfHost(String host) {
+        if (host == null) {
+            return null;
+        }
+        if (host.endsWith("bgm.tv") || host.endsWith("chii.in") || host.endsWith("bangumi.tv")) {
+            return SOURCE_BGM;
+        }
+        if (host.endsWith("douban.com") || host.endsWith("doubanio.com")) {
+            return SOURCE_DOUBAN;
+        }
+        if (host.endsWith("themoviedb.org")) {
+            return SOURCE_TMDB;
+        }
+        if (host.endsWith("maoyan.com")) {
+            return SOURCE_MAOYAN;
+        }
+        return null;
+    }
+
+    /**
+     * 生成文本报告
+     */
+    public String buildReport() {
+        StringBuilder sb = new StringBuilder();
+        for (CircuitBreaker breaker : breakers.values()) {
+            sb.append(breaker).append('\n');
+        }
+        return sb.toString().trim();
+    }
+}
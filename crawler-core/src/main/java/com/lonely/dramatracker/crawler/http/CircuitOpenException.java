@@ -0,0 +1,19 @@
+package com.lonely.dramatracker.crawler.http;
+
+import java.io.IOException;
+
+/**
+ * 数据源熔断中，请求未发出即失败时抛出的异常
+ */
+public class CircuitOpenException extends IOException {
+    private final String source;
+
+    public CircuitOpenException(String source) {
+        super(source + " 暂时不可用（熔断中）");
+        this.source = source;
+    }
+
+    public String getSource() {
+        return source;
+    }
+}
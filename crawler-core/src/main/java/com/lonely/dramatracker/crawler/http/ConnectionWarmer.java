@@ -0,0 +1,77 @@
+package com.lonely.dramatracker.crawler.http;
+
+import com.lonely.dramatracker.crawler.CrawlerEndpoints;
+import com.lonely.dramatracker.crawler.CrawlerLog;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * 连接预热
+ * 对站点首页发一个HEAD请求，提前完成DNS解析、TCP建连和TLS握手（支持HTTP/2的站点经ALPN协商为h2），
+ * 响应关闭后连接留在客户端的连接池中，随后的真实请求直接复用。
+ * 预热是尽力而为的：数据源已熔断或暂时拿不到限流许可时跳过，失败不重试，也不影响熔断状态和并发上限
+ */
+public class ConnectionWarmer {
+    private static final String TAG = "ConnectionWarmer";
+
+    private final OkHttpClient client;
+    private final HostRateLimiter rateLimiter;
+    private final CircuitBreakerRegistry circuitBreakers;
+    private final String userAgent;
+
+    public ConnectionWarmer(OkHttpClient client, HostRateLimiter rateLimiter,
+                            CircuitBreakerRegistry circuitBreakers, String userAgent) {
+        this.client = client;
+        this.rateLimiter = rateLimiter;
+        this.circuitBreakers = circuitBreakers;
+        this.userAgent = userAgent;
+    }
+
+    /**
+     * 预热到站点的连接
+     * @param host 站点，取CrawlerEndpoints中的常量
+     * @return 连接建立并收到响应时完成为true，跳过或失败时为false，不会异常完成
+     */
+    public CompletableFuture<Boolean> warm(String host) {
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        CircuitBreaker breaker = circuitBreakers.forHost(host);
+        if (breaker != null && breaker.isOpen()) {
+            result.complete(false);
+            return result;
+        }
+        if (rateLimiter.tryAcquire(host) > 0) {
+            // 站点正在限流或并发已满，说明已有请求在用连接
+            result.complete(false);
+            return result;
+        }
+        Request request = NetworkTelemetry.tagOperation(new Request.Builder(), NetworkTelemetry.OP_WARM_UP)
+                .url(CrawlerEndpoints.baseUrl(host) + "/")
+                .header("User-Agent", userAgent)
+                .head()
+                .build();
+        client.newCall(request).enqueue(new Callback() {
+            @Override
+            public void onResponse(Call call, Response response) {
+                // 任何状态码都说明连接已建立，关闭响应后连接回到连接池
+                response.close();
+                rateLimiter.release(host);
+                result.complete(true);
+            }
+
+            @Override
+            public void onFailure(Call call, IOException e) {
+                rateLimiter.release(host);
+                CrawlerLog.w(TAG, "预热连接失败: " + host + "，" + e.getMessage());
+                result.complete(false);
+            }
+        });
+        return result;
+    }
+}
@@ -0,0 +1,400 @@
+package com.lonely.dramatracker.crawler.http;
+
+import com.lonely.dramatracker.crawler.CrawlerLog;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * 按域名限流
+ * 每个域名一个令牌桶控制请求速率，同时用AIMD方式调整并发上限：
+ * 请求成功时缓慢增加并发上限，收到429/503或超时时减半，
+ * 服务端返回Retry-After时在该时间之前暂停向该域名发送请求。
+ * 后台请求（如预取）给交互请求让行：有交互请求在等待许可时不放行后台请求，
+ * 且后台请求总是给交互请求留出一个并发名额和一个令牌
+ */
+public class HostRateLimiter {
+    private static final String TAG = "HostRateLimiter";
+
+    // 并发已满时建议的重新检查间隔（毫秒）
+    private static final long POLL_INTERVAL_MS = 50;
+    // Retry-After 的上限（毫秒），避免异常值让某个域名长期不可用
+    private static final long MAX_RETRY_AFTER_MS = 60_000;
+
+    private final Map<String, HostState> hosts = new ConcurrentHashMap<>();
+    private final LongSupplier clock;
+
+    public HostRateLimiter() {
+        this(System::currentTimeMillis);
+    }
+
+    /**
+     * @param clock 当前时间（毫秒），测试中替换为可控的时钟
+     */
+    HostRateLimiter(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * 尝试为交互请求获取一个请求许可，不阻塞；获取成功后请求结束时必须调用onSuccess/onThrottled/onTimeout/release之一
+     * @param host 目标域名
+     * @return 0表示已获取许可；否则为建议在多少毫秒后再试
+     */
+    public long tryAcquire(String host) {
+        return tryAcquire(host, false);
+    }
+
+    /**
+     * 尝试获取一个请求许可，不阻塞；获取成功后请求结束时必须调用onSuccess/onThrottled/onTimeout/release之一
+     * @param host 目标域名
+     * @param background 是否为后台请求，后台请求给交互请求让行
+     * @return 0表示已获取许可；否则为建议在多少毫秒后再试
+     */
+    public long tryAcquire(String host, boolean background) {
+        return stateOf(host).tryAcquire(clock.getAsLong(), background);
+    }
+
+    /**
+     * 记录一次因等待许可而推迟的请求
+     */
+    public void recordWait(String host) {
+        stateOf(host).recordWait();
+    }
+
+    /**
+     * 记录一次因等待许可超出时间预算而放弃的请求
+     */
+    public void recordLocalRejection(String host) {
+        stateOf(host).recordLocalRejection();
+    }
+
+    /**
+     * 请求成功后释放许可，逐步提高并发上限
+     */
+    public void onSuccess(String host) {
+        stateOf(host).release(Outcome.SUCCESS, clock.getAsLong(), 0);
+    }
+
+    /**
+     * 服务端限流（429/503）后释放许可，并发上限减半
+     * @param retryAfterMs 服务端要求的等待时间，未给出时为0
+     */
+    public void onThrottled(String host, long retryAfterMs) {
+        stateOf(host).release(Outcome.THROTTLED, clock.getAsLong(), Math.min(retryAfterMs, MAX_RETRY_AFTER_MS));
+    }
+
+    /**
+     * 请求超时后释放许可，并发上限减半
+     */
+    public void onTimeout(String host) {
+        stateOf(host).release(Outcome.TIMEOUT, clock.getAsLong(), 0);
+    }
+
+    /**
+     * 其他结果（如404、解析失败、被取消）释放许可，不调整并发上限
+     */
+    public void release(String host) {
+        stateOf(host).release(Outcome.NEUTRAL, clock.getAsLong(), 0);
+    }
+
+    /**
+     * 获取各域名当前的限流状态
+     */
+    public List<Stats> snapshot() {
+        List<Stats> result = new ArrayList<>();
+        long nowMs = clock.getAsLong();
+        for (Map.Entry<String, HostState> entry : hosts.entrySet()) {
+            result.add(entry.getValue().snapshot(entry.getKey(), nowMs));
+        }
+        Collections.sort(result, (a, b) -> a.host.compareTo(b.host));
+        return result;
+    }
+
+    /**
+     * 生成文本报告
+     */
+    public String buildReport() {
+        List<Stats> stats = snapshot();
+        if (stats.isEmpty()) {
+            return "暂无请求";
+        }
+        StringBuilder sb = new StringBuilder();
+        for (Stats s : stats) {
+            sb.append(s).append('\n');
+        }
+        return sb.toString().trim();
+    }
+
+    /**
+     * 域名当前的并发上限（未取整），测试用
+     */
+    double concurrencyLimit(String host) {
+        return stateOf(host).currentLimit();
+    }
+
+    /**
+     * 解析Retry-After响应头，支持秒数和HTTP日期两种格式
+     * @return 需要等待的毫秒数，无法解析时返回0
+     */
+    public static long parseRetryAfter(String value) {
+        return parseRetryAfter(value, System.currentTimeMillis());
+    }
+
+    /**
+     * 按指定的当前时间解析Retry-After响应头
+     * @param nowMs 当前时间（毫秒），HTTP日期格式按它计算剩余时间
+     */
+    static long parseRetryAfter(String value, long nowMs) {
+        if (value == null || value.trim().isEmpty()) {
+            return 0;
+        }
+        String trimmed = value.trim();
+        try {
+            return Math.max(0, Long.parseLong(trimmed) * 1000);
+        } catch (NumberFormatException ignored) {
+            // 不是秒数，按HTTP日期解析
+        }
+        SimpleDateFormat format = new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss zzz", Locale.US);
+        format.setTimeZone(TimeZone.getTimeZone("GMT"));
+        try {
+            Date date = format.parse(trimmed);
+            return date == null ? 0 : Math.max(0, date.getTime() - nowMs);
+        } catch (ParseException e) {
+            CrawlerLog.w(TAG, "无法解析Retry-After: " + value);
+            return 0;
+        }
+    }
+
+    private HostState stateOf(String host) {
+        HostState state = hosts.get(host);
+        if (state == null) {
+            hosts.putIfAbsent(host, new HostState(HostConfig.forHost(host), clock.getAsLong()));
+            state = hosts.get(host);
+        }
+        return state;
+    }
+
+    private enum Outcome {
+        SUCCESS, THROTTLED, TIMEOUT, NEUTRAL
+    }
+
+    /**
+     * 域名的限流参数
+     */
+    private static class HostConfig {
+        final double ratePerSecond; // 令牌补充速率
+        final int burst; // 令牌桶容量
+        final int initialLimit; // 初始并发上限
+        final int maxLimit; // 并发上限的最大值
+
+        HostConfig(double ratePerSecond, int burst, int initialLimit, int maxLimit) {
+            this.ratePerSecond = ratePerSecond;
+            this.burst = burst;
+            this.initialLimit = initialLimit;
+            this.maxLimit = maxLimit;
+        }
+
+        static HostConfig forHost(String host) {
+            if (host.endsWith("douban.com")) {
+                // 豆瓣对连续请求限制严格，逐条获取详情时最容易被限流
+                return new HostConfig(2, 2, 2, 3);
+            }
+            if (host.endsWith("themoviedb.org")) {
+                // TMDb API 官方限额较宽松
+                return new HostConfig(10, 10, 4, 8);
+            }
+            return new HostConfig(4, 4, 3, 6);
+        }
+    }
+
+    /**
+     * 单个域名的令牌桶、并发上限和统计
+     */
+    private static class HostState {
+        private final HostConfig config;
+        private double tokens;
+        private long lastRefillMs;
+        private double limit; // 当前并发上限，AIMD调整
+        private int inFlight;
+        private long blockedUntilMs; // Retry-After 要求的暂停截止时间
+        // 交互请求未拿到许可时约定的重试时间，在此之前后台请求让行
+        private long interactiveWaitingUntilMs;
+
+        // 统计
+        private long requests;
+        private long waits;
+        private long serverRejections;
+        private long timeouts;
+        private long localRejections;
+        private long backgroundYields;
+
+        HostState(HostConfig config, long nowMs) {
+            this.config = config;
+            this.tokens = config.burst;
+            this.limit = config.initialLimit;
+            this.lastRefillMs = nowMs;
+        }
+
+        /**
+         * 尝试获取许可
+         * @return 0表示已获取；否则为建议的等待时间（毫秒）
+         */
+        synchronized long tryAcquire(long nowMs, boolean background) {
+            long waitMs = background ? backgroundWait(nowMs) : interactiveWait(nowMs);
+            if (waitMs > 0) {
+                if (background) {
+                    backgroundYields++;
+                } else {
+                    // 交互请求会在waitMs后再来，在那之前后台请求不得抢占
+                    interactiveWaitingUntilMs = Math.max(interactiveWaitingUntilMs,
+                            nowMs + waitMs + POLL_INTERVAL_MS);
+                }
+                return waitMs;
+            }
+            tokens -= 1;
+            inFlight++;
+            requests++;
+            return 0;
+        }
+
+        private long interactiveWait(long nowMs) {
+            if (nowMs < blockedUntilMs) {
+                return blockedUntilMs - nowMs;
+            }
+            refill(nowMs);
+            if (inFlight >= (int) limit) {
+                return POLL_INTERVAL_MS;
+            }
+            if (tokens < 1) {
+                return tokenWait(1);
+            }
+            return 0;
+        }
+
+        private long backgroundWait(long nowMs) {
+            if (nowMs < blockedUntilMs) {
+                return blockedUntilMs - nowMs;
+            }
+            if (nowMs < interactiveWaitingUntilMs) {
+                return Math.max(POLL_INTERVAL_MS, interactiveWaitingUntilMs - nowMs);
+            }
+            refill(nowMs);
+            // 留出一个并发名额和一个令牌，交互请求到来时可以立即发出；并发上限为1时不保留名额
+            if (inFlight >= Math.max(1, (int) limit - 1)) {
+                return POLL_INTERVAL_MS;
+            }
+            if (tokens < 2) {
+                return tokenWait(2);
+            }
+            return 0;
+        }
+
+        private long tokenWait(double needed) {
+            return (long) Math.ceil((needed - tokens) * 1000 / config.ratePerSecond);
+        }
+
+        synchronized void release(Outcome outcome, long nowMs, long retryAfterMs) {
+            inFlight = Math.max(0, inFlight - 1);
+            switch (outcome) {
+                case SUCCESS:
+                    // 加性增加：每个并发窗口的请求全部成功后上限约加1
+                    limit = Math.min(config.maxLimit, limit + 1.0 / limit);
+                    break;
+                case THROTTLED:
+                    serverRejections++;
+                    limit = Math.max(1, limit / 2);
+                    // 清空令牌，限流期间不再突发
+                    tokens = 0;
+                    if (retryAfterMs > 0) {
+                        blockedUntilMs = Math.max(blockedUntilMs, nowMs + retryAfterMs);
+                    }
+                    break;
+                case TIMEOUT:
+                    timeouts++;
+                    limit = Math.max(1, limit / 2);
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        synchronized void recordWait() {
+            waits++;
+        }
+
+        synchronized void recordLocalRejection() {
+            localRejections++;
+        }
+
+        private void refill(long nowMs) {
+            long elapsed = nowMs - lastRefillMs;
+            if (elapsed > 0) {
+                tokens = Math.min(config.burst, tokens + elapsed * config.ratePerSecond / 1000);
+                lastRefillMs = nowMs;
+            }
+        }
+
+        synchronized double currentLimit() {
+            return limit;
+        }
+
+        synchronized Stats snapshot(String host, long nowMs) {
+            return new Stats(host, config.ratePerSecond, (int) limit, config.maxLimit, inFlight,
+                    Math.max(0, blockedUntilMs - nowMs), requests, waits,
+                    serverRejections, timeouts, localRejections, backgroundYields);
+        }
+    }
+
+    /**
+     * 单个域名限流状态的快照
+     */
+    public static class Stats {
+        public final String host;
+        public final double ratePerSecond;
+        public final int concurrencyLimit;
+        public final int maxConcurrency;
+        public final int inFlight;
+        public final long blockedForMs;
+        public final long requests;
+        public final long waits;
+        public final long serverRejections;
+        public final long timeouts;
+        public final long localRejections;
+        public final long backgroundYields; // 后台请求让行的次数
+
+        Stats(String host, double ratePerSecond, int concurrencyLimit, int maxConcurrency, int inFlight,
+              long blockedForMs, long requests, long waits,
+              long serverRejections, long timeouts, long localRejections, long backgroundYields) {
+            this.host = host;
+            this.ratePerSecond = ratePerSecond;
+            this.concurrencyLimit = concurrencyLimit;
+            this.maxConcurrency = maxConcurrency;
+            this.inFlight = inFlight;
+            this.blockedForMs = blockedForMs;
+            this.requests = requests;
+            this.waits = waits;
+            this.serverRejections = serverRejections;
+            this.timeouts = timeouts;
+            this.localRejections = localRejections;
+            this.backgroundYields = backgroundYields;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.US,
+                    "%s 速率%.0f/s 并发%d/%d(进行中%d)%s 请求%d 等待%d 被限流%d 超时%d 本地拒绝%d 后台让行%d",
+                    host, ratePerSecond, concurrencyLimit, maxConcurrency, inFlight,
+                    blockedForMs > 0 ? " 暂停" + blockedForMs / 1000 + "s" : "",
+                    requests, waits, serverRejections, timeouts, localRejections, backgroundYields);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.lonely.dramatracker.crawler.http;
+
+import java.io.IOException;
+
+/**
+ * HTTP响应状态码表示失败时抛出的异常，携带状态码用于判断是否可以重试
+ */
+public class HttpResponseException extends IOException {
+    private final int code;
+
+    public HttpResponseException(int code, String message) {
+        super("HTTP " + code + ": " + message);
+        this.code = code;
+    }
+
+    public int getCode() {
+        return code;
+    }
+}
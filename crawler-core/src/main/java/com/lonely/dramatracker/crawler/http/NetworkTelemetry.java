@@ -0,0 +1,449 @@
+package com.lonely.dramatracker.crawler.http;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.lonely.dramatracker.crawler.CrawlerEndpoints;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * 基于OkHttp EventListener的网络耗时统计
+ * 每次调用记录DNS、建连、TLS握手、首字节(TTFB)和读取响应体的耗时，以及收发字节数和连接复用情况，
+ * 同时按站点和按业务操作（搜索、详情、放送表等）汇总到滚动直方图中。
+ * 业务操作由发起请求的线程通过withOperation标记，构造请求时用tagOperation写入请求的tag，
+ * 因此在定时线程上发起的重试仍归到原来的操作
+ */
+public class NetworkTelemetry {
+    public static final String OP_SEARCH = "search";
+    public static final String OP_DETAIL = "detail";
+    public static final String OP_CALENDAR = "calendar";
+    public static final String OP_TOP_RATED = "top-rated";
+    public static final String OP_NOW_SHOWING = "now-showing";
+    public static final String OP_WARM_UP = "warm-up";
+    public static final String OP_OTHER = "other";
+
+    public static final String PHASE_DNS = "dns";
+    public static final String PHASE_CONNECT = "connect"; // 含TLS握手
+    public static final String PHASE_TLS = "tls";
+    public static final String PHASE_TTFB = "ttfb";       // 开始发送请求到收到响应头
+    public static final String PHASE_BODY = "body";
+    public static final String PHASE_TOTAL = "total";
+
+    private static final String[] PHASES = {PHASE_DNS, PHASE_CONNECT, PHASE_TLS, PHASE_TTFB, PHASE_BODY, PHASE_TOTAL};
+    // 每个直方图保留的最近样本数
+    private static final int WINDOW = 256;
+
+    private static final ThreadLocal<String> currentOperation = new ThreadLocal<>();
+
+    private final Map<String, Stats> byHost = new ConcurrentHashMap<>();
+    private final Map<String, Stats> byOperation = new ConcurrentHashMap<>();
+    private final EventListener.Factory listenerFactory = call -> new CallListener(call.request());
+
+    /**
+     * 安装到OkHttpClient.Builder.eventListenerFactory
+     */
+    public EventListener.Factory eventListenerFactory() {
+        return listenerFactory;
+    }
+
+    /**
+     * 包装一个任务，任务执行期间在当前线程上发起的请求都归到指定操作；
+     * 同时记下调用线程的请求优先级（RequestPriority），任务在线程池中执行时沿用
+     * @param operation 操作名称，取本类中的OP_常量
+     */
+    public static <T> Supplier<T> withOperation(String operation, Supplier<T> body) {
+        return RequestPriority.propagate(() -> {
+            String previous = currentOperation.get();
+            currentOperation.set(operation);
+            try {
+                return body.get();
+            } finally {
+                if (previous == null) {
+                    currentOperation.remove();
+                } else {
+                    currentOperation.set(previous);
+                }
+            }
+        });
+    }
+
+    /**
+     * 把当前线程的操作写入请求，没有标记时归为OP_OTHER
+     */
+    public static Request.Builder tagOperation(Request.Builder builder) {
+        String operation = currentOperation.get();
+        return tagOperation(builder, operation != null ? operation : OP_OTHER);
+    }
+
+    /**
+     * 把指定操作写入请求
+     */
+    public static Request.Builder tagOperation(Request.Builder builder, String operation) {
+        return builder.tag(OperationTag.class, new OperationTag(operation));
+    }
+
+    private static String operationOf(Request request) {
+        OperationTag tag = request.tag(OperationTag.class);
+        return tag != null ? tag.name : OP_OTHER;
+    }
+
+    private static String hostOf(Request request) {
+        // 回放测试中请求的是本地地址，仍按原站点统计
+        return CrawlerEndpoints.upstreamHost(request.url().toString(), request.url().host());
+    }
+
+    /**
+     * 记录一次重试，由RetryScheduler在安排重试时调用
+     */
+    public void recordRetry(Request request) {
+        stats(byHost, hostOf(request)).retries.incrementAndGet();
+        stats(byOperation, operationOf(request)).retries.incrementAndGet();
+    }
+
+    /**
+     * 某个站点的统计，没有请求过时返回null
+     */
+    public Stats forHost(String host) {
+        return byHost.get(host);
+    }
+
+    /**
+     * 某个操作的统计，没有请求过时返回null
+     */
+    public Stats forOperation(String operation) {
+        return byOperation.get(operation);
+    }
+
+    public void reset() {
+        byHost.clear();
+        byOperation.clear();
+    }
+
+    private static Stats stats(Map<String, Stats> map, String key) {
+        return map.computeIfAbsent(key, k -> new Stats());
+    }
+
+    /**
+     * 导出JSON快照，按站点和按操作各一组，每组包含调用数、失败数、重试数、字节数、连接复用率和各阶段的直方图
+     */
+    public String toJson() {
+        JsonObject root = new JsonObject();
+        root.addProperty("generatedAt", System.currentTimeMillis());
+        root.addProperty("window", WINDOW);
+        JsonArray bounds = new JsonArray();
+        for (long bound : RollingHistogram.BUCKET_BOUNDS_MS) {
+            bounds.add(bound);
+        }
+        root.add("bucketBoundsMs", bounds);
+        root.add("hosts", toJson(byHost));
+        root.add("operations", toJson(byOperation));
+        Gson gson = new GsonBuilder().setPrettyPrinting().create();
+        return gson.toJson(root);
+    }
+
+    private static JsonObject toJson(Map<String, Stats> map) {
+        JsonObject group = new JsonObject();
+        for (Map.Entry<String, Stats> entry : new TreeMap<>(map).entrySet()) {
+            group.add(entry.getKey(), entry.getValue().toJson());
+        }
+        return group;
+    }
+
+    /**
+     * 文本报告，每个站点和操作一行，用于调试界面
+     */
+    public String buildReport() {
+        StringBuilder sb = new StringBuilder();
+        appendReport(sb, byHost);
+        if (!byOperation.isEmpty()) {
+            sb.append('\n');
+        }
+        appendReport(sb, byOperation);
+        return sb.length() == 0 ? "暂无请求" : sb.toString().trim();
+    }
+
+    private static void appendReport(StringBuilder sb, Map<String, Stats> map) {
+        for (Map.Entry<String, Stats> entry : new TreeMap<>(map).entrySet()) {
+            Stats stats = entry.getValue();
+            RollingHistogram.Snapshot ttfb = stats.phase(PHASE_TTFB);
+            RollingHistogram.Snapshot total = stats.phase(PHASE_TOTAL);
+            sb.append(String.format(Locale.US,
+                "%s: 请求%d 失败%d 重试%d 复用%.0f%% 首字节p50=%.0fms p95=%.0fms 总耗时p95=%.0fms 接收%.1fKB%n",
+                entry.getKey(), stats.getCalls(), stats.getFailures(), stats.getRetries(),
+                stats.connectionReuseRate() * 100, ttfb.percentileMs(50), ttfb.percentileMs(95),
+                total.percentileMs(95), stats.getBytesReceived() / 1024.0));
+        }
+    }
+
+    /**
+     * 一个站点或一个操作的累计统计
+     */
+    public static class Stats {
+        private final AtomicLong calls = new AtomicLong();
+        private final AtomicLong failures = new AtomicLong();
+        private final AtomicLong retries = new AtomicLong();
+        private final AtomicLong newConnections = new AtomicLong();
+        private final AtomicLong reusedConnections = new AtomicLong();
+        private final AtomicLong bytesReceived = new AtomicLong();
+        private final AtomicLong bytesSent = new AtomicLong();
+        private volatile long lastCallAtMs;
+        private final Map<String, RollingHistogram> phases = new LinkedHashMap<>();
+
+        Stats() {
+            for (String phase : PHASES) {
+                phases.put(phase, new RollingHistogram(WINDOW));
+            }
+        }
+
+        public long getCalls() {
+            return calls.get();
+        }
+
+        /**
+         * 网络层失败的调用数，服务端返回的错误状态码不计入
+         */
+        public long getFailures() {
+            return failures.get();
+        }
+
+        public long getRetries() {
+            return retries.get();
+        }
+
+        public long getBytesReceived() {
+            return bytesReceived.get();
+        }
+
+        public long getBytesSent() {
+            return bytesSent.get();
+        }
+
+        /**
+         * 最近一次调用结束的时间（毫秒时间戳），没有结束的调用时为0
+         */
+        public long getLastCallAtMs() {
+            return lastCallAtMs;
+        }
+
+        /**
+         * 获取连接时复用已有连接的比例，没有获取过连接时返回0
+         */
+        public double connectionReuseRate() {
+            long reused = reusedConnections.get();
+            long total = reused + newConnections.get();
+            return total == 0 ? 0 : (double) reused / total;
+        }
+
+        /**
+         * 某个阶段的耗时直方图，取NetworkTelemetry中的PHASE_常量
+         */
+        public RollingHistogram.Snapshot phase(String phase) {
+            RollingHistogram histogram = phases.get(phase);
+            if (histogram == null) {
+                throw new IllegalArgumentException("未知阶段: " + phase);
+            }
+            return histogram.snapshot();
+        }
+
+        void record(String phase, long nanos) {
+            phases.get(phase).record(nanos);
+        }
+
+        JsonObject toJson() {
+            JsonObject json = new JsonObject();
+            json.addProperty("calls", calls.get());
+            json.addProperty("failures", failures.get());
+            json.addProperty("retries", retries.get());
+            json.addProperty("bytesReceived", bytesReceived.get());
+            json.addProperty("bytesSent", bytesSent.get());
+            json.addProperty("connectionsNew", newConnections.get());
+            json.addProperty("connectionsReused", reusedConnections.get());
+            json.addProperty("reuseRate", Math.round(connectionReuseRate() * 1000) / 1000.0);
+            JsonObject phaseJson = new JsonObject();
+            for (String phase : PHASES) {
+                RollingHistogram.Snapshot snapshot = phase(phase);
+                if (snapshot.getCount() == 0) continue;
+                JsonObject item = new JsonObject();
+                item.addProperty("count", snapshot.getCount());
+                item.addProperty("p50Ms", round(snapshot.percentileMs(50)));
+                item.addProperty("p95Ms", round(snapshot.percentileMs(95)));
+                item.addProperty("maxMs", round(snapshot.maxMs()));
+                JsonArray buckets = new JsonArray();
+                for (long bucket : snapshot.getBuckets()) {
+                    buckets.add(bucket);
+                }
+                item.add("buckets", buckets);
+                phaseJson.add(phase, item);
+            }
+            json.add("phases", phaseJson);
+            return json;
+        }
+
+        private static double round(double ms) {
+            return Math.round(ms * 10) / 10.0;
+        }
+    }
+
+    /**
+     * 写入请求tag的操作名称
+     */
+    private static final class OperationTag {
+        final String name;
+
+        OperationTag(String name) {
+            this.name = name;
+        }
+    }
+
+    /**
+     * 单次调用的事件监听，同一调用的事件按顺序回调，不需要同步
+     */
+    private class CallListener extends EventListener {
+        private final Stats hostStats;
+        private final Stats operationStats;
+
+        private long callStart;
+        private long dnsStart;
+        private long connectStart;
+        private long secureConnectStart;
+        private long requestStart;
+        private long responseBodyStart;
+        private boolean connecting; // 本次获取连接前新建了连接
+
+        CallListener(Request request) {
+            this.hostStats = stats(byHost, hostOf(request));
+            this.operationStats = stats(byOperation, operationOf(request));
+        }
+
+        private void record(String phase, long startNanos) {
+            if (startNanos == 0) return;
+            long nanos = System.nanoTime() - startNanos;
+            hostStats.record(phase, nanos);
+            operationStats.record(phase, nanos);
+        }
+
+        private void add(AtomicLong hostCounter, AtomicLong operationCounter, long delta) {
+            hostCounter.addAndGet(delta);
+            operationCounter.addAndGet(delta);
+        }
+
+        @Override
+        public void callStart(Call call) {
+            callStart = System.nanoTime();
+        }
+
+        @Override
+        public void dnsStart(Call call, String domainName) {
+            dnsStart = System.nanoTime();
+        }
+
+        @Override
+        public void dnsEnd(Call call, String domainName, List<InetAddress> inetAddressList) {
+            record(PHASE_DNS, dnsStart);
+        }
+
+        @Override
+        public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+            connectStart = System.nanoTime();
+            connecting = true;
+        }
+
+        @Override
+        public void secureConnectStart(Call call) {
+            secureConnectStart = System.nanoTime();
+        }
+
+        @Override
+        public void secureConnectEnd(Call call, Handshake handshake) {
+            record(PHASE_TLS, secureConnectStart);
+        }
+
+        @Override
+        public void connectEnd(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol) {
+            record(PHASE_CONNECT, connectStart);
+        }
+
+        @Override
+        public void connectionAcquired(Call call, Connection connection) {
+            if (connecting) {
+                add(hostStats.newConnections, operationStats.newConnections, 1);
+            } else {
+                add(hostStats.reusedConnections, operationStats.reusedConnections, 1);
+            }
+            connecting = false;
+        }
+
+        @Override
+        public void requestHeadersStart(Call call) {
+            requestStart = System.nanoTime();
+        }
+
+        @Override
+        public void requestHeadersEnd(Call call, Request request) {
+            add(hostStats.bytesSent, operationStats.bytesSent, request.headers().byteCount());
+        }
+
+        @Override
+        public void requestBodyEnd(Call call, long byteCount) {
+            add(hostStats.bytesSent, operationStats.bytesSent, byteCount);
+        }
+
+        @Override
+        public void responseHeadersStart(Call call) {
+            record(PHASE_TTFB, requestStart);
+        }
+
+        @Override
+        public void responseHeadersEnd(Call call, Response response) {
+            add(hostStats.bytesReceived, operationStats.bytesReceived, response.headers().byteCount());
+        }
+
+        @Override
+        public void responseBodyStart(Call call) {
+            responseBodyStart = System.nanoTime();
+        }
+
+        @Override
+        public void responseBodyEnd(Call call, long byteCount) {
+            record(PHASE_BODY, responseBodyStart);
+            add(hostStats.bytesReceived, operationStats.bytesReceived, byteCount);
+        }
+
+        @Override
+        public void callEnd(Call call) {
+            add(hostStats.calls, operationStats.calls, 1);
+            long now = System.currentTimeMillis();
+            hostStats.lastCallAtMs = now;
+            operationStats.lastCallAtMs = now;
+            record(PHASE_TOTAL, callStart);
+        }
+
+        @Override
+        public void callFailed(Call call, IOException ioe) {
+            add(hostStats.calls, operationStats.calls, 1);
+            add(hostStats.failures, operationStats.failures, 1);
+            record(PHASE_TOTAL, callStart);
+        }
+    }
+}
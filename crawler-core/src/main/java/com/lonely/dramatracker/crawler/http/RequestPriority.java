@@ -0,0 +1,69 @@
+package com.lonely.dramatracker.crawler.http;
+
+import java.util.function.Supplier;
+
+import okhttp3.Request;
+
+/**
+ * 请求优先级
+ * 用户正在等待的请求为交互请求，后台预取等任务发起的请求为后台请求；
+ * HostRateLimiter让后台请求给交互请求让行。
+ * 与NetworkTelemetry的操作标记一样，由发起任务的线程标记，构造请求时写入请求的tag，
+ * 因此在定时线程上发起的重试仍保持原来的优先级
+ */
+public final class RequestPriority {
+    private static final ThreadLocal<Boolean> background = new ThreadLocal<>();
+    private static final BackgroundTag BACKGROUND_TAG = new BackgroundTag();
+
+    private RequestPriority() {
+    }
+
+    /**
+     * 当前线程发起的请求是否为后台请求
+     */
+    public static boolean isBackground() {
+        return Boolean.TRUE.equals(background.get());
+    }
+
+    /**
+     * 在当前线程上以指定优先级执行body，期间发起的异步任务（经propagate包装的）和构造的请求继承该优先级
+     */
+    public static <T> T call(boolean isBackground, Supplier<T> body) {
+        Boolean previous = background.get();
+        background.set(isBackground);
+        try {
+            return body.get();
+        } finally {
+            if (previous == null) {
+                background.remove();
+            } else {
+                background.set(previous);
+            }
+        }
+    }
+
+    /**
+     * 记下当前线程的优先级，包装后的任务在其他线程执行时沿用该优先级
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> body) {
+        boolean captured = isBackground();
+        return () -> call(captured, body);
+    }
+
+    /**
+     * 把当前线程的优先级写入请求，交互请求不加tag
+     */
+    public static Request.Builder tag(Request.Builder builder) {
+        return isBackground() ? builder.tag(BackgroundTag.class, BACKGROUND_TAG) : builder;
+    }
+
+    /**
+     * 请求是否为后台请求
+     */
+    public static boolean isBackground(Request request) {
+        return request.tag(BackgroundTag.class) != null;
+    }
+
+    private static final class BackgroundTag {
+    }
+}
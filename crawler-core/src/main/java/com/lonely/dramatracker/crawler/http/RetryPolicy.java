@@ -0,0 +1,64 @@
+package com.lonely.dramatracker.crawler.http;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 请求重试策略
+ * 重试间隔按指数增长并加入随机抖动，避免多个失败请求同时重试；
+ * 每个逻辑请求（含所有重试）有总的时间预算，超出后不再重试
+ */
+public class RetryPolicy {
+    private static final long DEFAULT_BASE_DELAY_MS = 500;
+    private static final long DEFAULT_MAX_DELAY_MS = 8_000;
+    private static final long DEFAULT_BUDGET_MS = 60_000;
+
+    private final int maxRetries;
+    private final long baseDelayMs;
+    private final long maxDelayMs;
+    private final long budgetMs;
+
+    public RetryPolicy(int maxRetries, long baseDelayMs, long maxDelayMs, long budgetMs) {
+        this.maxRetries = maxRetries;
+        this.baseDelayMs = baseDelayMs;
+        this.maxDelayMs = maxDelayMs;
+        this.budgetMs = budgetMs;
+    }
+
+    /**
+     * 默认策略：0.5s起步、最长8s的退避，总预算60s
+     * @param maxRetries 最大重试次数
+     */
+    public static RetryPolicy withMaxRetries(int maxRetries) {
+        return new RetryPolicy(maxRetries, DEFAULT_BASE_DELAY_MS, DEFAULT_MAX_DELAY_MS, DEFAULT_BUDGET_MS);
+    }
+
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    public long getBudgetMs() {
+        return budgetMs;
+    }
+
+    /**
+     * 计算第attempt次失败后的等待时间（从0开始），在[指数上限/2, 指数上限]之间随机
+     */
+    public long backoffDelay(int attempt) {
+        long cap = Math.min(maxDelayMs, baseDelayMs << Math.min(attempt, 20));
+        long half = cap / 2;
+        return half + ThreadLocalRandom.current().nextLong(cap - half + 1);
+    }
+
+    /**
+     * 判断错误是否值得重试
+     * 网络错误、超时、408/429和5xx可以重试；其余4xx说明请求本身有问题，重试也不会成功
+     */
+    public boolean isRetryable(IOException e) {
+        if (e instanceof HttpResponseException) {
+            int code = ((HttpResponseException) e).getCode();
+            return code == 408 || code == 429 || code >= 500;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,248 @@
+package com.lonely.dramatracker.crawler.http;
+
+import com.lonely.dramatracker.crawler.CancellationToken;
+import com.lonely.dramatracker.crawler.CrawlerEndpoints;
+import com.lonely.dramatracker.crawler.CrawlerLog;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * 非阻塞的请求重试调度器
+ * 请求通过OkHttp的enqueue异步执行，等待限流许可和重试间隔都交给一个定时线程调度，
+ * 等待期间不占用任何线程；令牌取消时撤销待执行的重试并中止正在进行的请求。
+ * 数据源熔断时请求不发出直接失败，已在重试中的请求也不再继续重试。
+ * 带后台标记（RequestPriority）的请求获取限流许可时给交互请求让行
+ */
+public class RetryScheduler {
+    private static final String TAG = "RetryScheduler";
+
+    // 只负责在到期时发起下一次尝试，本身不做网络请求
+    private static final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "crawler-retry");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final OkHttpClient client;
+    private final HostRateLimiter rateLimiter;
+    private final CircuitBreakerRegistry circuitBreakers;
+    private final NetworkTelemetry telemetry; // 可为null
+
+    public RetryScheduler(OkHttpClient client, HostRateLimiter rateLimiter, CircuitBreakerRegistry circuitBreakers) {
+        this(client, rateLimiter, circuitBreakers, null);
+    }
+
+    /**
+     * @param telemetry 记录重试次数，为null时不统计
+     */
+    public RetryScheduler(OkHttpClient client, HostRateLimiter rateLimiter, CircuitBreakerRegistry circuitBreakers,
+                          NetworkTelemetry telemetry) {
+        this.client = client;
+        this.rateLimiter = rateLimiter;
+        this.circuitBreakers = circuitBreakers;
+        this.telemetry = telemetry;
+    }
+
+    /**
+     * 异步执行请求
+     * @return 成功时完成为响应内容；失败时以最后一次的IOException完成，取消时以CancellationException完成
+     */
+    public CompletableFuture<String> execute(Request request, RetryPolicy policy, CancellationToken token) {
+        LogicalRequest logical = new LogicalRequest(request, policy, token);
+        logical.start();
+        return logical.future;
+    }
+
+    /**
+     * 一个逻辑请求，包含首次尝试和所有重试
+     */
+    private class LogicalRequest implements Callback {
+        final CompletableFuture<String> future = new CompletableFuture<>();
+        private final Request request;
+        private final String host;
+        private final RetryPolicy policy;
+        private final CancellationToken token;
+        private final long deadlineMs;
+        private final CircuitBreaker breaker; // 不属于已知数据源时为null
+        private final boolean background; // 后台请求，获取许可时给交互请求让行
+        private final Runnable onCancel = this::cancel;
+
+        private int attempt; // 已失败的次数
+        private boolean waitedForPermit;
+        private volatile Call call;
+        private volatile ScheduledFuture<?> pending;
+
+        LogicalRequest(Request request, RetryPolicy policy, CancellationToken token) {
+            this.request = request;
+            // 回放测试中请求的是本地地址，仍按原站点限流和熔断
+            this.host = CrawlerEndpoints.upstreamHost(request.url().toString(), request.url().host());
+            this.policy = policy;
+            this.token = token;
+            this.deadlineMs = System.currentTimeMillis() + policy.getBudgetMs();
+            this.breaker = circuitBreakers.forHost(host);
+            this.background = RequestPriority.isBackground(request);
+        }
+
+        void start() {
+            if (breaker != null && !breaker.allowRequest()) {
+                future.completeExceptionally(new CircuitOpenException(breaker.getName()));
+                return;
+            }
+            token.register(onCancel);
+            future.whenComplete((result, error) -> {
+                token.unregister(onCancel);
+                recordOutcome(error);
+            });
+            tryStart();
+        }
+
+        /**
+         * 按逻辑请求的最终结果更新熔断器，重试中的单次失败不计入
+         */
+        private void recordOutcome(Throwable error) {
+            if (breaker == null) return;
+            if (error == null) {
+                breaker.onSuccess();
+            } else if (error instanceof CancellationException || error instanceof CircuitOpenException) {
+                // 被取消，或重试前发现已熔断（失败已由其他请求计入），都不重复计数
+                breaker.onAbandoned();
+            } else if (error instanceof HttpResponseException && !policy.isRetryable((IOException) error)) {
+                // 服务端正常返回的4xx，数据源本身可用
+                breaker.onSuccess();
+            } else {
+                breaker.onFailure();
+            }
+        }
+
+        private void cancel() {
+            ScheduledFuture<?> scheduled = pending;
+            if (scheduled != null) {
+                scheduled.cancel(false);
+            }
+            Call current = call;
+            if (current != null) {
+                current.cancel();
+            }
+            future.completeExceptionally(new CancellationException("操作已取消"));
+        }
+
+        private void schedule(long delayMs) {
+            if (future.isDone()) return;
+            pending = timer.schedule(this::tryStart, delayMs, TimeUnit.MILLISECONDS);
+        }
+
+        /**
+         * 取得限流许可后发起一次尝试，暂时拿不到许可时在定时线程上稍后再试
+         */
+        private void tryStart() {
+            if (future.isDone()) return;
+            if (attempt > 0 && breaker != null && breaker.isOpen()) {
+                // 其他请求已确认数据源不可用，不再重试
+                future.completeExceptionally(new CircuitOpenException(breaker.getName()));
+                return;
+            }
+            long now = System.currentTimeMillis();
+            long remaining = deadlineMs - now;
+            long waitMs = remaining > 0 ? rateLimiter.tryAcquire(host, background) : 0;
+            if (remaining <= 0 || waitMs >= remaining) {
+                rateLimiter.recordLocalRejection(host);
+                fail(new IOException("请求" + host + "超出时间预算"));
+                return;
+            }
+            if (waitMs > 0) {
+                waitedForPermit = true;
+                schedule(waitMs);
+                return;
+            }
+            if (waitedForPermit) {
+                rateLimiter.recordWait(host);
+                waitedForPermit = false;
+            }
+
+            Call next = client.newCall(request);
+            // 单次尝试也不能超出剩余预算
+            next.timeout().timeout(remaining, TimeUnit.MILLISECONDS);
+            call = next;
+            if (future.isDone()) {
+                // 已在获取许可期间被取消，enqueue后会立即回调onFailure并释放许可
+                next.cancel();
+            }
+            next.enqueue(this);
+        }
+
+        @Override
+        public void onResponse(Call call, Response response) {
+            long retryAfterMs = 0;
+            IOException error;
+            try (Response r = response) {
+                if (r.isSuccessful()) {
+                    String body = r.body().string();
+                    rateLimiter.onSuccess(host);
+                    future.complete(body);
+                    return;
+                }
+                error = new HttpResponseException(r.code(), r.message());
+                if (r.code() == 429 || r.code() == 503) {
+                    retryAfterMs = HostRateLimiter.parseRetryAfter(r.header("Retry-After"));
+                    rateLimiter.onThrottled(host, retryAfterMs);
+                } else {
+                    rateLimiter.release(host);
+                }
+            } catch (IOException e) {
+                // 读取响应体失败
+                onFailure(call, e);
+                return;
+            }
+            handleFailure(error, retryAfterMs);
+        }
+
+        @Override
+        public void onFailure(Call call, IOException e) {
+            if (e instanceof SocketTimeoutException) {
+                rateLimiter.onTimeout(host);
+            } else {
+                rateLimiter.release(host);
+            }
+            if (token.isCancelled() || call.isCanceled()) {
+                future.completeExceptionally(new CancellationException("操作已取消"));
+                return;
+            }
+            handleFailure(e, 0);
+        }
+
+        private void handleFailure(IOException e, long retryAfterMs) {
+            CrawlerLog.w(TAG, "请求失败，第 " + (attempt + 1) + " 次，URL: " + request.url() + "，错误: " + e.getMessage());
+            if (!policy.isRetryable(e) || attempt >= policy.getMaxRetries()) {
+                fail(e);
+                return;
+            }
+            long delayMs = Math.max(policy.backoffDelay(attempt), retryAfterMs);
+            attempt++;
+            if (System.currentTimeMillis() + delayMs >= deadlineMs) {
+                fail(e);
+                return;
+            }
+            if (telemetry != null) {
+                telemetry.recordRetry(request);
+            }
+            schedule(delayMs);
+        }
+
+        private void fail(IOException e) {
+            future.completeExceptionally(e);
+        }
+    }
+}
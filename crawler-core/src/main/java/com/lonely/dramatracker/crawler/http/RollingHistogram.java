@@ -0,0 +1,112 @@
+package com.lonely.dramatracker.crawler.http;
+
+import java.util.Arrays;
+
+/**
+ * 只保留最近若干个样本的耗时直方图
+ * 样本存放在环形缓冲区中，百分位数和分桶都按窗口内的样本计算，累计次数不受窗口限制
+ */
+public class RollingHistogram {
+    // 分桶上界（毫秒），最后一个桶收容超过最大上界的样本
+    static final long[] BUCKET_BOUNDS_MS = {1, 2, 4, 8, 16, 32, 64, 128, 256, 512, 1024, 2048, 4096};
+
+    private final long[] samples;
+    private int next;
+    private int size;
+    private long total;
+
+    public RollingHistogram(int window) {
+        if (window <= 0) {
+            throw new IllegalArgumentException("window必须大于0");
+        }
+        this.samples = new long[window];
+    }
+
+    /**
+     * 记录一个样本
+     * @param nanos 耗时，负数按0记录
+     */
+    public synchronized void record(long nanos) {
+        samples[next] = Math.max(nanos, 0);
+        next = (next + 1) % samples.length;
+        if (size < samples.length) {
+            size++;
+        }
+        total++;
+    }
+
+    /**
+     * 累计样本数（含已移出窗口的样本）
+     */
+    public synchronized long count() {
+        return total;
+    }
+
+    public synchronized Snapshot snapshot() {
+        long[] sorted = Arrays.copyOf(samples, size);
+        Arrays.sort(sorted);
+        long[] buckets = new long[BUCKET_BOUNDS_MS.length + 1];
+        for (long nanos : sorted) {
+            buckets[bucketOf(nanos)]++;
+        }
+        return new Snapshot(total, sorted, buckets);
+    }
+
+    private static int bucketOf(long nanos) {
+        double ms = nanos / 1_000_000.0;
+        for (int i = 0; i < BUCKET_BOUNDS_MS.length; i++) {
+            if (ms <= BUCKET_BOUNDS_MS[i]) {
+                return i;
+            }
+        }
+        return BUCKET_BOUNDS_MS.length;
+    }
+
+    /**
+     * 某一时刻窗口内样本的统计
+     */
+    public static class Snapshot {
+        private final long count;
+        private final long[] sorted;
+        private final long[] buckets;
+
+        Snapshot(long count, long[] sorted, long[] buckets) {
+            this.count = count;
+            this.sorted = sorted;
+            this.buckets = buckets;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * 窗口内的样本数
+         */
+        public int getWindowSize() {
+            return sorted.length;
+        }
+
+        /**
+         * 百分位数，最近秩法
+         * @param percentile 0-100
+         * @return 毫秒，没有样本时返回0
+         */
+        public double percentileMs(int percentile) {
+            if (sorted.length == 0) return 0;
+            int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+            return sorted[Math.max(rank, 1) - 1] / 1_000_000.0;
+        }
+
+        public double maxMs() {
+            return sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1_000_000.0;
+        }
+
+        /**
+         * 各桶的样本数，第i个桶对应耗时不超过 BUCKET_BOUNDS_MS[i] 毫秒，最后一个桶为更长的耗时
+         */
+        public long[] getBuckets() {
+            return buckets.clone();
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.lonely.dramatracker.crawler.parse;
+
+import com.lonely.dramatracker.crawler.CrawlerLog;
+import com.lonely.dramatracker.crawler.text.TextNormalizer;
+
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+import org.jsoup.select.Evaluator;
+import org.jsoup.select.QueryParser;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Bangumi每日放送表解析
+ * HTML中的结构是 #colunmSingle .BgmCalendar .large > li.week，
+ * 每个星期容器的dt中是星期标题，dd ul.coverList > li 中是当天的动漫
+ */
+public final class BangumiCalendarParser {
+    private static final String TAG = "BangumiCalendarParser";
+
+    private static final String CALENDAR_BASE_URL = "https://chii.in";
+
+    private static final Evaluator WEEKDAYS = QueryParser.parse("#colunmSingle .BgmCalendar ul.large > li.week");
+    private static final Evaluator WEEKDAYS_FALLBACK = QueryParser.parse("li.week");
+    private static final Evaluator WEEKDAY_TITLE = QueryParser.parse("dt div h3");
+    private static final Evaluator WEEKDAY_TITLE_FALLBACK = QueryParser.parse("dt");
+    private static final Evaluator ANIME_ITEMS = QueryParser.parse("dd ul.coverList > li");
+    private static final Evaluator TITLE_LINKS = QueryParser.parse(".info p a.nav");
+    private static final Evaluator TITLE_LINK_FALLBACK = QueryParser.parse(".info a");
+    private static final Evaluator SMALL_EM = QueryParser.parse("small em");
+    private static final Evaluator SUBTITLE = QueryParser.parse(".info p:nth-child(2) a.nav small em");
+
+    // 与页面上的星期顺序一致
+    private static final String[][] WEEKDAY_NAMES = {
+        {"星期日", "sunday"},
+        {"星期一", "monday"},
+        {"星期二", "tuesday"},
+        {"星期三", "wednesday"},
+        {"星期四", "thursday"},
+        {"星期五", "friday"},
+        {"星期六", "saturday"}
+    };
+
+    private BangumiCalendarParser() {
+    }
+
+    /**
+     * 解析放送表页面
+     * @param doc 放送表文档
+     * @param counter 记录各类元素的数量和回退次数
+     * @return 星期（如 "星期日"）→ 当天的动漫，只包含页面上识别出的星期，没有标题的条目已跳过
+     */
+    public static Map<String, List<CalendarEntry>> parse(Element doc, ParseCounter counter) {
+        Map<String, List<CalendarEntry>> schedule = new LinkedHashMap<>();
+
+        Elements weekdayElements = doc.select(WEEKDAYS);
+        if (weekdayElements.isEmpty()) {
+            CrawlerLog.w(TAG, "未找到任何星期容器，尝试其他选择器");
+            // 尝试更宽松的选择器
+            weekdayElements = doc.select(WEEKDAYS_FALLBACK);
+            counter.increment("weekdayFallback");
+        }
+        counter.add("weekdays", weekdayElements.size());
+
+        for (Element weekdayElement : weekdayElements) {
+            // 星期标题在dt元素中，如<dt class="Sun"><div><h3>星期日</h3></div></dt>
+            Element titleElement = weekdayElement.selectFirst(WEEKDAY_TITLE);
+            if (titleElement == null) {
+                counter.increment("titleFallback");
+                titleElement = weekdayElement.selectFirst(WEEKDAY_TITLE_FALLBACK);
+                if (titleElement == null) {
+                    counter.increment("weekdayWithoutTitle");
+                    continue;
+                }
+            }
+
+            String weekdayText = titleElement.text();
+            String dayOfWeek = extractDayOfWeek(weekdayText);
+            if (dayOfWeek == null) {
+                CrawlerLog.w(TAG, "无法识别的星期: " + weekdayText);
+                counter.increment("unknownWeekday");
+                continue;
+            }
+
+            Elements animeItems = weekdayElement.select(ANIME_ITEMS);
+            counter.add("items", animeItems.size());
+
+            List<CalendarEntry> entries = new ArrayList<>(animeItems.size());
+            for (Element animeItem : animeItems) {
+                CalendarEntry entry = parseItem(animeItem, counter);
+                // 添加到列表前检查是否有基本信息
+                if (isNotEmpty(entry.titleZh) || isNotEmpty(entry.titleOriginal)) {
+                    entries.add(entry);
+                } else {
+                    counter.increment("skippedWithoutTitle");
+                }
+            }
+            schedule.put(dayOfWeek, entries);
+        }
+        return schedule;
+    }
+
+    /**
+     * 解析放送表中的一部动漫
+     */
+    static CalendarEntry parseItem(Element animeItem, ParseCounter counter) {
+        CalendarEntry entry = new CalendarEntry();
+
+        // 解析动漫标题，在info div中的第一个a标签
+        Elements navLinks = animeItem.select(TITLE_LINKS);
+        Element titleLink = navLinks.isEmpty() ? null : navLinks.get(0);
+        if (titleLink != null) {
+            String title = titleLink.text();
+            if (!title.isEmpty()) {
+                entry.titleZh = title;
+            } else if (navLinks.size() > 1) {
+                counter.increment("secondaryTitle");
+                // 尝试获取第二个标签中的标题
+                Element secondTitleElement = navLinks.get(1);
+                Element smallEmElement = secondTitleElement.selectFirst(SMALL_EM);
+                entry.titleZh = smallEmElement != null ? smallEmElement.text() : secondTitleElement.text();
+            } else {
+                counter.increment("secondaryTitle");
+            }
+        } else {
+            counter.increment("linkFallback");
+            titleLink = animeItem.selectFirst(TITLE_LINK_FALLBACK);
+            if (titleLink != null) {
+                entry.titleZh = titleLink.text();
+            }
+        }
+
+        // 提取ID和URL
+        if (titleLink != null) {
+            String href = titleLink.attr("href");
+            if (href.contains("/subject/")) {
+                entry.sourceId = href.substring(href.lastIndexOf("/") + 1);
+                entry.sourceUrl = TextNormalizer.ensureFullUrl(href, CALENDAR_BASE_URL);
+            }
+        }
+
+        // 解析原始标题（日文/英文标题）
+        Element subtitleElement = animeItem.selectFirst(SUBTITLE);
+        if (subtitleElement != null) {
+            entry.titleOriginal = subtitleElement.text();
+        }
+
+        entry.posterUrl = posterFromStyle(animeItem.attr("style"));
+        return entry;
+    }
+
+    /**
+     * 从背景样式中提取海报URL，如 background:url('//lain.bgm.tv/pic/cover/c/xx.jpg')
+     * @return 海报URL，样式中没有时返回null
+     */
+    static String posterFromStyle(String inlineStyle) {
+        if (inlineStyle == null || inlineStyle.isEmpty()) {
+            return null;
+        }
+        int start = inlineStyle.indexOf("url(");
+        int end = inlineStyle.indexOf(')');
+        if (start < 0 || end < start + 4) {
+            return null;
+        }
+        String posterUrl = inlineStyle.substring(start + 4, end)
+            // 移除可能存在的引号
+            .replace("'", "").replace("\"", "")
+            // 解码HTML实体
+            .replace("&#39;", "'");
+        return posterUrl.isEmpty() ? null : TextNormalizer.ensureFullUrl(posterUrl, "https:");
+    }
+
+    /**
+     * 从标题中提取星期几
+     * @return 如 "星期日"，无法识别时返回null
+     */
+    static String extractDayOfWeek(String weekdayText) {
+        if (weekdayText == null) return null;
+
+        String text = weekdayText.toLowerCase(Locale.ROOT);
+        for (String[] names : WEEKDAY_NAMES) {
+            if (text.contains(names[0]) || text.contains(names[1])) {
+                return names[0];
+            }
+        }
+        return null;
+    }
+
+    private static boolean isNotEmpty(String text) {
+        return text != null && !text.isEmpty();
+    }
+}
@@ -0,0 +1,59 @@
+package com.lonely.dramatracker.crawler.parse;
+
+/**
+ * Bangumi搜索页中的一个条目
+ * 只包含列表中能直接取到的字段，页面上没有的字段为null
+ */
+public class BangumiItem {
+    String sourceId;
+    String sourceUrl;
+    String titleZh;
+    String titleOriginal;
+    String releaseDate;
+    String staff;
+    String year;
+    String posterUrl;
+    Double rating;
+
+    BangumiItem() {
+    }
+
+    public String getSourceId() {
+        return sourceId;
+    }
+
+    public String getSourceUrl() {
+        return sourceUrl;
+    }
+
+    public String getTitleZh() {
+        return titleZh;
+    }
+
+    public String getTitleOriginal() {
+        return titleOriginal;
+    }
+
+    public String getReleaseDate() {
+        return releaseDate;
+    }
+
+    public String getStaff() {
+        return staff;
+    }
+
+    public String getYear() {
+        return year;
+    }
+
+    public String getPosterUrl() {
+        return posterUrl;
+    }
+
+    /**
+     * @return 评分，页面上没有或无法解析时返回null
+     */
+    public Double getRating() {
+        return rating;
+    }
+}
@@ -0,0 +1,273 @@
+package com.lonely.dramatracker.crawler.parse;
+
+import com.lonely.dramatracker.crawler.CrawlerLog;
+import com.lonely.dramatracker.crawler.text.TextNormalizer;
+
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Node;
+import org.jsoup.nodes.TextNode;
+import org.jsoup.select.Elements;
+import org.jsoup.select.Evaluator;
+import org.jsoup.select.QueryParser;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Bangumi页面解析
+ * 选择器在类加载时编译为Evaluator，逐条解析时不再重复解析选择器字符串；
+ * 详情页的 #infobox 只遍历一次，按 "键: 值" 转换为Map后再取各字段，
+ * 代替对每个字段分别执行 li:contains(...) 查询（每次都要扫描所有li的文本）
+ */
+public final class BangumiParser {
+    private static final String TAG = "BangumiParser";
+
+    // 搜索页
+    private static final Evaluator SEARCH_ITEMS = QueryParser.parse("#browserItemList .item");
+    private static final Evaluator ITEM_TITLE_LINK = QueryParser.parse("h3 a");
+    private static final Evaluator ITEM_ORIGINAL_TITLE = QueryParser.parse("h3 small.grey");
+    private static final Evaluator ITEM_INFO = QueryParser.parse(".info");
+    private static final Evaluator ITEM_RATING = QueryParser.parse(".fade");
+    private static final Evaluator MULTIPAGE_LINKS = QueryParser.parse("#multipage a.p");
+
+    // 详情页
+    private static final Evaluator SUBJECT_TITLE = QueryParser.parse("h1.nameSingle a");
+    private static final Evaluator INFOBOX_ITEMS = QueryParser.parse("#infobox > li");
+    private static final Evaluator INFOBOX_KEY = QueryParser.parse("span.tip");
+    private static final Evaluator GLOBAL_SCORE = QueryParser.parse(".global_score .number");
+    private static final Evaluator SUMMARY = QueryParser.parse("#subject_summary");
+    private static final Evaluator COVER = QueryParser.parse("img.cover");
+
+    private static final Pattern PAGE_PARAM = Pattern.compile("page=(\\d+)");
+
+    // infobox 中作为制作人员展示的字段（键包含这些词即可）
+    private static final String[] STAFF_KEYS = {"导演", "脚本", "音乐", "原作"};
+
+    private BangumiParser() {
+    }
+
+    /**
+     * 搜索页中的条目元素
+     */
+    public static Elements searchItems(Element doc) {
+        return doc.select(SEARCH_ITEMS);
+    }
+
+    /**
+     * 解析搜索页的一个条目
+     * @param item 条目元素
+     * @param baseUrl 站点地址，用于拼接条目链接
+     * @return 只含列表字段的条目
+     */
+    public static BangumiItem parseSearchItem(Element item, String baseUrl) {
+        BangumiItem result = new BangumiItem();
+
+        // 解析ID、URL和标题
+        Element titleLink = item.selectFirst(ITEM_TITLE_LINK);
+        if (titleLink != null) {
+            String href = titleLink.attr("href");
+            result.sourceId = href.substring(href.lastIndexOf("/") + 1);
+            result.sourceUrl = baseUrl + href;
+            result.titleZh = titleLink.text();
+        }
+
+        // 解析原标题
+        Element originalTitleElement = item.selectFirst(ITEM_ORIGINAL_TITLE);
+        if (originalTitleElement != null) {
+            result.titleOriginal = originalTitleElement.text();
+        }
+
+        // 解析发布日期、制作人员和年份
+        Element infoElement = item.selectFirst(ITEM_INFO);
+        if (infoElement != null) {
+            String info = infoElement.text();
+            int separator = info.indexOf(" / ");
+
+            // 发布日期通常位于info开头的年月日部分
+            if (separator >= 0 && TextNormalizer.startsWithChineseDate(info)) {
+                result.releaseDate = info.substring(0, separator);
+            }
+
+            // 制作人员通常位于日期之后
+            if (separator >= 0) {
+                result.staff = info.substring(separator + 3);
+            }
+
+            result.year = TextNormalizer.firstYear(info);
+        }
+
+        // 解析海报URL
+        result.posterUrl = parseCover(item);
+
+        // 解析评分
+        Element ratingElement = item.selectFirst(ITEM_RATING);
+        if (ratingElement != null) {
+            result.rating = parseRating(ratingElement.text());
+        }
+
+        return result;
+    }
+
+    /**
+     * 从搜索页的分页导航中读取最大页码
+     * @return 最大页码，没有分页导航时返回1
+     */
+    public static int parseLastPage(Element doc) {
+        int lastPage = 1;
+        for (Element link : doc.select(MULTIPAGE_LINKS)) {
+            Matcher matcher = PAGE_PARAM.matcher(link.attr("href"));
+            if (!matcher.find()) continue;
+            try {
+                lastPage = Math.max(lastPage, Integer.parseInt(matcher.group(1)));
+            } catch (NumberFormatException ignored) {
+                // 忽略无法解析的链接
+            }
+        }
+        return lastPage;
+    }
+
+    /**
+     * 一次遍历 #infobox，转换为 键→值 的有序Map
+     * 没有键的li（如折叠的多个别名）追加到上一个键的值后面
+     */
+    public static Map<String, String> parseInfobox(Element doc) {
+        Map<String, String> infobox = new LinkedHashMap<>();
+        String lastKey = null;
+        for (Element li : doc.select(INFOBOX_ITEMS)) {
+            Element tip = li.selectFirst(INFOBOX_KEY);
+            String key;
+            String value;
+            if (tip != null && tip.parent() == li) {
+                key = stripColon(tip.text());
+                value = textAfter(li, tip);
+            } else {
+                String text = li.text();
+                int colon = text.indexOf(": ");
+                key = colon > 0 ? text.substring(0, colon).trim() : null;
+                value = colon > 0 ? text.substring(colon + 2).trim() : text.trim();
+            }
+            if (key == null || key.isEmpty()) {
+                if (lastKey != null && !value.isEmpty()) {
+                    infobox.put(lastKey, infobox.get(lastKey) + "、" + value);
+                }
+                continue;
+            }
+            String existing = infobox.get(key);
+            infobox.put(key, existing == null || existing.isEmpty() ? value : existing + "、" + value);
+            lastKey = key;
+        }
+        return infobox;
+    }
+
+    /**
+     * 详情页的中文标题
+     * @return 标题，没有时返回null
+     */
+    public static String parseTitle(Element doc) {
+        Element titleElement = doc.selectFirst(SUBJECT_TITLE);
+        return titleElement != null ? titleElement.text() : null;
+    }
+
+    /**
+     * 详情页的评分
+     * @return 评分，没有或无法解析时返回null
+     */
+    public static Double parseScore(Element doc) {
+        Element ratingElement = doc.selectFirst(GLOBAL_SCORE);
+        return ratingElement != null ? parseRating(ratingElement.text()) : null;
+    }
+
+    /**
+     * 从infobox中取出制作人员相关的字段
+     * @return 键→值 的有序Map
+     */
+    public static Map<String, String> staffEntries(Map<String, String> infobox) {
+        Map<String, String> staff = new LinkedHashMap<>();
+        for (Map.Entry<String, String> entry : infobox.entrySet()) {
+            if (isStaffKey(entry.getKey())) {
+                staff.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return staff;
+    }
+
+    /**
+     * 解析详情页简介
+     * @return 简介，页面没有简介时返回null
+     */
+    public static String parseSummary(Element doc) {
+        Element summaryElement = doc.selectFirst(SUMMARY);
+        if (summaryElement == null) {
+            return null;
+        }
+        // 参考Bangumi.js的处理：替换&nbsp和多个空格为换行符
+        String summary = summaryElement.text().replace("&nbsp", "\n").trim();
+        return TextNormalizer.breakWhitespaceRuns(summary, 4);
+    }
+
+    /**
+     * 从infobox中取话数，保留页面上的原文（如 "12"、"共12话"、"未知"）
+     * @return 话数，infobox中没有该字段时返回null
+     */
+    public static String parseEpisodes(Map<String, String> infobox) {
+        return infobox.get("话数");
+    }
+
+    /**
+     * 详情页或搜索条目的海报地址
+     * @return 海报URL，没有时返回null
+     */
+    public static String parseCover(Element doc) {
+        Element posterElement = doc.selectFirst(COVER);
+        return posterElement != null ? TextNormalizer.ensureFullUrl(posterElement.attr("src"), "https:") : null;
+    }
+
+    private static Double parseRating(String text) {
+        try {
+            return Double.parseDouble(text);
+        } catch (NumberFormatException e) {
+            CrawlerLog.w(TAG, "解析评分失败: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static boolean isStaffKey(String key) {
+        for (String staffKey : STAFF_KEYS) {
+            if (key.contains(staffKey)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stripColon(String text) {
+        String key = text.trim();
+        while (key.endsWith(":") || key.endsWith("：")) {
+            key = key.substring(0, key.length() - 1).trim();
+        }
+        return key;
+    }
+
+    /**
+     * 取li中键元素之后的文本（值部分可能包含多个链接）
+     */
+    private static String textAfter(Element li, Element tip) {
+        StringBuilder sb = new StringBuilder();
+        boolean afterTip = false;
+        for (Node node : li.childNodes()) {
+            if (node == tip) {
+                afterTip = true;
+                continue;
+            }
+            if (!afterTip) continue;
+            if (node instanceof TextNode) {
+                sb.append(((TextNode) node).text());
+            } else if (node instanceof Element) {
+                sb.append(((Element) node).text());
+            }
+        }
+        return sb.toString().trim();
+    }
+}
@@ -0,0 +1,38 @@
+package com.lonely.dramatracker.crawler.parse;
+
+/**
+ * Bangumi每日放送表中的一部动漫
+ */
+public class CalendarEntry {
+    String sourceId;
+    String sourceUrl;
+    String titleZh;
+    String titleOriginal;
+    String posterUrl;
+
+    CalendarEntry() {
+    }
+
+    public String getSourceId() {
+        return sourceId;
+    }
+
+    public String getSourceUrl() {
+        return sourceUrl;
+    }
+
+    public String getTitleZh() {
+        return titleZh;
+    }
+
+    public String getTitleOriginal() {
+        return titleOriginal;
+    }
+
+    /**
+     * @return 海报URL，放送表的样式中没有海报时返回null，需要再从详情页获取
+     */
+    public String getPosterUrl() {
+        return posterUrl;
+    }
+}
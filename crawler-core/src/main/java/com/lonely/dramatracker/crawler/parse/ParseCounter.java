@@ -0,0 +1,31 @@
+package com.lonely.dramatracker.crawler.parse;
+
+/**
+ * 解析过程中的计数
+ * 记录各类元素的数量和回退次数，由宿主决定是否输出（如只在debug构建中汇总打印）
+ */
+public interface ParseCounter {
+
+    // 不记录任何计数
+    ParseCounter NONE = new ParseCounter() {
+        @Override
+        public ParseCounter increment(String counter) {
+            return this;
+        }
+
+        @Override
+        public ParseCounter add(String counter, int amount) {
+            return this;
+        }
+    };
+
+    /**
+     * 计数加一
+     */
+    ParseCounter increment(String counter);
+
+    /**
+     * 计数增加指定数量
+     */
+    ParseCounter add(String counter, int amount);
+}
@@ -0,0 +1,52 @@
+package com.lonely.dramatracker.crawler.parse;
+
+/**
+ * TMDb列表接口（高分榜等）返回的一个条目
+ * 电影和电视剧的字段名不同，解析时已统一：title/name -> title，release_date/first_air_date -> releaseDate
+ */
+public class TmdbListItem {
+    int id;
+    String title = "";
+    String originalTitle = "";
+    double voteAverage = Double.NaN;
+    String releaseDate = "";
+    String posterPath = "";
+    String overview = "";
+
+    TmdbListItem() {
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getOriginalTitle() {
+        return originalTitle;
+    }
+
+    /**
+     * @return 评分（0-10），接口没有返回时为NaN
+     */
+    public double getVoteAverage() {
+        return voteAverage;
+    }
+
+    public String getReleaseDate() {
+        return releaseDate;
+    }
+
+    /**
+     * @return 海报的相对路径，没有海报时为空字符串
+     */
+    public String getPosterPath() {
+        return posterPath;
+    }
+
+    public String getOverview() {
+        return overview;
+    }
+}
@@ -0,0 +1,24 @@
+package com.lonely.dramatracker.crawler.parse;
+
+import java.util.List;
+
+/**
+ * TMDb列表接口的一页结果
+ */
+public class TmdbListPage {
+    private final List<TmdbListItem> items;
+    private final int totalPages;
+
+    TmdbListPage(List<TmdbListItem> items, int totalPages) {
+        this.items = items;
+        this.totalPages = totalPages;
+    }
+
+    public List<TmdbListItem> getItems() {
+        return items;
+    }
+
+    public int getTotalPages() {
+        return totalPages;
+    }
+}
@@ -0,0 +1,101 @@
+package com.lonely.dramatracker.crawler.parse;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * TMDb列表接口（/movie/top_rated、/tv/top_rated 等）的JSON解析
+ * 使用流式读取，只取列表展示需要的字段，其余字段直接跳过，不为整个响应构建对象树
+ */
+public final class TmdbListParser {
+
+    private TmdbListParser() {
+    }
+
+    /**
+     * 解析一页列表结果
+     * @param json 接口返回的JSON
+     * @return 条目列表（保持接口返回的顺序）和总页数，缺少total_pages时总页数为1
+     * @throws IOException JSON格式错误
+     */
+    public static TmdbListPage parse(String json) throws IOException {
+        List<TmdbListItem> items = new ArrayList<>();
+        int totalPages = 1;
+        boolean hasResults = false;
+
+        try (JsonReader reader = new JsonReader(new StringReader(json))) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if ("results".equals(name) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                    hasResults = true;
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        items.add(readItem(reader));
+                    }
+                    reader.endArray();
+                } else if ("total_pages".equals(name) && reader.peek() == JsonToken.NUMBER) {
+                    totalPages = reader.nextInt();
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+        } catch (IllegalStateException | NumberFormatException e) {
+            throw new IOException("TMDb列表格式错误: " + e.getMessage(), e);
+        }
+
+        if (!hasResults) {
+            throw new IOException("TMDb列表缺少results");
+        }
+        return new TmdbListPage(items, totalPages);
+    }
+
+    private static TmdbListItem readItem(JsonReader reader) throws IOException {
+        TmdbListItem item = new TmdbListItem();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                continue;
+            }
+            switch (name) {
+                case "id":
+                    item.id = reader.nextInt();
+                    break;
+                case "title":
+                case "name":
+                    item.title = reader.nextString();
+                    break;
+                case "original_title":
+                case "original_name":
+                    item.originalTitle = reader.nextString();
+                    break;
+                case "vote_average":
+                    item.voteAverage = reader.nextDouble();
+                    break;
+                case "release_date":
+                case "first_air_date":
+                    item.releaseDate = reader.nextString();
+                    break;
+                case "poster_path":
+                    item.posterPath = reader.nextString();
+                    break;
+                case "overview":
+                    item.overview = reader.nextString();
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+        return item;
+    }
+}
@@ -0,0 +1,217 @@
+package com.lonely.dramatracker.crawler.text;
+
+/**
+ * 爬虫文本处理工具类
+ * 年份、日期、ID等提取用逐字符扫描实现，不创建Pattern/Matcher，只在返回结果时截取一次子串；
+ * 逐条解析搜索结果时调用频繁，避免 String.matches/replaceAll 每次都重新编译正则
+ */
+public class TextNormalizer {
+
+    private TextNormalizer() {
+    }
+
+    /**
+     * 查找文本中第一个连续4位数字（与正则 \d{4} 的第一个匹配一致）
+     * @return 年份字符串，没有时返回null
+     */
+    public static String firstYear(String text) {
+        if (text == null) return null;
+        int run = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (isAsciiDigit(text.charAt(i))) {
+                if (++run == 4) {
+                    return text.substring(i - 3, i + 1);
+                }
+            } else {
+                run = 0;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 文本以4位数字开头时返回这4位（如 "2024-06-21" -> "2024"）
+     * @return 年份字符串，不以4位数字开头时返回null
+     */
+    public static String leadingYear(String text) {
+        if (text == null || text.length() < 4) return null;
+        for (int i = 0; i < 4; i++) {
+            if (!isAsciiDigit(text.charAt(i))) return null;
+        }
+        return text.substring(0, 4);
+    }
+
+    /**
+     * 判断文本是否以 "YYYY年M月D日" 格式的日期开头（月、日为1到2位）
+     */
+    public static boolean startsWithChineseDate(String text) {
+        if (text == null) return false;
+        int i = skipDigits(text, 0, 4, 4);
+        if (i < 0 || !charAt(text, i, '年')) return false;
+        i = skipDigits(text, i + 1, 1, 2);
+        if (i < 0 || !charAt(text, i, '月')) return false;
+        i = skipDigits(text, i + 1, 1, 2);
+        return i >= 0 && charAt(text, i, '日');
+    }
+
+    /**
+     * 查找紧跟在指定字符前的第一段数字（与正则 \d+(?=,) 一致，用于从onclick参数中取ID）
+     * @return 数字串，没有时返回空字符串
+     */
+    public static String numberBefore(String text, char terminator) {
+        if (text == null) return "";
+        int start = -1;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (isAsciiDigit(c)) {
+                if (start < 0) start = i;
+            } else {
+                if (start >= 0 && c == terminator) {
+                    return text.substring(start, i);
+                }
+                start = -1;
+            }
+        }
+        return "";
+    }
+
+    /**
+     * 把连续minRun个及以上的空白整段替换为一个换行，用于还原简介的分段（与 replaceAll("\\s{4,}", "\n") 一致）
+     * 空白的定义与正则 \s 一致；没有需要替换的内容时直接返回原字符串
+     */
+    public static String breakWhitespaceRuns(String text, int minRun) {
+        if (text == null) return null;
+        StringBuilder sb = null;
+        int runStart = -1;
+        int copied = 0;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean space = i < text.length() && isRegexSpace(text.charAt(i));
+            if (space) {
+                if (runStart < 0) runStart = i;
+                continue;
+            }
+            if (runStart >= 0 && i - runStart >= minRun) {
+                if (sb == null) sb = new StringBuilder(text.length());
+                sb.append(text, copied, runStart).append('\n');
+                copied = i;
+            }
+            runStart = -1;
+        }
+        if (sb == null) return text;
+        return sb.append(text, copied, text.length()).toString();
+    }
+
+    /**
+     * 连续空白中每groupSize个替换为一个换行，不足groupSize的剩余空白原样保留
+     * （与 replaceAll("\\s\\s\\s\\s", "\n") 一致，8个空格得到两个换行）；没有需要替换的内容时直接返回原字符串
+     */
+    public static String breakWhitespaceGroups(String text, int groupSize) {
+        if (text == null) return null;
+        StringBuilder sb = null;
+        int runStart = -1;
+        int copied = 0;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean space = i < text.length() && isRegexSpace(text.charAt(i));
+            if (space) {
+                if (runStart < 0) runStart = i;
+                continue;
+            }
+            int groups = runStart >= 0 ? (i - runStart) / groupSize : 0;
+            if (groups > 0) {
+                if (sb == null) sb = new StringBuilder(text.length());
+                sb.append(text, copied, runStart);
+                for (int g = 0; g < groups; g++) {
+                    sb.append('\n');
+                }
+                copied = runStart + groups * groupSize;
+            }
+            runStart = -1;
+        }
+        if (sb == null) return text;
+        return sb.append(text, copied, text.length()).toString();
+    }
+
+    /**
+     * 移除豆瓣演职员信息中的 "原名: xxx" 片段（到下一个 "/ " 或结尾为止）
+     */
+    public static String removeOriginalName(String text) {
+        if (text == null) return null;
+        int index = text.indexOf("原名:");
+        if (index < 0) return text;
+        StringBuilder sb = new StringBuilder(text.length());
+        int copied = 0;
+        while (index >= 0) {
+            sb.append(text, copied, index);
+            int end = index + 3;
+            while (end < text.length()
+                    && !(text.charAt(end) == '/' && end + 1 < text.length() && isRegexSpace(text.charAt(end + 1)))) {
+                end++;
+            }
+            copied = end;
+            index = text.indexOf("原名:", end);
+        }
+        return sb.append(text, copied, text.length()).toString();
+    }
+
+    /**
+     * 判断文本中是否包含 "数字/10" 形式的评分（如 "7.5/10"）
+     */
+    public static boolean containsTenPointRating(String text) {
+        if (text == null) return false;
+        int index = text.indexOf("/10");
+        while (index >= 0) {
+            if (index > 0 && isAsciiDigit(text.charAt(index - 1))) {
+                return true;
+            }
+            // 允许 "7./10" 这种小数点后没有数字的写法
+            if (index > 1 && text.charAt(index - 1) == '.' && isAsciiDigit(text.charAt(index - 2))) {
+                return true;
+            }
+            index = text.indexOf("/10", index + 1);
+        }
+        return false;
+    }
+
+    /**
+     * 确保URL是完整的
+     * @param url 可能不完整的URL
+     * @param baseUrl 基础URL
+     * @return 完整的URL
+     */
+    public static String ensureFullUrl(String url, String baseUrl) {
+        if (url == null) {
+            return null;
+        }
+        if (url.startsWith("http")) {
+            return url;
+        }
+        if (url.startsWith("//")) {
+            return "https:" + url;
+        }
+        return baseUrl + (url.startsWith("/") ? url : "/" + url);
+    }
+
+    private static boolean isAsciiDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isRegexSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    private static boolean charAt(String text, int index, char expected) {
+        return index < text.length() && text.charAt(index) == expected;
+    }
+
+    /**
+     * 从from开始跳过min到max个数字
+     * @return 数字之后的位置，数字个数不足min时返回-1
+     */
+    private static int skipDigits(String text, int from, int min, int max) {
+        int i = from;
+        while (i < text.length() && i - from < max && isAsciiDigit(text.charAt(i))) {
+            i++;
+        }
+        return i - from >= min ? i : -1;
+    }
+}
@@ -0,0 +1,111 @@
+package com.lonely.dramatracker.crawler;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class SharedRequestTest {
+    private final CompletableFuture<String> upstream = new CompletableFuture<>();
+    private final AtomicReference<CancellationToken> upstreamToken = new AtomicReference<>();
+
+    private SharedRequest<String> newRequest() {
+        return new SharedRequest<>(token -> {
+            upstreamToken.set(token);
+            token.register(() -> upstream.completeExceptionally(new CancellationException("上游已取消")));
+            return upstream;
+        });
+    }
+
+    @Test
+    public void oneCallerCancellingDoesNotAffectTheOther() throws Exception {
+        SharedRequest<String> request = newRequest();
+        CancellationToken first = new CancellationToken();
+        CancellationToken second = new CancellationToken();
+        CompletableFuture<String> firstResult = request.join(first);
+        CompletableFuture<String> secondResult = request.join(second);
+
+        first.cancel();
+
+        assertTrue(firstResult.isCancelled());
+        assertFalse(secondResult.isDone());
+        assertFalse("还有调用方在等待，不应取消上游", upstreamToken.get().isCancelled());
+
+        upstream.complete("page");
+        assertEquals("page", secondResult.get());
+    }
+
+    @Test
+    public void upstreamCancelledOnlyAfterEveryCallerCancels() {
+        SharedRequest<String> request = newRequest();
+        CancellationToken first = new CancellationToken();
+        CancellationToken second = new CancellationToken();
+        request.join(first);
+        request.join(second);
+
+        first.cancel();
+        second.cancel();
+
+        assertTrue(upstreamToken.get().isCancelled());
+        assertTrue(request.isAbandoned());
+        assertNull("已放弃的请求不能再加入", request.join(new CancellationToken()));
+    }
+
+    @Test
+    public void callerJoiningAfterCancellationStillGetsResult() throws Exception {
+        SharedRequest<String> request = newRequest();
+        CancellationToken first = new CancellationToken();
+        request.join(first);
+        CompletableFuture<String> secondResult = request.join(new CancellationToken());
+        first.cancel();
+
+        CompletableFuture<String> thirdResult = request.join(new CancellationToken());
+        assertNotNull(thirdResult);
+
+        upstream.complete("page");
+        assertEquals("page", secondResult.get());
+        assertEquals("page", thirdResult.get());
+    }
+
+    @Test
+    public void failurePropagatesToEveryCaller() throws Exception {
+        SharedRequest<String> request = newRequest();
+        CompletableFuture<String> first = request.join(new CancellationToken());
+        CompletableFuture<String> second = request.join(new CancellationToken());
+
+        upstream.completeExceptionally(new IllegalStateException("503"));
+
+        for (CompletableFuture<String> result : Arrays.asList(first, second)) {
+            try {
+                result.get();
+                fail("应当失败");
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof IllegalStateException);
+            }
+        }
+    }
+
+    @Test
+    public void alreadyCancelledTokenCancelsOnlyItsOwnFuture() throws Exception {
+        SharedRequest<String> request = newRequest();
+        CompletableFuture<String> live = request.join(new CancellationToken());
+        CancellationToken cancelled = new CancellationToken();
+        cancelled.cancel();
+
+        CompletableFuture<String> own = request.join(cancelled);
+
+        assertTrue(own.isCancelled());
+        upstream.complete("page");
+        assertEquals("page", live.get());
+    }
+}
@@ -0,0 +1,125 @@
+package com.lonely.dramatracker.crawler.http;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * CircuitBreaker的状态转换，使用固定时钟
+ * 连续失败3次断开，首次断开30秒，探测失败后加倍，最长5分钟
+ */
+public class CircuitBreakerTest {
+    private static final long BASE_OPEN_MS = 30_000;
+    private static final long MAX_OPEN_MS = 5 * 60_000;
+
+    private long now = 1_000_000L;
+    private final CircuitBreaker breaker = new CircuitBreaker("bgm", () -> now);
+
+    @Test
+    public void tripsAfterThreeConsecutiveFailures() {
+        fail(2);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.allowRequest());
+
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertTrue(breaker.isOpen());
+        assertFalse(breaker.allowRequest());
+    }
+
+    @Test
+    public void successResetsFailureCount() {
+        fail(2);
+        assertTrue(breaker.allowRequest());
+        breaker.onSuccess();
+        fail(2);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    public void halfOpenAllowsSingleProbe() {
+        fail(3);
+        now += BASE_OPEN_MS - 1;
+        assertFalse(breaker.allowRequest());
+
+        now += 1;
+        assertFalse(breaker.isOpen());
+        assertTrue("断开时长已过，放行一个探测请求", breaker.allowRequest());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertFalse("探测进行中，其他请求被拒绝", breaker.allowRequest());
+        assertFalse(breaker.allowRequest());
+
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.allowRequest());
+        assertTrue(breaker.allowRequest());
+    }
+
+    @Test
+    public void failedProbeDoublesOpenDurationUpToCap() {
+        fail(3);
+        long expected = BASE_OPEN_MS;
+        for (int i = 0; i < 6; i++) {
+            now += expected - 1;
+            assertFalse("第" + i + "次断开期间应拒绝", breaker.allowRequest());
+            now += 1;
+            assertTrue(breaker.allowRequest());
+            breaker.onFailure();
+            assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+            expected = Math.min(MAX_OPEN_MS, expected * 2);
+        }
+        // 30s→60s→120s→240s→300s→300s
+        assertEquals(MAX_OPEN_MS, expected);
+        now += MAX_OPEN_MS - 1;
+        assertTrue(breaker.isOpen());
+        now += 1;
+        assertFalse(breaker.isOpen());
+    }
+
+    @Test
+    public void successfulProbeResetsOpenDuration() {
+        fail(3);
+        now += BASE_OPEN_MS;
+        assertTrue(breaker.allowRequest());
+        breaker.onFailure(); // 断开60秒
+        now += 2 * BASE_OPEN_MS;
+        assertTrue(breaker.allowRequest());
+        breaker.onSuccess();
+
+        fail(3);
+        now += BASE_OPEN_MS;
+        assertFalse("恢复后重新从30秒开始", breaker.isOpen());
+    }
+
+    @Test
+    public void abandonedProbeFreesSlot() {
+        fail(3);
+        now += BASE_OPEN_MS;
+        assertTrue(breaker.allowRequest());
+        assertFalse(breaker.allowRequest());
+
+        breaker.onAbandoned();
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertTrue("探测被取消后，下一个请求接替探测", breaker.allowRequest());
+        assertFalse(breaker.allowRequest());
+    }
+
+    @Test
+    public void abandonedWhileClosedChangesNothing() {
+        fail(2);
+        assertTrue(breaker.allowRequest());
+        breaker.onAbandoned();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    private void fail(int times) {
+        for (int i = 0; i < times; i++) {
+            assertTrue(breaker.allowRequest());
+            breaker.onFailure();
+        }
+    }
+}
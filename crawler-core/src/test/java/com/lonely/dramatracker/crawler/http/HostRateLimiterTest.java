@@ -0,0 +1,203 @@
+package com.lonely.dramatracker.crawler.http;
+
+import org.junit.Test;
+
+import java.util.PriorityQueue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * HostRateLimiter的令牌桶、AIMD并发上限、Retry-After和后台让行
+ * 使用固定时钟，默认域名的参数为：每秒4个令牌、桶容量4、初始并发3、最大并发6
+ */
+public class HostRateLimiterTest {
+    private static final String HOST = "example.org";
+    private static final double DELTA = 1e-9;
+
+    private long now = 1_000_000L;
+    private final HostRateLimiter limiter = new HostRateLimiter(() -> now);
+
+    @Test
+    public void throttledHalvesLimit() {
+        assertEquals(0, limiter.tryAcquire(HOST));
+        limiter.onThrottled(HOST, 0);
+        assertEquals(1.5, limiter.concurrencyLimit(HOST), DELTA);
+    }
+
+    @Test
+    public void timeoutHalvesLimitButNotBelowOne() {
+        for (int i = 0; i < 4; i++) {
+            now += 1000;
+            assertEquals(0, limiter.tryAcquire(HOST));
+            limiter.onTimeout(HOST);
+        }
+        assertEquals(1.0, limiter.concurrencyLimit(HOST), DELTA);
+    }
+
+    @Test
+    public void successAddsInverseOfLimit() {
+        assertEquals(0, limiter.tryAcquire(HOST));
+        limiter.onSuccess(HOST);
+        assertEquals(3 + 1.0 / 3, limiter.concurrencyLimit(HOST), DELTA);
+
+        assertEquals(0, limiter.tryAcquire(HOST));
+        limiter.onSuccess(HOST);
+        double afterFirst = 3 + 1.0 / 3;
+        assertEquals(afterFirst + 1 / afterFirst, limiter.concurrencyLimit(HOST), DELTA);
+    }
+
+    @Test
+    public void successNeverExceedsMaxLimit() {
+        for (int i = 0; i < 200; i++) {
+            now += 1000;
+            assertEquals(0, limiter.tryAcquire(HOST));
+            limiter.onSuccess(HOST);
+        }
+        assertEquals(6.0, limiter.concurrencyLimit(HOST), DELTA);
+    }
+
+    @Test
+    public void neutralReleaseKeepsLimit() {
+        assertEquals(0, limiter.tryAcquire(HOST));
+        limiter.release(HOST);
+        assertEquals(3.0, limiter.concurrencyLimit(HOST), DELTA);
+        assertEquals(0, limiter.snapshot().get(0).inFlight);
+    }
+
+    @Test
+    public void concurrencyLimitRefusesExtraRequests() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire(HOST));
+        }
+        assertTrue(limiter.tryAcquire(HOST) > 0);
+
+        limiter.release(HOST);
+        assertEquals(0, limiter.tryAcquire(HOST));
+    }
+
+    @Test
+    public void emptyBucketWaitsForRefill() {
+        // 4个令牌用完，补充1个令牌需要250ms
+        for (int i = 0; i < 4; i++) {
+            assertEquals(0, limiter.tryAcquire(HOST));
+            limiter.release(HOST);
+        }
+        assertEquals(250, limiter.tryAcquire(HOST));
+
+        now += 249;
+        assertTrue(limiter.tryAcquire(HOST) > 0);
+        now += 1;
+        assertEquals(0, limiter.tryAcquire(HOST));
+    }
+
+    @Test
+    public void retryAfterBlocksUntilDeadline() {
+        assertEquals(0, limiter.tryAcquire(HOST));
+        limiter.onThrottled(HOST, 2000);
+
+        assertEquals(2000, limiter.tryAcquire(HOST));
+        now += 1500;
+        assertEquals(500, limiter.tryAcquire(HOST));
+        assertEquals(500, limiter.tryAcquire(HOST, true));
+        assertEquals(500, limiter.snapshot().get(0).blockedForMs);
+
+        now += 500;
+        assertEquals(0, limiter.tryAcquire(HOST));
+    }
+
+    @Test
+    public void retryAfterIsCapped() {
+        assertEquals(0, limiter.tryAcquire(HOST));
+        limiter.onThrottled(HOST, 10 * 60_000);
+        assertEquals(60_000, limiter.tryAcquire(HOST));
+    }
+
+    @Test
+    public void parseRetryAfterSeconds() {
+        assertEquals(120_000, HostRateLimiter.parseRetryAfter("120", now));
+        assertEquals(5_000, HostRateLimiter.parseRetryAfter(" 5 ", now));
+        assertEquals(0, HostRateLimiter.parseRetryAfter("0", now));
+        assertEquals(0, HostRateLimiter.parseRetryAfter("-3", now));
+    }
+
+    @Test
+    public void parseRetryAfterHttpDate() {
+        long date = 1445412480000L; // Wed, 21 Oct 2015 07:28:00 GMT
+        assertEquals(30_000, HostRateLimiter.parseRetryAfter("Wed, 21 Oct 2015 07:28:00 GMT", date - 30_000));
+        // 已经过去的日期不需要等待
+        assertEquals(0, HostRateLimiter.parseRetryAfter("Wed, 21 Oct 2015 07:28:00 GMT", date + 1000));
+    }
+
+    @Test
+    public void parseRetryAfterRejectsBadValues() {
+        assertEquals(0, HostRateLimiter.parseRetryAfter(null, now));
+        assertEquals(0, HostRateLimiter.parseRetryAfter("", now));
+        assertEquals(0, HostRateLimiter.parseRetryAfter("   ", now));
+        assertEquals(0, HostRateLimiter.parseRetryAfter("soon", now));
+        assertEquals(0, HostRateLimiter.parseRetryAfter("21 Oct 2015", now));
+        assertEquals(0, HostRateLimiter.parseRetryAfter("1.5", now));
+    }
+
+    @Test
+    public void backgroundRefusedWhileInteractiveWaiting() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire(HOST));
+        }
+        long interactiveWait = limiter.tryAcquire(HOST);
+        assertTrue(interactiveWait > 0);
+
+        // 名额空出后，交互请求回来之前后台请求不能抢占
+        limiter.release(HOST);
+        limiter.release(HOST);
+        assertTrue(limiter.tryAcquire(HOST, true) > 0);
+        assertEquals(1, limiter.snapshot().get(0).backgroundYields);
+
+        now += interactiveWait;
+        assertEquals(0, limiter.tryAcquire(HOST));
+    }
+
+    @Test
+    public void interactiveNeverWaitsBehindPrefetch() {
+        // 模拟10秒内持续的预取流量：后台请求每10ms尝试一次，每个请求耗时200ms；
+        // 每500ms到来一个交互请求（耗时100ms），它应总能立即拿到许可
+        PriorityQueue<Long> releases = new PriorityQueue<>();
+        long end = now + 10_000;
+        long backgroundNextMs = now;
+        int backgroundStarted = 0;
+        int interactiveStarted = 0;
+        for (long t = now; t < end; t += 10) {
+            now = t;
+            while (!releases.isEmpty() && releases.peek() <= now) {
+                releases.poll();
+                limiter.onSuccess(HOST);
+            }
+            if ((t - 1_000_000L) % 500 == 0) {
+                assertEquals("交互请求被预取流量挡住: t=" + t, 0, limiter.tryAcquire(HOST));
+                releases.add(now + 100);
+                interactiveStarted++;
+            }
+            if (now >= backgroundNextMs) {
+                long wait = limiter.tryAcquire(HOST, true);
+                if (wait == 0) {
+                    releases.add(now + 200);
+                    backgroundStarted++;
+                } else {
+                    backgroundNextMs = now + wait;
+                }
+            }
+        }
+        assertEquals(20, interactiveStarted);
+        assertTrue("预取流量应持续发出请求", backgroundStarted > 20);
+    }
+
+    @Test
+    public void backgroundLeavesOneSlotForInteractive() {
+        // 并发上限3，后台请求最多占用2个
+        assertEquals(0, limiter.tryAcquire(HOST, true));
+        assertEquals(0, limiter.tryAcquire(HOST, true));
+        assertTrue(limiter.tryAcquire(HOST, true) > 0);
+
+        assertEquals(0, limiter.tryAcquire(HOST));
+    }
+}
@@ -0,0 +1,50 @@
+package com.lonely.dramatracker.crawler.http;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class RetryPolicyTest {
+    private final RetryPolicy policy = new RetryPolicy(3, 500, 8_000, 60_000);
+
+    @Test
+    public void clientErrorsAreNotRetryable() {
+        for (int code : new int[]{400, 401, 403, 404, 410, 422}) {
+            assertFalse("HTTP " + code, policy.isRetryable(new HttpResponseException(code, "")));
+        }
+    }
+
+    @Test
+    public void serverErrorsAndThrottlingAreRetryable() {
+        for (int code : new int[]{408, 429, 500, 502, 503, 504}) {
+            assertTrue("HTTP " + code, policy.isRetryable(new HttpResponseException(code, "")));
+        }
+    }
+
+    @Test
+    public void networkErrorsAreRetryable() {
+        assertTrue(policy.isRetryable(new IOException("connection reset")));
+        assertTrue(policy.isRetryable(new SocketTimeoutException("timeout")));
+    }
+
+    @Test
+    public void backoffStaysWithinExponentialWindow() {
+        for (int attempt = 0; attempt < 10; attempt++) {
+            long cap = Math.min(8_000, 500L << attempt);
+            for (int i = 0; i < 200; i++) {
+                long delay = policy.backoffDelay(attempt);
+                assertTrue("attempt " + attempt + " delay " + delay, delay >= cap / 2 && delay <= cap);
+            }
+        }
+    }
+
+    @Test
+    public void backoffDoesNotOverflowForLargeAttempts() {
+        long delay = policy.backoffDelay(1_000);
+        assertTrue(delay >= 4_000 && delay <= 8_000);
+    }
+}
@@ -0,0 +1,126 @@
+package com.lonely.dramatracker.crawler.http;
+
+import com.lonely.dramatracker.crawler.CancellationToken;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * RetryScheduler对MockWebServer的真实请求：哪些错误重试、重试次数、时间预算和取消
+ */
+public class RetrySchedulerTest {
+    private MockWebServer server;
+    private RetryScheduler scheduler;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        scheduler = new RetryScheduler(new OkHttpClient(), new HostRateLimiter(), new CircuitBreakerRegistry());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void notFoundIsNotRetried() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(404));
+        server.enqueue(new MockResponse().setBody("不应请求"));
+
+        HttpResponseException error = failure(execute(new RetryPolicy(3, 10, 40, 10_000), CancellationToken.NONE));
+
+        assertEquals(404, error.getCode());
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void serverErrorRetriedUpToMaxRetries() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            server.enqueue(new MockResponse().setResponseCode(500));
+        }
+        server.enqueue(new MockResponse().setBody("不应请求"));
+
+        HttpResponseException error = failure(execute(new RetryPolicy(3, 10, 40, 10_000), CancellationToken.NONE));
+
+        assertEquals(500, error.getCode());
+        assertEquals("首次请求加3次重试", 4, server.getRequestCount());
+    }
+
+    @Test
+    public void serverErrorThenSuccess() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(502));
+        server.enqueue(new MockResponse().setBody("ok"));
+
+        String body = execute(new RetryPolicy(3, 10, 40, 10_000), CancellationToken.NONE).get(5, TimeUnit.SECONDS);
+
+        assertEquals("ok", body);
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    public void budgetStopsFurtherRetries() throws Exception {
+        // Retry-After要求等待1秒，超出0.5秒的预算，不再重试
+        server.enqueue(new MockResponse().setResponseCode(503).setHeader("Retry-After", "1"));
+        server.enqueue(new MockResponse().setBody("不应请求"));
+
+        HttpResponseException error = failure(execute(new RetryPolicy(5, 10, 40, 500), CancellationToken.NONE));
+
+        assertEquals(503, error.getCode());
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void cancellingStopsScheduledRetry() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(500));
+        server.enqueue(new MockResponse().setBody("不应请求"));
+        CancellationToken token = new CancellationToken();
+
+        // 退避在150~300ms之间，期间取消
+        CompletableFuture<String> future = execute(new RetryPolicy(3, 300, 300, 10_000), token);
+        assertNotNull(server.takeRequest(5, TimeUnit.SECONDS));
+        Thread.sleep(50);
+        token.cancel();
+
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            fail("应当被取消");
+        } catch (CancellationException expected) {
+            // 取消令牌直接以CancellationException结束Future
+        }
+        Thread.sleep(500);
+        assertEquals("取消后不应再发出重试", 1, server.getRequestCount());
+    }
+
+    private CompletableFuture<String> execute(RetryPolicy policy, CancellationToken token) {
+        Request request = new Request.Builder().url(server.url("/page")).build();
+        return scheduler.execute(request, policy, token);
+    }
+
+    private static HttpResponseException failure(CompletableFuture<String> future) throws Exception {
+        try {
+            future.get(5, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            assertTrue("应以HTTP错误结束: " + e.getCause(), e.getCause() instanceof HttpResponseException);
+            return (HttpResponseException) e.getCause();
+        }
+        throw new AssertionError("请求应当失败");
+    }
+}
@@ -0,0 +1,214 @@
+package com.lonely.dramatracker.crawler.text;
+
+import org.junit.Test;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * 逐字符扫描与原来的正则写法在同一组输入上的结果必须一致
+ * 输入取自搜索页和详情页中的真实文本，另加空串、边界长度、全角数字等情况；
+ * 爬虫传入的都是Jsoup的text()结果（单行），因此不覆盖含换行的输入
+ */
+public class TextNormalizerTest {
+    private static final String[] INFO_TEXTS = {
+            null,
+            "",
+            "2023年9月29日 / 山田钟人 / アベツカサ",
+            "2006年4月2日 / 原作：谷川流",
+            "1998年10月1日 / ",
+            "2024年1月5日",
+            "2024-06-21",
+            "24年1月5日",
+            "2024年13月40日 / 并非合法日期",
+            "20240年1月1日",
+            "2024年1月",
+            "全26话，2001年播出",
+            "导演: 新海诚 / 主演: 神木隆之介 / 2016",
+            "原名: 君の名は。 / 导演: 新海诚 / 2016 / 日本",
+            "１９９９年",
+            "abc123def4567",
+            "123",
+            "12345",
+            "共12话",
+            "第1期 全24集",
+    };
+
+    private static final String[] ONCLICK_TEXTS = {
+            null,
+            "",
+            "moreurl(this,{i: '0', query: '你的名字', from: 'mv_subject_search', sid: 26683290, qcat: '1002'})",
+            "search_click({type: 'movie', id: 1292052, title: '肖申克的救赎'})",
+            "12a34,56",
+            "123,",
+            ",123",
+            "12 ,34,",
+            "abc",
+            "99",
+    };
+
+    private static final String[] SUMMARIES = {
+            "",
+            "没有多余空白的简介",
+            "第一段。    第二段。",
+            "第一段。     第二段（5个空白）。",
+            "第一段。        第二段（8个空白）。",
+            "第一段。         第二段（9个空白）。",
+            "   三个空白不替换   ",
+            "    开头的四个空白",
+            "结尾的四个空白    ",
+            "制表符\t\t\t\t混合\t \t 空白",
+            "换行\n\n\n\n也是空白\r\n\r\n",
+            "　　全角空格不属于\\s　　",
+            "    不间断空格也不属于\\s",
+    };
+
+    private static final String[] CAST_TEXTS = {
+            "",
+            "原名: Kimi no na wa. / 新海诚 / 神木隆之介 / 2016",
+            "新海诚 / 神木隆之介 / 2016",
+            "原名: 君の名は。",
+            "原名:紧挨着 / 导演",
+            "原名: 含有/斜杠 / 导演",
+            "原名: 末尾斜杠/",
+            "原名: A / 原名: B / 导演",
+            "导演 / 原名: 中间 / 2016",
+            "原名:/ 空值",
+    };
+
+    private static final String[] RATINGS = {
+            null,
+            "",
+            "7.5/10",
+            "8/10",
+            "7./10",
+            "评分 9.2/10 分",
+            ".5/10",
+            "/10",
+            "7.5/100",
+            "7.5 / 10",
+            "7.5",
+            "a/10 8/10",
+            "推荐",
+    };
+
+    private static final String[][] URLS = {
+            {null, "https:"},
+            {"https://lain.bgm.tv/pic/cover/l/1.jpg", "https:"},
+            {"http://img1.doubanio.com/view/photo/1.jpg", "https:"},
+            {"//lain.bgm.tv/pic/cover/c/1.jpg", "https:"},
+            {"/subject/1", "https://bgm.tv"},
+            {"subject/1", "https://bgm.tv"},
+            {"", "https://bgm.tv"},
+    };
+
+    @Test
+    public void firstYearMatchesRegex() {
+        Pattern year = Pattern.compile("\\d{4}");
+        for (String text : INFO_TEXTS) {
+            String expected = null;
+            if (text != null) {
+                Matcher matcher = year.matcher(text);
+                expected = matcher.find() ? matcher.group() : null;
+            }
+            assertEquals(text, expected, TextNormalizer.firstYear(text));
+        }
+    }
+
+    @Test
+    public void leadingYearMatchesRegex() {
+        Pattern year = Pattern.compile("^(\\d{4})");
+        for (String text : INFO_TEXTS) {
+            String expected = null;
+            if (text != null) {
+                Matcher matcher = year.matcher(text);
+                expected = matcher.find() ? matcher.group(1) : null;
+            }
+            assertEquals(text, expected, TextNormalizer.leadingYear(text));
+        }
+    }
+
+    @Test
+    public void startsWithChineseDateMatchesRegex() {
+        for (String text : INFO_TEXTS) {
+            boolean expected = text != null && text.matches("^\\d{4}年\\d{1,2}月\\d{1,2}日.*");
+            assertEquals(text, expected, TextNormalizer.startsWithChineseDate(text));
+        }
+    }
+
+    @Test
+    public void numberBeforeMatchesRegex() {
+        Pattern id = Pattern.compile("\\d+(?=,)");
+        for (String text : ONCLICK_TEXTS) {
+            String expected = "";
+            if (text != null) {
+                Matcher matcher = id.matcher(text);
+                expected = matcher.find() ? matcher.group() : "";
+            }
+            assertEquals(text, expected, TextNormalizer.numberBefore(text, ','));
+        }
+    }
+
+    @Test
+    public void breakWhitespaceRunsMatchesBangumiRegex() {
+        for (String text : SUMMARIES) {
+            assertEquals(text, text.replaceAll("\\s{4,}", "\n"), TextNormalizer.breakWhitespaceRuns(text, 4));
+        }
+    }
+
+    @Test
+    public void breakWhitespaceGroupsMatchesDoubanRegex() {
+        for (String text : SUMMARIES) {
+            assertEquals(text, text.replaceAll("\\s\\s\\s\\s", "\n"), TextNormalizer.breakWhitespaceGroups(text, 4));
+        }
+    }
+
+    @Test
+    public void whitespaceRunsAndGroupsDifferOnLongRuns() {
+        String eightSpaces = "上        下";
+        assertEquals("上\n下", TextNormalizer.breakWhitespaceRuns(eightSpaces, 4));
+        assertEquals("上\n\n下", TextNormalizer.breakWhitespaceGroups(eightSpaces, 4));
+        assertEquals("上\n 下", TextNormalizer.breakWhitespaceGroups("上     下", 4));
+    }
+
+    @Test
+    public void unchangedTextIsReturnedAsIs() {
+        String text = "没有多余空白的简介";
+        assertEquals(text, TextNormalizer.breakWhitespaceRuns(text, 4));
+        assertEquals(text, TextNormalizer.breakWhitespaceGroups(text, 4));
+        assertEquals(text, TextNormalizer.removeOriginalName(text));
+    }
+
+    @Test
+    public void removeOriginalNameMatchesRegex() {
+        for (String text : CAST_TEXTS) {
+            assertEquals(text, text.replaceAll("原名:.*?(?=/\\s|$)", ""), TextNormalizer.removeOriginalName(text));
+        }
+    }
+
+    @Test
+    public void containsTenPointRatingMatchesRegex() {
+        for (String text : RATINGS) {
+            boolean expected = text != null && text.matches(".*\\d+\\.?\\d*/10.*");
+            assertEquals(text, expected, TextNormalizer.containsTenPointRating(text));
+        }
+    }
+
+    @Test
+    public void ensureFullUrl() {
+        String[] expected = {
+                null,
+                "https://lain.bgm.tv/pic/cover/l/1.jpg",
+                "http://img1.doubanio.com/view/photo/1.jpg",
+                "https://lain.bgm.tv/pic/cover/c/1.jpg",
+                "https://bgm.tv/subject/1",
+                "https://bgm.tv/subject/1",
+                "https://bgm.tv/",
+        };
+        for (int i = 0; i < URLS.length; i++) {
+            assertEquals(URLS[i][0], expected[i], TextNormalizer.ensureFullUrl(URLS[i][0], URLS[i][1]));
+        }
+    }
+}
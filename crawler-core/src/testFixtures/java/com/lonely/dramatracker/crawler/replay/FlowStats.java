@@ -0,0 +1,97 @@
+package com.lonely.dramatracker.crawler.replay;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 按用户流程统计端到端耗时和请求数
+ * 每次运行记录一个样本，汇总输出 p50/p95 耗时和每次运行的最大请求数
+ */
+public class FlowStats {
+    private final Map<String, List<Sample>> flows = new LinkedHashMap<>();
+
+    /**
+     * 记录流程的一次运行
+     * @param flow 流程名称，如 "search"
+     * @param durationNanos 端到端耗时
+     * @param requestsByHost 本次运行中各站点收到的请求数
+     */
+    public synchronized void record(String flow, long durationNanos, Map<String, Integer> requestsByHost) {
+        flows.computeIfAbsent(flow, f -> new ArrayList<>()).add(new Sample(durationNanos, requestsByHost));
+    }
+
+    /**
+     * 耗时的百分位数
+     * @param percentile 0-100
+     * @return 毫秒，没有样本时返回0
+     */
+    public synchronized double percentileMs(String flow, int percentile) {
+        List<Sample> samples = flows.get(flow);
+        if (samples == null || samples.isEmpty()) return 0;
+        List<Long> durations = new ArrayList<>(samples.size());
+        for (Sample sample : samples) {
+            durations.add(sample.durationNanos);
+        }
+        Collections.sort(durations);
+        // 最近秩法：p95取排序后第 ceil(0.95 * n) 个
+        int rank = (int) Math.ceil(percentile / 100.0 * durations.size());
+        return durations.get(Math.max(rank, 1) - 1) / 1_000_000.0;
+    }
+
+    /**
+     * 单次运行的最大请求数
+     */
+    public synchronized int maxRequests(String flow) {
+        int max = 0;
+        List<Sample> samples = flows.get(flow);
+        if (samples == null) return 0;
+        for (Sample sample : samples) {
+            max = Math.max(max, sample.totalRequests());
+        }
+        return max;
+    }
+
+    /**
+     * 汇总报告，每个流程一行，如
+     * "search            runs=5 p50=812.4ms p95=1033.0ms requests=11 {bgm.tv=11}"
+     */
+    public synchronized String buildReport() {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, List<Sample>> entry : flows.entrySet()) {
+            String flow = entry.getKey();
+            List<Sample> samples = entry.getValue();
+            Map<String, Integer> byHost = new TreeMap<>();
+            for (Sample sample : samples) {
+                for (Map.Entry<String, Integer> host : sample.requestsByHost.entrySet()) {
+                    byHost.merge(host.getKey(), host.getValue(), Math::max);
+                }
+            }
+            sb.append(String.format(Locale.US, "%-16s runs=%d p50=%.1fms p95=%.1fms requests=%d %s%n",
+                flow, samples.size(), percentileMs(flow, 50), percentileMs(flow, 95), maxRequests(flow), byHost));
+        }
+        return sb.toString();
+    }
+
+    private static class Sample {
+        final long durationNanos;
+        final Map<String, Integer> requestsByHost;
+
+        Sample(long durationNanos, Map<String, Integer> requestsByHost) {
+            this.durationNanos = durationNanos;
+            this.requestsByHost = requestsByHost;
+        }
+
+        int totalRequests() {
+            int total = 0;
+            for (int count : requestsByHost.values()) {
+                total += count;
+            }
+            return total;
+        }
+    }
+}
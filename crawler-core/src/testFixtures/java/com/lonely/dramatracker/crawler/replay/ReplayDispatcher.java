@@ -0,0 +1,245 @@
+package com.lonely.dramatracker.crawler.replay;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.RecordedRequest;
+
+/**
+ * 按站点回放录制页面的请求分发器
+ * 请求路径的第一段是原站点（如 /bgm.tv/subject_search/...），其余部分按最长前缀匹配到fixtures中的文件；
+ * 可按站点设置响应延迟和注入错误，并统计各站点收到的请求数。
+ * 设置系统属性 replay.record 为fixtures目录时进入录制模式：匹配到的请求转发给真实站点，并用响应覆盖对应文件
+ */
+public class ReplayDispatcher extends Dispatcher {
+    private static final String FIXTURE_ROOT = "/fixtures/";
+
+    // 站点 → (路径前缀 → 文件名)，TreeMap按前缀倒序遍历即为最长前缀优先
+    private final Map<String, TreeMap<String, String>> routes = new ConcurrentHashMap<>();
+    private final Map<String, HostBehavior> behaviors = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> counts = new ConcurrentHashMap<>();
+    private final List<String> unmatched = Collections.synchronizedList(new ArrayList<>());
+    private final Map<String, String> fixtureCache = new ConcurrentHashMap<>();
+    private final File recordDir;
+    private OkHttpClient recordClient;
+
+    public ReplayDispatcher() {
+        String record = System.getProperty("replay.record");
+        this.recordDir = record != null && !record.isEmpty() ? new File(record) : null;
+    }
+
+    /**
+     * 注册一条路由
+     * @param host 原站点，如 "bgm.tv"
+     * @param pathPrefix 原站点上的路径前缀，如 "/subject/"
+     * @param fixture fixtures目录下的文件名
+     */
+    public ReplayDispatcher route(String host, String pathPrefix, String fixture) {
+        routes.computeIfAbsent(host, h -> new TreeMap<>()).put(pathPrefix, fixture);
+        return this;
+    }
+
+    /**
+     * 设置站点的响应延迟
+     */
+    public ReplayDispatcher latency(String host, long latencyMs) {
+        behavior(host).latencyMs = latencyMs;
+        return this;
+    }
+
+    /**
+     * 让站点接下来的count个请求返回指定状态码
+     */
+    public ReplayDispatcher failNext(String host, int count, int statusCode) {
+        HostBehavior behavior = behavior(host);
+        synchronized (behavior) {
+            behavior.failuresLeft = count;
+            behavior.failureCode = statusCode;
+        }
+        return this;
+    }
+
+    /**
+     * 让站点的请求按比例随机失败，种子固定，同样的请求顺序得到同样的结果
+     */
+    public ReplayDispatcher errorRate(String host, double rate, int statusCode, long seed) {
+        HostBehavior behavior = behavior(host);
+        synchronized (behavior) {
+            behavior.errorRate = rate;
+            behavior.failureCode = statusCode;
+            behavior.random = new Random(seed);
+        }
+        return this;
+    }
+
+    /**
+     * 清除所有站点的延迟和错误设置
+     */
+    public void clearBehaviors() {
+        behaviors.clear();
+    }
+
+    /**
+     * 收到的请求总数
+     */
+    public int requestCount() {
+        int total = 0;
+        for (AtomicInteger count : counts.values()) {
+            total += count.get();
+        }
+        return total;
+    }
+
+    /**
+     * 各站点收到的请求数
+     */
+    public Map<String, Integer> requestCounts() {
+        Map<String, Integer> snapshot = new TreeMap<>();
+        for (Map.Entry<String, AtomicInteger> entry : counts.entrySet()) {
+            snapshot.put(entry.getKey(), entry.getValue().get());
+        }
+        return snapshot;
+    }
+
+    /**
+     * 没有匹配到路由的请求（站点+路径），用于发现新增的请求地址
+     */
+    public List<String> unmatchedRequests() {
+        synchronized (unmatched) {
+            return new ArrayList<>(unmatched);
+        }
+    }
+
+    public void resetCounts() {
+        counts.clear();
+        unmatched.clear();
+    }
+
+    @Override
+    public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+        String fullPath = request.getPath() != null ? request.getPath() : "/";
+        int hostEnd = fullPath.indexOf('/', 1);
+        String host = hostEnd > 0 ? fullPath.substring(1, hostEnd) : fullPath.substring(1);
+        String path = hostEnd > 0 ? fullPath.substring(hostEnd) : "/";
+        counts.computeIfAbsent(host, h -> new AtomicInteger()).incrementAndGet();
+
+        HostBehavior behavior = behaviors.get(host);
+        if (behavior != null && behavior.latencyMs > 0) {
+            Thread.sleep(behavior.latencyMs);
+        }
+        if (behavior != null && behavior.shouldFail()) {
+            return new MockResponse().setResponseCode(behavior.failureCode);
+        }
+
+        String fixture = match(host, path);
+        if (fixture == null) {
+            unmatched.add(host + path);
+            return new MockResponse().setResponseCode(404);
+        }
+        try {
+            String body = recordDir != null ? record(host, path, fixture) : load(fixture);
+            return new MockResponse()
+                .setHeader("Content-Type", fixture.endsWith(".json")
+                    ? "application/json; charset=utf-8" : "text/html; charset=utf-8")
+                .setBody(body);
+        } catch (IOException e) {
+            return new MockResponse().setResponseCode(500).setBody(e.getMessage());
+        }
+    }
+
+    private String match(String host, String path) {
+        TreeMap<String, String> hostRoutes = routes.get(host);
+        if (hostRoutes == null) return null;
+        for (Map.Entry<String, String> entry : hostRoutes.descendingMap().entrySet()) {
+            if (path.startsWith(entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    private HostBehavior behavior(String host) {
+        return behaviors.computeIfAbsent(host, h -> new HostBehavior());
+    }
+
+    private String load(String fixture) throws IOException {
+        String cached = fixtureCache.get(fixture);
+        if (cached != null) return cached;
+        try (InputStream in = ReplayDispatcher.class.getResourceAsStream(FIXTURE_ROOT + fixture)) {
+            if (in == null) {
+                throw new IOException("缺少录制页面: " + fixture);
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            String body = new String(out.toByteArray(), StandardCharsets.UTF_8);
+            fixtureCache.put(fixture, body);
+            return body;
+        }
+    }
+
+    /**
+     * 录制模式：请求真实站点并保存响应
+     */
+    private synchronized String record(String host, String path, String fixture) throws IOException {
+        if (recordClient == null) {
+            recordClient = new OkHttpClient.Builder()
+                .connectTimeout(20, TimeUnit.SECONDS)
+                .readTimeout(30, TimeUnit.SECONDS)
+                .build();
+        }
+        Request request = new Request.Builder()
+            .url("https://" + host + path)
+            .header("User-Agent", "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/119.0.0.0 Safari/537.36")
+            .build();
+        try (Response response = recordClient.newCall(request).execute()) {
+            if (!response.isSuccessful() || response.body() == null) {
+                throw new IOException("录制失败: " + response.code() + " " + host + path);
+            }
+            String body = response.body().string();
+            Files.write(new File(recordDir, fixture).toPath(), body.getBytes(StandardCharsets.UTF_8));
+            fixtureCache.put(fixture, body);
+            return body;
+        }
+    }
+
+    /**
+     * 单个站点的延迟和错误注入设置
+     */
+    private static class HostBehavior {
+        volatile long latencyMs;
+        int failuresLeft;
+        int failureCode = 503;
+        double errorRate;
+        Random random;
+
+        synchronized boolean shouldFail() {
+            if (failuresLeft > 0) {
+                failuresLeft--;
+                return true;
+            }
+            return random != null && random.nextDouble() < errorRate;
+        }
+    }
+}
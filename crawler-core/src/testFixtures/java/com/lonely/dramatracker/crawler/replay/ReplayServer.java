@@ -0,0 +1,66 @@
+package com.lonely.dramatracker.crawler.replay;
+
+import com.lonely.dramatracker.crawler.CrawlerEndpoints;
+
+import java.io.IOException;
+
+import okhttp3.mockwebserver.MockWebServer;
+
+/**
+ * 回放所有数据源的本地服务器
+ * 启动后把CrawlerEndpoints中的每个站点替换为 http://127.0.0.1:端口/站点，关闭时恢复默认地址
+ */
+public class ReplayServer implements AutoCloseable {
+    private final MockWebServer server = new MockWebServer();
+    private final ReplayDispatcher dispatcher;
+
+    public ReplayServer() {
+        this(defaultRoutes(new ReplayDispatcher()));
+    }
+
+    public ReplayServer(ReplayDispatcher dispatcher) {
+        this.dispatcher = dispatcher;
+        server.setDispatcher(dispatcher);
+    }
+
+    /**
+     * 各爬虫实际请求的地址与录制页面的对应关系
+     */
+    public static ReplayDispatcher defaultRoutes(ReplayDispatcher dispatcher) {
+        return dispatcher
+            .route(CrawlerEndpoints.BANGUMI, "/subject_search/", "bangumi_search.html")
+            .route(CrawlerEndpoints.BANGUMI, "/subject/", "bangumi_subject.html")
+            .route(CrawlerEndpoints.BANGUMI_CALENDAR, "/calendar", "bangumi_calendar.html")
+            .route(CrawlerEndpoints.BANGUMI_CALENDAR, "/subject/", "bangumi_subject.html")
+            .route(CrawlerEndpoints.DOUBAN_SEARCH, "/search", "douban_search.html")
+            .route(CrawlerEndpoints.DOUBAN_MOVIE, "/subject/", "douban_subject.html")
+            .route(CrawlerEndpoints.TMDB_API, "/3/search/multi", "tmdb_search_multi.json")
+            .route(CrawlerEndpoints.TMDB_API, "/3/movie/top_rated", "tmdb_top_rated.json")
+            .route(CrawlerEndpoints.TMDB_API, "/3/tv/top_rated", "tmdb_top_rated.json")
+            .route(CrawlerEndpoints.TMDB_API, "/3/movie/", "tmdb_detail.json")
+            .route(CrawlerEndpoints.TMDB_API, "/3/tv/", "tmdb_detail.json")
+            .route(CrawlerEndpoints.MAOYAN, "/ajax/movieOnInfoList", "maoyan_on_showing.json")
+            .route(CrawlerEndpoints.MAOYAN, "/ajax/detailmovie", "maoyan_detail.json");
+    }
+
+    /**
+     * 启动服务器并替换所有站点地址
+     */
+    public ReplayServer start() throws IOException {
+        server.start();
+        for (String host : CrawlerEndpoints.hosts()) {
+            CrawlerEndpoints.override(host, server.url("/" + host).toString());
+        }
+        return this;
+    }
+
+    public ReplayDispatcher getDispatcher() {
+        return dispatcher;
+    }
+
+    @Override
+    public void close() throws IOException {
+        CrawlerEndpoints.reset();
+        server.shutdown();
+    }
+}
@@ -21,3 +21,4 @@ dependencyResolutionManagement {
 
 rootProject.name = "DramaTracker"
 include(":app")
+include(":crawler-core")